@@ -28,6 +28,7 @@ import io.zeebe.broker.logstreams.restore.BrokerRestoreServer;
 import io.zeebe.broker.logstreams.state.StatePositionSupplier;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.zeebe.distributedlog.StorageConfiguration;
 import io.zeebe.engine.state.DefaultZeebeDbFactory;
 import io.zeebe.engine.state.StateStorageFactory;
@@ -159,11 +160,15 @@ public class Partition implements Service<Partition> {
             ? new StateReplication(clusterEventService, partitionId)
             : new NoneSnapshotReplication();
 
+    final RocksDbConfiguration rocksDbConfiguration =
+        brokerCfg.getData().getRocksDb().applyTo(DefaultZeebeDbFactory.defaultConfiguration());
+
     return new StateSnapshotController(
-        DefaultZeebeDbFactory.DEFAULT_DB_FACTORY,
+        DefaultZeebeDbFactory.defaultFactory(rocksDbConfiguration),
         stateStorage,
         stateReplication,
-        brokerCfg.getData().getMaxSnapshots());
+        brokerCfg.getData().getMaxSnapshots(),
+        brokerCfg.getData().isIncrementalSnapshotReplication());
   }
 
   private boolean shouldReplicateSnapshots() {
@@ -26,8 +26,10 @@ import io.zeebe.broker.engine.impl.PartitionCommandSenderImpl;
 import io.zeebe.broker.system.configuration.BrokerCfg;
 import io.zeebe.broker.system.configuration.ClusterCfg;
 import io.zeebe.broker.system.configuration.DataCfg;
+import io.zeebe.broker.system.configuration.RocksDbCfg;
 import io.zeebe.broker.system.management.LeaderManagementRequestHandler;
 import io.zeebe.broker.system.management.deployment.PushDeploymentRequestHandler;
+import io.zeebe.broker.transport.commandapi.CommandApiMessageHandler;
 import io.zeebe.broker.transport.commandapi.CommandResponseWriterImpl;
 import io.zeebe.engine.processor.AsyncSnapshotingDirectorService;
 import io.zeebe.engine.processor.ProcessingContext;
@@ -35,8 +37,11 @@ import io.zeebe.engine.processor.StreamProcessor;
 import io.zeebe.engine.processor.StreamProcessorServiceNames;
 import io.zeebe.engine.processor.TypedRecordProcessors;
 import io.zeebe.engine.processor.workflow.EngineProcessors;
+import io.zeebe.engine.processor.workflow.message.command.BatchingPartitionCommandSender;
 import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandSender;
 import io.zeebe.engine.state.ZeebeState;
+import io.zeebe.engine.state.compaction.TombstoneCompactionService;
+import io.zeebe.engine.state.query.StateQueryService;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
@@ -58,13 +63,19 @@ public class EngineService implements Service<EngineService> {
   private final Injector<Atomix> atomixInjector = new Injector<>();
   private final Injector<LeaderManagementRequestHandler> leaderManagementRequestHandlerInjector =
       new Injector<>();
+  private final Injector<CommandApiMessageHandler> commandApiMessageHandlerInjector =
+      new Injector<>();
 
   private final ClusterCfg clusterCfg;
   private final ServiceContainer serviceContainer;
   private final Duration snapshotPeriod;
+  private final RocksDbCfg rocksDbCfg;
+  private final Duration tombstoneCompactionInterval;
+  private final boolean enableStateQueries;
   private ServiceStartContext serviceContext;
 
   private ServerTransport commandApiTransport;
+  private CommandApiMessageHandler commandApiMessageHandler;
   private TopologyManager topologyManager;
   private Atomix atomix;
   private final ServiceGroupReference<Partition> partitionsGroupReference =
@@ -76,12 +87,17 @@ public class EngineService implements Service<EngineService> {
     this.serviceContainer = serviceContainer;
     final DataCfg dataCfg = brokerCfg.getData();
     this.snapshotPeriod = DurationUtil.parse(dataCfg.getSnapshotPeriod());
+    this.rocksDbCfg = dataCfg.getRocksDb();
+    this.tombstoneCompactionInterval =
+        DurationUtil.parse(rocksDbCfg.getTombstoneCompactionInterval());
+    this.enableStateQueries = brokerCfg.getNetwork().getMonitoringApi().isEnableStateQueries();
   }
 
   @Override
   public void start(final ServiceStartContext serviceContext) {
     this.serviceContext = serviceContext;
     this.commandApiTransport = commandApiTransportInjector.getValue();
+    this.commandApiMessageHandler = commandApiMessageHandlerInjector.getValue();
     this.topologyManager = topologyManagerInjector.getValue();
     this.atomix = atomixInjector.getValue();
   }
@@ -97,7 +113,9 @@ public class EngineService implements Service<EngineService> {
         .additionalDependencies(serviceContext.getServiceName())
         .zeebeDb(partition.getZeebeDb())
         .serviceContainer(serviceContainer)
-        .commandResponseWriter(new CommandResponseWriterImpl(commandApiTransport.getOutput()))
+        .commandResponseWriter(
+            new CommandResponseWriterImpl(
+                commandApiTransport.getOutput(), commandApiMessageHandler.getRequestLimiter()))
         .streamProcessorFactory(
             (processingContext) -> {
               final ActorControl actor = processingContext.getActor();
@@ -107,6 +125,10 @@ public class EngineService implements Service<EngineService> {
         .build();
 
     createAsyncSnapshotDirectorService(partition);
+    if (enableStateQueries) {
+      createStateQueryService(partitionServiceName, partition);
+    }
+    createTombstoneCompactionService(partitionServiceName, partition);
   }
 
   private void createAsyncSnapshotDirectorService(final Partition partition) {
@@ -129,6 +151,39 @@ public class EngineService implements Service<EngineService> {
         .install();
   }
 
+  private void createStateQueryService(
+      final ServiceName<Partition> partitionServiceName, final Partition partition) {
+    final String logName = partition.getLogStream().getLogName();
+
+    final StateQueryService stateQueryService =
+        new StateQueryService(partition.getPartitionId(), partition.getZeebeDb());
+
+    serviceContext
+        .createService(StreamProcessorServiceNames.stateQueryService(logName), stateQueryService)
+        .dependency(partitionServiceName)
+        .group(StreamProcessorServiceNames.STATE_QUERY_SERVICE_GROUP_NAME)
+        .install();
+  }
+
+  private void createTombstoneCompactionService(
+      final ServiceName<Partition> partitionServiceName, final Partition partition) {
+    final String logName = partition.getLogStream().getLogName();
+
+    final TombstoneCompactionService compactionService =
+        new TombstoneCompactionService(
+            partition.getPartitionId(),
+            partition.getZeebeDb(),
+            tombstoneCompactionInterval,
+            rocksDbCfg.getTombstoneCompactionMinDeletedEntries(),
+            rocksDbCfg.getTombstoneCompactionRatio());
+
+    serviceContext
+        .createService(
+            StreamProcessorServiceNames.tombstoneCompactionService(logName), compactionService)
+        .dependency(partitionServiceName)
+        .install();
+  }
+
   public TypedRecordProcessors createTypedStreamProcessor(
       ActorControl actor, ZeebeState zeebeState, ProcessingContext processingContext) {
     final LogStream stream = processingContext.getLogStream();
@@ -143,8 +198,10 @@ public class EngineService implements Service<EngineService> {
 
     final PartitionCommandSenderImpl partitionCommandSender =
         new PartitionCommandSenderImpl(atomix, topologyManager, actor);
+    final BatchingPartitionCommandSender batchingPartitionCommandSender =
+        new BatchingPartitionCommandSender(partitionCommandSender, actor);
     final SubscriptionCommandSender subscriptionCommandSender =
-        new SubscriptionCommandSender(stream.getPartitionId(), partitionCommandSender);
+        new SubscriptionCommandSender(stream.getPartitionId(), batchingPartitionCommandSender);
 
     final PushDeploymentRequestHandler deploymentRequestHandler =
         leaderManagementRequestHandlerInjector.getValue().getPushDeploymentRequestHandler();
@@ -154,7 +211,8 @@ public class EngineService implements Service<EngineService> {
         clusterCfg.getPartitionsCount(),
         subscriptionCommandSender,
         deploymentDistributor,
-        deploymentRequestHandler);
+        deploymentRequestHandler,
+        commandApiMessageHandler.getJobWorkerRegistry());
   }
 
   @Override
@@ -166,6 +224,10 @@ public class EngineService implements Service<EngineService> {
     return commandApiTransportInjector;
   }
 
+  public Injector<CommandApiMessageHandler> getCommandApiMessageHandlerInjector() {
+    return commandApiMessageHandlerInjector;
+  }
+
   public ServiceGroupReference<Partition> getPartitionsGroupReference() {
     return partitionsGroupReference;
   }
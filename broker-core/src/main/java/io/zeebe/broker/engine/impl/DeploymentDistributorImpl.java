@@ -32,20 +32,27 @@ import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.impl.encoding.ErrorResponse;
 import io.zeebe.util.buffer.BufferUtil;
 import io.zeebe.util.sched.ActorControl;
+import io.zeebe.util.sched.ScheduledTimer;
+import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.time.Duration;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2LongHashMap;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.collections.IntArrayList;
+import org.agrona.collections.IntHashSet;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
 
+/**
+ * Pushes a deployment to the leaders of all other partitions at once. Failed pushes and partitions
+ * without a known leader are collected and retried together by one timer, which also pushes the
+ * deployment again to each partition which has not responded within {@link #PUSH_REQUEST_TIMEOUT}
+ * after the deployment was last pushed to it.
+ */
 public class DeploymentDistributorImpl implements DeploymentDistributor {
 
   private static final Logger LOG = Loggers.WORKFLOW_REPOSITORY_LOGGER;
@@ -60,13 +67,13 @@ public class DeploymentDistributorImpl implements DeploymentDistributor {
   private final TopologyPartitionListenerImpl partitionListener;
   private final ActorControl actor;
 
-  private final transient Long2ObjectHashMap<ActorFuture<Void>> pendingDeploymentFutures =
-      new Long2ObjectHashMap<>();
+  private final Long2ObjectHashMap<PendingPush> pendingPushes = new Long2ObjectHashMap<>();
   private final DeploymentsState deploymentsState;
 
   private final IntArrayList partitionsToDistributeTo;
   private final Atomix atomix;
-  private final Map<String, IntArrayList> deploymentResponses = new HashMap<>();
+
+  private ScheduledTimer retryTimer;
 
   public DeploymentDistributorImpl(
       final ClusterCfg clusterCfg,
@@ -97,99 +104,57 @@ public class DeploymentDistributorImpl implements DeploymentDistributor {
     final PendingDeploymentDistribution pendingDeploymentDistribution =
         new PendingDeploymentDistribution(buffer, position);
     deploymentsState.putPendingDeployment(key, pendingDeploymentDistribution);
-    pendingDeploymentFutures.put(key, pushedFuture);
-
-    pushDeploymentToPartitions(key);
-
-    return pushedFuture;
-  }
-
-  public PendingDeploymentDistribution removePendingDeployment(final long key) {
-    return deploymentsState.removePendingDeployment(key);
-  }
 
-  private void pushDeploymentToPartitions(final long key) {
-    if (!partitionsToDistributeTo.isEmpty()) {
-      deployOnMultiplePartitions(key);
-    } else {
+    if (partitionsToDistributeTo.isEmpty()) {
       LOG.trace("No other partitions to distribute deployment.");
       LOG.trace("Deployment finished.");
-      pendingDeploymentFutures.remove(key).complete(null);
+      pushedFuture.complete(null);
+      return pushedFuture;
     }
-  }
 
-  private void deployOnMultiplePartitions(final long key) {
     LOG.trace("Distribute deployment to other partitions.");
+    final PendingPush pendingPush =
+        new PendingPush(key, BufferUtil.cloneBuffer(buffer), pushedFuture);
+    pendingPushes.put(key, pendingPush);
 
-    final PendingDeploymentDistribution pendingDeploymentDistribution =
-        deploymentsState.getPendingDeployment(key);
-    final DirectBuffer directBuffer = pendingDeploymentDistribution.getDeployment();
-    pendingDeploymentDistribution.setDistributionCount(partitionsToDistributeTo.size());
-
-    pushDeploymentRequest.reset();
-    pushDeploymentRequest.deployment(directBuffer).deploymentKey(key);
-
-    final IntArrayList modifiablePartitionsList = new IntArrayList();
-    modifiablePartitionsList.addAll(partitionsToDistributeTo);
-
-    prepareToDistribute(modifiablePartitionsList);
-  }
-
-  private void prepareToDistribute(IntArrayList partitionsToDistributeTo) {
-    actor.runDelayed(
-        PUSH_REQUEST_TIMEOUT,
-        () -> {
-          final String topic = getDeploymentResponseTopic(pushDeploymentRequest.deploymentKey());
-          final IntArrayList missingResponses = getPartitionResponses(topic);
+    createResponseSubscription(key);
+    pushDeploymentToPartitions(pendingPush, partitionsToDistributeTo);
 
-          if (!missingResponses.isEmpty()) {
-            LOG.warn(
-                "Failed to receive deployment response for partitions {} (topic '{}'). Retrying",
-                missingResponses,
-                topic);
-
-            prepareToDistribute(missingResponses);
-          }
-        });
-
-    distributeDeployment(partitionsToDistributeTo);
+    return pushedFuture;
   }
 
-  private void distributeDeployment(final IntArrayList partitionsToDistribute) {
-    final IntArrayList remainingPartitions =
-        distributeDeploymentToPartitions(partitionsToDistribute);
-
-    if (remainingPartitions.isEmpty()) {
-      LOG.trace("Pushed deployment to all partitions");
-      return;
-    }
-
-    actor.runDelayed(RETRY_DELAY, () -> distributeDeployment(remainingPartitions));
+  public PendingDeploymentDistribution removePendingDeployment(final long key) {
+    return deploymentsState.removePendingDeployment(key);
   }
 
-  private IntArrayList distributeDeploymentToPartitions(final IntArrayList remainingPartitions) {
+  private void pushDeploymentToPartitions(
+      final PendingPush pendingPush, final IntArrayList partitions) {
     final Int2ObjectHashMap<NodeInfo> currentPartitionLeaders =
         partitionListener.getPartitionLeaders();
+    final long responseDeadline = ActorClock.currentTimeMillis() + PUSH_REQUEST_TIMEOUT.toMillis();
 
-    final Iterator<Integer> iterator = remainingPartitions.iterator();
-    while (iterator.hasNext()) {
-      final Integer partitionId = iterator.next();
+    for (int i = 0; i < partitions.size(); i++) {
+      final int partitionId = partitions.getInt(i);
       final NodeInfo leader = currentPartitionLeaders.get(partitionId);
       if (leader != null) {
-        iterator.remove();
-        pushDeploymentToPartition(leader.getNodeId(), partitionId);
+        pendingPush.responseDeadlines.put(partitionId, responseDeadline);
+        pushDeploymentToPartition(pendingPush, leader.getNodeId(), partitionId);
+      } else {
+        pendingPush.responseDeadlines.remove(partitionId);
+        scheduleRetry(pendingPush.key, partitionId);
       }
     }
-    return remainingPartitions;
   }
 
-  private void pushDeploymentToPartition(final int partitionLeaderId, final int partition) {
+  private void pushDeploymentToPartition(
+      final PendingPush pendingPush, final int partitionLeaderId, final int partition) {
+    final long key = pendingPush.key;
+    pushDeploymentRequest.reset();
+    pushDeploymentRequest.deployment(pendingPush.deployment).deploymentKey(key);
     pushDeploymentRequest.partitionId(partition);
     final byte[] bytes = pushDeploymentRequest.toBytes();
     final MemberId memberId = new MemberId(Integer.toString(partitionLeaderId));
-    final String topic = getDeploymentResponseTopic(pushDeploymentRequest.deploymentKey());
 
-    createResponseSubscription(partitionLeaderId, partition, topic);
     final CompletableFuture<byte[]> pushDeploymentFuture =
         atomix.getCommunicationService().send("deployment", bytes, memberId, PUSH_REQUEST_TIMEOUT);
 
@@ -203,13 +168,75 @@ public class DeploymentDistributorImpl implements DeploymentDistributor {
                         partitionLeaderId,
                         partition,
                         throwable);
-                    handleRetry(partitionLeaderId, partition);
+                    scheduleRetry(key, partition);
+                  } else if (isRejected(response, partitionLeaderId, partition)) {
+                    scheduleRetry(key, partition);
                   }
                 }));
   }
 
-  private void createResponseSubscription(
-      final int partitionLeaderId, final int partition, final String topic) {
+  private boolean isRejected(byte[] response, int partitionLeaderId, int partition) {
+    final DirectBuffer responseBuffer = new UnsafeBuffer(response);
+    if (errorResponse.tryWrap(responseBuffer)) {
+      errorResponse.wrap(responseBuffer, 0, responseBuffer.capacity());
+      LOG.warn(
+          "Node {} rejected deployment on partition {} due to error of type {} :'{}'",
+          partitionLeaderId,
+          partition,
+          errorResponse.getErrorCode().name(),
+          BufferUtil.bufferAsString(errorResponse.getErrorData()));
+      return true;
+    }
+    return false;
+  }
+
+  private void scheduleRetry(final long key, final int partition) {
+    final PendingPush pendingPush = pendingPushes.get(key);
+    if (pendingPush != null && pendingPush.missingResponses.contains(partition)) {
+      LOG.debug("Retry to push deployment {} to partition {}", key, partition);
+      pendingPush.partitionsToRetry.add(partition);
+      scheduleRetryTimer();
+    }
+  }
+
+  private void scheduleRetryTimer() {
+    if (retryTimer == null && !pendingPushes.isEmpty()) {
+      retryTimer = actor.runDelayed(RETRY_DELAY, this::retryPendingPushes);
+    }
+  }
+
+  private void retryPendingPushes() {
+    retryTimer = null;
+    final long now = ActorClock.currentTimeMillis();
+
+    for (PendingPush pendingPush : pendingPushes.values()) {
+      final IntArrayList partitions = new IntArrayList();
+      pendingPush.missingResponses.forEach(
+          partition -> {
+            final int partitionId = partition;
+            if (pendingPush.partitionsToRetry.contains(partitionId)) {
+              partitions.addInt(partitionId);
+            } else if (now >= pendingPush.responseDeadlines.get(partitionId)) {
+              LOG.warn(
+                  "Failed to receive deployment response for partition {} (deployment {}). Retrying",
+                  partitionId,
+                  pendingPush.key);
+              partitions.addInt(partitionId);
+            }
+          });
+      pendingPush.partitionsToRetry.clear();
+
+      if (!partitions.isEmpty()) {
+        pushDeploymentToPartitions(pendingPush, partitions);
+      }
+    }
+
+    // keep checking for missing responses as long as deployments are pending
+    scheduleRetryTimer();
+  }
+
+  private void createResponseSubscription(final long key) {
+    final String topic = getDeploymentResponseTopic(key);
     if (atomix.getEventService().getSubscriptions(topic).isEmpty()) {
       LOG.trace("Setting up deployment subscription for topic {}", topic);
       atomix
@@ -220,12 +247,9 @@ public class DeploymentDistributorImpl implements DeploymentDistributor {
                 final CompletableFuture future = new CompletableFuture();
                 actor.call(
                     () -> {
-                      LOG.debug(
-                          "Receiving deployment response on topic {} from partition {}",
-                          topic,
-                          partition);
+                      LOG.debug("Receiving deployment response on topic {}", topic);
 
-                      handleResponse(response, partitionLeaderId, partition, topic);
+                      handleResponse(response);
 
                       future.complete(null);
                       return future;
@@ -235,88 +259,61 @@ public class DeploymentDistributorImpl implements DeploymentDistributor {
     }
   }
 
-  private void handleResponse(byte[] response, int partitionLeaderId, int partition, String topic) {
+  private void handleResponse(byte[] response) {
     final DirectBuffer responseBuffer = new UnsafeBuffer(response);
 
     if (pushDeploymentResponse.tryWrap(responseBuffer)) {
       pushDeploymentResponse.wrap(responseBuffer);
-      if (handlePushResponse()) {
-        final IntArrayList missingResponses = getPartitionResponses(topic);
-        missingResponses.removeInt(partition);
-      }
-    } else if (errorResponse.tryWrap(responseBuffer)) {
-      errorResponse.wrap(responseBuffer, 0, responseBuffer.capacity());
-      LOG.warn(
-          "Node {} rejected deployment on partition {} due to error of type {} :'{}'",
-          partitionLeaderId,
-          partition,
-          errorResponse.getErrorCode().name(),
-          BufferUtil.bufferAsString(errorResponse.getErrorData()));
-      handleRetry(partitionLeaderId, partition);
+      handlePushResponse();
     } else {
-      LOG.warn(
-          "Received unknown deployment response from node {} for partition {}",
-          partitionLeaderId,
-          partition);
-      handleRetry(partitionLeaderId, partition);
+      LOG.warn("Received unknown deployment response {}", BufferUtil.bytesAsHexString(response));
     }
   }
 
-  private void handleRetry(int partitionLeaderId, int partition) {
-    LOG.debug(
-        "Retry deployment to push to partition {} after {}ms",
-        partition,
-        PUSH_REQUEST_TIMEOUT.toMillis());
-
-    actor.runDelayed(
-        RETRY_DELAY,
-        () -> {
-          final Int2ObjectHashMap<NodeInfo> partitionLeaders =
-              partitionListener.getPartitionLeaders();
-          final NodeInfo currentLeader = partitionLeaders.get(partition);
-          if (currentLeader != null) {
-            pushDeploymentToPartition(currentLeader.getNodeId(), partition);
-          } else {
-            pushDeploymentToPartition(partitionLeaderId, partition);
-          }
-        });
-  }
-
-  private boolean handlePushResponse() {
+  private void handlePushResponse() {
     final long deploymentKey = pushDeploymentResponse.deploymentKey();
-    final PendingDeploymentDistribution pendingDeploymentDistribution =
-        deploymentsState.getPendingDeployment(deploymentKey);
-    final boolean pendingDeploymentExists = pendingDeploymentDistribution != null;
-
-    if (pendingDeploymentExists) {
-      final long remainingPartitions = pendingDeploymentDistribution.decrementCount();
-      if (remainingPartitions == 0) {
-        LOG.debug("Deployment pushed to all partitions successfully.");
-        pendingDeploymentFutures.remove(deploymentKey).complete(null);
-      } else {
-        LOG.trace(
-            "Deployment was pushed to partition {} successfully.",
-            pushDeploymentResponse.partitionId());
-      }
-    } else {
+    final int partitionId = pushDeploymentResponse.partitionId();
+    final PendingPush pendingPush = pendingPushes.get(deploymentKey);
+
+    if (pendingPush == null || !pendingPush.missingResponses.remove(partitionId)) {
       LOG.trace(
-          "Ignoring unexpected push deployment response for deployment key {}", deploymentKey);
+          "Ignoring unexpected push deployment response for deployment key {} and partition {}",
+          deploymentKey,
+          partitionId);
+      return;
     }
 
-    return pendingDeploymentExists;
+    pendingPush.partitionsToRetry.remove(partitionId);
+    pendingPush.responseDeadlines.remove(partitionId);
+    if (pendingPush.missingResponses.isEmpty()) {
+      LOG.debug("Deployment pushed to all partitions successfully.");
+      pendingPushes.remove(deploymentKey);
+      pendingPush.pushedFuture.complete(null);
+    } else {
+      LOG.trace("Deployment was pushed to partition {} successfully.", partitionId);
+    }
   }
 
   public static String getDeploymentResponseTopic(final long deploymentKey) {
     return String.format("deployment-response-%d", deploymentKey);
   }
 
-  private IntArrayList getPartitionResponses(final String topic) {
-    return deploymentResponses.computeIfAbsent(
-        topic,
-        k -> {
-          final IntArrayList responses = new IntArrayList();
-          responses.addAll(partitionsToDistributeTo);
-          return responses;
-        });
+  private final class PendingPush {
+    private final long key;
+    private final DirectBuffer deployment;
+    private final ActorFuture<Void> pushedFuture;
+    private final IntHashSet missingResponses = new IntHashSet();
+    private final IntHashSet partitionsToRetry = new IntHashSet();
+    // only contains the partitions to which the deployment was pushed
+    private final Int2LongHashMap responseDeadlines = new Int2LongHashMap(Long.MAX_VALUE);
+
+    PendingPush(long key, DirectBuffer deployment, ActorFuture<Void> pushedFuture) {
+      this.key = key;
+      this.deployment = deployment;
+      this.pushedFuture = pushedFuture;
+      for (int i = 0; i < partitionsToDistributeTo.size(); i++) {
+        missingResponses.add(partitionsToDistributeTo.getInt(i));
+      }
+    }
   }
 }
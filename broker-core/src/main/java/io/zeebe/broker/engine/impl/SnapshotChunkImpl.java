@@ -36,6 +36,7 @@ public class SnapshotChunkImpl
   private long snapshotPosition;
   private int totalCount;
   private String chunkName;
+  private long fileOffset;
   private long checksum;
 
   private final DirectBuffer content = new UnsafeBuffer(0, 0);
@@ -46,6 +47,7 @@ public class SnapshotChunkImpl
     snapshotPosition = chunk.getSnapshotPosition();
     totalCount = chunk.getTotalCount();
     chunkName = chunk.getChunkName();
+    fileOffset = chunk.getFileOffset();
     checksum = chunk.getChecksum();
     content.wrap(chunk.getContent());
   }
@@ -78,6 +80,7 @@ public class SnapshotChunkImpl
         .totalCount(totalCount)
         .chunkName(chunkName)
         .checksum(checksum)
+        .fileOffset(fileOffset)
         .putContent(content, 0, content.capacity());
   }
 
@@ -87,6 +90,10 @@ public class SnapshotChunkImpl
 
     snapshotPosition = decoder.snapshotPosition();
     totalCount = decoder.totalCount();
+    // chunks of older versions contain always a whole file
+    final long decodedFileOffset = decoder.fileOffset();
+    fileOffset =
+        decodedFileOffset == SnapshotChunkDecoder.fileOffsetNullValue() ? 0 : decodedFileOffset;
     chunkName = decoder.chunkName();
     checksum = decoder.checksum();
     decoder.wrapContent(content);
@@ -99,6 +106,7 @@ public class SnapshotChunkImpl
     snapshotPosition = SnapshotChunkDecoder.snapshotPositionNullValue();
     totalCount = SnapshotChunkDecoder.totalCountNullValue();
     checksum = SnapshotChunkDecoder.checksumNullValue();
+    fileOffset = 0;
 
     chunkName = "";
     content.wrap(0, 0);
@@ -119,6 +127,11 @@ public class SnapshotChunkImpl
     return chunkName;
   }
 
+  @Override
+  public long getFileOffset() {
+    return fileOffset;
+  }
+
   @Override
   public long getChecksum() {
     return checksum;
@@ -139,6 +152,8 @@ public class SnapshotChunkImpl
         + ", chunkName='"
         + chunkName
         + '\''
+        + ", fileOffset="
+        + fileOffset
         + ", checksum="
         + checksum
         + "} "
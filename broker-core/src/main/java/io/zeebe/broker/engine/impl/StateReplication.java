@@ -25,6 +25,7 @@ import io.zeebe.logstreams.state.SnapshotReplication;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.slf4j.Logger;
@@ -32,19 +33,23 @@ import org.slf4j.Logger;
 public class StateReplication implements SnapshotReplication {
 
   public static final String REPLICATION_TOPIC_FORMAT = "replication-%d";
+  public static final String REPLICATION_REQUEST_TOPIC_FORMAT = "replication-request-%d";
   private static final Logger LOG = Loggers.STREAM_PROCESSING;
 
   private final String replicationTopic;
+  private final String replicationRequestTopic;
 
   private final DirectBuffer readBuffer = new UnsafeBuffer(0, 0);
   private final ClusterEventService eventService;
 
   private ExecutorService executorService;
   private Subscription subscription;
+  private Subscription requestSubscription;
 
   public StateReplication(ClusterEventService eventService, int partitionId) {
     this.eventService = eventService;
     this.replicationTopic = String.format(REPLICATION_TOPIC_FORMAT, partitionId);
+    this.replicationRequestTopic = String.format(REPLICATION_REQUEST_TOPIC_FORMAT, partitionId);
   }
 
   @Override
@@ -88,8 +93,30 @@ public class StateReplication implements SnapshotReplication {
             .join();
   }
 
+  @Override
+  public void requestFullReplication() {
+    LOG.debug("Request full snapshot replication on topic {}.", replicationRequestTopic);
+    eventService.broadcast(replicationRequestTopic, new byte[0], Function.identity());
+  }
+
+  @Override
+  public void onFullReplicationRequest(Runnable listener) {
+    requestSubscription =
+        eventService
+            .subscribe(
+                replicationRequestTopic,
+                Function.<byte[]>identity(),
+                request -> listener.run(),
+                Runnable::run)
+            .join();
+  }
+
   @Override
   public void close() {
+    if (requestSubscription != null) {
+      requestSubscription.close().join();
+      requestSubscription = null;
+    }
     if (subscription != null) {
       subscription.close().join();
       subscription = null;
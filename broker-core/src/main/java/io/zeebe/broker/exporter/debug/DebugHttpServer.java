@@ -21,7 +21,6 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.google.common.base.Charsets;
 import com.sun.net.httpserver.HttpExchange;
 import com.sun.net.httpserver.HttpHandler;
 import com.sun.net.httpserver.HttpServer;
@@ -32,16 +31,16 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.InetSocketAddress;
-import java.nio.charset.Charset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 
 public class DebugHttpServer {
 
-  private static final Charset CHARSET = Charsets.UTF_8;
   private static final String[] RESOURCE_NAMES =
       new String[] {
         "index.html",
@@ -64,7 +63,7 @@ public class DebugHttpServer {
   private HttpServer server;
   private final Map<String, byte[]> resources;
   private ObjectMapper objectMapper;
-  private final LinkedList<String> records;
+  private final LinkedList<byte[]> records;
 
   public DebugHttpServer(int port, int maxSize) {
     this.maxSize = maxSize;
@@ -120,12 +119,16 @@ public class DebugHttpServer {
     return objectMapper;
   }
 
-  public synchronized void add(Record record) throws JsonProcessingException {
-    while (records.size() >= maxSize) {
-      records.removeLast();
-    }
+  public void add(Record record) throws JsonProcessingException {
+    final byte[] json = objectMapper.writeValueAsBytes(record);
+
+    synchronized (this) {
+      while (records.size() >= maxSize) {
+        records.removeLast();
+      }
 
-    records.addFirst(objectMapper.writeValueAsString(record));
+      records.addFirst(json);
+    }
   }
 
   class RequestHandler implements HttpHandler {
@@ -143,13 +146,12 @@ public class DebugHttpServer {
         httpExchange.getResponseHeaders().add("Content-Type", contentType);
       }
 
-      final byte[] response;
       if ("records.json".equals(path)) {
-        response = getRecords();
-      } else {
-        response = resources.get(path);
+        sendRecords(httpExchange);
+        return;
       }
 
+      final byte[] response = resources.get(path);
       if (response.length > 0) {
         httpExchange.sendResponseHeaders(200, response.length);
         try (OutputStream outputStream = httpExchange.getResponseBody()) {
@@ -160,9 +162,29 @@ public class DebugHttpServer {
       }
     }
 
-    private byte[] getRecords() {
-      final String json = "[" + String.join(",", records) + "]";
-      return json.getBytes(CHARSET);
+    /** Writes the records as JSON array directly to the response, without copying them first. */
+    private void sendRecords(HttpExchange httpExchange) throws IOException {
+      final List<byte[]> snapshot;
+      synchronized (DebugHttpServer.this) {
+        snapshot = new ArrayList<>(records);
+      }
+
+      long length = 2 + Math.max(0, snapshot.size() - 1);
+      for (byte[] record : snapshot) {
+        length += record.length;
+      }
+
+      httpExchange.sendResponseHeaders(200, length);
+      try (OutputStream outputStream = httpExchange.getResponseBody()) {
+        outputStream.write('[');
+        for (int i = 0; i < snapshot.size(); i++) {
+          if (i > 0) {
+            outputStream.write(',');
+          }
+          outputStream.write(snapshot.get(i));
+        }
+        outputStream.write(']');
+      }
     }
   }
 }
@@ -61,6 +61,12 @@ public class DebugLogExporter implements Exporter {
 
   @Override
   public void export(Record record) {
+    if (!isLogEnabled()) {
+      // the logger only accepts the finished message, so at least skip serializing the record if
+      // the message would be dropped anyway
+      return;
+    }
+
     try {
       log("{}", objectMapper.writeValueAsString(record));
     } catch (JsonProcessingException e) {
@@ -96,6 +102,23 @@ public class DebugLogExporter implements Exporter {
     }
   }
 
+  private boolean isLogEnabled() {
+    switch (logLevel) {
+      case TRACE:
+        return log.isTraceEnabled();
+      case DEBUG:
+        return log.isDebugEnabled();
+      case INFO:
+        return log.isInfoEnabled();
+      case WARN:
+        return log.isWarnEnabled();
+      case ERROR:
+        return log.isErrorEnabled();
+      default:
+        return true;
+    }
+  }
+
   public static class DebugExporterConfiguration {
     public String logLevel = "debug";
     public boolean prettyPrint = false;
@@ -24,13 +24,16 @@ import static io.zeebe.broker.clustering.base.ClusterBaseLayerServiceNames.LEADE
 import static io.zeebe.broker.system.SystemServiceNames.BROKER_HEALTH_CHECK_SERVICE;
 import static io.zeebe.broker.system.SystemServiceNames.BROKER_HTTP_SERVER;
 import static io.zeebe.broker.system.SystemServiceNames.LEADER_MANAGEMENT_REQUEST_HANDLER;
+import static io.zeebe.engine.processor.StreamProcessorServiceNames.STATE_QUERY_SERVICE_GROUP_NAME;
 
 import io.prometheus.client.CollectorRegistry;
 import io.prometheus.client.hotspot.DefaultExports;
-import io.zeebe.broker.system.configuration.SocketBindingCfg;
+import io.zeebe.broker.system.configuration.SocketBindingCfg.MonitoringApiCfg;
 import io.zeebe.broker.system.management.LeaderManagementRequestHandler;
 import io.zeebe.broker.system.monitoring.BrokerHealthCheckService;
+import io.zeebe.broker.system.monitoring.BrokerHttpServer;
 import io.zeebe.broker.system.monitoring.BrokerHttpServerService;
+import io.zeebe.servicecontainer.ServiceBuilder;
 import io.zeebe.servicecontainer.ServiceContainer;
 
 public class SystemComponent implements Component {
@@ -56,18 +59,23 @@ public class SystemComponent implements Component {
             FOLLOWER_PARTITION_GROUP_NAME, healthCheckService.getFollowerInstallReference())
         .install();
 
-    final SocketBindingCfg monitoringApi =
+    final MonitoringApiCfg monitoringApi =
         context.getBrokerConfiguration().getNetwork().getMonitoringApi();
 
-    serviceContainer
-        .createService(
-            BROKER_HTTP_SERVER,
-            new BrokerHttpServerService(
-                monitoringApi.getHost(),
-                monitoringApi.getPort(),
-                METRICS_REGISTRY,
-                healthCheckService))
-        .install();
+    final BrokerHttpServerService httpServerService =
+        new BrokerHttpServerService(
+            monitoringApi.getHost(),
+            monitoringApi.getPort(),
+            METRICS_REGISTRY,
+            healthCheckService,
+            monitoringApi.isEnableStateQueries());
+    final ServiceBuilder<BrokerHttpServer> httpServerServiceBuilder =
+        serviceContainer.createService(BROKER_HTTP_SERVER, httpServerService);
+    if (monitoringApi.isEnableStateQueries()) {
+      httpServerServiceBuilder.groupReference(
+          STATE_QUERY_SERVICE_GROUP_NAME, httpServerService.getStateQueryServicesReference());
+    }
+    httpServerServiceBuilder.install();
 
     final LeaderManagementRequestHandler requestHandlerService =
         new LeaderManagementRequestHandler();
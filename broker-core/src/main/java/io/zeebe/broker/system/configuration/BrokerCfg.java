@@ -31,6 +31,7 @@ public class BrokerCfg {
   private DataCfg data = new DataCfg();
   private List<ExporterCfg> exporters = new ArrayList<>();
   private EmbeddedGatewayCfg gateway = new EmbeddedGatewayCfg();
+  private BackpressureCfg backpressure = new BackpressureCfg();
 
   public void init(final String brokerBase) {
     init(brokerBase, new Environment());
@@ -44,6 +45,7 @@ public class BrokerCfg {
     data.init(this, brokerBase, environment);
     exporters.forEach(e -> e.init(this, brokerBase, environment));
     gateway.init(this, brokerBase, environment);
+    backpressure.init(this, brokerBase, environment);
   }
 
   private void applyEnvironment(final Environment environment) {
@@ -103,6 +105,15 @@ public class BrokerCfg {
     return this;
   }
 
+  public BackpressureCfg getBackpressure() {
+    return backpressure;
+  }
+
+  public BrokerCfg setBackpressure(BackpressureCfg backpressure) {
+    this.backpressure = backpressure;
+    return this;
+  }
+
   @Override
   public String toString() {
     return "BrokerCfg{"
@@ -118,6 +129,8 @@ public class BrokerCfg {
         + exporters
         + ", gateway="
         + gateway
+        + ", backpressure="
+        + backpressure
         + '}';
   }
 
@@ -37,10 +37,15 @@ public class DataCfg implements ConfigurationEntry {
 
   private int maxSnapshots = 3;
 
+  private boolean incrementalSnapshotReplication = false;
+
+  private RocksDbCfg rocksDb = new RocksDbCfg();
+
   @Override
   public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
     applyEnvironment(environment);
     directories.replaceAll(d -> ConfigurationUtil.toAbsolutePath(d, brokerBase));
+    rocksDb.init(globalConfig, brokerBase, environment);
   }
 
   private void applyEnvironment(final Environment environment) {
@@ -87,6 +92,14 @@ public class DataCfg implements ConfigurationEntry {
     return maxSnapshots;
   }
 
+  public boolean isIncrementalSnapshotReplication() {
+    return incrementalSnapshotReplication;
+  }
+
+  public void setIncrementalSnapshotReplication(boolean incrementalSnapshotReplication) {
+    this.incrementalSnapshotReplication = incrementalSnapshotReplication;
+  }
+
   public String getRaftSegmentSize() {
     return raftSegmentSize;
   }
@@ -95,6 +108,14 @@ public class DataCfg implements ConfigurationEntry {
     this.raftSegmentSize = raftSegmentSize;
   }
 
+  public RocksDbCfg getRocksDb() {
+    return rocksDb;
+  }
+
+  public void setRocksDb(RocksDbCfg rocksDb) {
+    this.rocksDb = rocksDb;
+  }
+
   @Override
   public String toString() {
     return "DataCfg{"
@@ -112,6 +133,10 @@ public class DataCfg implements ConfigurationEntry {
         + ", maxSnapshots='"
         + maxSnapshots
         + '\''
+        + ", incrementalSnapshotReplication="
+        + incrementalSnapshotReplication
+        + ", rocksDb="
+        + rocksDb
         + '}';
   }
 }
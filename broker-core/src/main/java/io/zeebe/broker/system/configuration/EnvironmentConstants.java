@@ -30,4 +30,5 @@ public class EnvironmentConstants {
   public static final String ENV_CLUSTER_NAME = "ZEEBE_CLUSTER_NAME";
   public static final String ENV_EMBED_GATEWAY = "ZEEBE_EMBED_GATEWAY";
   public static final String ENV_DEBUG_EXPORTER = "ZEEBE_DEBUG";
+  public static final String ENV_BACKPRESSURE_ENABLED = "ZEEBE_BACKPRESSURE_ENABLED";
 }
@@ -77,7 +77,7 @@ public class NetworkCfg implements ConfigurationEntry {
     this.commandApi = commandApi;
   }
 
-  public SocketBindingCfg getMonitoringApi() {
+  public MonitoringApiCfg getMonitoringApi() {
     return monitoringApi;
   }
 
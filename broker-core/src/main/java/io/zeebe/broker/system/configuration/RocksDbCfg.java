@@ -0,0 +1,118 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+package io.zeebe.broker.system.configuration;
+
+import io.zeebe.db.impl.rocksdb.ColumnFamilyProfile;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.util.ByteValue;
+import io.zeebe.util.Environment;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RocksDbCfg implements ConfigurationEntry {
+
+  private String blockCacheSize = "64M";
+
+  // column family name -> profile name, overrides the default profiles of the column families
+  private Map<String, String> columnFamilyProfiles = new HashMap<>();
+
+  private String tombstoneCompactionInterval = "1m";
+  private long tombstoneCompactionMinDeletedEntries = 10_000;
+  private double tombstoneCompactionRatio = 0.5;
+
+  @Override
+  public void init(BrokerCfg globalConfig, String brokerBase, Environment environment) {
+    // validate the configuration on startup instead of on opening the first partition
+    applyTo(new RocksDbConfiguration());
+  }
+
+  /** Applies the configured block cache size and column family profiles to the configuration. */
+  public RocksDbConfiguration applyTo(RocksDbConfiguration configuration) {
+    configuration.setBlockCacheSize(new ByteValue(blockCacheSize).toBytes());
+
+    columnFamilyProfiles.forEach(
+        (columnFamilyName, profileName) ->
+            configuration.setColumnFamilyProfile(
+                columnFamilyName, ColumnFamilyProfile.valueOf(profileName.toUpperCase())));
+
+    return configuration;
+  }
+
+  public String getBlockCacheSize() {
+    return blockCacheSize;
+  }
+
+  public RocksDbCfg setBlockCacheSize(String blockCacheSize) {
+    this.blockCacheSize = blockCacheSize;
+    return this;
+  }
+
+  public Map<String, String> getColumnFamilyProfiles() {
+    return columnFamilyProfiles;
+  }
+
+  public RocksDbCfg setColumnFamilyProfiles(Map<String, String> columnFamilyProfiles) {
+    this.columnFamilyProfiles = columnFamilyProfiles;
+    return this;
+  }
+
+  public String getTombstoneCompactionInterval() {
+    return tombstoneCompactionInterval;
+  }
+
+  public RocksDbCfg setTombstoneCompactionInterval(String tombstoneCompactionInterval) {
+    this.tombstoneCompactionInterval = tombstoneCompactionInterval;
+    return this;
+  }
+
+  public long getTombstoneCompactionMinDeletedEntries() {
+    return tombstoneCompactionMinDeletedEntries;
+  }
+
+  public RocksDbCfg setTombstoneCompactionMinDeletedEntries(
+      long tombstoneCompactionMinDeletedEntries) {
+    this.tombstoneCompactionMinDeletedEntries = tombstoneCompactionMinDeletedEntries;
+    return this;
+  }
+
+  public double getTombstoneCompactionRatio() {
+    return tombstoneCompactionRatio;
+  }
+
+  public RocksDbCfg setTombstoneCompactionRatio(double tombstoneCompactionRatio) {
+    this.tombstoneCompactionRatio = tombstoneCompactionRatio;
+    return this;
+  }
+
+  @Override
+  public String toString() {
+    return "RocksDbCfg{"
+        + "blockCacheSize='"
+        + blockCacheSize
+        + '\''
+        + ", columnFamilyProfiles="
+        + columnFamilyProfiles
+        + ", tombstoneCompactionInterval='"
+        + tombstoneCompactionInterval
+        + '\''
+        + ", tombstoneCompactionMinDeletedEntries="
+        + tombstoneCompactionMinDeletedEntries
+        + ", tombstoneCompactionRatio="
+        + tombstoneCompactionRatio
+        + '}';
+  }
+}
@@ -21,10 +21,14 @@ import io.zeebe.transport.SocketAddress;
 
 public class SocketBindingCfg {
   public static final String DEFAULT_SEND_BUFFER_SIZE = "16M";
+  public static final int DEFAULT_SENDER_COUNT = 1;
+  public static final int DEFAULT_RECEIVER_COUNT = 1;
 
   protected String host;
   protected int port;
   protected String sendBufferSize;
+  protected int senderCount = DEFAULT_SENDER_COUNT;
+  protected int receiverCount = DEFAULT_RECEIVER_COUNT;
 
   private SocketBindingCfg(int defaultPort) {
     this.port = defaultPort;
@@ -70,6 +74,22 @@ public class SocketBindingCfg {
     this.sendBufferSize = sendBufferSize;
   }
 
+  public int getSenderCount() {
+    return senderCount;
+  }
+
+  public void setSenderCount(int senderCount) {
+    this.senderCount = senderCount;
+  }
+
+  public int getReceiverCount() {
+    return receiverCount;
+  }
+
+  public void setReceiverCount(int receiverCount) {
+    this.receiverCount = receiverCount;
+  }
+
   @Override
   public String toString() {
     return "SocketBindingCfg{"
@@ -81,6 +101,10 @@ public class SocketBindingCfg {
         + ", sendBufferSize='"
         + sendBufferSize
         + '\''
+        + ", senderCount="
+        + senderCount
+        + ", receiverCount="
+        + receiverCount
         + '}';
   }
 
@@ -97,8 +121,28 @@ public class SocketBindingCfg {
   }
 
   public static class MonitoringApiCfg extends SocketBindingCfg {
+    private boolean enableStateQueries = false;
+
     public MonitoringApiCfg() {
       super(NetworkCfg.DEFAULT_MONITORING_API_PORT);
     }
+
+    public boolean isEnableStateQueries() {
+      return enableStateQueries;
+    }
+
+    public void setEnableStateQueries(boolean enableStateQueries) {
+      this.enableStateQueries = enableStateQueries;
+    }
+
+    @Override
+    public String toString() {
+      return "MonitoringApiCfg{"
+          + "socketBinding="
+          + super.toString()
+          + ", enableStateQueries="
+          + enableStateQueries
+          + '}';
+    }
   }
 }
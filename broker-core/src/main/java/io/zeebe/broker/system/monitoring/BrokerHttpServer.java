@@ -33,7 +33,8 @@ public class BrokerHttpServer implements AutoCloseable {
       String host,
       int port,
       CollectorRegistry metricsRegistry,
-      BrokerHealthCheckService brokerHealthCheckService) {
+      BrokerHealthCheckService brokerHealthCheckService,
+      StateQueryRequestHandler stateQueryRequestHandler) {
     bossGroup = new NioEventLoopGroup(1);
     workerGroup = new NioEventLoopGroup();
 
@@ -42,7 +43,8 @@ public class BrokerHttpServer implements AutoCloseable {
             .group(bossGroup, workerGroup)
             .channel(NioServerSocketChannel.class)
             .childHandler(
-                new BrokerHttpServerInitializer(metricsRegistry, brokerHealthCheckService))
+                new BrokerHttpServerInitializer(
+                    metricsRegistry, brokerHealthCheckService, stateQueryRequestHandler))
             .bind(host, port)
             .syncUninterruptibly()
             .channel();
@@ -17,6 +17,8 @@
  */
 package io.zeebe.broker.system.monitoring;
 
+import static io.zeebe.broker.system.monitoring.StateQueryRequestHandler.PARTITIONS_URI_PREFIX;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufOutputStream;
 import io.netty.buffer.Unpooled;
@@ -47,11 +49,16 @@ public class BrokerHttpServerHandler extends ChannelInboundHandlerAdapter {
 
   private final CollectorRegistry metricsRegistry;
   private BrokerHealthCheckService brokerHealthCheckService;
+  // null if the state queries are disabled
+  private final StateQueryRequestHandler stateQueryRequestHandler;
 
   public BrokerHttpServerHandler(
-      CollectorRegistry metricsRegistry, BrokerHealthCheckService brokerHealthCheckService) {
+      CollectorRegistry metricsRegistry,
+      BrokerHealthCheckService brokerHealthCheckService,
+      StateQueryRequestHandler stateQueryRequestHandler) {
     this.metricsRegistry = metricsRegistry;
     this.brokerHealthCheckService = brokerHealthCheckService;
+    this.stateQueryRequestHandler = stateQueryRequestHandler;
   }
 
   @Override
@@ -77,6 +84,13 @@ public class BrokerHttpServerHandler extends ChannelInboundHandlerAdapter {
 
     final QueryStringDecoder queryStringDecoder = new QueryStringDecoder(request.uri());
 
+    if (stateQueryRequestHandler != null
+        && queryStringDecoder.path().startsWith(PARTITIONS_URI_PREFIX)) {
+      // the query is completed by another thread, the event loop must not wait for it
+      stateQueryRequestHandler.handle(queryStringDecoder, response -> writeResponse(ctx, response));
+      return;
+    }
+
     final DefaultFullHttpResponse response;
     if (BROKER_READY_STATUS_URI.equals(queryStringDecoder.path())) {
       response = getReadyStatus();
@@ -86,6 +100,10 @@ public class BrokerHttpServerHandler extends ChannelInboundHandlerAdapter {
       response = new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_FOUND);
     }
 
+    writeResponse(ctx, response);
+  }
+
+  private static void writeResponse(ChannelHandlerContext ctx, DefaultFullHttpResponse response) {
     ctx.writeAndFlush(response).addListener(ChannelFutureListener.CLOSE);
   }
 
@@ -26,17 +26,24 @@ public class BrokerHttpServerInitializer extends ChannelInitializer<SocketChanne
 
   private final CollectorRegistry metricsRegistry;
   private BrokerHealthCheckService brokerHealthCheckService;
+  private final StateQueryRequestHandler stateQueryRequestHandler;
 
   public BrokerHttpServerInitializer(
-      CollectorRegistry metricsRegistry, BrokerHealthCheckService brokerHealthCheckService) {
+      CollectorRegistry metricsRegistry,
+      BrokerHealthCheckService brokerHealthCheckService,
+      StateQueryRequestHandler stateQueryRequestHandler) {
     this.metricsRegistry = metricsRegistry;
     this.brokerHealthCheckService = brokerHealthCheckService;
+    this.stateQueryRequestHandler = stateQueryRequestHandler;
   }
 
   @Override
   protected void initChannel(SocketChannel ch) {
     ch.pipeline()
         .addLast("codec", new HttpServerCodec())
-        .addLast("request", new BrokerHttpServerHandler(metricsRegistry, brokerHealthCheckService));
+        .addLast(
+            "request",
+            new BrokerHttpServerHandler(
+                metricsRegistry, brokerHealthCheckService, stateQueryRequestHandler));
   }
 }
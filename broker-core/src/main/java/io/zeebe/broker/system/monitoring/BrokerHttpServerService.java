@@ -18,6 +18,8 @@
 package io.zeebe.broker.system.monitoring;
 
 import io.prometheus.client.CollectorRegistry;
+import io.zeebe.engine.state.query.StateQueryService;
+import io.zeebe.servicecontainer.ServiceGroupReference;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
@@ -28,6 +30,7 @@ public class BrokerHttpServerService implements Service<BrokerHttpServer> {
   private final int port;
   private final CollectorRegistry metricsRegistry;
   private BrokerHealthCheckService brokerHealthCheckService;
+  private final StateQueryRequestHandler stateQueryRequestHandler;
 
   private BrokerHttpServer brokerHttpServer;
 
@@ -35,11 +38,13 @@ public class BrokerHttpServerService implements Service<BrokerHttpServer> {
       String host,
       int port,
       CollectorRegistry metricsRegistry,
-      BrokerHealthCheckService brokerHealthCheckService) {
+      BrokerHealthCheckService brokerHealthCheckService,
+      boolean enableStateQueries) {
     this.host = host;
     this.port = port;
     this.metricsRegistry = metricsRegistry;
     this.brokerHealthCheckService = brokerHealthCheckService;
+    this.stateQueryRequestHandler = enableStateQueries ? new StateQueryRequestHandler() : null;
   }
 
   @Override
@@ -47,7 +52,12 @@ public class BrokerHttpServerService implements Service<BrokerHttpServer> {
     startContext.run(
         () ->
             brokerHttpServer =
-                new BrokerHttpServer(host, port, metricsRegistry, brokerHealthCheckService));
+                new BrokerHttpServer(
+                    host,
+                    port,
+                    metricsRegistry,
+                    brokerHealthCheckService,
+                    stateQueryRequestHandler));
   }
 
   @Override
@@ -59,4 +69,8 @@ public class BrokerHttpServerService implements Service<BrokerHttpServer> {
   public BrokerHttpServer get() {
     return brokerHttpServer;
   }
+
+  public ServiceGroupReference<StateQueryService> getStateQueryServicesReference() {
+    return stateQueryRequestHandler.getStateQueryServicesReference();
+  }
 }
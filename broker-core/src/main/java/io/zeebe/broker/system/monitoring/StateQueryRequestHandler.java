@@ -0,0 +1,254 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.system.monitoring;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+
+import io.netty.buffer.Unpooled;
+import io.netty.handler.codec.http.DefaultFullHttpResponse;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpHeaderValues;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.HttpVersion;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import io.zeebe.broker.Loggers;
+import io.zeebe.engine.state.instance.ElementInstance;
+import io.zeebe.engine.state.query.QueryPage;
+import io.zeebe.engine.state.query.StateQueryActor;
+import io.zeebe.engine.state.query.StateQueryService;
+import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.record.JsonSerializable;
+import io.zeebe.servicecontainer.ServiceGroupReference;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Serves the read-only state queries of the partitions led by this broker as JSON:
+ *
+ * <ul>
+ *   <li>{@code /partitions/{id}/jobs?type=}
+ *   <li>{@code /partitions/{id}/incidents?workflowInstanceKey=}
+ *   <li>{@code /partitions/{id}/element-instances?scopeKey=}
+ *   <li>{@code /partitions/{id}/variables?scopeKey=}
+ * </ul>
+ *
+ * <p>The paged queries accept the optional parameters {@code after}, the {@code nextPageKey} of the
+ * previous page, and {@code pageSize}.
+ *
+ * <p>The queries expose the variables of the workflow instances on the monitoring API, which is not
+ * authenticated, so they are only served if enabled by {@code
+ * network.monitoringApi.enableStateQueries}.
+ */
+public class StateQueryRequestHandler {
+
+  public static final String PARTITIONS_URI_PREFIX = "/partitions/";
+
+  private static final Pattern QUERY_URI_PATTERN =
+      Pattern.compile("^/partitions/(\\d+)/(jobs|incidents|element-instances|variables)$");
+
+  private static final int DEFAULT_PAGE_SIZE = 100;
+
+  private final Map<Integer, StateQueryActor> queryActors = new ConcurrentHashMap<>();
+
+  private final ServiceGroupReference<StateQueryService> stateQueryServicesReference =
+      ServiceGroupReference.<StateQueryService>create()
+          .onAdd(
+              (name, service) ->
+                  queryActors.put(service.getPartitionId(), service.getStateQueryActor()))
+          .onRemove((name, service) -> queryActors.remove(service.getPartitionId()))
+          .build();
+
+  public ServiceGroupReference<StateQueryService> getStateQueryServicesReference() {
+    return stateQueryServicesReference;
+  }
+
+  /**
+   * Handles the query request and passes the response to the given consumer. The queries are
+   * executed by the query actor of the partition, so the response is passed asynchronously.
+   */
+  public void handle(
+      QueryStringDecoder queryStringDecoder, Consumer<DefaultFullHttpResponse> responseConsumer) {
+    final Matcher matcher = QUERY_URI_PATTERN.matcher(queryStringDecoder.path());
+    if (!matcher.matches()) {
+      responseConsumer.accept(
+          new DefaultFullHttpResponse(HttpVersion.HTTP_1_1, HttpResponseStatus.NOT_FOUND));
+      return;
+    }
+
+    final StateQueryActor queryActor = queryActors.get(Integer.parseInt(matcher.group(1)));
+    if (queryActor == null) {
+      responseConsumer.accept(
+          errorResponse(
+              HttpResponseStatus.NOT_FOUND, "Expected partition to be led by this broker"));
+      return;
+    }
+
+    final Map<String, List<String>> parameters = queryStringDecoder.parameters();
+    try {
+      switch (matcher.group(2)) {
+        case "jobs":
+          respondWithPage(
+              queryActor,
+              queryActor.queryActivatableJobs(
+                  wrapString(getRequiredParameter(parameters, "type")),
+                  getAfterKey(parameters),
+                  getPageSize(parameters)),
+              JsonSerializable::toJson,
+              responseConsumer);
+          break;
+        case "incidents":
+          respondWithPage(
+              queryActor,
+              queryActor.queryIncidents(
+                  getLongParameter(parameters, "workflowInstanceKey"),
+                  getAfterKey(parameters),
+                  getPageSize(parameters)),
+              JsonSerializable::toJson,
+              responseConsumer);
+          break;
+        case "element-instances":
+          respondWithPage(
+              queryActor,
+              queryActor.queryElementInstances(
+                  getLongParameter(parameters, "scopeKey"),
+                  getAfterKey(parameters),
+                  getPageSize(parameters)),
+              StateQueryRequestHandler::elementInstanceToJson,
+              responseConsumer);
+          break;
+        default:
+          respond(
+              queryActor,
+              queryActor.queryVariables(getLongParameter(parameters, "scopeKey")),
+              MsgPackConverter::convertToJson,
+              responseConsumer);
+      }
+    } catch (IllegalArgumentException e) {
+      responseConsumer.accept(errorResponse(HttpResponseStatus.BAD_REQUEST, e.getMessage()));
+    }
+  }
+
+  private <T> void respondWithPage(
+      StateQueryActor queryActor,
+      ActorFuture<QueryPage<T>> query,
+      Function<T, String> toJson,
+      Consumer<DefaultFullHttpResponse> responseConsumer) {
+    respond(queryActor, query, page -> pageToJson(page, toJson), responseConsumer);
+  }
+
+  private <T> void respond(
+      StateQueryActor queryActor,
+      ActorFuture<T> query,
+      Function<T, String> toJson,
+      Consumer<DefaultFullHttpResponse> responseConsumer) {
+    queryActor.onQueryCompleted(
+        query,
+        (result, failure) -> {
+          if (failure == null) {
+            responseConsumer.accept(jsonResponse(toJson.apply(result)));
+          } else {
+            Loggers.SYSTEM_LOGGER.warn("Failed to respond to state query request", failure);
+            responseConsumer.accept(
+                new DefaultFullHttpResponse(
+                    HttpVersion.HTTP_1_1, HttpResponseStatus.INTERNAL_SERVER_ERROR));
+          }
+        });
+  }
+
+  private static <T> String pageToJson(QueryPage<T> page, Function<T, String> toJson) {
+    final StringBuilder json = new StringBuilder("{\"items\":[");
+    final List<T> items = page.getItems();
+    for (int i = 0; i < items.size(); i++) {
+      if (i > 0) {
+        json.append(',');
+      }
+      json.append(toJson.apply(items.get(i)));
+    }
+    json.append("],\"nextPageKey\":").append(page.getNextPageKey()).append('}');
+    return json.toString();
+  }
+
+  private static String elementInstanceToJson(ElementInstance instance) {
+    return String.format(
+        "{\"key\":%d,\"state\":\"%s\",\"value\":%s}",
+        instance.getKey(), instance.getState(), instance.getValue().toJson());
+  }
+
+  private static DefaultFullHttpResponse jsonResponse(String json) {
+    final DefaultFullHttpResponse response =
+        new DefaultFullHttpResponse(
+            HttpVersion.HTTP_1_1,
+            HttpResponseStatus.OK,
+            Unpooled.copiedBuffer(json, StandardCharsets.UTF_8));
+    response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.APPLICATION_JSON);
+    return response;
+  }
+
+  private static DefaultFullHttpResponse errorResponse(HttpResponseStatus status, String message) {
+    final DefaultFullHttpResponse response =
+        new DefaultFullHttpResponse(
+            HttpVersion.HTTP_1_1, status, Unpooled.copiedBuffer(message, StandardCharsets.UTF_8));
+    response.headers().set(HttpHeaderNames.CONTENT_TYPE, HttpHeaderValues.TEXT_PLAIN);
+    return response;
+  }
+
+  private static long getAfterKey(Map<String, List<String>> parameters) {
+    return parameters.containsKey("after")
+        ? getLongParameter(parameters, "after")
+        : QueryPage.FIRST_PAGE;
+  }
+
+  private static int getPageSize(Map<String, List<String>> parameters) {
+    if (!parameters.containsKey("pageSize")) {
+      return DEFAULT_PAGE_SIZE;
+    }
+
+    final long pageSize = getLongParameter(parameters, "pageSize");
+    if (pageSize <= 0 || pageSize > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          String.format("Expected parameter 'pageSize' to be positive, but was '%d'", pageSize));
+    }
+    return (int) pageSize;
+  }
+
+  private static long getLongParameter(Map<String, List<String>> parameters, String name) {
+    final String value = getRequiredParameter(parameters, name);
+    try {
+      return Long.parseLong(value);
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          String.format("Expected parameter '%s' to be a number, but was '%s'", name, value));
+    }
+  }
+
+  private static String getRequiredParameter(Map<String, List<String>> parameters, String name) {
+    final List<String> values = parameters.get(name);
+    if (values == null || values.isEmpty() || values.get(0).isEmpty()) {
+      throw new IllegalArgumentException(
+          String.format("Expected parameter '%s' to be present", name));
+    }
+    return values.get(0);
+  }
+}
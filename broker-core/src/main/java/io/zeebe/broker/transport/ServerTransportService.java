@@ -17,13 +17,12 @@
  */
 package io.zeebe.broker.transport;
 
+import io.zeebe.broker.transport.commandapi.CommandApiMessageHandler;
 import io.zeebe.servicecontainer.Injector;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 import io.zeebe.transport.Loggers;
-import io.zeebe.transport.ServerMessageHandler;
-import io.zeebe.transport.ServerRequestHandler;
 import io.zeebe.transport.ServerTransport;
 import io.zeebe.transport.Transports;
 import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
@@ -31,32 +30,48 @@ import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
 import java.io.Closeable;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
 import org.slf4j.Logger;
 
 public class ServerTransportService implements Service<ServerTransport> {
   public static final Logger LOG = Loggers.TRANSPORT_LOGGER;
 
-  protected final Injector<ServerRequestHandler> requestHandlerInjector = new Injector<>();
-  protected final Injector<ServerMessageHandler> messageHandlerInjector = new Injector<>();
+  protected final Injector<CommandApiMessageHandler> messageHandlerInjector = new Injector<>();
 
   protected final String readableName;
   protected final InetSocketAddress bindAddress;
   private final ByteValue sendBufferSize;
+  private final int senderCount;
+  private final int receiverCount;
 
   protected ServerTransport serverTransport;
 
   public ServerTransportService(
-      String readableName, InetSocketAddress bindAddress, ByteValue sendBufferSize) {
+      String readableName,
+      InetSocketAddress bindAddress,
+      ByteValue sendBufferSize,
+      int senderCount,
+      int receiverCount) {
     this.readableName = readableName;
     this.bindAddress = bindAddress;
     this.sendBufferSize = sendBufferSize;
+    this.senderCount = senderCount;
+    this.receiverCount = receiverCount;
   }
 
   @Override
   public void start(ServiceStartContext serviceContext) {
     final ActorScheduler scheduler = serviceContext.getScheduler();
-    final ServerRequestHandler requestHandler = requestHandlerInjector.getValue();
-    final ServerMessageHandler messageHandler = messageHandlerInjector.getValue();
+    final CommandApiMessageHandler messageHandler = messageHandlerInjector.getValue();
+
+    final List<CommandApiMessageHandler> receiverHandlers = new ArrayList<>(receiverCount);
+    receiverHandlers.add(messageHandler);
+    for (int i = 1; i < receiverCount; i++) {
+      receiverHandlers.add(messageHandler.newReceiverHandler());
+    }
+    final Iterator<CommandApiMessageHandler> receiverHandlerIterator = receiverHandlers.iterator();
 
     serverTransport =
         Transports.newServerTransport()
@@ -64,7 +79,13 @@ public class ServerTransportService implements Service<ServerTransport> {
             .bindAddress(bindAddress)
             .scheduler(scheduler)
             .messageMemoryPool(new NonBlockingMemoryPool(sendBufferSize))
-            .build(messageHandler, requestHandler);
+            .senderCount(senderCount)
+            // the request and message handlers are not thread-safe, so every receiver gets its own
+            .receiverCount(receiverCount)
+            .build(receiverHandlerIterator::next);
+
+    // the job streams of a gateway are removed when its connection is closed
+    serverTransport.registerChannelListener(messageHandler.getJobStreams());
 
     LOG.info("Bound {} to {}", readableName, bindAddress);
   }
@@ -87,11 +108,7 @@ public class ServerTransportService implements Service<ServerTransport> {
     };
   }
 
-  public Injector<ServerRequestHandler> getRequestHandlerInjector() {
-    return requestHandlerInjector;
-  }
-
-  public Injector<ServerMessageHandler> getMessageHandlerInjector() {
+  public Injector<CommandApiMessageHandler> getMessageHandlerInjector() {
     return messageHandlerInjector;
   }
 }
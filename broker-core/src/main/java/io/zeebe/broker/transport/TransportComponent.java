@@ -25,11 +25,10 @@ import io.zeebe.broker.system.Component;
 import io.zeebe.broker.system.SystemContext;
 import io.zeebe.broker.system.configuration.NetworkCfg;
 import io.zeebe.broker.system.configuration.SocketBindingCfg;
+import io.zeebe.broker.transport.commandapi.CommandApiMessageHandler;
 import io.zeebe.broker.transport.commandapi.CommandApiMessageHandlerService;
 import io.zeebe.servicecontainer.ServiceContainer;
 import io.zeebe.servicecontainer.ServiceName;
-import io.zeebe.transport.ServerMessageHandler;
-import io.zeebe.transport.ServerRequestHandler;
 import io.zeebe.transport.ServerTransport;
 import io.zeebe.transport.SocketAddress;
 import io.zeebe.util.ByteValue;
@@ -52,13 +51,12 @@ public class TransportComponent implements Component {
             serviceContainer,
             COMMAND_API_SERVER_NAME,
             networkCfg.getCommandApi(),
-            COMMAND_API_MESSAGE_HANDLER,
             COMMAND_API_MESSAGE_HANDLER);
 
     context.addRequiredStartAction(commandApiFuture);
 
     final CommandApiMessageHandlerService messageHandlerService =
-        new CommandApiMessageHandlerService();
+        new CommandApiMessageHandlerService(context.getBrokerConfiguration().getBackpressure());
     serviceContainer
         .createService(COMMAND_API_MESSAGE_HANDLER, messageHandlerService)
         .groupReference(
@@ -71,8 +69,7 @@ public class TransportComponent implements Component {
       final ServiceContainer serviceContainer,
       final String name,
       final SocketBindingCfg socketBindingCfg,
-      final ServiceName<? extends ServerRequestHandler> requestHandlerService,
-      final ServiceName<? extends ServerMessageHandler> messageHandlerService) {
+      final ServiceName<CommandApiMessageHandler> messageHandlerService) {
 
     final SocketAddress bindAddr = socketBindingCfg.toSocketAddress();
 
@@ -82,7 +79,8 @@ public class TransportComponent implements Component {
         name,
         bindAddr.toInetSocketAddress(),
         new ByteValue(socketBindingCfg.getSendBufferSize()),
-        requestHandlerService,
+        socketBindingCfg.getSenderCount(),
+        socketBindingCfg.getReceiverCount(),
         messageHandlerService);
   }
 
@@ -92,16 +90,16 @@ public class TransportComponent implements Component {
       final String name,
       final InetSocketAddress bindAddress,
       final ByteValue sendBufferSize,
-      final ServiceName<? extends ServerRequestHandler> requestHandlerDependency,
-      final ServiceName<? extends ServerMessageHandler> messageHandlerDependency) {
+      final int senderCount,
+      final int receiverCount,
+      final ServiceName<CommandApiMessageHandler> messageHandlerDependency) {
     final ServerTransportService service =
-        new ServerTransportService(name, bindAddress, sendBufferSize);
+        new ServerTransportService(name, bindAddress, sendBufferSize, senderCount, receiverCount);
 
     systemContext.addResourceReleasingDelegate(service.getReleasingResourcesDelegate());
 
     return serviceContainer
         .createService(TransportServiceNames.serverTransport(name), service)
-        .dependency(requestHandlerDependency, service.getRequestHandlerInjector())
         .dependency(messageHandlerDependency, service.getMessageHandlerInjector())
         .install();
   }
@@ -0,0 +1,66 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+
+public class BackpressureMetrics {
+
+  private static final Counter DROPPED_REQUESTS =
+      Counter.build()
+          .namespace("zeebe")
+          .name("dropped_request_count_total")
+          .help("Number of requests dropped due to backpressure")
+          .labelNames("partition")
+          .register();
+
+  private static final Gauge CURRENT_LIMIT =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("backpressure_requests_limit")
+          .help("Current limit for number of inflight requests")
+          .labelNames("partition")
+          .register();
+
+  private static final Gauge CURRENT_INFLIGHT =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("backpressure_inflight_requests_count")
+          .help("Current number of requests in flight")
+          .labelNames("partition")
+          .register();
+
+  private final String partitionIdLabel;
+
+  public BackpressureMetrics(int partitionId) {
+    this.partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  public void dropped() {
+    DROPPED_REQUESTS.labels(partitionIdLabel).inc();
+  }
+
+  public void setLimit(int limit) {
+    CURRENT_LIMIT.labels(partitionIdLabel).set(limit);
+  }
+
+  public void setInflight(int inflight) {
+    CURRENT_INFLIGHT.labels(partitionIdLabel).set(inflight);
+  }
+}
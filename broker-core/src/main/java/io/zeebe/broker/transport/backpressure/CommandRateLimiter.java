@@ -0,0 +1,158 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.function.LongSupplier;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.Long2LongHashMap;
+import org.agrona.collections.Long2LongHashMap.KeyIterator;
+
+/**
+ * Limits the in-flight commands of a partition by a {@link VegasLimit}. Requests are acquired by
+ * the command API and released by the stream processor when it answers the command, so all methods
+ * are synchronized.
+ *
+ * <p>Commands which are never answered, e.g. because the processing failed, would hold their slot
+ * forever. Hence, requests which are in flight for longer than {@link #INFLIGHT_TIMEOUT} are
+ * released when the limit is reached.
+ */
+public class CommandRateLimiter implements RequestLimiter {
+
+  public static final Duration INFLIGHT_TIMEOUT = Duration.ofSeconds(30);
+
+  private static final long MISSING_VALUE = -1L;
+
+  private final Int2ObjectHashMap<Long2LongHashMap> inflightByStream = new Int2ObjectHashMap<>();
+  private final VegasLimit limit;
+  private final BackpressureMetrics metrics;
+  private final LongSupplier nanoClock;
+  private final long inflightTimeoutNanos = INFLIGHT_TIMEOUT.toNanos();
+  private final long expirationIntervalNanos = Duration.ofSeconds(1).toNanos();
+
+  private int inflightCount;
+  private long lastExpirationNanos;
+
+  public CommandRateLimiter(int partitionId, VegasLimit limit) {
+    this(limit, new BackpressureMetrics(partitionId), System::nanoTime);
+  }
+
+  CommandRateLimiter(VegasLimit limit, BackpressureMetrics metrics, LongSupplier nanoClock) {
+    this.limit = limit;
+    this.metrics = metrics;
+    this.nanoClock = nanoClock;
+    this.lastExpirationNanos = nanoClock.getAsLong();
+
+    metrics.setLimit(limit.getLimit());
+  }
+
+  @Override
+  public synchronized boolean tryAcquire(int streamId, long requestId) {
+    final long now = nanoClock.getAsLong();
+
+    if (inflightCount >= limit.getLimit()) {
+      expireInflightRequests(now);
+    }
+
+    if (inflightCount >= limit.getLimit()) {
+      metrics.dropped();
+      return false;
+    }
+
+    final Long2LongHashMap requests =
+        inflightByStream.computeIfAbsent(streamId, s -> new Long2LongHashMap(MISSING_VALUE));
+    if (requests.put(requestId, now) == MISSING_VALUE) {
+      inflightCount++;
+      metrics.setInflight(inflightCount);
+    }
+    return true;
+  }
+
+  @Override
+  public synchronized void onResponse(int streamId, long requestId) {
+    final long startTime = release(streamId, requestId);
+
+    if (startTime != MISSING_VALUE) {
+      limit.onSample(nanoClock.getAsLong() - startTime, inflightCount + 1);
+      metrics.setLimit(limit.getLimit());
+    }
+  }
+
+  @Override
+  public synchronized void onIgnore(int streamId, long requestId) {
+    release(streamId, requestId);
+  }
+
+  @Override
+  public synchronized int getLimit() {
+    return limit.getLimit();
+  }
+
+  @Override
+  public synchronized int getInflightCount() {
+    return inflightCount;
+  }
+
+  private long release(int streamId, long requestId) {
+    final Long2LongHashMap requests = inflightByStream.get(streamId);
+    if (requests == null) {
+      return MISSING_VALUE;
+    }
+
+    final long startTime = requests.remove(requestId);
+    if (startTime != MISSING_VALUE) {
+      inflightCount--;
+      metrics.setInflight(inflightCount);
+    }
+
+    if (requests.isEmpty()) {
+      inflightByStream.remove(streamId);
+    }
+
+    return startTime;
+  }
+
+  private void expireInflightRequests(long now) {
+    // the scan is linear in the limit, so it is done at most once per interval
+    if (now - lastExpirationNanos < expirationIntervalNanos) {
+      return;
+    }
+    lastExpirationNanos = now;
+
+    final Iterator<Long2LongHashMap> streams = inflightByStream.values().iterator();
+    while (streams.hasNext()) {
+      final Long2LongHashMap requests = streams.next();
+
+      final KeyIterator requestIds = requests.keySet().iterator();
+      while (requestIds.hasNext()) {
+        final long requestId = requestIds.nextValue();
+        if (now - requests.get(requestId) > inflightTimeoutNanos) {
+          requestIds.remove();
+          inflightCount--;
+        }
+      }
+
+      if (requests.isEmpty()) {
+        streams.remove();
+      }
+    }
+
+    metrics.setInflight(inflightCount);
+  }
+}
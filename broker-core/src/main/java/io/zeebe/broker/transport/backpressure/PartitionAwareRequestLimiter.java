@@ -0,0 +1,74 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import io.zeebe.broker.system.configuration.BackpressureCfg;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds a {@link RequestLimiter} for each partition this broker is leader for. Requests of
+ * partitions without a limiter, e.g. because backpressure is disabled, are always accepted.
+ */
+public class PartitionAwareRequestLimiter {
+
+  private final Map<Integer, RequestLimiter> partitionLimiters = new ConcurrentHashMap<>();
+  private final BackpressureCfg backpressureCfg;
+
+  public PartitionAwareRequestLimiter(BackpressureCfg backpressureCfg) {
+    this.backpressureCfg = backpressureCfg;
+  }
+
+  public void addPartition(int partitionId) {
+    if (backpressureCfg.isEnabled()) {
+      final VegasLimit limit =
+          new VegasLimit(
+              backpressureCfg.getInitialLimit(),
+              backpressureCfg.getMinLimit(),
+              backpressureCfg.getMaxLimit());
+      partitionLimiters.put(partitionId, new CommandRateLimiter(partitionId, limit));
+    }
+  }
+
+  public void removePartition(int partitionId) {
+    partitionLimiters.remove(partitionId);
+  }
+
+  public boolean tryAcquire(int partitionId, int streamId, long requestId) {
+    final RequestLimiter limiter = partitionLimiters.get(partitionId);
+    return limiter == null || limiter.tryAcquire(streamId, requestId);
+  }
+
+  public void onResponse(int partitionId, int streamId, long requestId) {
+    final RequestLimiter limiter = partitionLimiters.get(partitionId);
+    if (limiter != null) {
+      limiter.onResponse(streamId, requestId);
+    }
+  }
+
+  public void onIgnore(int partitionId, int streamId, long requestId) {
+    final RequestLimiter limiter = partitionLimiters.get(partitionId);
+    if (limiter != null) {
+      limiter.onIgnore(streamId, requestId);
+    }
+  }
+
+  public RequestLimiter getLimiter(int partitionId) {
+    return partitionLimiters.get(partitionId);
+  }
+}
@@ -0,0 +1,44 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+/**
+ * Limits the number of commands of a single partition which are written to the log but not yet
+ * answered by the stream processor. A request is identified by the stream id of the client and its
+ * request id.
+ */
+public interface RequestLimiter {
+
+  /**
+   * Tries to reserve a slot for the given request.
+   *
+   * @return {@code true} if the request can be written to the log, {@code false} if it should be
+   *     rejected because too many requests are in flight
+   */
+  boolean tryAcquire(int streamId, long requestId);
+
+  /** Releases the slot of an answered request and uses its latency to adapt the limit. */
+  void onResponse(int streamId, long requestId);
+
+  /** Releases the slot of a request which was not written to the log, without adapting it. */
+  void onIgnore(int streamId, long requestId);
+
+  int getLimit();
+
+  int getInflightCount();
+}
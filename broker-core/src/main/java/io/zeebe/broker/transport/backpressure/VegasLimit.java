@@ -0,0 +1,117 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+/**
+ * A Vegas-style limit: it estimates the queue on the processing side from the ratio between the
+ * lowest observed round trip time (no load) and the current one, and grows the limit while the
+ * estimated queue is small and shrinks it when the queue is large.
+ *
+ * <p>The thresholds are proportional to {@code log10(limit)}, i.e. the limit grows quickly while it
+ * is small. The lowest round trip time is reset periodically, so the limit can follow a slower
+ * stream processor, e.g. after the state grew.
+ *
+ * <p>This class is not thread-safe.
+ */
+public class VegasLimit {
+
+  private static final int ALPHA_FACTOR = 3;
+  private static final int BETA_FACTOR = 6;
+  private static final int PROBE_MULTIPLIER = 30;
+
+  private final int minLimit;
+  private final int maxLimit;
+
+  private int limit;
+  private long rttNoLoad;
+  private long samplesUntilProbe;
+
+  public VegasLimit(int initialLimit, int minLimit, int maxLimit) {
+    if (minLimit < 1 || minLimit > maxLimit) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected min limit to be between 1 and max limit '%d', but was '%d'",
+              maxLimit, minLimit));
+    }
+
+    this.minLimit = minLimit;
+    this.maxLimit = maxLimit;
+    this.limit = clamp(initialLimit);
+    resetProbe();
+  }
+
+  /**
+   * Adapts the limit to a sample.
+   *
+   * @param rttNanos the time between writing the command and answering it
+   * @param inflight the number of requests which were in flight when the command was answered
+   */
+  public void onSample(long rttNanos, int inflight) {
+    if (rttNanos <= 0) {
+      return;
+    }
+
+    if (--samplesUntilProbe <= 0) {
+      resetProbe();
+      rttNoLoad = rttNanos;
+      return;
+    }
+
+    if (rttNoLoad == 0 || rttNanos < rttNoLoad) {
+      rttNoLoad = rttNanos;
+      return;
+    }
+
+    if (inflight * 2 < limit) {
+      // the limit is not the bottleneck, the samples don't tell anything about it
+      return;
+    }
+
+    final int queueSize = (int) Math.ceil(limit * (1 - (double) rttNoLoad / rttNanos));
+    final int threshold = log10(limit);
+
+    final int newLimit;
+    if (queueSize <= threshold) {
+      newLimit = limit + BETA_FACTOR * threshold;
+    } else if (queueSize < ALPHA_FACTOR * threshold) {
+      newLimit = limit + threshold;
+    } else if (queueSize > BETA_FACTOR * threshold) {
+      newLimit = limit - threshold;
+    } else {
+      return;
+    }
+
+    limit = clamp(newLimit);
+  }
+
+  public int getLimit() {
+    return limit;
+  }
+
+  private void resetProbe() {
+    samplesUntilProbe = (long) PROBE_MULTIPLIER * limit;
+  }
+
+  private int clamp(int value) {
+    return Math.max(minLimit, Math.min(maxLimit, value));
+  }
+
+  private static int log10(int value) {
+    return Math.max(1, (int) Math.log10(value));
+  }
+}
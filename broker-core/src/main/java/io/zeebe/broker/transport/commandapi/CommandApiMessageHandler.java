@@ -18,36 +18,53 @@
 package io.zeebe.broker.transport.commandapi;
 
 import io.zeebe.broker.Loggers;
+import io.zeebe.broker.system.configuration.BackpressureCfg;
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
+import io.zeebe.engine.processor.workflow.job.JobWorkerRegistry;
 import io.zeebe.logstreams.log.LogStream;
 import io.zeebe.logstreams.log.LogStreamRecordWriter;
 import io.zeebe.logstreams.log.LogStreamWriterImpl;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.encoding.AddJobStreamCapacityRequest;
+import io.zeebe.protocol.impl.encoding.AddJobStreamRequest;
+import io.zeebe.protocol.impl.encoding.RemoveJobStreamRequest;
 import io.zeebe.protocol.impl.record.RecordMetadata;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
 import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.impl.record.value.message.MessageBatchRecord;
 import io.zeebe.protocol.impl.record.value.message.MessageRecord;
 import io.zeebe.protocol.impl.record.value.variable.VariableDocumentRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.AddJobStreamCapacityRequestDecoder;
+import io.zeebe.protocol.record.AddJobStreamRequestDecoder;
 import io.zeebe.protocol.record.ExecuteCommandRequestDecoder;
 import io.zeebe.protocol.record.MessageHeaderDecoder;
 import io.zeebe.protocol.record.RecordType;
+import io.zeebe.protocol.record.RemoveJobStreamRequestDecoder;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.Intent;
 import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.ServerMessageHandler;
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerRequestHandler;
+import java.util.ArrayList;
 import java.util.EnumMap;
+import java.util.List;
 import java.util.function.Consumer;
 import org.agrona.DirectBuffer;
 import org.agrona.collections.Int2ObjectHashMap;
 import org.agrona.concurrent.ManyToOneConcurrentLinkedQueue;
 import org.slf4j.Logger;
 
+/**
+ * Writes the commands of the command API to the log of their partition. A handler is used by one
+ * receiver of the command API only. If the command API has more than one receiver, then the
+ * handlers of the other receivers are created by {@link #newReceiverHandler()}.
+ */
 public class CommandApiMessageHandler implements ServerMessageHandler, ServerRequestHandler {
   private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
 
@@ -66,15 +83,60 @@ public class CommandApiMessageHandler implements ServerMessageHandler, ServerReq
 
   protected final EnumMap<ValueType, UnpackedObject> recordsByType = new EnumMap<>(ValueType.class);
 
+  private final AddJobStreamRequest addJobStreamRequest = new AddJobStreamRequest();
+  private final RemoveJobStreamRequest removeJobStreamRequest = new RemoveJobStreamRequest();
+  private final AddJobStreamCapacityRequest addJobStreamCapacityRequest =
+      new AddJobStreamCapacityRequest();
+  private final JobBatchRecord jobStreamRecord = new JobBatchRecord();
+
+  private final PartitionAwareRequestLimiter requestLimiter;
+  private final GatewayJobStreams jobStreams;
+
+  // shared by the handlers of all receivers, guarded by the list of handlers
+  private final List<CommandApiMessageHandler> receiverHandlers;
+  private final Int2ObjectHashMap<LogStream> partitions;
+
   public CommandApiMessageHandler() {
+    this(new PartitionAwareRequestLimiter(new BackpressureCfg().setEnabled(false)));
+  }
+
+  public CommandApiMessageHandler(final PartitionAwareRequestLimiter requestLimiter) {
+    this.requestLimiter = requestLimiter;
+    this.jobStreams = new GatewayJobStreams();
+    this.receiverHandlers = new ArrayList<>();
+    this.partitions = new Int2ObjectHashMap<>();
+    receiverHandlers.add(this);
     initEventTypeMap();
   }
 
+  private CommandApiMessageHandler(final CommandApiMessageHandler other) {
+    this.requestLimiter = other.requestLimiter;
+    this.jobStreams = other.jobStreams;
+    this.receiverHandlers = other.receiverHandlers;
+    this.partitions = other.partitions;
+    initEventTypeMap();
+  }
+
+  /**
+   * Creates the handler for another receiver of the command API. The handlers share the leading
+   * partitions, the request limiter and the job streams, but each one has its own buffers, so
+   * that the receivers can handle requests concurrently.
+   */
+  public CommandApiMessageHandler newReceiverHandler() {
+    synchronized (receiverHandlers) {
+      final CommandApiMessageHandler handler = new CommandApiMessageHandler(this);
+      partitions.values().forEach(handler::addLeadingStream);
+      receiverHandlers.add(handler);
+      return handler;
+    }
+  }
+
   private void initEventTypeMap() {
     recordsByType.put(ValueType.DEPLOYMENT, new DeploymentRecord());
     recordsByType.put(ValueType.JOB, new JobRecord());
     recordsByType.put(ValueType.WORKFLOW_INSTANCE, new WorkflowInstanceRecord());
     recordsByType.put(ValueType.MESSAGE, new MessageRecord());
+    recordsByType.put(ValueType.MESSAGE_BATCH, new MessageBatchRecord());
     recordsByType.put(ValueType.JOB_BATCH, new JobBatchRecord());
     recordsByType.put(ValueType.INCIDENT, new IncidentRecord());
     recordsByType.put(ValueType.VARIABLE_DOCUMENT, new VariableDocumentRecord());
@@ -120,11 +182,10 @@ public class CommandApiMessageHandler implements ServerMessageHandler, ServerReq
         executeCommandRequestDecoder.limit() + ExecuteCommandRequestDecoder.valueHeaderLength();
     final int eventLength = executeCommandRequestDecoder.valueLength();
 
-    event.reset();
-
     try {
-      // verify that the event / command is valid
-      event.wrap(buffer, eventOffset, eventLength);
+      // verify that the event / command is valid; it is copied to the log as it is, so it doesn't
+      // need to be decoded
+      event.validate(buffer, eventOffset, eventLength);
     } catch (RuntimeException e) {
       LOG.error("Failed to deserialize message of type {} in client API", eventType.name(), e);
 
@@ -137,6 +198,13 @@ public class CommandApiMessageHandler implements ServerMessageHandler, ServerReq
     eventMetadata.intent(Intent.fromProtocolValue(eventType, intent));
     eventMetadata.valueType(eventType);
 
+    final int streamId = requestAddress.getStreamId();
+    if (!requestLimiter.tryAcquire(partitionId, streamId, requestId)) {
+      return errorResponseWriter
+          .resourceExhausted(partitionId)
+          .tryWriteResponseOrLogFailure(output, streamId, requestId);
+    }
+
     logStreamWriter.wrap(logStream);
 
     if (key != ExecuteCommandRequestDecoder.keyNullValue()) {
@@ -151,15 +219,54 @@ public class CommandApiMessageHandler implements ServerMessageHandler, ServerReq
             .value(buffer, eventOffset, eventLength)
             .tryWrite();
 
-    return eventPosition >= 0;
+    if (eventPosition < 0) {
+      // the request is retried by the transport, it must not hold the slot in the meantime
+      requestLimiter.onIgnore(partitionId, streamId, requestId);
+      return false;
+    }
+
+    return true;
   }
 
   public void addPartition(LogStream logStream) {
-    cmdQueue.add(() -> leadingStreams.put(logStream.getPartitionId(), logStream));
+    final int partitionId = logStream.getPartitionId();
+
+    synchronized (receiverHandlers) {
+      requestLimiter.addPartition(partitionId);
+      partitions.put(partitionId, logStream);
+      receiverHandlers.forEach(handler -> handler.addLeadingStream(logStream));
+    }
   }
 
   public void removePartition(LogStream logStream) {
-    cmdQueue.add(() -> leadingStreams.remove(logStream.getPartitionId()));
+    final int partitionId = logStream.getPartitionId();
+
+    synchronized (receiverHandlers) {
+      partitions.remove(partitionId);
+      receiverHandlers.forEach(handler -> handler.removeLeadingStream(partitionId));
+      requestLimiter.removePartition(partitionId);
+    }
+  }
+
+  private void addLeadingStream(LogStream logStream) {
+    cmdQueue.add(() -> leadingStreams.put(logStream.getPartitionId(), logStream));
+  }
+
+  private void removeLeadingStream(int partitionId) {
+    cmdQueue.add(() -> leadingStreams.remove(partitionId));
+  }
+
+  public PartitionAwareRequestLimiter getRequestLimiter() {
+    return requestLimiter;
+  }
+
+  /** The job streams which the gateways have opened on this broker. */
+  public GatewayJobStreams getJobStreams() {
+    return jobStreams;
+  }
+
+  public JobWorkerRegistry getJobWorkerRegistry() {
+    return jobStreams.getRegistry();
   }
 
   @Override
@@ -205,10 +312,53 @@ public class CommandApiMessageHandler implements ServerMessageHandler, ServerReq
       final DirectBuffer buffer,
       final int offset,
       final int length) {
-    // ignore; currently no incoming single-message client interactions
+    messageHeaderDecoder.wrap(buffer, offset);
+
+    final int templateId = messageHeaderDecoder.templateId();
+    final int remoteStreamId = remoteAddress.getStreamId();
+
+    // messages are not answered, so malformed ones are dropped
+    try {
+      switch (templateId) {
+        case AddJobStreamRequestDecoder.TEMPLATE_ID:
+          handleAddJobStreamRequest(output, remoteStreamId, buffer, offset, length);
+          break;
+        case RemoveJobStreamRequestDecoder.TEMPLATE_ID:
+          removeJobStreamRequest.wrap(buffer, offset, length);
+          jobStreams.removeStream(remoteStreamId, removeJobStreamRequest.getStreamId());
+          break;
+        case AddJobStreamCapacityRequestDecoder.TEMPLATE_ID:
+          addJobStreamCapacityRequest.wrap(buffer, offset, length);
+          jobStreams.addCapacity(
+              remoteStreamId,
+              addJobStreamCapacityRequest.getStreamId(),
+              addJobStreamCapacityRequest.getCapacity());
+          break;
+        default:
+          LOG.debug("Ignore message with unexpected template id {}", templateId);
+      }
+    } catch (RuntimeException e) {
+      LOG.error("Failed to handle message with template id {} in client API", templateId, e);
+    }
+
     return true;
   }
 
+  private void handleAddJobStreamRequest(
+      final ServerOutput output,
+      final int remoteStreamId,
+      final DirectBuffer buffer,
+      final int offset,
+      final int length) {
+    addJobStreamRequest.wrap(buffer, offset, length);
+
+    final DirectBuffer value = addJobStreamRequest.getValue();
+    jobStreamRecord.wrap(value, 0, value.capacity());
+
+    jobStreams.addStream(
+        output, remoteStreamId, addJobStreamRequest.getStreamId(), jobStreamRecord);
+  }
+
   private void drainCommandQueue() {
     while (!cmdQueue.isEmpty()) {
       final Runnable runnable = cmdQueue.poll();
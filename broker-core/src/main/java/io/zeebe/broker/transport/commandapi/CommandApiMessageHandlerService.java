@@ -18,12 +18,15 @@
 package io.zeebe.broker.transport.commandapi;
 
 import io.zeebe.broker.clustering.base.partitions.Partition;
+import io.zeebe.broker.system.configuration.BackpressureCfg;
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
 import io.zeebe.servicecontainer.Service;
 import io.zeebe.servicecontainer.ServiceGroupReference;
 import io.zeebe.servicecontainer.ServiceStartContext;
 import io.zeebe.servicecontainer.ServiceStopContext;
 
 public class CommandApiMessageHandlerService implements Service<CommandApiMessageHandler> {
+  private final BackpressureCfg backpressureCfg;
   protected CommandApiMessageHandler service;
 
   protected final ServiceGroupReference<Partition> leaderPartitionsGroupReference =
@@ -32,9 +35,13 @@ public class CommandApiMessageHandlerService implements Service<CommandApiMessag
           .onRemove((name, partition) -> service.removePartition(partition.getLogStream()))
           .build();
 
+  public CommandApiMessageHandlerService(BackpressureCfg backpressureCfg) {
+    this.backpressureCfg = backpressureCfg;
+  }
+
   @Override
   public void start(ServiceStartContext startContext) {
-    service = new CommandApiMessageHandler();
+    service = new CommandApiMessageHandler(new PartitionAwareRequestLimiter(backpressureCfg));
   }
 
   @Override
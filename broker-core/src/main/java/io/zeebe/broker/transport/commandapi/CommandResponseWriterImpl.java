@@ -21,6 +21,7 @@ import static io.zeebe.protocol.record.ExecuteCommandResponseEncoder.keyNullValu
 import static io.zeebe.protocol.record.ExecuteCommandResponseEncoder.partitionIdNullValue;
 import static io.zeebe.protocol.record.ExecuteCommandResponseEncoder.valueHeaderLength;
 
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
 import io.zeebe.engine.processor.CommandResponseWriter;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.record.ExecuteCommandResponseEncoder;
@@ -54,9 +55,16 @@ public class CommandResponseWriterImpl implements CommandResponseWriter, BufferW
 
   protected final ServerResponse response = new ServerResponse();
   protected final ServerOutput output;
+  private final PartitionAwareRequestLimiter requestLimiter;
 
   public CommandResponseWriterImpl(final ServerOutput output) {
+    this(output, null);
+  }
+
+  public CommandResponseWriterImpl(
+      final ServerOutput output, final PartitionAwareRequestLimiter requestLimiter) {
     this.output = output;
+    this.requestLimiter = requestLimiter;
   }
 
   public CommandResponseWriterImpl recordType(RecordType recordType) {
@@ -102,6 +110,10 @@ public class CommandResponseWriterImpl implements CommandResponseWriter, BufferW
   public boolean tryWriteResponse(int remoteStreamId, long requestId) {
     Objects.requireNonNull(valueWriter);
 
+    if (requestLimiter != null) {
+      requestLimiter.onResponse(partitionId, remoteStreamId, requestId);
+    }
+
     try {
       response.reset().remoteStreamId(remoteStreamId).requestId(requestId).writer(this);
 
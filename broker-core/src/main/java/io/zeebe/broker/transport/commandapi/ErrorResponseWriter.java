@@ -50,6 +50,8 @@ public class ErrorResponseWriter implements BufferWriter {
       "Expected to deploy workflows to partition '%d', but was attempted on partition '%d'";
   private static final String WORKFLOW_NOT_FOUND_FORMAT =
       "Expected to get workflow with %s, but no such workflow found";
+  private static final String RESOURCE_EXHAUSTED_FORMAT =
+      "Expected to handle client message on partition '%d', but too many requests are in flight; retry later";
 
   protected final MessageHeaderEncoder messageHeaderEncoder = new MessageHeaderEncoder();
   protected final ErrorResponseEncoder errorResponseEncoder = new ErrorResponseEncoder();
@@ -120,6 +122,11 @@ public class ErrorResponseWriter implements BufferWriter {
         .errorMessage(String.format(WORKFLOW_NOT_FOUND_FORMAT, workflowIdentifier));
   }
 
+  public ErrorResponseWriter resourceExhausted(int partitionId) {
+    return errorCode(ErrorCode.RESOURCE_EXHAUSTED)
+        .errorMessage(String.format(RESOURCE_EXHAUSTED_FORMAT, partitionId));
+  }
+
   public ErrorResponseWriter errorCode(ErrorCode errorCode) {
     this.errorCode = errorCode;
     return this;
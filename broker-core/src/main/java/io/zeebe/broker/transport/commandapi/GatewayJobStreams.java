@@ -0,0 +1,155 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.commandapi;
+
+import io.zeebe.broker.Loggers;
+import io.zeebe.engine.processor.workflow.job.JobWorkerRegistry;
+import io.zeebe.engine.processor.workflow.job.JobWorkerStream;
+import io.zeebe.protocol.impl.encoding.PushedJob;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.transport.RemoteAddress;
+import io.zeebe.transport.ServerOutput;
+import io.zeebe.transport.TransportListener;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.slf4j.Logger;
+
+/**
+ * The job streams which the gateways have opened on this broker. Each stream is registered as a
+ * worker in the {@link JobWorkerRegistry}, and the jobs pushed to it are sent to its gateway as
+ * {@link PushedJob} messages.
+ *
+ * <p>A stream is identified by the connection of its gateway and the id which the gateway has
+ * given it. It is removed when the gateway removes it or when the connection is closed.
+ */
+public class GatewayJobStreams implements TransportListener {
+  private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
+
+  private final JobWorkerRegistry registry = new JobWorkerRegistry();
+
+  // the streams by remote stream id and gateway stream id, guarded by this
+  private final Int2ObjectHashMap<Long2ObjectHashMap<JobWorkerStream>> streams =
+      new Int2ObjectHashMap<>();
+
+  public JobWorkerRegistry getRegistry() {
+    return registry;
+  }
+
+  /**
+   * Opens the stream, or replaces it if the gateway opened it before, e.g. after a reconnect.
+   *
+   * @param request the type, worker, timeout and variables of the jobs to push, and the initial
+   *     capacity of the stream as the max jobs to activate
+   */
+  public synchronized void addStream(
+      ServerOutput output, int remoteStreamId, long streamId, JobBatchRecord request) {
+    final List<DirectBuffer> fetchVariables = new ArrayList<>();
+    request.variables().forEach(variable -> fetchVariables.add(variable.getValue()));
+
+    final JobWorkerStream stream =
+        new JobWorkerStream(
+            request.getTypeBuffer(),
+            request.getWorkerBuffer(),
+            request.getTimeout(),
+            fetchVariables,
+            PushedJob.MAX_VALUE_LENGTH,
+            new JobSender(output, remoteStreamId, streamId));
+    if (request.getMaxJobsToActivate() > 0) {
+      stream.addCapacity(request.getMaxJobsToActivate());
+    }
+
+    final Long2ObjectHashMap<JobWorkerStream> remoteStreams =
+        streams.computeIfAbsent(remoteStreamId, id -> new Long2ObjectHashMap<>());
+    final JobWorkerStream previous = remoteStreams.put(streamId, stream);
+    if (previous != null) {
+      registry.removeStream(previous);
+    }
+    registry.addStream(stream);
+  }
+
+  public synchronized void removeStream(int remoteStreamId, long streamId) {
+    final Long2ObjectHashMap<JobWorkerStream> remoteStreams = streams.get(remoteStreamId);
+    if (remoteStreams != null) {
+      final JobWorkerStream stream = remoteStreams.remove(streamId);
+      if (stream != null) {
+        registry.removeStream(stream);
+      }
+      if (remoteStreams.isEmpty()) {
+        streams.remove(remoteStreamId);
+      }
+    }
+  }
+
+  public synchronized void addCapacity(int remoteStreamId, long streamId, int capacity) {
+    final Long2ObjectHashMap<JobWorkerStream> remoteStreams = streams.get(remoteStreamId);
+    final JobWorkerStream stream = remoteStreams != null ? remoteStreams.get(streamId) : null;
+    if (stream != null && capacity > 0) {
+      stream.addCapacity(capacity);
+    }
+  }
+
+  @Override
+  public void onConnectionEstablished(RemoteAddress remoteAddress) {
+    // the gateway opens its streams again
+  }
+
+  @Override
+  public synchronized void onConnectionClosed(RemoteAddress remoteAddress) {
+    final Long2ObjectHashMap<JobWorkerStream> remoteStreams =
+        streams.remove(remoteAddress.getStreamId());
+    if (remoteStreams != null) {
+      remoteStreams.values().forEach(registry::removeStream);
+    }
+  }
+
+  /**
+   * Sends the jobs of a stream to its gateway. The partitions push on their own actors, so the
+   * encoding is synchronized.
+   */
+  private static final class JobSender implements JobWorkerStream.JobConsumer {
+    private final ServerOutput output;
+    private final int remoteStreamId;
+
+    private final PushedJob pushedJob = new PushedJob();
+    private final ExpandableArrayBuffer jobBuffer = new ExpandableArrayBuffer();
+
+    private JobSender(ServerOutput output, int remoteStreamId, long streamId) {
+      this.output = output;
+      this.remoteStreamId = remoteStreamId;
+      pushedJob.setStreamId(streamId);
+    }
+
+    @Override
+    public synchronized void onJob(long key, JobRecord job) {
+      final int length = job.getLength();
+      job.write(jobBuffer, 0);
+      pushedJob.setKey(key).setValue(jobBuffer, 0, length);
+
+      if (!output.sendMessage(remoteStreamId, pushedJob)) {
+        // the job can be activated again after its timeout
+        LOG.warn(
+            "Failed to push job {} to gateway {}, the send buffer is full", key, remoteStreamId);
+      }
+    }
+  }
+}
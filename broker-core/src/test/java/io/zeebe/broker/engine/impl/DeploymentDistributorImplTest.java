@@ -0,0 +1,143 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.engine.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.atomix.cluster.MemberId;
+import io.atomix.cluster.messaging.ClusterCommunicationService;
+import io.atomix.cluster.messaging.ClusterEventService;
+import io.atomix.core.Atomix;
+import io.zeebe.broker.clustering.base.topology.NodeInfo;
+import io.zeebe.broker.clustering.base.topology.TopologyPartitionListenerImpl;
+import io.zeebe.broker.system.configuration.ClusterCfg;
+import io.zeebe.engine.state.deployment.DeploymentsState;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.testing.ControlledActorSchedulerRule;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import org.agrona.DirectBuffer;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class DeploymentDistributorImplTest {
+
+  private static final int LEADER_NODE_ID = 1;
+  private static final int PARTITION_WITH_LEADER = 2;
+  private static final int PARTITION_WITHOUT_LEADER = 3;
+
+  @Rule
+  public final ControlledActorSchedulerRule schedulerRule = new ControlledActorSchedulerRule();
+
+  private final ClusterCommunicationService communicationService =
+      mock(ClusterCommunicationService.class);
+  private DistributorActor distributorActor;
+
+  @Before
+  public void setUp() {
+    final ClusterCfg clusterCfg = mock(ClusterCfg.class);
+    when(clusterCfg.getPartitionIds())
+        .thenReturn(Arrays.asList(1, PARTITION_WITH_LEADER, PARTITION_WITHOUT_LEADER));
+
+    final Atomix atomix = mock(Atomix.class);
+    when(atomix.getCommunicationService()).thenReturn(communicationService);
+    when(atomix.getEventService()).thenReturn(mock(ClusterEventService.class));
+    // the partition with a leader never answers
+    when(communicationService.send(
+            eq("deployment"), any(byte[].class), any(MemberId.class), any(Duration.class)))
+        .thenReturn(new CompletableFuture<>());
+
+    schedulerRule.getClock().setCurrentTime(100);
+    distributorActor = new DistributorActor(clusterCfg, atomix);
+    schedulerRule.submitActor(distributorActor);
+    schedulerRule.workUntilDone();
+  }
+
+  @Test
+  public void shouldRetryPartitionWithoutResponseAfterTimeout() {
+    // given
+    distributorActor.pushDeployment(1, BufferUtil.wrapString("foo"));
+    schedulerRule.workUntilDone();
+    verifyPushes(1);
+
+    // when the partition without a leader is retried until the timeout is reached
+    final long retries =
+        DeploymentDistributorImpl.PUSH_REQUEST_TIMEOUT.toMillis()
+            / DeploymentDistributorImpl.RETRY_DELAY.toMillis();
+    for (int i = 0; i < retries - 1; i++) {
+      schedulerRule.getClock().addTime(DeploymentDistributorImpl.RETRY_DELAY);
+      schedulerRule.workUntilDone();
+    }
+    verifyPushes(1);
+
+    schedulerRule.getClock().addTime(DeploymentDistributorImpl.RETRY_DELAY);
+    schedulerRule.workUntilDone();
+
+    // then
+    verifyPushes(2);
+  }
+
+  private void verifyPushes(int times) {
+    verify(communicationService, times(times))
+        .send(
+            eq("deployment"),
+            any(byte[].class),
+            eq(MemberId.from(Integer.toString(LEADER_NODE_ID))),
+            eq(DeploymentDistributorImpl.PUSH_REQUEST_TIMEOUT));
+  }
+
+  private final class DistributorActor extends Actor {
+
+    private final ClusterCfg clusterCfg;
+    private final Atomix atomix;
+    private DeploymentDistributorImpl distributor;
+
+    DistributorActor(ClusterCfg clusterCfg, Atomix atomix) {
+      this.clusterCfg = clusterCfg;
+      this.atomix = atomix;
+    }
+
+    void pushDeployment(long key, DirectBuffer deployment) {
+      actor.call(
+          () -> {
+            distributor.pushDeployment(key, 1, deployment);
+          });
+    }
+
+    @Override
+    protected void onActorStarted() {
+      final TopologyPartitionListenerImpl partitionListener =
+          new TopologyPartitionListenerImpl(actor);
+      final NodeInfo leader = mock(NodeInfo.class);
+      when(leader.getNodeId()).thenReturn(LEADER_NODE_ID);
+      partitionListener.getPartitionLeaders().put(PARTITION_WITH_LEADER, leader);
+
+      distributor =
+          new DeploymentDistributorImpl(
+              clusterCfg, atomix, partitionListener, mock(DeploymentsState.class), actor);
+    }
+  }
+}
@@ -21,6 +21,10 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import io.zeebe.broker.system.configuration.SocketBindingCfg;
 import io.zeebe.broker.test.EmbeddedBrokerRule;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.test.broker.protocol.commandapi.CommandApiRule;
+import io.zeebe.test.util.record.RecordingExporter;
 import java.io.IOException;
 import org.apache.http.client.methods.CloseableHttpResponse;
 import org.apache.http.client.methods.HttpGet;
@@ -30,10 +34,16 @@ import org.apache.http.util.EntityUtils;
 import org.junit.BeforeClass;
 import org.junit.ClassRule;
 import org.junit.Test;
+import org.junit.rules.RuleChain;
 
 public class BrokerHttpServerTest {
 
-  @ClassRule public static final EmbeddedBrokerRule RULE = new EmbeddedBrokerRule();
+  public static final EmbeddedBrokerRule RULE =
+      new EmbeddedBrokerRule(
+          cfg -> cfg.getNetwork().getMonitoringApi().setEnableStateQueries(true));
+  public static final CommandApiRule API_RULE = new CommandApiRule(RULE::getAtomix);
+
+  @ClassRule public static RuleChain ruleChain = RuleChain.outerRule(RULE).around(API_RULE);
 
   private static String baseUrl;
 
@@ -67,4 +77,64 @@ public class BrokerHttpServerTest {
       }
     }
   }
+
+  @Test
+  public void shouldQueryActivatableJobs() throws IOException {
+    // given
+    API_RULE
+        .partitionClient()
+        .deploy(
+            Bpmn.createExecutableProcess("process")
+                .startEvent()
+                .serviceTask("task", t -> t.zeebeTaskType("query-test"))
+                .done());
+    final long workflowInstanceKey =
+        API_RULE
+            .partitionClient()
+            .createWorkflowInstance(r -> r.setBpmnProcessId("process"))
+            .getWorkflowInstanceKey();
+    RecordingExporter.jobRecords(JobIntent.CREATED)
+        .withWorkflowInstanceKey(workflowInstanceKey)
+        .await();
+
+    // when
+    final String url = baseUrl + "/partitions/1/jobs?type=query-test&pageSize=10";
+
+    // then
+    try (CloseableHttpClient client = HttpClients.createDefault()) {
+      final HttpGet request = new HttpGet(url);
+      try (CloseableHttpResponse response = client.execute(request)) {
+        assertThat(response.getStatusLine().getStatusCode()).isEqualTo(200);
+        assertThat(EntityUtils.toString(response.getEntity()))
+            .contains("\"type\":\"query-test\"")
+            .contains("\"workflowInstanceKey\":" + workflowInstanceKey)
+            .endsWith("\"nextPageKey\":-1}");
+      }
+    }
+  }
+
+  @Test
+  public void shouldRejectQueryWithoutRequiredParameter() throws IOException {
+    final String url = baseUrl + "/partitions/1/jobs";
+
+    try (CloseableHttpClient client = HttpClients.createDefault()) {
+      final HttpGet request = new HttpGet(url);
+      try (CloseableHttpResponse response = client.execute(request)) {
+        assertThat(response.getStatusLine().getStatusCode()).isEqualTo(400);
+        assertThat(EntityUtils.toString(response.getEntity())).contains("type");
+      }
+    }
+  }
+
+  @Test
+  public void shouldRejectQueryOfUnknownPartition() throws IOException {
+    final String url = baseUrl + "/partitions/99/incidents?workflowInstanceKey=1";
+
+    try (CloseableHttpClient client = HttpClients.createDefault()) {
+      final HttpGet request = new HttpGet(url);
+      try (CloseableHttpResponse response = client.execute(request)) {
+        assertThat(response.getStatusLine().getStatusCode()).isEqualTo(404);
+      }
+    }
+  }
 }
@@ -48,6 +48,8 @@ import io.zeebe.broker.system.configuration.DataCfg;
 import io.zeebe.broker.system.configuration.EmbeddedGatewayCfg;
 import io.zeebe.broker.system.configuration.ExporterCfg;
 import io.zeebe.broker.system.configuration.NetworkCfg;
+import io.zeebe.db.impl.rocksdb.ColumnFamilyProfile;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.zeebe.util.Environment;
 import io.zeebe.util.TomlConfigurationReader;
 import java.io.ByteArrayInputStream;
@@ -329,6 +331,33 @@ public class ConfigurationTest {
     assertDirectories("directories", "foo", "bar");
   }
 
+  @Test
+  public void shouldUseDefaultRocksDbConfiguration() {
+    // when
+    final RocksDbConfiguration configuration =
+        readConfig("default").getData().getRocksDb().applyTo(new RocksDbConfiguration());
+
+    // then
+    assertThat(configuration.getBlockCacheSize())
+        .isEqualTo(RocksDbConfiguration.DEFAULT_BLOCK_CACHE_SIZE);
+    assertThat(configuration.getColumnFamilyProfiles()).isEmpty();
+  }
+
+  @Test
+  public void shouldUseSpecifiedRocksDbConfiguration() {
+    // when
+    final RocksDbConfiguration configuration =
+        readConfig("rocksdb").getData().getRocksDb().applyTo(new RocksDbConfiguration());
+
+    // then
+    assertThat(configuration.getBlockCacheSize()).isEqualTo(128 * 1024 * 1024);
+    assertThat(configuration.getColumnFamilyProfile("job_activatable"))
+        .isEqualTo(ColumnFamilyProfile.READ_MOSTLY);
+    assertThat(configuration.getColumnFamilyProfile("variables"))
+        .isEqualTo(ColumnFamilyProfile.LARGE_VALUES);
+    assertThat(configuration.getColumnFamilyProfile("jobs")).isEqualTo(ColumnFamilyProfile.DEFAULT);
+  }
+
   @Test
   public void shouldReadDefaultSystemClusterConfiguration() {
     assertDefaultSystemClusterConfiguration(
@@ -0,0 +1,165 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.backpressure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CommandRateLimiterTest {
+
+  private static final int STREAM_ID = 1;
+
+  private final AtomicLong clock = new AtomicLong();
+
+  private CommandRateLimiter limiter;
+
+  @Before
+  public void setUp() {
+    limiter = createLimiter(new VegasLimit(2, 1, 100));
+  }
+
+  @Test
+  public void shouldRejectRequestsAboveLimit() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 1);
+    limiter.tryAcquire(STREAM_ID, 2);
+
+    // when
+    final boolean acquired = limiter.tryAcquire(STREAM_ID, 3);
+
+    // then
+    assertThat(acquired).isFalse();
+    assertThat(limiter.getInflightCount()).isEqualTo(2);
+  }
+
+  @Test
+  public void shouldAcceptRequestsAfterResponse() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 1);
+    limiter.tryAcquire(STREAM_ID, 2);
+
+    // when
+    limiter.onResponse(STREAM_ID, 1);
+
+    // then
+    assertThat(limiter.getInflightCount()).isEqualTo(1);
+    assertThat(limiter.tryAcquire(STREAM_ID, 3)).isTrue();
+  }
+
+  @Test
+  public void shouldReleaseIgnoredRequest() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 1);
+
+    // when
+    limiter.onIgnore(STREAM_ID, 1);
+
+    // then
+    assertThat(limiter.getInflightCount()).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldDistinguishRequestsOfDifferentStreams() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 1);
+    limiter.tryAcquire(STREAM_ID + 1, 1);
+
+    // when
+    limiter.onResponse(STREAM_ID, 1);
+
+    // then
+    assertThat(limiter.getInflightCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldIgnoreUnknownResponse() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 1);
+
+    // when
+    limiter.onResponse(STREAM_ID, 2);
+
+    // then
+    assertThat(limiter.getInflightCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldExpireRequestsWithoutResponse() {
+    // given
+    limiter.tryAcquire(STREAM_ID, 1);
+    limiter.tryAcquire(STREAM_ID, 2);
+
+    // when
+    clock.addAndGet(CommandRateLimiter.INFLIGHT_TIMEOUT.plusSeconds(1).toNanos());
+    final boolean acquired = limiter.tryAcquire(STREAM_ID, 3);
+
+    // then
+    assertThat(acquired).isTrue();
+    assertThat(limiter.getInflightCount()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldIncreaseLimitIfLatencyIsStable() {
+    // given
+    limiter = createLimiter(new VegasLimit(10, 1, 100));
+    final long latency = Duration.ofMillis(1).toNanos();
+
+    // when
+    for (int i = 0; i < 5; i++) {
+      fillAndRespond(latency);
+    }
+
+    // then
+    assertThat(limiter.getLimit()).isGreaterThan(10);
+  }
+
+  @Test
+  public void shouldDecreaseLimitIfLatencyGrows() {
+    // given
+    limiter = createLimiter(new VegasLimit(50, 1, 100));
+    fillAndRespond(Duration.ofMillis(1).toNanos());
+    final int limitBefore = limiter.getLimit();
+
+    // when
+    fillAndRespond(Duration.ofMillis(10).toNanos());
+
+    // then
+    assertThat(limiter.getLimit()).isLessThan(limitBefore);
+  }
+
+  private void fillAndRespond(long latency) {
+    final int limit = limiter.getLimit();
+    for (int i = 0; i < limit; i++) {
+      limiter.tryAcquire(STREAM_ID, i);
+    }
+
+    clock.addAndGet(latency);
+
+    for (int i = 0; i < limit; i++) {
+      limiter.onResponse(STREAM_ID, i);
+    }
+  }
+
+  private CommandRateLimiter createLimiter(VegasLimit limit) {
+    return new CommandRateLimiter(limit, new BackpressureMetrics(1), clock::get);
+  }
+}
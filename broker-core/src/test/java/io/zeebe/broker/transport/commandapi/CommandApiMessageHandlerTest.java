@@ -25,6 +25,8 @@ import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 
+import io.zeebe.broker.system.configuration.BackpressureCfg;
+import io.zeebe.broker.transport.backpressure.PartitionAwareRequestLimiter;
 import io.zeebe.distributedlog.DistributedLogstreamService;
 import io.zeebe.distributedlog.impl.DefaultDistributedLogstreamService;
 import io.zeebe.distributedlog.impl.DistributedLogstreamPartition;
@@ -315,6 +317,81 @@ public class CommandApiMessageHandlerTest {
     assertThat(errorDecoder.errorCode()).isEqualTo(ErrorCode.UNSUPPORTED_MESSAGE);
   }
 
+  @Test
+  public void shouldSendErrorMessageIfTooManyRequestsInFlight() {
+    // given
+    final BackpressureCfg backpressureCfg =
+        new BackpressureCfg().setInitialLimit(1).setMinLimit(1).setMaxLimit(1);
+    messageHandler =
+        new CommandApiMessageHandler(new PartitionAwareRequestLimiter(backpressureCfg));
+    messageHandler.addPartition(logStream);
+
+    final int writtenLength =
+        writeCommandRequestToBuffer(
+            buffer, LOG_STREAM_PARTITION_ID, null, ValueType.JOB, JobIntent.CREATE);
+    messageHandler.onRequest(serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID);
+
+    // when
+    final boolean isHandled =
+        messageHandler.onRequest(
+            serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID + 1);
+
+    // then
+    assertThat(isHandled).isTrue();
+
+    assertThat(serverOutput.getSentResponses()).hasSize(1);
+
+    final ErrorResponseDecoder errorDecoder = serverOutput.getAsErrorResponse(0);
+
+    assertThat(errorDecoder.errorCode()).isEqualTo(ErrorCode.RESOURCE_EXHAUSTED);
+  }
+
+  @Test
+  public void shouldWriteCommandRequestOfOtherReceiver() {
+    // given
+    final CommandApiMessageHandler receiverHandler = messageHandler.newReceiverHandler();
+    final int writtenLength =
+        writeCommandRequestToBuffer(
+            buffer, LOG_STREAM_PARTITION_ID, null, ValueType.JOB, JobIntent.CREATE);
+
+    // when
+    final boolean isHandled =
+        receiverHandler.onRequest(
+            serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID);
+
+    // then
+    assertThat(isHandled).isTrue();
+    assertThat(serverOutput.getSentResponses()).isEmpty();
+
+    final BufferedLogStreamReader logStreamReader = new BufferedLogStreamReader(logStream);
+    waitForAvailableEvent(logStreamReader);
+  }
+
+  @Test
+  public void shouldSendErrorMessageOfOtherReceiverIfPartitionRemoved() {
+    // given
+    final CommandApiMessageHandler receiverHandler = messageHandler.newReceiverHandler();
+    messageHandler.removePartition(logStream);
+
+    final int writtenLength =
+        writeCommandRequestToBuffer(
+            buffer, LOG_STREAM_PARTITION_ID, null, ValueType.JOB, JobIntent.CREATE);
+
+    // when
+    final boolean isHandled =
+        receiverHandler.onRequest(
+            serverOutput, DEFAULT_ADDRESS, buffer, 0, writtenLength, REQUEST_ID);
+
+    // then
+    assertThat(isHandled).isTrue();
+
+    assertThat(serverOutput.getSentResponses()).hasSize(1);
+
+    final ErrorResponseDecoder errorDecoder = serverOutput.getAsErrorResponse(0);
+
+    assertThat(errorDecoder.errorCode()).isEqualTo(ErrorCode.PARTITION_LEADER_MISMATCH);
+  }
+
   protected int writeCommandRequestToBuffer(
       final UnsafeBuffer buffer,
       final int partitionId,
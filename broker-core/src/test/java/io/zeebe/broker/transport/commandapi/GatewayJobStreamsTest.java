@@ -0,0 +1,150 @@
+/*
+ * Zeebe Broker Core
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.broker.transport.commandapi;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.engine.processor.workflow.job.JobWorkerRegistry;
+import io.zeebe.engine.processor.workflow.job.JobWorkerStream;
+import io.zeebe.protocol.impl.encoding.AddJobStreamCapacityRequest;
+import io.zeebe.protocol.impl.encoding.AddJobStreamRequest;
+import io.zeebe.protocol.impl.encoding.RemoveJobStreamRequest;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.transport.RemoteAddress;
+import io.zeebe.transport.SocketAddress;
+import io.zeebe.transport.impl.RemoteAddressImpl;
+import io.zeebe.util.buffer.BufferUtil;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class GatewayJobStreamsTest {
+
+  private static final RemoteAddress GATEWAY =
+      new RemoteAddressImpl(21, new SocketAddress("foo", 4242));
+  private static final DirectBuffer TYPE = wrapString("type");
+  private static final long STREAM_ID = 3L;
+
+  private final BufferingServerOutput serverOutput = new BufferingServerOutput();
+  private final CommandApiMessageHandler messageHandler = new CommandApiMessageHandler();
+  private final JobWorkerRegistry registry = messageHandler.getJobWorkerRegistry();
+
+  @Test
+  public void shouldRegisterJobStream() {
+    // when
+    addStream(1);
+
+    // then
+    final JobWorkerStream stream = registry.acquireStream(TYPE);
+    assertThat(stream).isNotNull();
+    assertThat(BufferUtil.bufferAsString(stream.getWorker())).isEqualTo("worker");
+    assertThat(stream.getTimeout()).isEqualTo(1_000L);
+    assertThat(stream.getFetchVariables()).containsExactly(wrapString("foo"));
+    assertThat(registry.acquireStream(TYPE)).isNull();
+  }
+
+  @Test
+  public void shouldAddCapacityToJobStream() {
+    // given
+    addStream(0);
+
+    // when
+    send(new AddJobStreamCapacityRequest().setStreamId(STREAM_ID).setCapacity(2));
+
+    // then
+    assertThat(registry.acquireStream(TYPE).getCapacity()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldReplaceJobStreamOnReregistration() {
+    // given
+    addStream(1);
+
+    // when
+    addStream(2);
+
+    // then
+    assertThat(registry.acquireStream(TYPE).getCapacity()).isEqualTo(1);
+    assertThat(registry.acquireStream(TYPE).getCapacity()).isEqualTo(0);
+    assertThat(registry.acquireStream(TYPE)).isNull();
+  }
+
+  @Test
+  public void shouldRemoveJobStream() {
+    // given
+    addStream(1);
+
+    // when
+    send(new RemoveJobStreamRequest().setStreamId(STREAM_ID));
+
+    // then
+    assertThat(registry.acquireStream(TYPE)).isNull();
+  }
+
+  @Test
+  public void shouldRemoveJobStreamsOnConnectionClosed() {
+    // given
+    addStream(1);
+
+    // when
+    messageHandler.getJobStreams().onConnectionClosed(GATEWAY);
+
+    // then
+    assertThat(registry.acquireStream(TYPE)).isNull();
+  }
+
+  @Test
+  public void shouldIgnoreJobStreamWithoutWorker() {
+    // given
+    final JobBatchRecord record =
+        new JobBatchRecord().setType(TYPE).setTimeout(1_000L).setMaxJobsToActivate(1);
+    final DirectBuffer value = encode(record);
+
+    // when
+    send(new AddJobStreamRequest().setStreamId(STREAM_ID).setValue(value, 0, value.capacity()));
+
+    // then
+    assertThat(registry.acquireStream(TYPE)).isNull();
+  }
+
+  private void addStream(int capacity) {
+    final JobBatchRecord record =
+        new JobBatchRecord()
+            .setType(TYPE)
+            .setWorker("worker")
+            .setTimeout(1_000L)
+            .setMaxJobsToActivate(capacity);
+    record.variables().add().wrap(wrapString("foo"));
+
+    final DirectBuffer value = encode(record);
+    send(new AddJobStreamRequest().setStreamId(STREAM_ID).setValue(value, 0, value.capacity()));
+  }
+
+  private void send(BufferWriter message) {
+    final DirectBuffer buffer = encode(message);
+    messageHandler.onMessage(serverOutput, GATEWAY, buffer, 0, buffer.capacity());
+  }
+
+  private static DirectBuffer encode(BufferWriter writer) {
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[writer.getLength()]);
+    writer.write(buffer, 0);
+    return buffer;
+  }
+}
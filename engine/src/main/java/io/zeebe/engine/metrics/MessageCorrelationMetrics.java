@@ -0,0 +1,59 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Histogram;
+
+public class MessageCorrelationMetrics {
+
+  private static final Counter CORRELATION_INDEX_LOOKUPS =
+      Counter.build()
+          .namespace("zeebe")
+          .name("message_correlation_index_lookups_total")
+          .help("Number of lookups in the in-memory message correlation index")
+          .labelNames("index", "result", "partition")
+          .register();
+
+  private static final Histogram CORRELATION_LATENCY =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("message_correlation_latency")
+          .help("Latency of looking up the messages or subscriptions to correlate in seconds")
+          .labelNames("index", "partition")
+          .buckets(0.00001, 0.00005, 0.0001, 0.0005, 0.001, 0.005, 0.01, 0.05)
+          .register();
+
+  private final String partitionIdLabel;
+
+  public MessageCorrelationMetrics(int partitionId) {
+    this.partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  public void indexHit(String index) {
+    CORRELATION_INDEX_LOOKUPS.labels(index, "hit", partitionIdLabel).inc();
+  }
+
+  public void indexMiss(String index) {
+    CORRELATION_INDEX_LOOKUPS.labels(index, "miss", partitionIdLabel).inc();
+  }
+
+  public void correlationLatency(String index, long nanos) {
+    CORRELATION_LATENCY.labels(index, partitionIdLabel).observe(nanos / 1_000_000_000d);
+  }
+}
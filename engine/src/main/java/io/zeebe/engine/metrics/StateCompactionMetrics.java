@@ -0,0 +1,77 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.metrics;
+
+import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+
+public class StateCompactionMetrics {
+
+  private static final Gauge DELETED_ENTRIES =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("state_deleted_entries")
+          .help("Estimated number of tombstones of a column family since its last compaction")
+          .labelNames("column_family", "partition")
+          .register();
+
+  private static final Gauge ITERATION_RESEEKS =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("state_iteration_reseeks")
+          .help("Number of re-seeks of state iterations which skipped too many deleted entries")
+          .labelNames("partition")
+          .register();
+
+  private static final Counter COMPACTIONS =
+      Counter.build()
+          .namespace("zeebe")
+          .name("state_compactions_total")
+          .help("Number of compactions which were triggered by the tombstones of a column family")
+          .labelNames("column_family", "partition")
+          .register();
+
+  private static final Histogram COMPACTION_DURATION =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("state_compaction_duration")
+          .help("Duration of compacting a column family in seconds")
+          .labelNames("partition")
+          .buckets(0.01, 0.05, 0.1, 0.5, 1, 5, 10, 30)
+          .register();
+
+  private final String partitionIdLabel;
+
+  public StateCompactionMetrics(int partitionId) {
+    this.partitionIdLabel = String.valueOf(partitionId);
+  }
+
+  public void deletedEntries(String columnFamily, long count) {
+    DELETED_ENTRIES.labels(columnFamily, partitionIdLabel).set(count);
+  }
+
+  public void iterationReseeks(long count) {
+    ITERATION_RESEEKS.labels(partitionIdLabel).set(count);
+  }
+
+  public void compacted(String columnFamily, long nanos) {
+    COMPACTIONS.labels(columnFamily, partitionIdLabel).inc();
+    COMPACTION_DURATION.labels(partitionIdLabel).observe(nanos / 1_000_000_000d);
+  }
+}
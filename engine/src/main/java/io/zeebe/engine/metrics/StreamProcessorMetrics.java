@@ -18,6 +18,7 @@
 package io.zeebe.engine.metrics;
 
 import io.prometheus.client.Counter;
+import io.prometheus.client.Gauge;
 import io.prometheus.client.Histogram;
 import io.zeebe.protocol.record.RecordType;
 
@@ -39,6 +40,14 @@ public class StreamProcessorMetrics {
           .labelNames("recordType", "partition")
           .register();
 
+  private static final Gauge REPROCESSING_REMAINING_POSITIONS =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("stream_processor_reprocessing_remaining_positions")
+          .help("Distance between the last reprocessed position and the last source position")
+          .labelNames("partition")
+          .register();
+
   private final String partitionIdLabel;
 
   public StreamProcessorMetrics(int partitionId) {
@@ -66,4 +75,12 @@ public class StreamProcessorMetrics {
   public void eventSkipped() {
     event("skipped");
   }
+
+  public void eventsReprocessed(int count) {
+    STREAM_PROCESSOR_EVENTS.labels("reprocessed", partitionIdLabel).inc(count);
+  }
+
+  public void remainingReprocessingPositions(long remaining) {
+    REPROCESSING_REMAINING_POSITIONS.labels(partitionIdLabel).set(remaining);
+  }
 }
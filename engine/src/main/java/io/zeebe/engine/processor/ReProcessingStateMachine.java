@@ -18,8 +18,8 @@
 package io.zeebe.engine.processor;
 
 import io.zeebe.db.DbContext;
-import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.engine.metrics.StreamProcessorMetrics;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.logstreams.impl.Loggers;
 import io.zeebe.logstreams.log.LogStreamReader;
@@ -36,51 +36,46 @@ import io.zeebe.util.retry.RetryStrategy;
 import io.zeebe.util.sched.ActorControl;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 import java.util.function.BooleanSupplier;
 import java.util.function.Consumer;
+import org.agrona.collections.LongHashSet;
 import org.slf4j.Logger;
 
 /**
  * Represents the reprocessing state machine, which is executed on reprocessing.
  *
+ * <p>The events are reprocessed in batches of up to {@link #MAX_BATCH_SIZE} events. A batch is
+ * applied in one transaction and one actor job, so the state is committed once per batch instead
+ * of once per event. If a batch fails, the transaction is rolled back and the reader is reset to
+ * the last committed event, before the batch is retried.
+ *
  * <pre>
  * +------------------+   +-------------+           +------------------------+
  * |                  |   |             |           |                        |
- * |  startRecover()  |--->  scanLog()  |---------->|  reprocessNextEvent()  |
- * |                  |   |             |           |                        |
- * +------------------+   +---+---------+           +-----^------+-----------+
- *                            |                           |      |
- * +-----------------+        | no source events          |      |
- * |                 |        |                           |      |
- * |  onRecovered()  <--------+                           |      |    +--------------------+
- * |                 |                                    |      |    |                    |
- * +--------^--------+                hasNext             |      +--->|  reprocessEvent()  |
- *          |            +--------------------------------+           |                    |
- *          |            |                                            +----+----------+----+
- *          |            |                                                 |          |
- *   +------+------------+-----+                                           |          |
- *   |                         |               no event processor          |          |
- *   |  onRecordReprocessed()  |<------------------------------------------+          |
- *   |                         |                                                      |
- *   +---------^---------------+                                                      |
- *             |                                                                      |
- *             |      +--------------------------+       +----------------------+     |
- *             |      |                          |       |                      |     |
- *             +------+  updateStateUntilDone()  <-------+  processUntilDone()  |<----+
- *                    |                          |       |                      |
- *                    +------^------------+------+       +---^------------+-----+
- *                           |            |                  |            |
- *                           +------------+                  +------------+
- *                             exception                       exception
+ * |  startRecover()  |--->  scanLog()  |---------->|  reprocessNextBatch()  <-------------+
+ * |                  |   |             |           |                        |             |
+ * +------------------+   +---+---------+           +-----------+------------+             |
+ *                            |                                 |                          |
+ * +-----------------+        | no source events                |                          |
+ * |                 |        |                     +-----------v------------+             |
+ * |  onRecovered()  <--------+                     |                        +---+         |
+ * |                 |                              |    reprocessBatch()    |   | exception:
+ * +--------^--------+                              |                        <---+ rollback, |
+ *          |                                       +-----------+------------+     seek back |
+ *          |                                                   |                          |
+ *          |                                       +-----------v------------+             |
+ *          |       last source event reprocessed   |                        |  next batch |
+ *          +---------------------------------------+  onBatchReprocessed()  +-------------+
+ *                                                  |                        |
+ *                                                  +------------------------+
  * </pre>
- *
- * See https://textik.com/#773271ce7ea2096a
  */
 public final class ReProcessingStateMachine {
 
+  /** The maximum number of events which are reprocessed in one transaction. */
+  public static final int MAX_BATCH_SIZE = 1_000;
+
   private static final Logger LOG = Loggers.PROCESSOR_LOGGER;
 
   private static final String ERROR_MESSAGE_ON_EVENT_FAILED_SKIP_EVENT =
@@ -114,11 +109,11 @@ public final class ReProcessingStateMachine {
   private final TypedResponseWriter noopResponseWriter = new NoopResponseWriter();
 
   private final DbContext dbContext;
-  private final RetryStrategy updateStateRetryStrategy;
-  private final RetryStrategy processRetryStrategy;
+  private final RetryStrategy batchRetryStrategy;
+  private final StreamProcessorMetrics metrics;
 
   private final BooleanSupplier abortCondition;
-  private final Set<Long> failedEventPositions = new HashSet<>();
+  private final LongHashSet failedEventPositions = new LongHashSet();
 
   public ReProcessingStateMachine(ProcessingContext context) {
     this.actor = context.getActor();
@@ -129,9 +124,9 @@ public final class ReProcessingStateMachine {
     this.dbContext = context.getDbContext();
     this.zeebeState = context.getZeebeState();
     this.abortCondition = context.getAbortCondition();
+    this.metrics = new StreamProcessorMetrics(context.getLogStream().getPartitionId());
 
-    this.updateStateRetryStrategy = new EndlessRetryStrategy(actor);
-    this.processRetryStrategy = new EndlessRetryStrategy(actor);
+    this.batchRetryStrategy = new EndlessRetryStrategy(actor);
   }
 
   // current iteration
@@ -141,6 +136,13 @@ public final class ReProcessingStateMachine {
   private TypedRecordProcessor eventProcessor;
   private ZeebeDbTransaction zeebeDbTransaction;
 
+  // current batch
+  private long lastCommittedPosition;
+  private long lastProcessedPosition;
+  private int batchEventCount;
+  private boolean reachedLastSourceEvent;
+  private RuntimeException readFailure;
+
   ActorFuture<Void> startRecover(final long snapshotPosition) {
     recoveryFuture = new CompletableActorFuture<>();
 
@@ -153,7 +155,9 @@ public final class ReProcessingStateMachine {
           "Processor starts reprocessing, until last source event position {}",
           lastSourceEventPosition);
       logStreamReader.seekToNextEvent(snapshotPosition);
-      reprocessNextEvent();
+      lastCommittedPosition = snapshotPosition;
+      metrics.remainingReprocessingPositions(lastSourceEventPosition - snapshotPosition);
+      reprocessNextBatch();
     } else {
       recoveryFuture.complete(null);
     }
@@ -197,38 +201,87 @@ public final class ReProcessingStateMachine {
     return lastSourceEventPosition;
   }
 
-  private void readNextEvent() {
-    if (!logStreamReader.hasNext()) {
-      throw new IllegalStateException(
-          String.format(ERROR_MESSAGE_REPROCESSING_NO_NEXT_EVENT, lastSourceEventPosition));
+  private void reprocessNextBatch() {
+    final ActorFuture<Boolean> resultFuture =
+        batchRetryStrategy.runWithRetry(this::reprocessBatch, abortCondition);
+
+    actor.runOnCompletion(
+        resultFuture,
+        (v, t) -> {
+          // reprocessing should be retried endless until it worked
+          assert t == null : "On reprocessing there shouldn't be any exception thrown.";
+          onBatchReprocessed();
+        });
+  }
+
+  private boolean reprocessBatch() throws Exception {
+    final boolean onRetry = zeebeDbTransaction != null;
+    if (onRetry) {
+      zeebeDbTransaction.rollback();
+      logStreamReader.seekToNextEvent(lastCommittedPosition);
     }
 
-    currentEvent = logStreamReader.next();
-    if (currentEvent.getPosition() > lastSourceEventPosition) {
-      throw new IllegalStateException(
-          String.format(
-              ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT,
-              lastSourceEventPosition,
-              currentEvent.getPosition()));
+    batchEventCount = 0;
+    lastProcessedPosition = -1L;
+    reachedLastSourceEvent = false;
+    readFailure = null;
+
+    zeebeDbTransaction = dbContext.getCurrentTransaction();
+    zeebeDbTransaction.run(this::reprocessEvents);
+
+    if (readFailure != null) {
+      zeebeDbTransaction.rollback();
+    } else {
+      zeebeDbTransaction.commit();
     }
+    zeebeDbTransaction = null;
+    return true;
   }
 
-  private void reprocessNextEvent() {
-    try {
-      readNextEvent();
+  private void reprocessEvents() {
+    while (batchEventCount < MAX_BATCH_SIZE && !reachedLastSourceEvent) {
+      if (!readNextEvent()) {
+        return;
+      }
 
       if (eventFilter == null || eventFilter.applies(currentEvent)) {
         reprocessEvent(currentEvent);
-      } else {
-        onRecordReprocessed(currentEvent);
       }
 
-    } catch (final RuntimeException e) {
-      recoveryFuture.completeExceptionally(e);
+      batchEventCount++;
+      reachedLastSourceEvent = currentEvent.getPosition() == lastSourceEventPosition;
+    }
+
+    if (lastProcessedPosition >= 0) {
+      // only the last position is relevant, so it is marked once per batch
+      zeebeState.markAsProcessed(lastProcessedPosition);
     }
   }
 
+  private boolean readNextEvent() {
+    if (!logStreamReader.hasNext()) {
+      readFailure =
+          new IllegalStateException(
+              String.format(ERROR_MESSAGE_REPROCESSING_NO_NEXT_EVENT, lastSourceEventPosition));
+      return false;
+    }
+
+    currentEvent = logStreamReader.next();
+    if (currentEvent.getPosition() > lastSourceEventPosition) {
+      readFailure =
+          new IllegalStateException(
+              String.format(
+                  ERROR_MESSAGE_REPROCESSING_NO_SOURCE_EVENT,
+                  lastSourceEventPosition,
+                  currentEvent.getPosition()));
+      return false;
+    }
+
+    return true;
+  }
+
   private void reprocessEvent(final LoggedEvent currentEvent) {
+    eventProcessor = null;
 
     try {
       metadata.reset();
@@ -242,7 +295,6 @@ public final class ReProcessingStateMachine {
     }
 
     if (eventProcessor == null) {
-      onRecordReprocessed(currentEvent);
       return;
     }
 
@@ -251,83 +303,36 @@ public final class ReProcessingStateMachine {
     currentEvent.readValue(value);
     typedEvent.wrap(currentEvent, metadata, value);
 
-    processUntilDone(currentEvent.getPosition(), typedEvent);
-  }
-
-  private void processUntilDone(long position, TypedRecord<?> currentEvent) {
-    final TransactionOperation operationOnProcessing =
-        chooseOperationForEvent(position, currentEvent);
-
-    final ActorFuture<Boolean> resultFuture =
-        processRetryStrategy.runWithRetry(
-            () -> {
-              final boolean onRetry = zeebeDbTransaction != null;
-              if (onRetry) {
-                zeebeDbTransaction.rollback();
-              }
-              zeebeDbTransaction = dbContext.getCurrentTransaction();
-              zeebeDbTransaction.run(operationOnProcessing);
-              return true;
-            },
-            abortCondition);
-
-    actor.runOnCompletion(
-        resultFuture,
-        (v, t) -> {
-          // processing should be retried endless until it worked
-          assert t == null : "On reprocessing there shouldn't be any exception thrown.";
-          updateStateUntilDone();
-        });
-  }
-
-  private TransactionOperation chooseOperationForEvent(long position, TypedRecord<?> currentEvent) {
-    final TransactionOperation operationOnProcessing;
+    final long position = currentEvent.getPosition();
     if (failedEventPositions.contains(position)) {
-      LOG.info(LOG_STMT_FAILED_ON_PROCESSING, currentEvent);
-      operationOnProcessing = () -> zeebeState.tryToBlacklist(currentEvent, NOOP_LONG_CONSUMER);
+      LOG.info(LOG_STMT_FAILED_ON_PROCESSING, typedEvent);
+      zeebeState.tryToBlacklist(typedEvent, NOOP_LONG_CONSUMER);
     } else {
-      operationOnProcessing =
-          () -> {
-            final boolean isNotOnBlacklist = !zeebeState.isOnBlacklist(typedEvent);
-            if (isNotOnBlacklist) {
-              eventProcessor.processRecord(
-                  position,
-                  typedEvent,
-                  noopResponseWriter,
-                  noopstreamWriter,
-                  NOOP_SIDE_EFFECT_CONSUMER);
-            }
-            zeebeState.markAsProcessed(position);
-          };
+      final boolean isNotOnBlacklist = !zeebeState.isOnBlacklist(typedEvent);
+      if (isNotOnBlacklist) {
+        eventProcessor.processRecord(
+            position, typedEvent, noopResponseWriter, noopstreamWriter, NOOP_SIDE_EFFECT_CONSUMER);
+      }
+      lastProcessedPosition = position;
     }
-    return operationOnProcessing;
   }
 
-  private void updateStateUntilDone() {
-    final ActorFuture<Boolean> retryFuture =
-        updateStateRetryStrategy.runWithRetry(
-            () -> {
-              zeebeDbTransaction.commit();
-              zeebeDbTransaction = null;
-              return true;
-            },
-            abortCondition);
+  private void onBatchReprocessed() {
+    if (readFailure != null) {
+      recoveryFuture.completeExceptionally(readFailure);
+      return;
+    }
 
-    actor.runOnCompletion(
-        retryFuture,
-        (bool, throwable) -> {
-          // update state should be retried endless until it worked
-          assert throwable == null : "On reprocessing there shouldn't be any exception thrown.";
-          onRecordReprocessed(currentEvent);
-        });
-  }
+    lastCommittedPosition = currentEvent.getPosition();
+    metrics.eventsReprocessed(batchEventCount);
+    metrics.remainingReprocessingPositions(lastSourceEventPosition - lastCommittedPosition);
 
-  private void onRecordReprocessed(final LoggedEvent currentEvent) {
-    if (currentEvent.getPosition() == lastSourceEventPosition) {
-      LOG.info(LOG_STMT_REPROCESSING_FINISHED, currentEvent.getPosition());
+    if (reachedLastSourceEvent) {
+      LOG.info(LOG_STMT_REPROCESSING_FINISHED, lastCommittedPosition);
       onRecovered();
     } else {
-      actor.submit(this::reprocessNextEvent);
+      // yield between the batches, so other jobs of the actor can run
+      actor.submit(this::reprocessNextBatch);
     }
   }
 
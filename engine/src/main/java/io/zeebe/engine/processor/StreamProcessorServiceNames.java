@@ -17,10 +17,15 @@
  */
 package io.zeebe.engine.processor;
 
+import io.zeebe.engine.state.compaction.TombstoneCompactionService;
+import io.zeebe.engine.state.query.StateQueryService;
 import io.zeebe.servicecontainer.ServiceName;
 
 public class StreamProcessorServiceNames {
 
+  public static final ServiceName<StateQueryService> STATE_QUERY_SERVICE_GROUP_NAME =
+      ServiceName.newServiceName("logstream.state-query.group", StateQueryService.class);
+
   public static final ServiceName<StreamProcessor> streamProcessorService(String logName) {
     return ServiceName.newServiceName(
         String.format("logstream.%s.stream-processor", logName), StreamProcessor.class);
@@ -32,4 +37,16 @@ public class StreamProcessorServiceNames {
         String.format("logstream.%s.snapshot-director", logName),
         AsyncSnapshotingDirectorService.class);
   }
+
+  public static final ServiceName<StateQueryService> stateQueryService(String logName) {
+    return ServiceName.newServiceName(
+        String.format("logstream.%s.state-query", logName), StateQueryService.class);
+  }
+
+  public static final ServiceName<TombstoneCompactionService> tombstoneCompactionService(
+      String logName) {
+    return ServiceName.newServiceName(
+        String.format("logstream.%s.tombstone-compaction", logName),
+        TombstoneCompactionService.class);
+  }
 }
@@ -25,6 +25,7 @@ import io.zeebe.engine.processor.workflow.deployment.distribute.DeploymentDistri
 import io.zeebe.engine.processor.workflow.deployment.distribute.DeploymentDistributor;
 import io.zeebe.engine.processor.workflow.incident.IncidentEventProcessors;
 import io.zeebe.engine.processor.workflow.job.JobEventProcessors;
+import io.zeebe.engine.processor.workflow.job.JobWorkerRegistry;
 import io.zeebe.engine.processor.workflow.message.MessageEventProcessors;
 import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandSender;
 import io.zeebe.engine.processor.workflow.timer.DueDateTimerChecker;
@@ -44,6 +45,22 @@ public class EngineProcessors {
       SubscriptionCommandSender subscriptionCommandSender,
       DeploymentDistributor deploymentDistributor,
       DeploymentResponder deploymentResponder) {
+    return createEngineProcessors(
+        processingContext,
+        partitionsCount,
+        subscriptionCommandSender,
+        deploymentDistributor,
+        deploymentResponder,
+        new JobWorkerRegistry());
+  }
+
+  public static TypedRecordProcessors createEngineProcessors(
+      ProcessingContext processingContext,
+      int partitionsCount,
+      SubscriptionCommandSender subscriptionCommandSender,
+      DeploymentDistributor deploymentDistributor,
+      DeploymentResponder deploymentResponder,
+      JobWorkerRegistry jobWorkerRegistry) {
 
     final TypedRecordProcessors typedRecordProcessors = TypedRecordProcessors.processors();
     final LogStream stream = processingContext.getLogStream();
@@ -64,7 +81,7 @@ public class EngineProcessors {
         addWorkflowProcessors(
             zeebeState, typedRecordProcessors, subscriptionCommandSender, catchEventBehavior);
     addIncidentProcessors(zeebeState, stepProcessor, typedRecordProcessors);
-    addJobProcessors(zeebeState, typedRecordProcessors);
+    addJobProcessors(zeebeState, typedRecordProcessors, jobWorkerRegistry);
 
     return typedRecordProcessors;
   }
@@ -129,8 +146,10 @@ public class EngineProcessors {
   }
 
   private static void addJobProcessors(
-      ZeebeState zeebeState, TypedRecordProcessors typedRecordProcessors) {
-    JobEventProcessors.addJobProcessors(typedRecordProcessors, zeebeState);
+      ZeebeState zeebeState,
+      TypedRecordProcessors typedRecordProcessors,
+      JobWorkerRegistry jobWorkerRegistry) {
+    JobEventProcessors.addJobProcessors(typedRecordProcessors, zeebeState, jobWorkerRegistry);
   }
 
   private static void addMessageProcessors(
@@ -17,23 +17,147 @@
  */
 package io.zeebe.engine.processor.workflow.job;
 
-import io.zeebe.engine.processor.CommandProcessor;
+import io.zeebe.engine.processor.KeyGenerator;
+import io.zeebe.engine.processor.ReadonlyProcessingContext;
+import io.zeebe.engine.processor.SideEffectProducer;
 import io.zeebe.engine.processor.TypedRecord;
+import io.zeebe.engine.processor.TypedRecordProcessor;
+import io.zeebe.engine.processor.TypedResponseWriter;
+import io.zeebe.engine.processor.TypedStreamWriter;
+import io.zeebe.engine.processor.workflow.SideEffectQueue;
 import io.zeebe.engine.state.instance.JobState;
+import io.zeebe.engine.state.instance.VariablesState;
+import io.zeebe.msgpack.value.DocumentValue;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.protocol.record.intent.JobIntent;
+import java.util.Collection;
+import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
 
-public class CreateProcessor implements CommandProcessor<JobRecord> {
+/**
+ * Creates a job and makes it activatable. If a worker of the job type is registered in the {@link
+ * JobWorkerRegistry} and has capacity left, the job is activated for this worker right away and
+ * pushed to it as a side effect, so the worker doesn't have to poll for it. Otherwise, the job
+ * stays activatable and can be activated by a job batch.
+ *
+ * <p>Jobs are only pushed after the reprocessing, since the registered workers are not part of
+ * the state. On reprocessing, the activation is applied by the {@link JobActivatedProcessor}.
+ */
+public class CreateProcessor implements TypedRecordProcessor<JobRecord> {
 
   private final JobState state;
+  private final VariablesState variablesState;
+  private final JobWorkerRegistry jobWorkerRegistry;
+
+  private final SideEffectQueue sideEffects = new SideEffectQueue();
+
+  // the created job is staged for the response, so the activation is written with copies
+  private final ExpandableArrayBuffer activatedJobBuffer = new ExpandableArrayBuffer();
+  private final JobRecord activatedJob = new JobRecord();
+  private final ExpandableArrayBuffer pushedJobBuffer = new ExpandableArrayBuffer();
+  private final JobRecord pushedJob = new JobRecord();
+
+  private final KeyGenerator keyGenerator;
+
+  private boolean isPushEnabled;
 
-  public CreateProcessor(JobState state) {
+  private JobWorkerStream pushTarget;
+  private long pushedJobKey;
+
+  public CreateProcessor(
+      JobState state,
+      VariablesState variablesState,
+      JobWorkerRegistry jobWorkerRegistry,
+      KeyGenerator keyGenerator) {
     this.state = state;
+    this.variablesState = variablesState;
+    this.jobWorkerRegistry = jobWorkerRegistry;
+    this.keyGenerator = keyGenerator;
+  }
+
+  @Override
+  public void onRecovered(ReadonlyProcessingContext context) {
+    isPushEnabled = true;
   }
 
   @Override
-  public void onCommand(TypedRecord<JobRecord> command, CommandControl<JobRecord> commandControl) {
-    final long key = commandControl.accept(JobIntent.CREATED, command.getValue());
-    state.create(key, command.getValue());
+  public void processRecord(
+      TypedRecord<JobRecord> command,
+      TypedResponseWriter responseWriter,
+      TypedStreamWriter streamWriter,
+      Consumer<SideEffectProducer> sideEffect) {
+    final JobRecord job = command.getValue();
+    final long key = command.getKey() < 0 ? keyGenerator.nextKey() : command.getKey();
+
+    state.create(key, job);
+    streamWriter.appendFollowUpEvent(key, JobIntent.CREATED, job);
+    if (command.hasRequestMetadata()) {
+      responseWriter.writeEventOnCommand(key, JobIntent.CREATED, job, command);
+    }
+
+    final JobWorkerStream worker =
+        isPushEnabled ? jobWorkerRegistry.acquireStream(job.getTypeBuffer()) : null;
+    if (worker != null && activateJob(command, key, job, worker, streamWriter)) {
+      sideEffects.clear();
+      sideEffects.add(responseWriter::flush);
+      sideEffects.add(this::pushJob);
+      sideEffect.accept(sideEffects);
+    }
+  }
+
+  private boolean activateJob(
+      TypedRecord<JobRecord> command,
+      long key,
+      JobRecord job,
+      JobWorkerStream worker,
+      TypedStreamWriter streamWriter) {
+    copy(job, activatedJobBuffer, activatedJob);
+    activatedJob
+        .setDeadline(command.getTimestamp() + worker.getTimeout())
+        .setWorker(worker.getWorker());
+
+    final long elementInstanceKey = job.getElementInstanceKey();
+    if (elementInstanceKey >= 0) {
+      activatedJob.setVariables(collectVariables(worker.getFetchVariables(), elementInstanceKey));
+    } else {
+      activatedJob.setVariables(DocumentValue.EMPTY_DOCUMENT);
+    }
+
+    if (activatedJob.getLength() > worker.getMaxJobLength()) {
+      // the job doesn't fit into a single message, but it can still be activated by a job batch
+      worker.release();
+      return false;
+    }
+
+    // state.activate clears the variables, so the pushed job needs its own copy
+    copy(activatedJob, pushedJobBuffer, pushedJob);
+    pushedJobKey = key;
+    pushTarget = worker;
+
+    streamWriter.appendFollowUpEvent(key, JobIntent.ACTIVATED, activatedJob);
+    state.activate(key, activatedJob);
+    return true;
+  }
+
+  private static void copy(JobRecord source, ExpandableArrayBuffer buffer, JobRecord target) {
+    final int length = source.getLength();
+    source.write(buffer, 0);
+    target.wrap(buffer, 0, length);
+  }
+
+  private DirectBuffer collectVariables(
+      Collection<DirectBuffer> variableNames, long elementInstanceKey) {
+    if (variableNames.isEmpty()) {
+      return variablesState.getVariablesAsDocument(elementInstanceKey);
+    } else {
+      return variablesState.getVariablesAsDocument(elementInstanceKey, variableNames);
+    }
+  }
+
+  private boolean pushJob() {
+    pushTarget.push(pushedJobKey, pushedJob);
+    pushTarget = null;
+    return true;
   }
 }
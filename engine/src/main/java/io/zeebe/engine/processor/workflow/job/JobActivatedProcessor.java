@@ -0,0 +1,54 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.job;
+
+import io.zeebe.engine.processor.TypedRecord;
+import io.zeebe.engine.processor.TypedRecordProcessor;
+import io.zeebe.engine.processor.TypedResponseWriter;
+import io.zeebe.engine.processor.TypedStreamWriter;
+import io.zeebe.engine.state.instance.JobState;
+import io.zeebe.engine.state.instance.JobState.State;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+
+/**
+ * Applies the activation of a job which was pushed to a worker on creation, see {@link
+ * CreateProcessor}. Whether a job is pushed depends on the workers which are registered at that
+ * time, so on reprocessing the job is only created by the command and activated by its event.
+ *
+ * <p>Jobs which were already activated by the processing of the command, or which were activated
+ * by a job batch, are not touched.
+ */
+public final class JobActivatedProcessor implements TypedRecordProcessor<JobRecord> {
+
+  private final JobState jobState;
+
+  public JobActivatedProcessor(JobState jobState) {
+    this.jobState = jobState;
+  }
+
+  @Override
+  public void processRecord(
+      TypedRecord<JobRecord> record,
+      TypedResponseWriter responseWriter,
+      TypedStreamWriter streamWriter) {
+    final long jobKey = record.getKey();
+    if (jobState.isInState(jobKey, State.ACTIVATABLE)) {
+      jobState.activate(jobKey, record.getValue());
+    }
+  }
+}
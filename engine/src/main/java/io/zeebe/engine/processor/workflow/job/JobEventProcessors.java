@@ -21,6 +21,7 @@ import io.zeebe.engine.processor.TypedRecordProcessors;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.state.deployment.WorkflowState;
 import io.zeebe.engine.state.instance.JobState;
+import io.zeebe.engine.state.instance.VariablesState;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.JobBatchIntent;
 import io.zeebe.protocol.record.intent.JobIntent;
@@ -28,13 +29,27 @@ import io.zeebe.protocol.record.intent.JobIntent;
 public class JobEventProcessors {
   public static void addJobProcessors(
       TypedRecordProcessors typedRecordProcessors, ZeebeState zeebeState) {
+    addJobProcessors(typedRecordProcessors, zeebeState, new JobWorkerRegistry());
+  }
+
+  public static void addJobProcessors(
+      TypedRecordProcessors typedRecordProcessors,
+      ZeebeState zeebeState,
+      JobWorkerRegistry jobWorkerRegistry) {
     final WorkflowState workflowState = zeebeState.getWorkflowState();
     final JobState jobState = zeebeState.getJobState();
+    final VariablesState variablesState =
+        workflowState.getElementInstanceState().getVariablesState();
 
     typedRecordProcessors
         .onEvent(ValueType.JOB, JobIntent.CREATED, new JobCreatedProcessor(workflowState))
         .onEvent(ValueType.JOB, JobIntent.COMPLETED, new JobCompletedEventProcessor(workflowState))
-        .onCommand(ValueType.JOB, JobIntent.CREATE, new CreateProcessor(jobState))
+        .onCommand(
+            ValueType.JOB,
+            JobIntent.CREATE,
+            new CreateProcessor(
+                jobState, variablesState, jobWorkerRegistry, zeebeState.getKeyGenerator()))
+        .onEvent(ValueType.JOB, JobIntent.ACTIVATED, new JobActivatedProcessor(jobState))
         .onCommand(ValueType.JOB, JobIntent.COMPLETE, new CompleteProcessor(jobState))
         .onCommand(ValueType.JOB, JobIntent.FAIL, new FailProcessor(jobState))
         .onEvent(ValueType.JOB, JobIntent.FAILED, new JobFailedProcessor())
@@ -45,9 +60,7 @@ public class JobEventProcessors {
             ValueType.JOB_BATCH,
             JobBatchIntent.ACTIVATE,
             new JobBatchActivateProcessor(
-                jobState,
-                workflowState.getElementInstanceState().getVariablesState(),
-                zeebeState.getKeyGenerator()))
+                jobState, variablesState, zeebeState.getKeyGenerator()))
         .withListener(new JobTimeoutTrigger(jobState));
   }
 }
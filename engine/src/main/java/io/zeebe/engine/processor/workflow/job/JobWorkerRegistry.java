@@ -0,0 +1,105 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.job;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.DirectBuffer;
+
+/**
+ * Keeps the job workers per job type which want to get new jobs pushed, instead of polling for
+ * them. The workers are registered by the gateways, which open a job stream on every broker. When
+ * a job is created, the partition activates it for the next worker of its type with capacity left
+ * and pushes it once the activation is processed. If no worker has capacity, the job stays
+ * activatable as before.
+ *
+ * <p>The workers of a type are selected in round-robin order, so that jobs are spread evenly over
+ * the workers with capacity. The registry is shared by the partitions of a broker; workers can be
+ * added and removed from any thread.
+ */
+public class JobWorkerRegistry {
+
+  private static final JobWorkerStream[] EMPTY = new JobWorkerStream[0];
+
+  private final Map<DirectBuffer, TypeStreams> streamsByType = new ConcurrentHashMap<>();
+
+  public void addStream(JobWorkerStream stream) {
+    streamsByType.compute(
+        stream.getType(),
+        (type, typeStreams) -> {
+          final TypeStreams streams = typeStreams != null ? typeStreams : new TypeStreams();
+          streams.add(stream);
+          return streams;
+        });
+  }
+
+  public void removeStream(JobWorkerStream stream) {
+    streamsByType.computeIfPresent(
+        stream.getType(),
+        (type, typeStreams) -> {
+          typeStreams.remove(stream);
+          return typeStreams.isEmpty() ? null : typeStreams;
+        });
+  }
+
+  /**
+   * Selects the next worker of the given type with capacity left and takes one unit of its
+   * capacity.
+   *
+   * @return the selected worker, or {@code null} if no worker of the type has capacity left
+   */
+  public JobWorkerStream acquireStream(DirectBuffer type) {
+    final TypeStreams typeStreams = streamsByType.get(type);
+    if (typeStreams == null) {
+      return null;
+    }
+
+    final JobWorkerStream[] streams = typeStreams.streams;
+    final int start = typeStreams.next.getAndIncrement();
+    for (int i = 0; i < streams.length; i++) {
+      final JobWorkerStream stream = streams[Math.floorMod(start + i, streams.length)];
+      if (stream.tryAcquire()) {
+        return stream;
+      }
+    }
+    return null;
+  }
+
+  private static final class TypeStreams {
+
+    // replaced on every change, so that it can be iterated without locking
+    private volatile JobWorkerStream[] streams = EMPTY;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private void add(JobWorkerStream stream) {
+      final JobWorkerStream[] newStreams = Arrays.copyOf(streams, streams.length + 1);
+      newStreams[streams.length] = stream;
+      streams = newStreams;
+    }
+
+    private void remove(JobWorkerStream stream) {
+      streams = Arrays.stream(streams).filter(s -> s != stream).toArray(JobWorkerStream[]::new);
+    }
+
+    private boolean isEmpty() {
+      return streams.length == 0;
+    }
+  }
+}
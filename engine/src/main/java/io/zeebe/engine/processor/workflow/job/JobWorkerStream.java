@@ -0,0 +1,140 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.job;
+
+import static io.zeebe.util.buffer.BufferUtil.cloneBuffer;
+
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.util.EnsureUtil;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.agrona.DirectBuffer;
+
+/**
+ * A job worker which is registered on the broker to get the jobs of a type pushed, see {@link
+ * JobWorkerRegistry}. A job is only pushed to the worker while it has capacity left; each pushed
+ * job takes one unit of its capacity, and the worker hands out more capacity when it is ready to
+ * work on more jobs.
+ */
+public final class JobWorkerStream {
+
+  private final DirectBuffer type;
+  private final DirectBuffer worker;
+  private final long timeout;
+  private final List<DirectBuffer> fetchVariables = new ArrayList<>();
+  private final int maxJobLength;
+  private final JobConsumer consumer;
+  private final AtomicInteger capacity = new AtomicInteger();
+
+  /**
+   * @param type the type of the jobs to push
+   * @param worker the name of the worker, which is set on the activated jobs
+   * @param timeout the timeout of the activated jobs in milliseconds
+   * @param fetchVariables the names of the variables to push with the job, or an empty collection
+   *     to push all variables
+   * @param maxJobLength the maximum length of a pushed job including its variables, larger jobs
+   *     stay activatable
+   * @param consumer the consumer of the pushed jobs
+   */
+  public JobWorkerStream(
+      DirectBuffer type,
+      DirectBuffer worker,
+      long timeout,
+      Collection<DirectBuffer> fetchVariables,
+      int maxJobLength,
+      JobConsumer consumer) {
+    EnsureUtil.ensureNotNullOrEmpty("type", type);
+    EnsureUtil.ensureNotNullOrEmpty("worker", worker);
+    EnsureUtil.ensureGreaterThan("timeout", timeout, 0);
+    EnsureUtil.ensureGreaterThan("maxJobLength", maxJobLength, 0);
+    EnsureUtil.ensureNotNull("consumer", consumer);
+
+    this.type = cloneBuffer(type);
+    this.worker = cloneBuffer(worker);
+    this.timeout = timeout;
+    fetchVariables.forEach(name -> this.fetchVariables.add(cloneBuffer(name)));
+    this.maxJobLength = maxJobLength;
+    this.consumer = consumer;
+  }
+
+  /** Allows to push the given number of additional jobs to the worker. */
+  public void addCapacity(int jobs) {
+    EnsureUtil.ensureGreaterThan("jobs", jobs, 0);
+    capacity.addAndGet(jobs);
+  }
+
+  public int getCapacity() {
+    return capacity.get();
+  }
+
+  public DirectBuffer getType() {
+    return type;
+  }
+
+  public DirectBuffer getWorker() {
+    return worker;
+  }
+
+  public long getTimeout() {
+    return timeout;
+  }
+
+  public Collection<DirectBuffer> getFetchVariables() {
+    return fetchVariables;
+  }
+
+  public int getMaxJobLength() {
+    return maxJobLength;
+  }
+
+  /** Takes one unit of the capacity, if any is left. */
+  boolean tryAcquire() {
+    int available = capacity.get();
+    while (available > 0) {
+      if (capacity.compareAndSet(available, available - 1)) {
+        return true;
+      }
+      available = capacity.get();
+    }
+    return false;
+  }
+
+  /** Gives back the unit of the capacity which was taken for a job that is not pushed. */
+  void release() {
+    capacity.incrementAndGet();
+  }
+
+  void push(long key, JobRecord job) {
+    consumer.onJob(key, job);
+  }
+
+  @FunctionalInterface
+  public interface JobConsumer {
+
+    /**
+     * Is called on the stream processor actor of the partition, after the activation of the job
+     * was written. The job record is reused afterwards and has to be copied to keep it.
+     *
+     * @param key the key of the activated job
+     * @param job the activated job, including its variables
+     */
+    void onJob(long key, JobRecord job);
+  }
+}
@@ -26,6 +26,7 @@ import io.zeebe.engine.state.message.MessageStartEventSubscriptionState;
 import io.zeebe.engine.state.message.MessageState;
 import io.zeebe.engine.state.message.MessageSubscriptionState;
 import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.MessageBatchIntent;
 import io.zeebe.protocol.record.intent.MessageIntent;
 import io.zeebe.protocol.record.intent.MessageStartEventSubscriptionIntent;
 import io.zeebe.protocol.record.intent.MessageSubscriptionIntent;
@@ -45,17 +46,24 @@ public class MessageEventProcessors {
         zeebeState.getWorkflowState().getEventScopeInstanceState();
     final KeyGenerator keyGenerator = zeebeState.getKeyGenerator();
 
+    final MessagePublisher messagePublisher =
+        new MessagePublisher(
+            messageState,
+            subscriptionState,
+            startEventSubscriptionState,
+            eventScopeInstanceState,
+            keyGenerator);
+
     typedRecordProcessors
         .onCommand(
             ValueType.MESSAGE,
             MessageIntent.PUBLISH,
-            new PublishMessageProcessor(
-                messageState,
-                subscriptionState,
-                startEventSubscriptionState,
-                eventScopeInstanceState,
-                subscriptionCommandSender,
-                keyGenerator))
+            new PublishMessageProcessor(messagePublisher, subscriptionCommandSender))
+        .onCommand(
+            ValueType.MESSAGE_BATCH,
+            MessageBatchIntent.PUBLISH,
+            new PublishMessageBatchProcessor(
+                messagePublisher, subscriptionCommandSender, keyGenerator))
         .onCommand(
             ValueType.MESSAGE, MessageIntent.DELETE, new DeleteMessageProcessor(messageState))
         .onCommand(
@@ -0,0 +1,192 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message;
+
+import io.zeebe.engine.Loggers;
+import io.zeebe.engine.processor.KeyGenerator;
+import io.zeebe.engine.processor.TypedStreamWriter;
+import io.zeebe.engine.state.instance.EventScopeInstanceState;
+import io.zeebe.engine.state.message.Message;
+import io.zeebe.engine.state.message.MessageStartEventSubscriptionState;
+import io.zeebe.engine.state.message.MessageState;
+import io.zeebe.engine.state.message.MessageSubscriptionState;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.impl.record.value.message.MessageStartEventSubscriptionRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.intent.MessageIntent;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import io.zeebe.protocol.record.value.BpmnElementType;
+import io.zeebe.util.sched.clock.ActorClock;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.LongArrayList;
+
+/**
+ * Publishes a single message: writes the published event, correlates the message to the open
+ * subscriptions and message start events and stores the message if its time to live is not over.
+ * The subscriptions which the message is correlated to are collected and must be notified by the
+ * caller as side effect.
+ */
+public class MessagePublisher {
+
+  public static final String ALREADY_PUBLISHED_MESSAGE =
+      "Expected to publish a new message with id '%s', but a message with that id was already published";
+  public static final String ERROR_START_EVENT_NOT_TRIGGERED_MESSAGE =
+      "Expected to trigger event for workflow with key '%d', but could not (either does not exist or is not accepting)";
+
+  private final MessageState messageState;
+  private final MessageSubscriptionState subscriptionState;
+  private final MessageStartEventSubscriptionState startEventSubscriptionState;
+  private final EventScopeInstanceState scopeEventInstanceState;
+  private final KeyGenerator keyGenerator;
+
+  private final LongArrayList correlatedWorkflowInstances = new LongArrayList();
+  private final LongArrayList correlatedElementInstances = new LongArrayList();
+
+  private final WorkflowInstanceRecord startEventRecord = new WorkflowInstanceRecord();
+
+  public MessagePublisher(
+      final MessageState messageState,
+      final MessageSubscriptionState subscriptionState,
+      final MessageStartEventSubscriptionState startEventSubscriptionState,
+      final EventScopeInstanceState scopeEventInstanceState,
+      final KeyGenerator keyGenerator) {
+    this.messageState = messageState;
+    this.subscriptionState = subscriptionState;
+    this.startEventSubscriptionState = startEventSubscriptionState;
+    this.scopeEventInstanceState = scopeEventInstanceState;
+    this.keyGenerator = keyGenerator;
+  }
+
+  /** @return {@code true} if a message with the same id is already published and not expired */
+  public boolean isAlreadyPublished(final MessageRecord messageRecord) {
+    return messageRecord.hasMessageId()
+        && messageState.exist(
+            messageRecord.getNameBuffer(),
+            messageRecord.getCorrelationKeyBuffer(),
+            messageRecord.getMessageIdBuffer());
+  }
+
+  /**
+   * Publishes the given message. Afterwards, {@link #getCorrelatedWorkflowInstances()} and {@link
+   * #getCorrelatedElementInstances()} contain the subscriptions which the message is correlated
+   * to, until the next message is published.
+   *
+   * @return the key of the published message
+   */
+  public long publish(final MessageRecord messageRecord, final TypedStreamWriter streamWriter) {
+    final long messageKey = keyGenerator.nextKey();
+
+    streamWriter.appendNewEvent(messageKey, MessageIntent.PUBLISHED, messageRecord);
+
+    correlatedWorkflowInstances.clear();
+    correlatedElementInstances.clear();
+
+    subscriptionState.visitSubscriptions(
+        messageRecord.getNameBuffer(),
+        messageRecord.getCorrelationKeyBuffer(),
+        subscription -> {
+          final long workflowInstanceKey = subscription.getWorkflowInstanceKey();
+          final long elementInstanceKey = subscription.getElementInstanceKey();
+
+          // correlate the message only once per workflow instance
+          if (!subscription.isCorrelating()
+              && !correlatedWorkflowInstances.containsLong(workflowInstanceKey)) {
+
+            subscriptionState.updateToCorrelatingState(
+                subscription,
+                messageRecord.getVariablesBuffer(),
+                ActorClock.currentTimeMillis(),
+                messageKey);
+
+            correlatedWorkflowInstances.addLong(workflowInstanceKey);
+            correlatedElementInstances.addLong(elementInstanceKey);
+          }
+
+          return true;
+        });
+
+    correlateMessageStartEvents(messageRecord, streamWriter);
+
+    if (messageRecord.getTimeToLive() > 0L) {
+      final Message message =
+          new Message(
+              messageKey,
+              messageRecord.getNameBuffer(),
+              messageRecord.getCorrelationKeyBuffer(),
+              messageRecord.getVariablesBuffer(),
+              messageRecord.getMessageIdBuffer(),
+              messageRecord.getTimeToLive(),
+              messageRecord.getTimeToLive() + ActorClock.currentTimeMillis());
+      messageState.put(message);
+
+      correlatedWorkflowInstances.forEachOrderedLong(
+          workflowInstanceKey -> {
+            messageState.putMessageCorrelation(message.getKey(), workflowInstanceKey);
+          });
+
+    } else {
+      // don't add the message to the store to avoid that it can be correlated afterwards
+      streamWriter.appendFollowUpEvent(messageKey, MessageIntent.DELETED, messageRecord);
+    }
+
+    return messageKey;
+  }
+
+  public LongArrayList getCorrelatedWorkflowInstances() {
+    return correlatedWorkflowInstances;
+  }
+
+  public LongArrayList getCorrelatedElementInstances() {
+    return correlatedElementInstances;
+  }
+
+  private void correlateMessageStartEvents(
+      final MessageRecord messageRecord, final TypedStreamWriter streamWriter) {
+    final DirectBuffer messageName = messageRecord.getNameBuffer();
+    startEventSubscriptionState.visitSubscriptionsByMessageName(
+        messageName,
+        subscription -> visitStartEventSubscription(messageRecord, streamWriter, subscription));
+  }
+
+  private void visitStartEventSubscription(
+      MessageRecord messageRecord,
+      TypedStreamWriter streamWriter,
+      MessageStartEventSubscriptionRecord subscription) {
+    final DirectBuffer startEventId = subscription.getStartEventIdBuffer();
+    final long workflowKey = subscription.getWorkflowKey();
+
+    final long eventKey = keyGenerator.nextKey();
+    final boolean wasTriggered =
+        scopeEventInstanceState.triggerEvent(
+            workflowKey, eventKey, startEventId, messageRecord.getVariablesBuffer());
+
+    if (wasTriggered) {
+      startEventRecord.reset();
+      startEventRecord
+          .setWorkflowKey(workflowKey)
+          .setElementId(startEventId)
+          .setBpmnElementType(BpmnElementType.START_EVENT);
+
+      streamWriter.appendNewEvent(
+          eventKey, WorkflowInstanceIntent.EVENT_OCCURRED, startEventRecord);
+    } else {
+      Loggers.WORKFLOW_PROCESSOR_LOGGER.error(
+          String.format(ERROR_START_EVENT_NOT_TRIGGERED_MESSAGE, workflowKey));
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+
+import io.zeebe.engine.processor.KeyGenerator;
+import io.zeebe.engine.processor.SideEffectProducer;
+import io.zeebe.engine.processor.TypedRecord;
+import io.zeebe.engine.processor.TypedRecordProcessor;
+import io.zeebe.engine.processor.TypedResponseWriter;
+import io.zeebe.engine.processor.TypedStreamWriter;
+import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandSender;
+import io.zeebe.protocol.impl.record.value.message.MessageBatchRecord;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.intent.MessageBatchIntent;
+import java.util.function.Consumer;
+import org.agrona.collections.IntArrayList;
+import org.agrona.collections.LongArrayList;
+
+/**
+ * Publishes all messages of a batch within the processing of the command, i.e. in one transaction.
+ * Each message is published like a single message and results in its own message events. Messages
+ * with an id which is already published, also by a previous message of the same batch, are
+ * rejected without rejecting the whole batch.
+ *
+ * <p>The follow-up event and the response contain only the result for each message, in the order
+ * of the messages, to avoid writing the messages twice.
+ */
+public class PublishMessageBatchProcessor implements TypedRecordProcessor<MessageBatchRecord> {
+
+  private final MessagePublisher messagePublisher;
+  private final SubscriptionCommandSender commandSender;
+  private final KeyGenerator keyGenerator;
+
+  private final MessageBatchRecord results = new MessageBatchRecord();
+
+  // the subscriptions to correlate after processing, the messages are referenced by their index
+  private final IntArrayList correlatedMessages = new IntArrayList();
+  private final LongArrayList correlatedMessageKeys = new LongArrayList();
+  private final LongArrayList correlatedWorkflowInstances = new LongArrayList();
+  private final LongArrayList correlatedElementInstances = new LongArrayList();
+
+  private TypedResponseWriter responseWriter;
+  private MessageBatchRecord batchRecord;
+
+  public PublishMessageBatchProcessor(
+      final MessagePublisher messagePublisher,
+      final SubscriptionCommandSender commandSender,
+      final KeyGenerator keyGenerator) {
+    this.messagePublisher = messagePublisher;
+    this.commandSender = commandSender;
+    this.keyGenerator = keyGenerator;
+  }
+
+  @Override
+  public void processRecord(
+      final TypedRecord<MessageBatchRecord> command,
+      final TypedResponseWriter responseWriter,
+      final TypedStreamWriter streamWriter,
+      final Consumer<SideEffectProducer> sideEffect) {
+    this.responseWriter = responseWriter;
+    batchRecord = command.getValue();
+
+    results.reset();
+    correlatedMessages.clear();
+    correlatedMessageKeys.clear();
+    correlatedWorkflowInstances.clear();
+    correlatedElementInstances.clear();
+
+    int messageIndex = 0;
+    for (final MessageRecord messageRecord : batchRecord.messages()) {
+      if (messagePublisher.isAlreadyPublished(messageRecord)) {
+        final String rejectionReason =
+            String.format(
+                MessagePublisher.ALREADY_PUBLISHED_MESSAGE,
+                bufferAsString(messageRecord.getMessageIdBuffer()));
+
+        results.addRejected(RejectionType.ALREADY_EXISTS, rejectionReason);
+      } else {
+        final long messageKey = messagePublisher.publish(messageRecord, streamWriter);
+        results.addPublished(messageKey);
+
+        collectCorrelations(messageIndex, messageKey);
+      }
+
+      messageIndex += 1;
+    }
+
+    final long batchKey = keyGenerator.nextKey();
+    streamWriter.appendFollowUpEvent(batchKey, MessageBatchIntent.PUBLISHED, results);
+    responseWriter.writeEventOnCommand(batchKey, MessageBatchIntent.PUBLISHED, results, command);
+
+    sideEffect.accept(this::correlateMessages);
+  }
+
+  private void collectCorrelations(final int messageIndex, final long messageKey) {
+    final LongArrayList workflowInstances = messagePublisher.getCorrelatedWorkflowInstances();
+    final LongArrayList elementInstances = messagePublisher.getCorrelatedElementInstances();
+
+    for (int i = 0; i < workflowInstances.size(); i++) {
+      correlatedMessages.addInt(messageIndex);
+      correlatedMessageKeys.addLong(messageKey);
+      correlatedWorkflowInstances.addLong(workflowInstances.getLong(i));
+      correlatedElementInstances.addLong(elementInstances.getLong(i));
+    }
+  }
+
+  private boolean correlateMessages() {
+    int correlation = 0;
+    int messageIndex = 0;
+
+    for (final MessageRecord messageRecord : batchRecord.messages()) {
+      if (correlation == correlatedMessages.size()) {
+        break;
+      }
+
+      while (correlation < correlatedMessages.size()
+          && correlatedMessages.getInt(correlation) == messageIndex) {
+
+        final boolean success =
+            commandSender.correlateWorkflowInstanceSubscription(
+                correlatedWorkflowInstances.getLong(correlation),
+                correlatedElementInstances.getLong(correlation),
+                messageRecord.getNameBuffer(),
+                correlatedMessageKeys.getLong(correlation),
+                messageRecord.getVariablesBuffer());
+
+        if (!success) {
+          return false;
+        }
+        correlation += 1;
+      }
+
+      messageIndex += 1;
+    }
+
+    return responseWriter.flush();
+  }
+}
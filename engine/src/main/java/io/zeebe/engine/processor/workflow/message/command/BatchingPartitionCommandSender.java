@@ -0,0 +1,114 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message.command;
+
+import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.buffer.DirectBufferWriter;
+import io.zeebe.util.sched.ActorControl;
+import java.time.Duration;
+import org.agrona.collections.Int2ObjectHashMap;
+
+/**
+ * Coalesces the commands for the same receiver partition into a {@link SubscriptionCommandBatch}
+ * instead of sending each command as a single message. A batch is sent when it is full or after a
+ * short delay, whichever comes first. Since every command is still acknowledged on its own by the
+ * receiver, a batch which is lost (e.g. on close) is sent again by the pending subscription
+ * checkers.
+ *
+ * <p>Must be used from the actor which is given in the constructor.
+ */
+public class BatchingPartitionCommandSender implements PartitionCommandSender {
+
+  public static final Duration FLUSH_DELAY = Duration.ofMillis(1);
+
+  /** the number of commands in a batch is limited by the group size encoding (uint8) */
+  public static final int MAX_BATCH_COMMAND_COUNT = 128;
+
+  public static final int MAX_BATCH_LENGTH = 32 * 1024;
+
+  private final Int2ObjectHashMap<SubscriptionCommandBatch> pendingBatches =
+      new Int2ObjectHashMap<>();
+  private final DirectBufferWriter singleCommandWriter = new DirectBufferWriter();
+
+  private final PartitionCommandSender partitionCommandSender;
+  private final ActorControl actor;
+
+  private boolean isFlushScheduled;
+
+  public BatchingPartitionCommandSender(
+      PartitionCommandSender partitionCommandSender, ActorControl actor) {
+    this.partitionCommandSender = partitionCommandSender;
+    this.actor = actor;
+  }
+
+  @Override
+  public boolean sendCommand(int receiverPartitionId, BufferWriter command) {
+    final SubscriptionCommandBatch batch =
+        pendingBatches.computeIfAbsent(receiverPartitionId, p -> new SubscriptionCommandBatch());
+
+    if (command.getLength() > MAX_BATCH_LENGTH) {
+      // too large to share a frame with other commands - send the pending commands first to keep
+      // the order of the commands per partition
+      if (batch.getCommandCount() > 0) {
+        sendBatch(receiverPartitionId, batch);
+      }
+      return partitionCommandSender.sendCommand(receiverPartitionId, command);
+    }
+
+    if (batch.getCommandCount() > 0
+        && (batch.getCommandCount() >= MAX_BATCH_COMMAND_COUNT
+            || batch.getLengthWith(command) > MAX_BATCH_LENGTH)) {
+      sendBatch(receiverPartitionId, batch);
+    }
+
+    batch.addCommand(command);
+
+    if (!isFlushScheduled) {
+      isFlushScheduled = true;
+      actor.runDelayed(FLUSH_DELAY, this::flush);
+    }
+
+    return true;
+  }
+
+  /** Sends all pending commands. */
+  public void flush() {
+    isFlushScheduled = false;
+
+    pendingBatches.forEach(
+        (partitionId, batch) -> {
+          if (batch.getCommandCount() > 0) {
+            sendBatch(partitionId, batch);
+          }
+        });
+  }
+
+  private void sendBatch(int receiverPartitionId, SubscriptionCommandBatch batch) {
+    if (batch.getCommandCount() == 1) {
+      // no need for a frame around it
+      batch.forEachAddedCommand(
+          (buffer, offset, length) ->
+              partitionCommandSender.sendCommand(
+                  receiverPartitionId, singleCommandWriter.wrap(buffer, offset, length)));
+    } else {
+      partitionCommandSender.sendCommand(receiverPartitionId, batch);
+    }
+
+    batch.reset();
+  }
+}
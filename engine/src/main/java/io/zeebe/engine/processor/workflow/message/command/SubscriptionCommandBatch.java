@@ -0,0 +1,139 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message.command;
+
+import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandBatchDecoder.CommandsDecoder;
+import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandBatchEncoder.CommandsEncoder;
+import io.zeebe.engine.util.SbeBufferWriterReader;
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A frame which contains multiple subscription commands for the same receiver partition. Each
+ * command is written as it would be sent alone, so that the receiver can handle it like a single
+ * command.
+ */
+public class SubscriptionCommandBatch
+    extends SbeBufferWriterReader<
+        SubscriptionCommandBatchEncoder, SubscriptionCommandBatchDecoder> {
+
+  private final SubscriptionCommandBatchEncoder encoder = new SubscriptionCommandBatchEncoder();
+  private final SubscriptionCommandBatchDecoder decoder = new SubscriptionCommandBatchDecoder();
+
+  // the added commands, each one prefixed by its length
+  private final ExpandableArrayBuffer commands = new ExpandableArrayBuffer();
+  private final DirectBuffer commandView = new UnsafeBuffer(0, 0);
+
+  private int commandCount;
+  private int commandsLength;
+  private int commandsDataLength;
+
+  @Override
+  protected SubscriptionCommandBatchEncoder getBodyEncoder() {
+    return encoder;
+  }
+
+  @Override
+  protected SubscriptionCommandBatchDecoder getBodyDecoder() {
+    return decoder;
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    super.write(buffer, offset);
+
+    final CommandsEncoder commandsEncoder = encoder.commandsCount(commandCount);
+
+    int commandOffset = 0;
+    for (int i = 0; i < commandCount; i++) {
+      final int length = commands.getInt(commandOffset);
+      commandOffset += Integer.BYTES;
+
+      commandsEncoder.next().putCommand(commands, commandOffset, length);
+      commandOffset += length;
+    }
+  }
+
+  @Override
+  public void reset() {
+    commandCount = 0;
+    commandsLength = 0;
+    commandsDataLength = 0;
+  }
+
+  @Override
+  public int getLength() {
+    return super.getLength()
+        + CommandsEncoder.sbeHeaderSize()
+        + commandCount * CommandsEncoder.commandHeaderLength()
+        + commandsDataLength;
+  }
+
+  /** @return the length of the batch if the given command would be added */
+  public int getLengthWith(BufferWriter command) {
+    return getLength() + CommandsEncoder.commandHeaderLength() + command.getLength();
+  }
+
+  public void addCommand(BufferWriter command) {
+    final int length = command.getLength();
+    commands.checkLimit(commandsLength + Integer.BYTES + length);
+
+    commands.putInt(commandsLength, length);
+    command.write(commands, commandsLength + Integer.BYTES);
+
+    commandsLength += Integer.BYTES + length;
+    commandsDataLength += length;
+    commandCount += 1;
+  }
+
+  public int getCommandCount() {
+    return commandCount;
+  }
+
+  /**
+   * Passes the commands of the wrapped batch one after another to the given reader. The buffer
+   * which is passed to the reader is only valid until the next command is read.
+   */
+  public void forEachCommand(BufferReader reader) {
+    final CommandsDecoder commandsDecoder = decoder.commands();
+    while (commandsDecoder.hasNext()) {
+      commandsDecoder.next().wrapCommand(commandView);
+      reader.wrap(commandView, 0, commandView.capacity());
+    }
+  }
+
+  /**
+   * Passes the commands which were added to this batch to the given reader, e.g. to send a batch
+   * with a single command as it is.
+   */
+  public void forEachAddedCommand(BufferReader reader) {
+    int commandOffset = 0;
+    for (int i = 0; i < commandCount; i++) {
+      final int length = commands.getInt(commandOffset);
+      commandOffset += Integer.BYTES;
+
+      commandView.wrap(commands, commandOffset, length);
+      reader.wrap(commandView, 0, length);
+      commandOffset += length;
+    }
+  }
+}
@@ -18,6 +18,8 @@
 package io.zeebe.engine.state;
 
 import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.rocksdb.ColumnFamilyProfile;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
 import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
 
 public final class DefaultZeebeDbFactory {
@@ -27,7 +29,7 @@ public final class DefaultZeebeDbFactory {
    * exporters.
    */
   public static final ZeebeDbFactory<ZbColumnFamilies> DEFAULT_DB_FACTORY =
-      defaultFactory(ZbColumnFamilies.class);
+      defaultFactory(defaultConfiguration());
 
   /**
    * Returns the default zeebe database factory which is used in the broker.
@@ -42,4 +44,58 @@ public final class DefaultZeebeDbFactory {
     // one place to replace the zeebe database implementation
     return ZeebeRocksDbFactory.newFactory(columnFamilyNamesClass);
   }
+
+  /**
+   * Returns the zeebe database factory which is used in the broker, configured with the given
+   * configuration.
+   *
+   * @param configuration the configuration of the created databases, see {@link
+   *     #defaultConfiguration()}
+   * @return the created zeebe database factory
+   */
+  public static ZeebeDbFactory<ZbColumnFamilies> defaultFactory(
+      RocksDbConfiguration configuration) {
+    return ZeebeRocksDbFactory.newFactory(ZbColumnFamilies.class, configuration);
+  }
+
+  /**
+   * Returns the default database configuration of the broker, which assigns the tuning profiles to
+   * the column families by their access pattern. Column families which are scanned by a key prefix
+   * of a fixed length declare the length of the prefix.
+   *
+   * @return a new configuration, which can be adjusted by the caller
+   */
+  public static RocksDbConfiguration defaultConfiguration() {
+    return new RocksDbConfiguration()
+        // composite keys which are scanned by their leading long key, e.g. the scope key
+        .setColumnFamilyPrefixLength(ZbColumnFamilies.ELEMENT_INSTANCE_PARENT_CHILD, Long.BYTES)
+        .setColumnFamilyPrefixLength(
+            ZbColumnFamilies.STORED_INSTANCE_EVENTS_PARENT_CHILD, Long.BYTES)
+        .setColumnFamilyPrefixLength(ZbColumnFamilies.VARIABLES, Long.BYTES)
+        .setColumnFamilyPrefixLength(ZbColumnFamilies.TIMERS, Long.BYTES)
+        .setColumnFamilyPrefixLength(ZbColumnFamilies.MESSAGE_CORRELATED, Long.BYTES)
+        .setColumnFamilyPrefixLength(
+            ZbColumnFamilies.MESSAGE_START_EVENT_SUBSCRIPTION_BY_KEY_AND_NAME, Long.BYTES)
+        .setColumnFamilyPrefixLength(ZbColumnFamilies.WORKFLOW_SUBSCRIPTION_BY_KEY, Long.BYTES)
+        .setColumnFamilyPrefixLength(ZbColumnFamilies.EVENT_TRIGGER, Long.BYTES)
+        // entries which are removed shortly after they are written
+        .setColumnFamilyProfile(
+            ZbColumnFamilies.TEMPORARY_VARIABLE_STORE, ColumnFamilyProfile.HIGH_CHURN)
+        .setColumnFamilyProfile(ZbColumnFamilies.TIMER_DUE_DATES, ColumnFamilyProfile.HIGH_CHURN)
+        .setColumnFamilyProfile(ZbColumnFamilies.JOB_DEADLINES, ColumnFamilyProfile.HIGH_CHURN)
+        .setColumnFamilyProfile(ZbColumnFamilies.JOB_ACTIVATABLE, ColumnFamilyProfile.HIGH_CHURN)
+        .setColumnFamilyProfile(ZbColumnFamilies.MESSAGE_DEADLINES, ColumnFamilyProfile.HIGH_CHURN)
+        .setColumnFamilyProfile(
+            ZbColumnFamilies.MESSAGE_SUBSCRIPTION_BY_SENT_TIME, ColumnFamilyProfile.HIGH_CHURN)
+        .setColumnFamilyProfile(
+            ZbColumnFamilies.WORKFLOW_SUBSCRIPTION_BY_SENT_TIME, ColumnFamilyProfile.HIGH_CHURN)
+        // deployed workflows, which are written once and read by every workflow instance
+        .setColumnFamilyProfile(ZbColumnFamilies.WORKFLOW_CACHE, ColumnFamilyProfile.READ_MOSTLY)
+        .setColumnFamilyProfile(
+            ZbColumnFamilies.WORKFLOW_CACHE_BY_ID_AND_VERSION, ColumnFamilyProfile.READ_MOSTLY)
+        // large documents
+        .setColumnFamilyProfile(
+            ZbColumnFamilies.WORKFLOW_CACHE_RESOURCES, ColumnFamilyProfile.LARGE_VALUES)
+        .setColumnFamilyProfile(ZbColumnFamilies.VARIABLE_VALUES, ColumnFamilyProfile.LARGE_VALUES);
+  }
 }
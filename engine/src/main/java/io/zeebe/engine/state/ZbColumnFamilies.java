@@ -31,6 +31,7 @@ public enum ZbColumnFamilies {
   WORKFLOW_CACHE_BY_ID_AND_VERSION,
   WORKFLOW_CACHE_LATEST_KEY,
   WORKFLOW_CACHE_DIGEST_BY_ID,
+  WORKFLOW_CACHE_RESOURCES,
 
   // element instance
   ELEMENT_INSTANCE_PARENT_CHILD,
@@ -41,6 +42,8 @@ public enum ZbColumnFamilies {
   // variable state
   ELEMENT_INSTANCE_CHILD_PARENT,
   VARIABLES,
+  VARIABLE_VALUES,
+  VARIABLE_VALUE_REFERENCES,
   TEMPORARY_VARIABLE_STORE,
 
   // timer state
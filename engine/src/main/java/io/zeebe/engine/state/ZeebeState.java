@@ -74,8 +74,8 @@ public class ZeebeState {
     workflowState = new WorkflowState(zeebeDb, dbContext, keyState);
     deploymentState = new DeploymentsState(zeebeDb, dbContext);
     jobState = new JobState(zeebeDb, dbContext, partitionId);
-    messageState = new MessageState(zeebeDb, dbContext);
-    messageSubscriptionState = new MessageSubscriptionState(zeebeDb, dbContext);
+    messageState = new MessageState(zeebeDb, dbContext, partitionId);
+    messageSubscriptionState = new MessageSubscriptionState(zeebeDb, dbContext, partitionId);
     messageStartEventSubscriptionState = new MessageStartEventSubscriptionState(zeebeDb, dbContext);
     workflowInstanceSubscriptionState = new WorkflowInstanceSubscriptionState(zeebeDb, dbContext);
     incidentState = new IncidentState(zeebeDb, dbContext, partitionId);
@@ -0,0 +1,129 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.compaction;
+
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.engine.Loggers;
+import io.zeebe.engine.metrics.StateCompactionMetrics;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.SchedulingHints;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.time.Duration;
+import org.slf4j.Logger;
+
+/**
+ * Compacts column families of the state of a partition which are filled with tombstones. Entries
+ * of jobs, timers, messages and element instances are deleted shortly after they are created, and
+ * the tombstones which are left behind have to be skipped by every scan over the column family
+ * until they are compacted. The periodic compactions of RocksDB are not triggered by deletions,
+ * so the scans get slower over time.
+ *
+ * <p>The actor checks the deleted entries of the column families periodically and compacts the
+ * column family with the most tombstones, if they exceed the configured ratio of its entries. The
+ * compaction blocks, so it runs on a separate IO bound actor and at most one column family is
+ * compacted per check.
+ *
+ * <p>The deleted entries are counted in memory since the state was opened. The tombstones which
+ * were left behind before a restart are not counted, so they are only dropped by the next
+ * compaction which is triggered by new deletions.
+ */
+public class TombstoneCompactionActor extends Actor {
+
+  private static final Logger LOG = Loggers.STREAM_PROCESSING;
+
+  private final ZeebeDb<ZbColumnFamilies> zeebeDb;
+  private final Duration checkInterval;
+  private final long minDeletedEntries;
+  private final double deletedEntriesRatio;
+  private final StateCompactionMetrics metrics;
+  private final String name;
+
+  public TombstoneCompactionActor(
+      int partitionId,
+      ZeebeDb<ZbColumnFamilies> zeebeDb,
+      Duration checkInterval,
+      long minDeletedEntries,
+      double deletedEntriesRatio) {
+    this.zeebeDb = zeebeDb;
+    this.checkInterval = checkInterval;
+    this.minDeletedEntries = minDeletedEntries;
+    this.deletedEntriesRatio = deletedEntriesRatio;
+    this.metrics = new StateCompactionMetrics(partitionId);
+    this.name = "tombstone-compaction-" + partitionId;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  protected void onActorStarting() {
+    actor.setSchedulingHints(SchedulingHints.ioBound());
+  }
+
+  @Override
+  protected void onActorStarted() {
+    actor.runAtFixedRate(checkInterval, this::compactColumnFamilies);
+  }
+
+  public void compactColumnFamilies() {
+    ZbColumnFamilies columnFamilyToCompact = null;
+    long maxDeletedEntries = 0;
+
+    for (ZbColumnFamilies columnFamily : ZbColumnFamilies.values()) {
+      final long deletedEntries = zeebeDb.getDeletedEntryCount(columnFamily);
+      metrics.deletedEntries(columnFamily.name(), deletedEntries);
+
+      if (deletedEntries > maxDeletedEntries && shouldCompact(columnFamily, deletedEntries)) {
+        columnFamilyToCompact = columnFamily;
+        maxDeletedEntries = deletedEntries;
+      }
+    }
+
+    metrics.iterationReseeks(zeebeDb.getIterationReseekCount());
+
+    if (columnFamilyToCompact != null) {
+      compact(columnFamilyToCompact, maxDeletedEntries);
+    }
+  }
+
+  private boolean shouldCompact(ZbColumnFamilies columnFamily, long deletedEntries) {
+    if (deletedEntries < minDeletedEntries) {
+      return false;
+    }
+
+    final long entries = zeebeDb.getEstimatedEntryCount(columnFamily);
+    return deletedEntries >= deletedEntriesRatio * (entries + deletedEntries);
+  }
+
+  private void compact(ZbColumnFamilies columnFamily, long deletedEntries) {
+    LOG.debug("Compact column family {} with {} deleted entries", columnFamily, deletedEntries);
+
+    final long startTime = System.nanoTime();
+    zeebeDb.compact(columnFamily);
+    metrics.compacted(columnFamily.name(), System.nanoTime() - startTime);
+
+    metrics.deletedEntries(columnFamily.name(), zeebeDb.getDeletedEntryCount(columnFamily));
+  }
+
+  public ActorFuture<Void> closeAsync() {
+    return actor.close();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.compaction;
+
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.servicecontainer.Service;
+import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.servicecontainer.ServiceStopContext;
+import java.time.Duration;
+
+public class TombstoneCompactionService implements Service<TombstoneCompactionService> {
+
+  private final int partitionId;
+  private final ZeebeDb<ZbColumnFamilies> zeebeDb;
+  private final Duration checkInterval;
+  private final long minDeletedEntries;
+  private final double deletedEntriesRatio;
+  private TombstoneCompactionActor compactionActor;
+
+  public TombstoneCompactionService(
+      int partitionId,
+      ZeebeDb<ZbColumnFamilies> zeebeDb,
+      Duration checkInterval,
+      long minDeletedEntries,
+      double deletedEntriesRatio) {
+    this.partitionId = partitionId;
+    this.zeebeDb = zeebeDb;
+    this.checkInterval = checkInterval;
+    this.minDeletedEntries = minDeletedEntries;
+    this.deletedEntriesRatio = deletedEntriesRatio;
+  }
+
+  @Override
+  public void start(final ServiceStartContext startContext) {
+    compactionActor =
+        new TombstoneCompactionActor(
+            partitionId, zeebeDb, checkInterval, minDeletedEntries, deletedEntriesRatio);
+    startContext.async(startContext.getScheduler().submitActor(compactionActor));
+  }
+
+  @Override
+  public void stop(final ServiceStopContext stopContext) {
+    if (compactionActor != null) {
+      stopContext.async(compactionActor.closeAsync());
+      compactionActor = null;
+    }
+  }
+
+  @Override
+  public TombstoneCompactionService get() {
+    return this;
+  }
+}
@@ -18,6 +18,7 @@
 package io.zeebe.engine.state.deployment;
 
 import static io.zeebe.db.impl.ZeebeDbConstants.ZB_DB_BYTE_ORDER;
+import static io.zeebe.util.buffer.BufferUtil.bufferAsHexString;
 import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
 import static io.zeebe.util.buffer.BufferUtil.readIntoBuffer;
 import static io.zeebe.util.buffer.BufferUtil.writeIntoBuffer;
@@ -29,16 +30,30 @@ import org.agrona.DirectBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
+/**
+ * The metadata of a deployed workflow. The resource itself is stored separately under its digest
+ * and is not part of the persisted value, it is only set when the workflow is transformed.
+ *
+ * <p>Workflows which were persisted before contain the resource itself instead of the digest. They
+ * are recognized by the length of the field, since no BPMN resource is as short as a digest, and
+ * are read with their inline resource until they are migrated.
+ */
 public class PersistedWorkflow implements DbValue {
+  /** the length of a SHA-256 digest */
+  public static final int RESOURCE_DIGEST_LENGTH = 32;
+
   int version = -1;
   long key = -1;
   final UnsafeBuffer bpmnProcessId = new UnsafeBuffer(0, 0);
   final UnsafeBuffer resourceName = new UnsafeBuffer(0, 0);
+  final UnsafeBuffer resourceDigest = new UnsafeBuffer(0, 0);
   final UnsafeBuffer resource = new UnsafeBuffer(0, 0);
 
-  public void wrap(DeploymentResource resource, Workflow workflow, long workflowKey) {
+  public void wrap(
+      DeploymentResource resource, Workflow workflow, long workflowKey, DirectBuffer digest) {
     this.resource.wrap(resource.getResourceBuffer());
     this.resourceName.wrap(resource.getResourceNameBuffer());
+    this.resourceDigest.wrap(digest);
     this.bpmnProcessId.wrap(workflow.getBpmnProcessIdBuffer());
 
     this.version = workflow.getVersion();
@@ -61,10 +76,28 @@ public class PersistedWorkflow implements DbValue {
     return resourceName;
   }
 
+  public UnsafeBuffer getResourceDigest() {
+    return resourceDigest;
+  }
+
   public UnsafeBuffer getResource() {
     return resource;
   }
 
+  public void setResource(DirectBuffer resource) {
+    this.resource.wrap(resource);
+  }
+
+  /** @return true if the resource is stored inline instead of referenced by its digest */
+  public boolean hasInlineResource() {
+    return resourceDigest.capacity() == 0;
+  }
+
+  /** Replaces an inline resource by the digest it is stored under. */
+  public void setResourceDigest(DirectBuffer resourceDigest) {
+    this.resourceDigest.wrap(resourceDigest);
+  }
+
   @Override
   public void wrap(DirectBuffer buffer, int offset, int length) {
     int valueOffset = offset;
@@ -74,7 +107,14 @@ public class PersistedWorkflow implements DbValue {
     valueOffset += Long.BYTES;
     valueOffset = readIntoBuffer(buffer, valueOffset, bpmnProcessId);
     valueOffset = readIntoBuffer(buffer, valueOffset, resourceName);
-    readIntoBuffer(buffer, valueOffset, resource);
+    readIntoBuffer(buffer, valueOffset, resourceDigest);
+
+    if (resourceDigest.capacity() == RESOURCE_DIGEST_LENGTH) {
+      resource.wrap(0, 0);
+    } else {
+      resource.wrap(resourceDigest);
+      resourceDigest.wrap(0, 0);
+    }
   }
 
   @Override
@@ -84,7 +124,7 @@ public class PersistedWorkflow implements DbValue {
         + Integer.BYTES * 3 // sizes
         + bpmnProcessId.capacity()
         + resourceName.capacity()
-        + resource.capacity();
+        + getResourceReference().capacity();
   }
 
   @Override
@@ -96,10 +136,15 @@ public class PersistedWorkflow implements DbValue {
     valueOffset += Long.BYTES;
     valueOffset = writeIntoBuffer(buffer, valueOffset, bpmnProcessId);
     valueOffset = writeIntoBuffer(buffer, valueOffset, resourceName);
-    valueOffset = writeIntoBuffer(buffer, valueOffset, resource);
+    valueOffset = writeIntoBuffer(buffer, valueOffset, getResourceReference());
     assert (valueOffset - offset) == getLength() : "End offset differs with getLength()";
   }
 
+  private DirectBuffer getResourceReference() {
+    // an inline resource is written back as it was read
+    return hasInlineResource() ? resource : resourceDigest;
+  }
+
   @Override
   public String toString() {
     return "PersistedWorkflow{"
@@ -111,6 +156,8 @@ public class PersistedWorkflow implements DbValue {
         + bufferAsString(bpmnProcessId)
         + ", resourceName="
         + bufferAsString(resourceName)
+        + ", resourceDigest="
+        + bufferAsHexString(resourceDigest)
         + ", resource="
         + bufferAsString(resource)
         + '}';
@@ -32,25 +32,53 @@ import io.zeebe.model.bpmn.BpmnModelInstance;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentResource;
 import io.zeebe.protocol.impl.record.value.deployment.Workflow;
+import io.zeebe.util.StreamUtil;
 import io.zeebe.util.buffer.BufferUtil;
+import java.security.DigestException;
+import java.security.MessageDigest;
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import org.agrona.DirectBuffer;
-import org.agrona.ExpandableArrayBuffer;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.agrona.collections.LongHashSet;
+import org.agrona.collections.Object2IntHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.agrona.io.DirectBufferInputStream;
 
+/**
+ * Persists deployed workflows and keeps the executable workflows in memory. The in-memory cache is
+ * bounded by the number of workflows and by the size of their resources; if one of the bounds is
+ * exceeded, the least recently used workflows are evicted and transformed again on the next access.
+ *
+ * <p>The resources are stored once per content, keyed by their digest, and are only read when a
+ * workflow has to be transformed. Looking up the persisted workflows reads only their metadata.
+ */
 public class WorkflowPersistenceCache {
+  public static final int DEFAULT_MAX_CACHED_WORKFLOWS = 1_000;
+  public static final long DEFAULT_MAX_CACHED_WORKFLOW_BYTES = 64 * 1024 * 1024;
+
+  private static final int NO_VERSION = -1;
+  private static final String RESOURCE_DIGEST_ALGORITHM = "SHA-256";
+
   private final BpmnTransformer transformer = new BpmnTransformer();
+  private final DbContext dbContext;
 
   private final Map<DirectBuffer, Long2ObjectHashMap<DeployedWorkflow>>
       workflowsByProcessIdAndVersion = new HashMap<>();
   private final LongHashSet deployments;
-  private final Long2ObjectHashMap<DeployedWorkflow> workflowsByKey;
+  // mirrors the latest workflow column family, reverted if the transaction is rolled back
+  private final Object2IntHashMap<DirectBuffer> latestVersionsByProcessId =
+      new Object2IntHashMap<>(NO_VERSION);
+  // access ordered, the eldest entry is the least recently used workflow
+  private final LinkedHashMap<Long, DeployedWorkflow> workflowsByKey;
+  private final int maxCachedWorkflows;
+  private final long maxCachedWorkflowBytes;
+  private long cachedWorkflowBytes;
 
   // workflow
   private final ColumnFamily<DbLong, PersistedWorkflow> workflowColumnFamily;
@@ -67,7 +95,29 @@ public class WorkflowPersistenceCache {
   private final ColumnFamily<DbString, DbBuffer> digestByIdColumnFamily;
   private final DbBuffer digest;
 
+  // (resource digest) => (resource)
+  private final ColumnFamily<DbString, DbBuffer> resourcesColumnFamily;
+  private final DbString resourceDigestKey;
+  private final DbBuffer resourceValue;
+
+  private final MessageDigest resourceDigestGenerator;
+  private final byte[] resourceDigestBytes;
+  private final DirectBuffer resourceDigest;
+  private final byte[] resourceDigestInput = new byte[4 * 1024];
+
   public WorkflowPersistenceCache(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
+    this(zeebeDb, dbContext, DEFAULT_MAX_CACHED_WORKFLOWS, DEFAULT_MAX_CACHED_WORKFLOW_BYTES);
+  }
+
+  public WorkflowPersistenceCache(
+      ZeebeDb<ZbColumnFamilies> zeebeDb,
+      DbContext dbContext,
+      int maxCachedWorkflows,
+      long maxCachedWorkflowBytes) {
+    this.maxCachedWorkflows = maxCachedWorkflows;
+    this.maxCachedWorkflowBytes = maxCachedWorkflowBytes;
+    this.dbContext = dbContext;
+
     workflowKey = new DbLong();
     persistedWorkflow = new PersistedWorkflow();
     workflowColumnFamily =
@@ -93,8 +143,18 @@ public class WorkflowPersistenceCache {
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.WORKFLOW_CACHE_DIGEST_BY_ID, dbContext, workflowId, digest);
 
+    resourceDigestKey = new DbString();
+    resourceValue = new DbBuffer();
+    resourcesColumnFamily =
+        zeebeDb.createColumnFamily(
+            ZbColumnFamilies.WORKFLOW_CACHE_RESOURCES, dbContext, resourceDigestKey, resourceValue);
+
+    resourceDigestGenerator = StreamUtil.getDigest(RESOURCE_DIGEST_ALGORITHM);
+    resourceDigestBytes = new byte[resourceDigestGenerator.getDigestLength()];
+    resourceDigest = new UnsafeBuffer(resourceDigestBytes);
+
     deployments = new LongHashSet();
-    workflowsByKey = new Long2ObjectHashMap<>();
+    workflowsByKey = new LinkedHashMap<>(16, 0.75f, true);
   }
 
   protected boolean putDeployment(
@@ -112,13 +172,16 @@ public class WorkflowPersistenceCache {
         }
       }
       deployments.add(deploymentKey);
+      dbContext.onRollback(() -> deployments.remove(deploymentKey));
     }
     return isNewDeployment;
   }
 
   private void persistWorkflow(
       final long workflowKey, final Workflow workflow, final DeploymentResource resource) {
-    persistedWorkflow.wrap(resource, workflow, workflowKey);
+    persistResource(resource.getResourceBuffer());
+
+    persistedWorkflow.wrap(resource, workflow, workflowKey, resourceDigest);
     this.workflowKey.wrapLong(workflowKey);
     workflowColumnFamily.put(this.workflowKey, persistedWorkflow);
 
@@ -128,25 +191,150 @@ public class WorkflowPersistenceCache {
     workflowByIdAndVersionColumnFamily.put(idAndVersionKey, persistedWorkflow);
   }
 
+  private void persistResource(final DirectBuffer resource) {
+    digestResource(resource);
+    resourceDigestKey.wrapBuffer(resourceDigest);
+
+    // the same resource can contain multiple workflows or can be deployed again
+    if (!resourcesColumnFamily.exists(resourceDigestKey)) {
+      resourceValue.wrapBuffer(resource);
+      resourcesColumnFamily.put(resourceDigestKey, resourceValue);
+    }
+  }
+
+  private void digestResource(final DirectBuffer resource) {
+    final int length = resource.capacity();
+    final byte[] array = resource.byteArray();
+
+    if (array != null) {
+      resourceDigestGenerator.update(array, resource.wrapAdjustment(), length);
+    } else {
+      for (int offset = 0; offset < length; offset += resourceDigestInput.length) {
+        final int chunkLength = Math.min(resourceDigestInput.length, length - offset);
+        resource.getBytes(offset, resourceDigestInput, 0, chunkLength);
+        resourceDigestGenerator.update(resourceDigestInput, 0, chunkLength);
+      }
+    }
+
+    try {
+      resourceDigestGenerator.digest(resourceDigestBytes, 0, resourceDigestBytes.length);
+    } catch (DigestException e) {
+      throw new IllegalStateException("Failed to compute the digest of a workflow resource", e);
+    }
+  }
+
+  private DirectBuffer readResource(final PersistedWorkflow persistedWorkflow) {
+    if (persistedWorkflow.hasInlineResource()) {
+      // not migrated yet
+      return persistedWorkflow.getResource();
+    }
+
+    resourceDigestKey.wrapBuffer(persistedWorkflow.getResourceDigest());
+    final DbBuffer storedResource = resourcesColumnFamily.get(resourceDigestKey);
+    if (storedResource == null) {
+      throw new IllegalStateException(
+          String.format(
+              "Expected to find the resource of workflow with key '%d', but it was not found",
+              persistedWorkflow.getKey()));
+    }
+
+    return BufferUtil.cloneBuffer(storedResource.getValue());
+  }
+
+  /**
+   * Stores the inline resources of the workflows which were persisted before the resources were
+   * stored by their digest, and replaces them by the digest. Until then, the inline resources are
+   * read as they are.
+   *
+   * @return the number of migrated workflows
+   */
+  public int migrateInlineResources() {
+    final List<Long> workflowKeys = new ArrayList<>();
+    workflowColumnFamily.forEach(
+        (key, workflow) -> {
+          if (workflow.hasInlineResource()) {
+            workflowKeys.add(key.getValue());
+          }
+        });
+
+    if (!workflowKeys.isEmpty()) {
+      dbContext.runInTransaction(() -> workflowKeys.forEach(this::migrateInlineResource));
+    }
+    return workflowKeys.size();
+  }
+
+  private void migrateInlineResource(final long key) {
+    workflowKey.wrapLong(key);
+    final PersistedWorkflow workflow = workflowColumnFamily.get(workflowKey);
+
+    persistResource(BufferUtil.cloneBuffer(workflow.getResource()));
+    workflow.setResourceDigest(resourceDigest);
+    workflow.setResource(new UnsafeBuffer(0, 0));
+    workflowColumnFamily.put(workflowKey, workflow);
+
+    workflowId.wrapBuffer(workflow.getBpmnProcessId());
+    workflowVersion.wrapLong(workflow.getVersion());
+    workflowByIdAndVersionColumnFamily.put(idAndVersionKey, workflow);
+  }
+
   private void updateLatestVersion(final Workflow workflow) {
-    workflowId.wrapBuffer(workflow.getBpmnProcessIdBuffer());
-    final DbLong storedVersion = latestWorkflowColumnFamily.get(workflowId);
-    final long latestVersion = storedVersion == null ? -1 : storedVersion.getValue();
+    final DirectBuffer processId = workflow.getBpmnProcessIdBuffer();
+    final int latestVersion = getLatestVersion(processId);
 
     if (workflow.getVersion() > latestVersion) {
+      workflowId.wrapBuffer(processId);
       workflowVersion.wrapLong(workflow.getVersion());
       latestWorkflowColumnFamily.put(workflowId, workflowVersion);
+
+      putLatestVersion(BufferUtil.cloneBuffer(processId), workflow.getVersion(), latestVersion);
+    }
+  }
+
+  private int getLatestVersion(final DirectBuffer processId) {
+    final int cachedVersion = latestVersionsByProcessId.getValue(processId);
+    if (cachedVersion != NO_VERSION) {
+      return cachedVersion;
+    }
+
+    // not cached yet, e.g. after recovery
+    workflowId.wrapBuffer(processId);
+    final DbLong storedVersion = latestWorkflowColumnFamily.get(workflowId);
+    if (storedVersion == null) {
+      return NO_VERSION;
     }
+
+    final int latestVersion = (int) storedVersion.getValue();
+    putLatestVersion(BufferUtil.cloneBuffer(processId), latestVersion, NO_VERSION);
+    return latestVersion;
+  }
+
+  private void putLatestVersion(DirectBuffer processId, int version, int previousVersion) {
+    latestVersionsByProcessId.put(processId, version);
+    dbContext.onRollback(
+        () -> {
+          if (previousVersion == NO_VERSION) {
+            latestVersionsByProcessId.removeKey(processId);
+          } else {
+            latestVersionsByProcessId.put(processId, previousVersion);
+          }
+        });
   }
 
-  private final ExpandableArrayBuffer buffer = new ExpandableArrayBuffer();
   // is called on getters, if workflow is not in memory
   private DeployedWorkflow updateInMemoryState(PersistedWorkflow persistedWorkflow) {
+    final DeployedWorkflow deployedWorkflow = transformWorkflow(persistedWorkflow);
+    addWorkflowToInMemoryState(deployedWorkflow);
+    return deployedWorkflow;
+  }
 
-    // we have to copy to store this in cache
+  private DeployedWorkflow transformWorkflow(PersistedWorkflow persistedWorkflow) {
+    // we have to copy to store this in cache, every cached workflow owns its buffer
+    final int length = persistedWorkflow.getLength();
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[length]);
     persistedWorkflow.write(buffer, 0);
     final PersistedWorkflow copiedWorkflow = new PersistedWorkflow();
-    copiedWorkflow.wrap(buffer, 0, persistedWorkflow.getLength());
+    copiedWorkflow.wrap(buffer, 0, length);
+    copiedWorkflow.setResource(readResource(copiedWorkflow));
 
     final BpmnModelInstance modelInstance =
         readModelInstanceFromBuffer(copiedWorkflow.getResource());
@@ -158,12 +346,7 @@ public class WorkflowPersistenceCache {
             .findFirst()
             .get();
 
-    final DeployedWorkflow deployedWorkflow =
-        new DeployedWorkflow(executableWorkflow, copiedWorkflow);
-
-    addWorkflowToInMemoryState(deployedWorkflow);
-
-    return deployedWorkflow;
+    return new DeployedWorkflow(executableWorkflow, copiedWorkflow);
   }
 
   private BpmnModelInstance readModelInstanceFromBuffer(DirectBuffer buffer) {
@@ -174,7 +357,11 @@ public class WorkflowPersistenceCache {
 
   private void addWorkflowToInMemoryState(final DeployedWorkflow deployedWorkflow) {
     final DirectBuffer bpmnProcessId = deployedWorkflow.getBpmnProcessId();
-    workflowsByKey.put(deployedWorkflow.getKey(), deployedWorkflow);
+    final DeployedWorkflow replacedWorkflow =
+        workflowsByKey.put(deployedWorkflow.getKey(), deployedWorkflow);
+    if (replacedWorkflow != null) {
+      cachedWorkflowBytes -= replacedWorkflow.getResource().capacity();
+    }
 
     Long2ObjectHashMap<DeployedWorkflow> versionMap =
         workflowsByProcessIdAndVersion.get(bpmnProcessId);
@@ -186,39 +373,50 @@ public class WorkflowPersistenceCache {
 
     final int version = deployedWorkflow.getVersion();
     versionMap.put(version, deployedWorkflow);
-  }
-
-  public DeployedWorkflow getLatestWorkflowVersionByProcessId(final DirectBuffer processId) {
-    final Long2ObjectHashMap<DeployedWorkflow> versionMap =
-        workflowsByProcessIdAndVersion.get(processId);
 
-    workflowId.wrapBuffer(processId);
-    final DbLong latestVersion = latestWorkflowColumnFamily.get(workflowId);
+    cachedWorkflowBytes += deployedWorkflow.getResource().capacity();
+    evictLeastRecentlyUsedWorkflows();
+  }
 
-    DeployedWorkflow deployedWorkflow;
-    if (versionMap == null) {
-      deployedWorkflow = lookupWorkflowByIdAndPersistedVersion(latestVersion);
-    } else {
-      deployedWorkflow = versionMap.get(latestVersion.getValue());
-      if (deployedWorkflow == null) {
-        deployedWorkflow = lookupWorkflowByIdAndPersistedVersion(latestVersion);
+  private void evictLeastRecentlyUsedWorkflows() {
+    final Iterator<DeployedWorkflow> iterator = workflowsByKey.values().iterator();
+    // the most recently added workflow is never evicted
+    while (workflowsByKey.size() > 1
+        && (workflowsByKey.size() > maxCachedWorkflows
+            || cachedWorkflowBytes > maxCachedWorkflowBytes)) {
+      final DeployedWorkflow evictedWorkflow = iterator.next();
+      iterator.remove();
+      cachedWorkflowBytes -= evictedWorkflow.getResource().capacity();
+
+      final DirectBuffer bpmnProcessId = evictedWorkflow.getBpmnProcessId();
+      final Long2ObjectHashMap<DeployedWorkflow> versionMap =
+          workflowsByProcessIdAndVersion.get(bpmnProcessId);
+      if (versionMap != null) {
+        versionMap.remove(evictedWorkflow.getVersion());
+        if (versionMap.isEmpty()) {
+          workflowsByProcessIdAndVersion.remove(bpmnProcessId);
+        }
       }
     }
-    return deployedWorkflow;
   }
 
-  private DeployedWorkflow lookupWorkflowByIdAndPersistedVersion(DbLong version) {
-    final long latestVersion = version != null ? version.getValue() : -1;
-    workflowVersion.wrapLong(latestVersion);
-
-    final PersistedWorkflow persistedWorkflow =
-        workflowByIdAndVersionColumnFamily.get(idAndVersionKey);
+  private DeployedWorkflow getCachedWorkflow(
+      Long2ObjectHashMap<DeployedWorkflow> versionMap, long version) {
+    final DeployedWorkflow deployedWorkflow = versionMap.get(version);
+    if (deployedWorkflow != null) {
+      // mark the workflow as recently used
+      workflowsByKey.get(deployedWorkflow.getKey());
+    }
+    return deployedWorkflow;
+  }
 
-    if (persistedWorkflow != null) {
-      final DeployedWorkflow deployedWorkflow = updateInMemoryState(persistedWorkflow);
-      return deployedWorkflow;
+  public DeployedWorkflow getLatestWorkflowVersionByProcessId(final DirectBuffer processId) {
+    final int latestVersion = getLatestVersion(processId);
+    if (latestVersion == NO_VERSION) {
+      return null;
     }
-    return null;
+
+    return getWorkflowByProcessIdAndVersion(processId, latestVersion);
   }
 
   public DeployedWorkflow getWorkflowByProcessIdAndVersion(
@@ -227,7 +425,7 @@ public class WorkflowPersistenceCache {
         workflowsByProcessIdAndVersion.get(processId);
 
     if (versionMap != null) {
-      final DeployedWorkflow deployedWorkflow = versionMap.get(version);
+      final DeployedWorkflow deployedWorkflow = getCachedWorkflow(versionMap, version);
       return deployedWorkflow != null
           ? deployedWorkflow
           : lookupPersistenceState(processId, version);
@@ -244,14 +442,7 @@ public class WorkflowPersistenceCache {
         workflowByIdAndVersionColumnFamily.get(idAndVersionKey);
 
     if (persistedWorkflow != null) {
-      updateInMemoryState(persistedWorkflow);
-
-      final Long2ObjectHashMap<DeployedWorkflow> newVersionMap =
-          workflowsByProcessIdAndVersion.get(processId);
-
-      if (newVersionMap != null) {
-        return newVersionMap.get(version);
-      }
+      return updateInMemoryState(persistedWorkflow);
     }
     // does not exist in persistence and in memory state
     return null;
@@ -272,35 +463,44 @@ public class WorkflowPersistenceCache {
 
     final PersistedWorkflow persistedWorkflow = workflowColumnFamily.get(this.workflowKey);
     if (persistedWorkflow != null) {
-      updateInMemoryState(persistedWorkflow);
-
-      final DeployedWorkflow deployedWorkflow = workflowsByKey.get(workflowKey);
-      return deployedWorkflow;
+      return updateInMemoryState(persistedWorkflow);
     }
     // does not exist in persistence and in memory state
     return null;
   }
 
+  /**
+   * Returns all deployed workflows. Listing the workflows does not change the cache: the cached
+   * workflows are not marked as recently used and the other workflows are transformed without
+   * being cached, so that the workflows in use are not evicted.
+   */
   public Collection<DeployedWorkflow> getWorkflows() {
-    updateCompleteInMemoryState();
-    return workflowsByKey.values();
+    final List<DeployedWorkflow> workflows = new ArrayList<>();
+    workflowColumnFamily.forEach(
+        (workflow) -> workflows.add(getCachedOrTransformedWorkflow(workflow)));
+    return workflows;
   }
 
+  /**
+   * Returns all deployed versions of the given workflow, without changing the cache, see {@link
+   * #getWorkflows()}.
+   */
   public Collection<DeployedWorkflow> getWorkflowsByBpmnProcessId(
       final DirectBuffer bpmnProcessId) {
-    updateCompleteInMemoryState();
-
-    final Long2ObjectHashMap<DeployedWorkflow> workflowsByVersions =
-        workflowsByProcessIdAndVersion.get(bpmnProcessId);
-
-    if (workflowsByVersions != null) {
-      return workflowsByVersions.values();
-    }
-    return Collections.emptyList();
+    final List<DeployedWorkflow> workflows = new ArrayList<>();
+    workflowId.wrapBuffer(bpmnProcessId);
+    workflowByIdAndVersionColumnFamily.whileEqualPrefix(
+        workflowId, (key, workflow) -> workflows.add(getCachedOrTransformedWorkflow(workflow)));
+    return workflows;
   }
 
-  private void updateCompleteInMemoryState() {
-    workflowColumnFamily.forEach((workflow) -> updateInMemoryState(persistedWorkflow));
+  private DeployedWorkflow getCachedOrTransformedWorkflow(PersistedWorkflow workflow) {
+    // the version map is not access ordered, so the lookup does not mark the workflow as used
+    final Long2ObjectHashMap<DeployedWorkflow> versionMap =
+        workflowsByProcessIdAndVersion.get(workflow.getBpmnProcessId());
+    final DeployedWorkflow deployedWorkflow =
+        versionMap != null ? versionMap.get(workflow.getVersion()) : null;
+    return deployedWorkflow != null ? deployedWorkflow : transformWorkflow(workflow);
   }
 
   public void putLatestVersionDigest(final DirectBuffer processId, final DirectBuffer digest) {
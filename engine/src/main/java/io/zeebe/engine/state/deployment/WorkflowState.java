@@ -50,6 +50,11 @@ public class WorkflowState {
     return (int) versionManager.getNextValue(bpmnProcessId);
   }
 
+  /** @see WorkflowPersistenceCache#migrateInlineResources() */
+  public int migrateInlineResources() {
+    return workflowPersistenceCache.migrateInlineResources();
+  }
+
   public boolean putDeployment(long deploymentKey, DeploymentRecord deploymentRecord) {
     return workflowPersistenceCache.putDeployment(deploymentKey, deploymentRecord);
   }
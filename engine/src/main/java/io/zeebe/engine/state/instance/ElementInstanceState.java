@@ -31,6 +31,7 @@ import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceReco
 import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.BiFunction;
 import org.agrona.ExpandableArrayBuffer;
 
 public class ElementInstanceState {
@@ -190,6 +191,25 @@ public class ElementInstanceState {
     return children;
   }
 
+  /**
+   * Visits the child instances of the given scope in key order, starting at the given child key
+   * (inclusive), as long as the visitor returns true. The visited instance is reused.
+   */
+  public void forEachChild(
+      long parentKey, long startAtChildKey, BiFunction<Long, ElementInstance, Boolean> visitor) {
+    this.parentKey.wrapLong(parentKey);
+    elementInstanceKey.wrapLong(startAtChildKey);
+
+    parentChildColumnFamily.whileEqualPrefix(
+        this.parentKey,
+        parentChildKey,
+        (key, value) -> {
+          final long childKey = key.getSecond().getValue();
+          final ElementInstance childInstance = getInstance(childKey);
+          return childInstance == null || visitor.apply(childKey, childInstance);
+        });
+  }
+
   public void consumeToken(long scopeKey) {
     final ElementInstance elementInstance = getInstance(scopeKey);
     if (elementInstance != null) {
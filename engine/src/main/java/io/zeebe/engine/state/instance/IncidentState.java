@@ -24,6 +24,7 @@ import io.zeebe.db.impl.DbLong;
 import io.zeebe.engine.metrics.IncidentMetrics;
 import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
+import java.util.function.BiFunction;
 import java.util.function.ObjLongConsumer;
 
 public class IncidentState {
@@ -140,6 +141,20 @@ public class IncidentState {
     return MISSING_INCIDENT;
   }
 
+  /**
+   * Visits the incidents in key order, starting at the given incident key (inclusive), as long as
+   * the visitor returns true.
+   */
+  public void forEachIncident(
+      long startAtIncidentKey, BiFunction<Long, IncidentRecord, Boolean> visitor) {
+    incidentKey.wrapLong(startAtIncidentKey);
+    incidentColumnFamily.whileTrue(
+        incidentKey,
+        (key, value) -> {
+          return visitor.apply(key.getValue(), (IncidentRecord) value.getObject());
+        });
+  }
+
   public boolean isJobIncident(IncidentRecord record) {
     return record.getJobKey() > 0;
   }
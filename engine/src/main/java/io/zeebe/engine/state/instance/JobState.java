@@ -244,6 +244,28 @@ public class JobState {
         }));
   }
 
+  /**
+   * Visits the activatable jobs of the given type in key order, starting at the given job key
+   * (inclusive), as long as the callback returns true. Unlike {@link
+   * #forEachActivatableJobs(DirectBuffer, BiFunction)}, it doesn't remove the entries of missing
+   * jobs, so it can be used by read-only queries.
+   */
+  public void forEachActivatableJobs(
+      final DirectBuffer type,
+      final long startAtJobKey,
+      final BiFunction<Long, JobRecord, Boolean> callback) {
+    jobTypeKey.wrapBuffer(type);
+    jobKey.wrapLong(startAtJobKey);
+
+    activatableColumnFamily.whileEqualPrefix(
+        jobTypeKey,
+        typeJobKey,
+        (compositeKey, zbNil) -> {
+          final long jobKey = compositeKey.getSecond().getValue();
+          return visitJob(jobKey, callback, () -> {});
+        });
+  }
+
   boolean visitJob(
       long jobKey, BiFunction<Long, JobRecord, Boolean> callback, Runnable cleanupRunnable) {
     final JobRecord job = getJob(jobKey);
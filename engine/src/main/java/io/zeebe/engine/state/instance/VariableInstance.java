@@ -21,15 +21,19 @@ import io.zeebe.db.DbValue;
 import io.zeebe.msgpack.UnpackedObject;
 import io.zeebe.msgpack.property.BinaryProperty;
 import io.zeebe.msgpack.property.LongProperty;
+import io.zeebe.util.buffer.BufferUtil;
 import org.agrona.DirectBuffer;
 
 public class VariableInstance extends UnpackedObject implements DbValue {
 
   private final LongProperty keyProp = new LongProperty("key");
   private final BinaryProperty valueProp = new BinaryProperty("value");
+  // set if the value is stored once for all variables with the same content
+  private final BinaryProperty valueDigestProp =
+      new BinaryProperty("valueDigest", BufferUtil.wrapArray(new byte[0]));
 
   public VariableInstance() {
-    this.declareProperty(keyProp).declareProperty(valueProp);
+    this.declareProperty(keyProp).declareProperty(valueProp).declareProperty(valueDigestProp);
   }
 
   public VariableInstance setKey(long key) {
@@ -49,4 +53,17 @@ public class VariableInstance extends UnpackedObject implements DbValue {
   public DirectBuffer getValue() {
     return valueProp.getValue();
   }
+
+  public VariableInstance setValueDigest(DirectBuffer digest) {
+    valueDigestProp.setValue(digest);
+    return this;
+  }
+
+  public DirectBuffer getValueDigest() {
+    return valueDigestProp.getValue();
+  }
+
+  public boolean hasSharedValue() {
+    return valueDigestProp.getValue().capacity() > 0;
+  }
 }
@@ -29,7 +29,10 @@ import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackToken;
 import io.zeebe.msgpack.spec.MsgPackWriter;
+import io.zeebe.util.StreamUtil;
 import io.zeebe.util.buffer.BufferUtil;
+import java.security.DigestException;
+import java.security.MessageDigest;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.function.BiConsumer;
@@ -40,6 +43,7 @@ import org.agrona.ExpandableArrayBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.collections.Int2IntHashMap;
 import org.agrona.collections.Int2IntHashMap.EntryIterator;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.collections.ObjectHashSet;
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -47,6 +51,12 @@ public class VariablesState {
 
   public static final int NO_PARENT = -1;
 
+  private static final long UNKNOWN_PARENT = Long.MIN_VALUE;
+
+  // values of at least this length are stored once per content and referenced by their digest
+  private static final int SHARED_VALUE_MIN_LENGTH = 1024;
+  private static final String VALUE_DIGEST_ALGORITHM = "SHA-256";
+
   private final MsgPackReader reader = new MsgPackReader();
   private final MsgPackWriter writer = new MsgPackWriter();
   private final ExpandableArrayBuffer documentResultBuffer = new ExpandableArrayBuffer();
@@ -57,6 +67,10 @@ public class VariablesState {
   private final DbLong parentKey;
   private final DbLong childKey;
 
+  // (child scope key) => (parent scope key) of the scopes which were created or looked up, changes
+  // are reverted when the transaction is rolled back
+  private final Long2LongHashMap parentByScope = new Long2LongHashMap(UNKNOWN_PARENT);
+
   // (scope key, variable name) => (variable value)
   private final ColumnFamily<DbCompositeKey<DbLong, DbString>, VariableInstance>
       variablesColumnFamily;
@@ -64,6 +78,20 @@ public class VariablesState {
   private final DbLong scopeKey;
   private final DbString variableName;
 
+  // (value digest) => (variable value)
+  private final ColumnFamily<DbString, DbBuffer> sharedValuesColumnFamily;
+  // (value digest) => (number of variables referencing the value)
+  private final ColumnFamily<DbString, DbLong> sharedValueReferencesColumnFamily;
+  private final DbString valueDigestKey = new DbString();
+  private final DbBuffer sharedValue = new DbBuffer();
+  private final DbLong sharedValueReferences = new DbLong();
+
+  private final MessageDigest valueDigestGenerator;
+  private final byte[] valueDigestBytes;
+  private final MutableDirectBuffer valueDigest;
+  private final byte[] valueDigestInput = new byte[4 * 1024];
+  private final DirectBuffer valueView = new UnsafeBuffer(0, 0);
+
   // (scope key) => (temporaryVariables)
   private final ColumnFamily<DbLong, DbBuffer> temporaryVariableStoreColumnFamily;
   private final DbBuffer temporaryVariables = new DbBuffer();
@@ -78,12 +106,14 @@ public class VariablesState {
   // setting variables
   private final IndexedDocument indexedDocument = new IndexedDocument();
   private final KeyGenerator keyGenerator;
+  private final DbContext dbContext;
 
   private VariableListener listener;
 
   public VariablesState(
       ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext, KeyGenerator keyGenerator) {
     this.keyGenerator = keyGenerator;
+    this.dbContext = dbContext;
 
     parentKey = new DbLong();
     childKey = new DbLong();
@@ -101,6 +131,20 @@ public class VariablesState {
     temporaryVariableStoreColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.TEMPORARY_VARIABLE_STORE, dbContext, scopeKey, temporaryVariables);
+
+    sharedValuesColumnFamily =
+        zeebeDb.createColumnFamily(
+            ZbColumnFamilies.VARIABLE_VALUES, dbContext, valueDigestKey, sharedValue);
+    sharedValueReferencesColumnFamily =
+        zeebeDb.createColumnFamily(
+            ZbColumnFamilies.VARIABLE_VALUE_REFERENCES,
+            dbContext,
+            valueDigestKey,
+            sharedValueReferences);
+
+    valueDigestGenerator = StreamUtil.getDigest(VALUE_DIGEST_ALGORITHM);
+    valueDigestBytes = new byte[valueDigestGenerator.getDigestLength()];
+    valueDigest = new UnsafeBuffer(valueDigestBytes);
   }
 
   public void setVariablesLocalFromDocument(
@@ -140,14 +184,19 @@ public class VariablesState {
       int valueOffset,
       int valueLength) {
 
-    newVariable.reset();
-    newVariable.setValue(value, valueOffset, valueLength);
+    valueView.wrap(value, valueOffset, valueLength);
+    final boolean isSharedValue = valueLength >= SHARED_VALUE_MIN_LENGTH;
+    if (isSharedValue) {
+      digestValue(valueView);
+    }
 
     final VariableInstance currentVariable =
         getVariableLocal(scopeKey, name, nameOffset, nameLength);
 
     if (currentVariable == null) {
+      newVariable.reset();
       newVariable.setKey(keyGenerator.nextKey());
+      storeValue(isSharedValue);
       variablesColumnFamily.put(scopeKeyVariableNameKey, newVariable);
 
       if (listener != null) {
@@ -156,13 +205,18 @@ public class VariablesState {
             newVariable.getKey(),
             workflowKey,
             variableName.getBuffer(),
-            newVariable.getValue(),
+            valueView,
             scopeKey,
             rootScopeKey);
       }
 
-    } else if (!BufferUtil.equals(currentVariable.getValue(), newVariable.getValue())) {
-      newVariable.setKey(currentVariable.getKey());
+    } else if (!hasValue(currentVariable, isSharedValue)) {
+      final long key = currentVariable.getKey();
+      releaseValue(currentVariable);
+
+      newVariable.reset();
+      newVariable.setKey(key);
+      storeValue(isSharedValue);
       variablesColumnFamily.put(scopeKeyVariableNameKey, newVariable);
 
       if (listener != null) {
@@ -171,7 +225,7 @@ public class VariablesState {
             newVariable.getKey(),
             workflowKey,
             variableName.getBuffer(),
-            newVariable.getValue(),
+            valueView,
             scopeKey,
             rootScopeKey);
       }
@@ -181,6 +235,91 @@ public class VariablesState {
     }
   }
 
+  /** Compares the stored value with the one in {@link #valueView}, without reading shared values. */
+  private boolean hasValue(VariableInstance variable, boolean isSharedValue) {
+    if (variable.hasSharedValue()) {
+      return isSharedValue && BufferUtil.equals(variable.getValueDigest(), valueDigest);
+    } else {
+      return BufferUtil.equals(variable.getValue(), valueView);
+    }
+  }
+
+  /** Sets the value of {@link #valueView} on the new variable, either inline or as reference. */
+  private void storeValue(boolean isSharedValue) {
+    if (!isSharedValue) {
+      newVariable.setValue(valueView, 0, valueView.capacity());
+      return;
+    }
+
+    valueDigestKey.wrapBuffer(valueDigest);
+    final DbLong references = sharedValueReferencesColumnFamily.get(valueDigestKey);
+
+    if (references == null) {
+      sharedValue.wrapBuffer(valueView);
+      sharedValuesColumnFamily.put(valueDigestKey, sharedValue);
+      sharedValueReferences.wrapLong(1);
+    } else {
+      // the value is stored already, only the reference is counted
+      sharedValueReferences.wrapLong(references.getValue() + 1);
+    }
+    sharedValueReferencesColumnFamily.put(valueDigestKey, sharedValueReferences);
+
+    newVariable.setValueDigest(valueDigest);
+  }
+
+  private void releaseValue(VariableInstance variable) {
+    if (!variable.hasSharedValue()) {
+      return;
+    }
+
+    valueDigestKey.wrapBuffer(variable.getValueDigest());
+    final DbLong references = sharedValueReferencesColumnFamily.get(valueDigestKey);
+    final long remainingReferences = references != null ? references.getValue() - 1 : 0;
+
+    if (remainingReferences > 0) {
+      sharedValueReferences.wrapLong(remainingReferences);
+      sharedValueReferencesColumnFamily.put(valueDigestKey, sharedValueReferences);
+    } else {
+      sharedValueReferencesColumnFamily.delete(valueDigestKey);
+      sharedValuesColumnFamily.delete(valueDigestKey);
+    }
+  }
+
+  private DirectBuffer resolveValue(VariableInstance variable) {
+    if (!variable.hasSharedValue()) {
+      return variable.getValue();
+    }
+
+    valueDigestKey.wrapBuffer(variable.getValueDigest());
+    final DbBuffer value = sharedValuesColumnFamily.get(valueDigestKey);
+    if (value == null) {
+      throw new IllegalStateException(
+          "Expected to find the shared value of the variable, but it does not exist");
+    }
+    return value.getValue();
+  }
+
+  private void digestValue(DirectBuffer value) {
+    final int length = value.capacity();
+    final byte[] array = value.byteArray();
+
+    if (array != null) {
+      valueDigestGenerator.update(array, value.wrapAdjustment(), length);
+    } else {
+      for (int offset = 0; offset < length; offset += valueDigestInput.length) {
+        final int chunkLength = Math.min(valueDigestInput.length, length - offset);
+        value.getBytes(offset, valueDigestInput, 0, chunkLength);
+        valueDigestGenerator.update(valueDigestInput, 0, chunkLength);
+      }
+    }
+
+    try {
+      valueDigestGenerator.digest(valueDigestBytes, 0, valueDigestBytes.length);
+    } catch (DigestException e) {
+      throw new IllegalStateException("Failed to compute the digest of a variable value", e);
+    }
+  }
+
   private boolean hasVariableLocal(
       long scopeKey, DirectBuffer name, int nameOffset, int nameLength) {
     this.scopeKey.wrapLong(scopeKey);
@@ -194,7 +333,7 @@ public class VariablesState {
     final VariableInstance variable = getVariableLocal(scopeKey, name, 0, name.capacity());
 
     if (variable != null) {
-      return variable.getValue();
+      return resolveValue(variable);
     } else {
       return null;
     }
@@ -268,10 +407,21 @@ public class VariablesState {
   }
 
   private long getParent(long childKey) {
-    this.childKey.wrapLong(childKey);
+    final long cachedParent = parentByScope.get(childKey);
+    if (cachedParent != UNKNOWN_PARENT) {
+      return cachedParent;
+    }
 
+    // not cached yet, e.g. after recovery
+    this.childKey.wrapLong(childKey);
     final DbLong parentKey = childParentColumnFamily.get(this.childKey);
-    return parentKey != null ? parentKey.getValue() : NO_PARENT;
+    if (parentKey == null) {
+      return NO_PARENT;
+    }
+
+    final long parent = parentKey.getValue();
+    parentByScope.put(childKey, parent);
+    return parent;
   }
 
   public DirectBuffer getVariablesAsDocument(long scopeKey) {
@@ -287,7 +437,7 @@ public class VariablesState {
         (name, value) -> {
           final DirectBuffer variableNameBuffer = name.getBuffer();
           writer.writeString(variableNameBuffer);
-          writer.writeRaw(value.getValue());
+          writer.writeRaw(resolveValue(value));
 
           // must create a new name wrapper, because we keep them all in the hashset at the same
           // time
@@ -316,7 +466,7 @@ public class VariablesState {
         name -> variablesToCollect.contains(name.getBuffer()),
         (name, value) -> {
           writer.writeString(name.getBuffer());
-          writer.writeRaw(value.getValue());
+          writer.writeRaw(resolveValue(value));
 
           variablesToCollect.remove(name.getBuffer());
         },
@@ -343,7 +493,7 @@ public class VariablesState {
         name -> true,
         (name, value) -> {
           writer.writeString(name.getBuffer());
-          writer.writeRaw(value.getValue());
+          writer.writeRaw(resolveValue(value));
 
           variableCount += 1;
         },
@@ -411,6 +561,12 @@ public class VariablesState {
     this.parentKey.wrapLong(parentKey);
 
     childParentColumnFamily.put(this.childKey, this.parentKey);
+
+    // the scope is written again on every update of its element instance
+    final long previousParent = parentByScope.put(childKey, parentKey);
+    if (previousParent != parentKey) {
+      dbContext.onRollback(() -> restoreCachedParent(childKey, previousParent));
+    }
   }
 
   public void removeScope(long scopeKey) {
@@ -419,13 +575,29 @@ public class VariablesState {
     removeAllVariables(scopeKey);
 
     childParentColumnFamily.delete(this.scopeKey);
+
+    final long previousParent = parentByScope.remove(scopeKey);
+    if (previousParent != UNKNOWN_PARENT) {
+      dbContext.onRollback(() -> parentByScope.put(scopeKey, previousParent));
+    }
+  }
+
+  private void restoreCachedParent(long scopeKey, long parentKey) {
+    if (parentKey == UNKNOWN_PARENT) {
+      parentByScope.remove(scopeKey);
+    } else {
+      parentByScope.put(scopeKey, parentKey);
+    }
   }
 
   public void removeAllVariables(long scopeKey) {
     visitVariablesLocal(
         scopeKey,
         dbString -> true,
-        (dbString, variable1) -> variablesColumnFamily.delete(scopeKeyVariableNameKey),
+        (dbString, variable) -> {
+          releaseValue(variable);
+          variablesColumnFamily.delete(scopeKeyVariableNameKey);
+        },
         () -> false);
   }
 
@@ -450,7 +622,9 @@ public class VariablesState {
   public boolean isEmpty() {
     return variablesColumnFamily.isEmpty()
         && childParentColumnFamily.isEmpty()
-        && temporaryVariableStoreColumnFamily.isEmpty();
+        && temporaryVariableStoreColumnFamily.isEmpty()
+        && sharedValuesColumnFamily.isEmpty()
+        && sharedValueReferencesColumnFamily.isEmpty();
   }
 
   public void setListener(VariableListener listener) {
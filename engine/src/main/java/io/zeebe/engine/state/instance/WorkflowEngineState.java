@@ -17,6 +17,7 @@
  */
 package io.zeebe.engine.state.instance;
 
+import io.zeebe.engine.Loggers;
 import io.zeebe.engine.metrics.WorkflowEngineMetrics;
 import io.zeebe.engine.processor.ReadonlyProcessingContext;
 import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
@@ -39,6 +40,13 @@ public class WorkflowEngineState implements StreamProcessorLifecycleAware {
 
   @Override
   public void onOpen(ReadonlyProcessingContext processingContext) {
+    // before the workflows are looked up on reprocessing
+    final int migratedWorkflows = workflowState.migrateInlineResources();
+    if (migratedWorkflows > 0) {
+      Loggers.WORKFLOW_REPOSITORY_LOGGER.info(
+          "Moved the resources of {} workflows into the resource store", migratedWorkflows);
+    }
+
     this.elementInstanceState = workflowState.getElementInstanceState();
 
     this.metrics = new WorkflowEngineMetrics(processingContext.getLogStream().getPartitionId());
@@ -0,0 +1,294 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.message;
+
+import io.zeebe.db.DbContext;
+import io.zeebe.engine.metrics.MessageCorrelationMetrics;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.collections.LongArrayList;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A bounded in-memory index of the recently used (message name, correlation key) pairs and the keys
+ * of their entries in a column family, e.g. messages or subscriptions. The column family remains
+ * the source of truth; the index only knows the complete list of keys for the pairs it contains.
+ *
+ * <p>Every entry of the column family is either listed under its pair in the index or counted as
+ * outside of the index. If no entry is outside, then a pair which is not indexed has no entries at
+ * all and the lookup can be answered without reading the column family. Changes are reverted if
+ * the transaction is rolled back. A pair is removed when its last key is removed.
+ *
+ * <p>The index is built from the stored entries when the state is opened, see {@link
+ * #build(Consumer)}. Until then, every lookup misses and changes are ignored.
+ *
+ * <p>The size of the index is the number of pairs plus the number of keys. If it exceeds the
+ * capacity, the least recently used pairs are evicted and their keys are counted as outside again.
+ */
+public class CorrelationIndex {
+
+  public static final int DEFAULT_CAPACITY = 100_000;
+
+  private final String name;
+  private final DbContext dbContext;
+  private final MessageCorrelationMetrics metrics;
+  private final int capacity;
+
+  // access ordered, the eldest entry is the least recently used pair
+  private final LinkedHashMap<DirectBuffer, LongArrayList> keysByPair =
+      new LinkedHashMap<>(16, 0.75f, true);
+  private final ExpandableArrayBuffer pairBuffer = new ExpandableArrayBuffer();
+  private final UnsafeBuffer pairView = new UnsafeBuffer(0, 0);
+  private final LongArrayList noKeys = new LongArrayList();
+
+  private boolean isBuilt;
+  private long size;
+  private long entriesOutside;
+
+  public CorrelationIndex(
+      String name, DbContext dbContext, MessageCorrelationMetrics metrics, int capacity) {
+    this.name = name;
+    this.dbContext = dbContext;
+    this.metrics = metrics;
+    this.capacity = capacity;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /** @return the number of indexed pairs plus the number of their keys */
+  long getSize() {
+    return size;
+  }
+
+  /**
+   * Builds the index from the stored entries, which must be visited grouped by their pair, e.g. in
+   * the order of a column family whose keys start with the pair. The pairs are indexed as long as
+   * they fit into the capacity, the entries of the other pairs are counted as outside of the index.
+   * It must be called once when the state is opened, before the column family is changed.
+   */
+  public void build(Consumer<EntryVisitor> storedEntries) {
+    keysByPair.clear();
+    size = 0;
+    entriesOutside = 0;
+
+    final IndexBuilder builder = new IndexBuilder();
+    storedEntries.accept(builder);
+    builder.indexPendingPair();
+
+    isBuilt = true;
+  }
+
+  /**
+   * @return the keys of the pair in ascending order, or {@code null} if the pair is not indexed and
+   *     the column family must be read; the returned list must not be modified
+   */
+  public LongArrayList lookup(DirectBuffer messageName, DirectBuffer correlationKey) {
+    if (!isBuilt) {
+      metrics.indexMiss(name);
+      return null;
+    }
+
+    final LongArrayList keys = keysByPair.get(wrapPair(messageName, correlationKey));
+    if (keys != null) {
+      metrics.indexHit(name);
+      return keys;
+    } else if (entriesOutside == 0) {
+      metrics.indexHit(name);
+      return noKeys;
+    } else {
+      metrics.indexMiss(name);
+      return null;
+    }
+  }
+
+  /**
+   * Adds a pair with all of its keys which were read from the column family, after a lookup
+   * returned {@code null}.
+   */
+  public void index(DirectBuffer messageName, DirectBuffer correlationKey, LongArrayList keys) {
+    if (!isBuilt) {
+      return;
+    }
+
+    final DirectBuffer pair = wrapPair(messageName, correlationKey);
+    if (keysByPair.containsKey(pair) || keys.size() >= capacity) {
+      return;
+    }
+
+    final LongArrayList indexedKeys = new LongArrayList();
+    keys.forEachOrderedLong(indexedKeys::addLong);
+
+    keysByPair.put(copyPair(), indexedKeys);
+    size += 1 + keys.size();
+    entriesOutside -= keys.size();
+
+    evictLeastRecentlyUsedPairs(pair);
+  }
+
+  /** Must be called when an entry is added to the column family. */
+  public void add(DirectBuffer messageName, DirectBuffer correlationKey, long key) {
+    if (!isBuilt) {
+      return;
+    }
+
+    wrapPair(messageName, correlationKey);
+    final DirectBuffer pair = copyPair();
+
+    addKey(pair, key);
+    dbContext.onRollback(() -> removeKey(pair, key));
+  }
+
+  /** Must be called when an existing entry is removed from the column family. */
+  public void remove(DirectBuffer messageName, DirectBuffer correlationKey, long key) {
+    if (!isBuilt) {
+      return;
+    }
+
+    wrapPair(messageName, correlationKey);
+    final DirectBuffer pair = copyPair();
+
+    removeKey(pair, key);
+    dbContext.onRollback(() -> addKey(pair, key));
+  }
+
+  private void addKey(DirectBuffer pair, long key) {
+    final LongArrayList keys = keysByPair.get(pair);
+
+    if (keys != null) {
+      insertOrdered(keys, key);
+      size += 1;
+      evictLeastRecentlyUsedPairs(pair);
+
+    } else if (entriesOutside == 0) {
+      // all entries are indexed, so this is the first entry of the pair
+      final LongArrayList newKeys = new LongArrayList();
+      newKeys.addLong(key);
+      keysByPair.put(pair, newKeys);
+      size += 2;
+      evictLeastRecentlyUsedPairs(pair);
+
+    } else {
+      entriesOutside += 1;
+    }
+  }
+
+  private void removeKey(DirectBuffer pair, long key) {
+    final LongArrayList keys = keysByPair.get(pair);
+
+    if (keys != null) {
+      final int index = keys.indexOf(key);
+      if (index >= 0) {
+        keys.removeAt(index);
+        size -= 1;
+
+        if (keys.isEmpty()) {
+          // a lookup of the pair is still answered without keys if no entry is outside
+          keysByPair.remove(pair);
+          size -= 1;
+        }
+      }
+    } else {
+      entriesOutside -= 1;
+    }
+  }
+
+  private static void insertOrdered(LongArrayList keys, long key) {
+    // keys are mostly added in ascending order
+    int index = keys.size();
+    while (index > 0 && keys.getLong(index - 1) > key) {
+      index -= 1;
+    }
+    keys.addLong(index, key);
+  }
+
+  private void evictLeastRecentlyUsedPairs(DirectBuffer usedPair) {
+    final Iterator<Entry<DirectBuffer, LongArrayList>> iterator = keysByPair.entrySet().iterator();
+    while (size > capacity && iterator.hasNext()) {
+      final Entry<DirectBuffer, LongArrayList> entry = iterator.next();
+      if (entry.getKey().equals(usedPair)) {
+        continue;
+      }
+
+      final LongArrayList keys = entry.getValue();
+      iterator.remove();
+      size -= 1 + keys.size();
+      entriesOutside += keys.size();
+    }
+  }
+
+  private DirectBuffer wrapPair(DirectBuffer messageName, DirectBuffer correlationKey) {
+    final int nameLength = messageName.capacity();
+    final int correlationKeyLength = correlationKey.capacity();
+
+    pairBuffer.putInt(0, nameLength);
+    pairBuffer.putBytes(Integer.BYTES, messageName, 0, nameLength);
+    pairBuffer.putBytes(Integer.BYTES + nameLength, correlationKey, 0, correlationKeyLength);
+
+    pairView.wrap(pairBuffer, 0, Integer.BYTES + nameLength + correlationKeyLength);
+    return pairView;
+  }
+
+  private DirectBuffer copyPair() {
+    final byte[] bytes = new byte[pairView.capacity()];
+    pairView.getBytes(0, bytes);
+    return new UnsafeBuffer(bytes);
+  }
+
+  @FunctionalInterface
+  public interface EntryVisitor {
+    void visit(DirectBuffer messageName, DirectBuffer correlationKey, long key);
+  }
+
+  private final class IndexBuilder implements EntryVisitor {
+    private DirectBuffer pendingPair;
+    private LongArrayList pendingKeys = new LongArrayList();
+
+    @Override
+    public void visit(DirectBuffer messageName, DirectBuffer correlationKey, long key) {
+      final DirectBuffer pair = wrapPair(messageName, correlationKey);
+      if (pendingPair == null || !pendingPair.equals(pair)) {
+        indexPendingPair();
+        pendingPair = copyPair();
+      }
+
+      insertOrdered(pendingKeys, key);
+    }
+
+    private void indexPendingPair() {
+      if (pendingPair == null) {
+        return;
+      }
+
+      if (size + 1 + pendingKeys.size() <= capacity) {
+        keysByPair.put(pendingPair, pendingKeys);
+        size += 1 + pendingKeys.size();
+        pendingKeys = new LongArrayList();
+      } else {
+        entriesOutside += pendingKeys.size();
+        pendingKeys.clear();
+      }
+      pendingPair = null;
+    }
+  }
+}
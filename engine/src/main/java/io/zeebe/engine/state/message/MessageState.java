@@ -24,8 +24,10 @@ import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
 import io.zeebe.db.impl.DbNil;
 import io.zeebe.db.impl.DbString;
+import io.zeebe.engine.metrics.MessageCorrelationMetrics;
 import io.zeebe.engine.state.ZbColumnFamilies;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.LongArrayList;
 
 public class MessageState {
 
@@ -51,6 +53,12 @@ public class MessageState {
   private final ColumnFamily<DbCompositeKey<DbCompositeKey<DbString, DbString>, DbLong>, DbNil>
       nameCorrelationMessageColumnFamily;
 
+  /** the recently used entries of the column family above */
+  private final CorrelationIndex correlationIndex;
+
+  private final MessageCorrelationMetrics metrics;
+  private final LongArrayList visitedMessageKeys = new LongArrayList();
+
   /**
    * <pre>deadline | key -> []
    *
@@ -80,7 +88,7 @@ public class MessageState {
   private final DbLong workflowInstanceKey;
   private final ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> correlatedMessageColumnFamily;
 
-  public MessageState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
+  public MessageState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext, int partitionId) {
     messageKey = new DbLong();
     message = new Message();
     messageColumnFamily =
@@ -94,6 +102,10 @@ public class MessageState {
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.MESSAGES, dbContext, nameCorrelationMessageKey, DbNil.INSTANCE);
 
+    metrics = new MessageCorrelationMetrics(partitionId);
+    correlationIndex =
+        new CorrelationIndex("messages", dbContext, metrics, CorrelationIndex.DEFAULT_CAPACITY);
+
     deadline = new DbLong();
     deadlineMessageKey = new DbCompositeKey<>(deadline, messageKey);
     deadlineColumnFamily =
@@ -111,9 +123,14 @@ public class MessageState {
     correlatedMessageColumnFamily =
         zeebeDb.createColumnFamily(
             ZbColumnFamilies.MESSAGE_CORRELATED, dbContext, messageWorkflowKey, DbNil.INSTANCE);
+
+    // the state is opened or recovered, build the index before the first message is correlated
+    correlationIndex.build(this::visitStoredMessages);
   }
 
   public void put(final Message message) {
+    correlationIndex.add(message.getName(), message.getCorrelationKey(), message.getKey());
+
     messageKey.wrapLong(message.getKey());
     messageColumnFamily.put(messageKey, message);
 
@@ -154,15 +171,44 @@ public class MessageState {
   public void visitMessages(
       final DirectBuffer name, final DirectBuffer correlationKey, final MessageVisitor visitor) {
 
-    messageName.wrapBuffer(name);
-    this.correlationKey.wrapBuffer(correlationKey);
+    final long startTime = System.nanoTime();
+
+    // the visitor may change the index, so the keys are copied
+    visitedMessageKeys.clear();
+    final LongArrayList indexedKeys = correlationIndex.lookup(name, correlationKey);
+    if (indexedKeys != null) {
+      for (int i = 0; i < indexedKeys.size(); i++) {
+        visitedMessageKeys.addLong(indexedKeys.getLong(i));
+      }
+    } else {
+      messageName.wrapBuffer(name);
+      this.correlationKey.wrapBuffer(correlationKey);
+
+      nameCorrelationMessageColumnFamily.whileEqualPrefix(
+          nameAndCorrelationKey,
+          (compositeKey, nil) -> {
+            visitedMessageKeys.addLong(compositeKey.getSecond().getValue());
+          });
+
+      correlationIndex.index(name, correlationKey, visitedMessageKeys);
+    }
+
+    for (int i = 0; i < visitedMessageKeys.size(); i++) {
+      final Message message = getMessage(visitedMessageKeys.getLong(i));
+      if (!visitor.visit(message)) {
+        break;
+      }
+    }
 
-    nameCorrelationMessageColumnFamily.whileEqualPrefix(
-        nameAndCorrelationKey,
-        (compositeKey, nil) -> {
-          final long messageKey = compositeKey.getSecond().getValue();
-          final Message message = getMessage(messageKey);
-          return visitor.visit(message);
+    metrics.correlationLatency(correlationIndex.getName(), System.nanoTime() - startTime);
+  }
+
+  private void visitStoredMessages(CorrelationIndex.EntryVisitor visitor) {
+    nameCorrelationMessageColumnFamily.forEach(
+        (key, nil) -> {
+          final DbCompositeKey<DbString, DbString> pair = key.getFirst();
+          final long entryKey = key.getSecond().getValue();
+          visitor.visit(pair.getFirst().getBuffer(), pair.getSecond().getBuffer(), entryKey);
         });
   }
 
@@ -199,6 +245,8 @@ public class MessageState {
       return;
     }
 
+    correlationIndex.remove(message.getName(), message.getCorrelationKey(), message.getKey());
+
     messageKey.wrapLong(message.getKey());
     messageColumnFamily.delete(messageKey);
 
@@ -24,8 +24,10 @@ import io.zeebe.db.impl.DbCompositeKey;
 import io.zeebe.db.impl.DbLong;
 import io.zeebe.db.impl.DbNil;
 import io.zeebe.db.impl.DbString;
+import io.zeebe.engine.metrics.MessageCorrelationMetrics;
 import io.zeebe.engine.state.ZbColumnFamilies;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.LongArrayList;
 
 public class MessageSubscriptionState {
 
@@ -53,7 +55,14 @@ public class MessageSubscriptionState {
   private final ColumnFamily<DbCompositeKey<DbCompositeKey<DbString, DbString>, DbLong>, DbNil>
       messageNameAndCorrelationKeyColumnFamily;
 
-  public MessageSubscriptionState(ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext) {
+  // the recently used entries of the column family above
+  private final CorrelationIndex correlationIndex;
+
+  private final MessageCorrelationMetrics metrics;
+  private final LongArrayList visitedElementInstanceKeys = new LongArrayList();
+
+  public MessageSubscriptionState(
+      ZeebeDb<ZbColumnFamilies> zeebeDb, DbContext dbContext, int partitionId) {
     this.dbContext = dbContext;
 
     elementInstanceKey = new DbLong();
@@ -86,6 +95,14 @@ public class MessageSubscriptionState {
             dbContext,
             nameCorrelationAndElementInstanceKey,
             DbNil.INSTANCE);
+
+    metrics = new MessageCorrelationMetrics(partitionId);
+    correlationIndex =
+        new CorrelationIndex(
+            "subscriptions", dbContext, metrics, CorrelationIndex.DEFAULT_CAPACITY);
+
+    // the state is opened or recovered, build the index before the first message is correlated
+    correlationIndex.build(this::visitStoredSubscriptions);
   }
 
   public MessageSubscription get(long elementInstanceKey, DirectBuffer messageName) {
@@ -95,6 +112,11 @@ public class MessageSubscriptionState {
   }
 
   public void put(final MessageSubscription subscription) {
+    correlationIndex.add(
+        subscription.getMessageName(),
+        subscription.getCorrelationKey(),
+        subscription.getElementInstanceKey());
+
     elementInstanceKey.wrapLong(subscription.getElementInstanceKey());
     messageName.wrapBuffer(subscription.getMessageName());
     subscriptionColumnFamily.put(elementKeyAndMessageName, subscription);
@@ -109,13 +131,46 @@ public class MessageSubscriptionState {
       final DirectBuffer correlationKey,
       MessageSubscriptionVisitor visitor) {
 
-    this.messageName.wrapBuffer(messageName);
-    this.correlationKey.wrapBuffer(correlationKey);
+    final long startTime = System.nanoTime();
+
+    // the visitor may change the index, so the keys are copied
+    visitedElementInstanceKeys.clear();
+    final LongArrayList indexedKeys = correlationIndex.lookup(messageName, correlationKey);
+    if (indexedKeys != null) {
+      for (int i = 0; i < indexedKeys.size(); i++) {
+        visitedElementInstanceKeys.addLong(indexedKeys.getLong(i));
+      }
+    } else {
+      this.messageName.wrapBuffer(messageName);
+      this.correlationKey.wrapBuffer(correlationKey);
+
+      messageNameAndCorrelationKeyColumnFamily.whileEqualPrefix(
+          nameAndCorrelationKey,
+          (compositeKey, nil) -> {
+            visitedElementInstanceKeys.addLong(compositeKey.getSecond().getValue());
+          });
+
+      correlationIndex.index(messageName, correlationKey, visitedElementInstanceKeys);
+    }
 
-    messageNameAndCorrelationKeyColumnFamily.whileEqualPrefix(
-        nameAndCorrelationKey,
-        (compositeKey, nil) -> {
-          return visitMessageSubscription(elementKeyAndMessageName, visitor);
+    for (int i = 0; i < visitedElementInstanceKeys.size(); i++) {
+      this.elementInstanceKey.wrapLong(visitedElementInstanceKeys.getLong(i));
+      this.messageName.wrapBuffer(messageName);
+
+      if (!visitMessageSubscription(elementKeyAndMessageName, visitor)) {
+        break;
+      }
+    }
+
+    metrics.correlationLatency(correlationIndex.getName(), System.nanoTime() - startTime);
+  }
+
+  private void visitStoredSubscriptions(CorrelationIndex.EntryVisitor visitor) {
+    messageNameAndCorrelationKeyColumnFamily.forEach(
+        (key, nil) -> {
+          final DbCompositeKey<DbString, DbString> pair = key.getFirst();
+          final long entryKey = key.getSecond().getValue();
+          visitor.visit(pair.getFirst().getBuffer(), pair.getSecond().getBuffer(), entryKey);
         });
   }
 
@@ -202,9 +257,15 @@ public class MessageSubscriptionState {
   }
 
   public void remove(final MessageSubscription subscription) {
-    subscriptionColumnFamily.delete(elementKeyAndMessageName);
+    correlationIndex.remove(
+        subscription.getMessageName(),
+        subscription.getCorrelationKey(),
+        subscription.getElementInstanceKey());
 
+    elementInstanceKey.wrapLong(subscription.getElementInstanceKey());
     messageName.wrapBuffer(subscription.getMessageName());
+    subscriptionColumnFamily.delete(elementKeyAndMessageName);
+
     correlationKey.wrapBuffer(subscription.getCorrelationKey());
     messageNameAndCorrelationKeyColumnFamily.delete(nameCorrelationAndElementInstanceKey);
 
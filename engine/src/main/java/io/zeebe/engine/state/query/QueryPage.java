@@ -0,0 +1,55 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.query;
+
+import java.util.List;
+
+/**
+ * A page of a state query result. The items are ordered by their key; to fetch the next page the
+ * query has to be repeated with {@link #getNextPageKey()} as cursor.
+ */
+public class QueryPage<T> {
+
+  public static final long FIRST_PAGE = -1L;
+  public static final long NO_NEXT_PAGE = -1L;
+
+  private final List<T> items;
+  private final long nextPageKey;
+
+  public QueryPage(List<T> items, long nextPageKey) {
+    this.items = items;
+    this.nextPageKey = nextPageKey;
+  }
+
+  public List<T> getItems() {
+    return items;
+  }
+
+  public long getNextPageKey() {
+    return nextPageKey;
+  }
+
+  public boolean hasNextPage() {
+    return nextPageKey != NO_NEXT_PAGE;
+  }
+
+  @Override
+  public String toString() {
+    return "QueryPage{" + "items=" + items + ", nextPageKey=" + nextPageKey + '}';
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Collects the items of one page while visiting the entries of a column family in key order. The
+ * returned value of {@link #visit(long, Object)} tells the visitor whether to continue.
+ */
+final class QueryPageCollector<S, T> {
+
+  private final long afterKey;
+  private final int pageSize;
+  private final Function<S, T> copyFunction;
+  private final List<T> items;
+
+  private long lastKey = QueryPage.NO_NEXT_PAGE;
+  private boolean hasMore;
+
+  QueryPageCollector(long afterKey, int pageSize, Function<S, T> copyFunction) {
+    this.afterKey = afterKey;
+    this.pageSize = pageSize;
+    this.copyFunction = copyFunction;
+    this.items = new ArrayList<>(pageSize);
+  }
+
+  boolean visit(long key, S item) {
+    if (key <= afterKey) {
+      return true;
+    }
+
+    if (items.size() == pageSize) {
+      hasMore = true;
+      return false;
+    }
+
+    items.add(copyFunction.apply(item));
+    lastKey = key;
+    return true;
+  }
+
+  QueryPage<T> toPage() {
+    return new QueryPage<>(items, hasMore ? lastKey : QueryPage.NO_NEXT_PAGE);
+  }
+}
@@ -0,0 +1,262 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.query;
+
+import static io.zeebe.util.buffer.BufferUtil.cloneBuffer;
+
+import io.zeebe.db.SnapshotDbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.engine.processor.KeyGenerator;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.engine.state.instance.ElementInstance;
+import io.zeebe.engine.state.instance.ElementInstanceState;
+import io.zeebe.engine.state.instance.IncidentState;
+import io.zeebe.engine.state.instance.JobState;
+import io.zeebe.msgpack.UnpackedObject;
+import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.util.EnsureUtil;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.SchedulingHints;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.LongArrayList;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Answers read-only queries on the state of a partition. The queries are executed on a separate
+ * actor against a consistent snapshot of the database, which is refreshed before each query, so
+ * the stream processor is never blocked and never sees the reads.
+ *
+ * <p>Results are paged by key: a query returns at most {@code pageSize} items with a key greater
+ * than the given cursor, see {@link QueryPage}. The iteration of a page seeks directly to the
+ * cursor, so reading all pages of a result visits each entry only once.
+ *
+ * <p>The queries don't use a {@link io.zeebe.engine.state.ZeebeState}: its caches are not updated
+ * by the snapshot and it would register the metrics of the partition a second time. Instead, the
+ * states which are read by the queries are created again on each refresh of the snapshot.
+ */
+public class StateQueryActor extends Actor {
+
+  private static final KeyGenerator READ_ONLY_KEYS =
+      () -> {
+        throw new UnsupportedOperationException("Expected state queries to not generate keys");
+      };
+
+  private final int partitionId;
+  private final ZeebeDb<ZbColumnFamilies> zeebeDb;
+  private final String name;
+
+  private SnapshotDbContext snapshotContext;
+  private JobState jobState;
+  private IncidentState incidentState;
+  private ElementInstanceState elementInstanceState;
+
+  public StateQueryActor(int partitionId, ZeebeDb<ZbColumnFamilies> zeebeDb) {
+    this.partitionId = partitionId;
+    this.zeebeDb = zeebeDb;
+    this.name = "state-query-" + partitionId;
+  }
+
+  @Override
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  protected void onActorStarting() {
+    actor.setSchedulingHints(SchedulingHints.ioBound());
+
+    snapshotContext = zeebeDb.createSnapshotContext();
+  }
+
+  @Override
+  protected void onActorClosing() {
+    snapshotContext.close();
+  }
+
+  public ActorFuture<Void> closeAsync() {
+    return actor.close();
+  }
+
+  /**
+   * Invokes the callback on this actor when the given query is completed. It is used to complete
+   * the query of a caller which is not an actor without blocking.
+   */
+  public <T> void onQueryCompleted(ActorFuture<T> query, BiConsumer<T, Throwable> callback) {
+    actor.run(() -> actor.runOnCompletion(query, callback));
+  }
+
+  /** Returns the activatable jobs of the given type, ordered by job key. */
+  public ActorFuture<QueryPage<JobRecord>> queryActivatableJobs(
+      DirectBuffer type, long afterJobKey, int pageSize) {
+    EnsureUtil.ensureNotNullOrEmpty("type", type);
+    ensurePageSize(pageSize);
+    final DirectBuffer jobType = cloneBuffer(type);
+
+    return actor.call(
+        () -> {
+          refresh();
+
+          final QueryPageCollector<JobRecord, JobRecord> collector =
+              new QueryPageCollector<>(afterJobKey, pageSize, job -> copy(job, new JobRecord()));
+          jobState.forEachActivatableJobs(jobType, startAt(afterJobKey), collector::visit);
+          return collector.toPage();
+        });
+  }
+
+  /**
+   * Returns the incidents of the given workflow instance, ordered by incident key. The incidents
+   * are looked up by the element instances and jobs of the workflow instance, so the query doesn't
+   * depend on the number of incidents of other workflow instances.
+   */
+  public ActorFuture<QueryPage<IncidentRecord>> queryIncidents(
+      long workflowInstanceKey, long afterIncidentKey, int pageSize) {
+    ensurePageSize(pageSize);
+
+    return actor.call(
+        () -> {
+          refresh();
+
+          final LongArrayList incidentKeys = collectIncidentKeys(workflowInstanceKey);
+          incidentKeys.sort(Long::compare);
+
+          final QueryPageCollector<IncidentRecord, IncidentRecord> collector =
+              new QueryPageCollector<>(
+                  afterIncidentKey, pageSize, incident -> copy(incident, new IncidentRecord()));
+          for (int i = 0; i < incidentKeys.size(); i++) {
+            final long incidentKey = incidentKeys.getLong(i);
+            final IncidentRecord incident = incidentState.getIncidentRecord(incidentKey);
+            if (incident != null && !collector.visit(incidentKey, incident)) {
+              break;
+            }
+          }
+          return collector.toPage();
+        });
+  }
+
+  /** Returns the child element instances of the given scope, ordered by element instance key. */
+  public ActorFuture<QueryPage<ElementInstance>> queryElementInstances(
+      long scopeKey, long afterElementInstanceKey, int pageSize) {
+    ensurePageSize(pageSize);
+
+    return actor.call(
+        () -> {
+          refresh();
+
+          final QueryPageCollector<ElementInstance, ElementInstance> collector =
+              new QueryPageCollector<>(
+                  afterElementInstanceKey, pageSize, this::copyElementInstance);
+          elementInstanceState.forEachChild(
+              scopeKey, startAt(afterElementInstanceKey), collector::visit);
+          return collector.toPage();
+        });
+  }
+
+  /**
+   * Returns the local variables of the given scope as a MessagePack document, or an empty document
+   * if the scope has no variables.
+   */
+  public ActorFuture<DirectBuffer> queryVariables(long scopeKey) {
+    return actor.call(
+        () -> {
+          refresh();
+
+          final DirectBuffer document =
+              elementInstanceState.getVariablesState().getVariablesLocalAsDocument(scopeKey);
+          return cloneBuffer(document);
+        });
+  }
+
+  private void refresh() {
+    snapshotContext.refresh();
+
+    jobState = new JobState(zeebeDb, snapshotContext, partitionId);
+    incidentState = new IncidentState(zeebeDb, snapshotContext, partitionId);
+    elementInstanceState = new ElementInstanceState(zeebeDb, snapshotContext, READ_ONLY_KEYS);
+  }
+
+  private LongArrayList collectIncidentKeys(long workflowInstanceKey) {
+    final LongArrayList incidentKeys = new LongArrayList();
+
+    final ElementInstance workflowInstance = elementInstanceState.getInstance(workflowInstanceKey);
+    if (workflowInstance == null) {
+      return incidentKeys;
+    }
+    addIncidentKeys(incidentKeys, workflowInstanceKey, workflowInstance.getJobKey());
+
+    // the children are read before visiting their own children, since the iteration of a column
+    // family can't be nested
+    final List<Long> scopeKeys = new ArrayList<>();
+    scopeKeys.add(workflowInstanceKey);
+    for (int i = 0; i < scopeKeys.size(); i++) {
+      elementInstanceState.forEachChild(
+          scopeKeys.get(i),
+          0,
+          (childKey, child) -> {
+            scopeKeys.add(childKey);
+            addIncidentKeys(incidentKeys, childKey, child.getJobKey());
+            return true;
+          });
+    }
+
+    return incidentKeys;
+  }
+
+  private void addIncidentKeys(LongArrayList incidentKeys, long elementInstanceKey, long jobKey) {
+    final long incidentKey = incidentState.getWorkflowInstanceIncidentKey(elementInstanceKey);
+    if (incidentKey != IncidentState.MISSING_INCIDENT) {
+      incidentKeys.addLong(incidentKey);
+    }
+
+    if (jobKey > 0) {
+      final long jobIncidentKey = incidentState.getJobIncidentKey(jobKey);
+      if (jobIncidentKey != IncidentState.MISSING_INCIDENT) {
+        incidentKeys.addLong(jobIncidentKey);
+      }
+    }
+  }
+
+  private ElementInstance copyElementInstance(ElementInstance instance) {
+    final ElementInstance copy = new ElementInstance();
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[instance.getLength()]);
+    instance.write(buffer, 0);
+    copy.wrap(buffer, 0, buffer.capacity());
+    return copy;
+  }
+
+  /** The pages are continued by seeking to the key after the cursor, see {@link QueryPage}. */
+  private static long startAt(long afterKey) {
+    return afterKey == QueryPage.FIRST_PAGE ? 0 : afterKey + 1;
+  }
+
+  private static void ensurePageSize(int pageSize) {
+    EnsureUtil.ensureGreaterThan("pageSize", pageSize, 0);
+  }
+
+  private static <T extends UnpackedObject> T copy(UnpackedObject source, T target) {
+    final int length = source.getLength();
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[length]);
+    source.write(buffer, 0);
+    target.wrap(buffer, 0, length);
+    return target;
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.query;
+
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.servicecontainer.Service;
+import io.zeebe.servicecontainer.ServiceStartContext;
+import io.zeebe.servicecontainer.ServiceStopContext;
+
+public class StateQueryService implements Service<StateQueryService> {
+
+  private final int partitionId;
+  private final ZeebeDb<ZbColumnFamilies> zeebeDb;
+  private StateQueryActor stateQueryActor;
+
+  public StateQueryService(int partitionId, ZeebeDb<ZbColumnFamilies> zeebeDb) {
+    this.partitionId = partitionId;
+    this.zeebeDb = zeebeDb;
+  }
+
+  @Override
+  public void start(final ServiceStartContext startContext) {
+    stateQueryActor = new StateQueryActor(partitionId, zeebeDb);
+    startContext.async(startContext.getScheduler().submitActor(stateQueryActor));
+  }
+
+  @Override
+  public void stop(final ServiceStopContext stopContext) {
+    if (stateQueryActor != null) {
+      stopContext.async(stateQueryActor.closeAsync());
+      stateQueryActor = null;
+    }
+  }
+
+  @Override
+  public StateQueryService get() {
+    return this;
+  }
+
+  public int getPartitionId() {
+    return partitionId;
+  }
+
+  public StateQueryActor getStateQueryActor() {
+    return stateQueryActor;
+  }
+}
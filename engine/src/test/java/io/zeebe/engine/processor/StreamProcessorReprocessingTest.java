@@ -36,10 +36,16 @@ import io.zeebe.protocol.impl.record.UnifiedRecordValue;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.InOrder;
@@ -443,4 +449,162 @@ public class StreamProcessorReprocessingTest {
     assertThat(processedPositions).doesNotContain(snapshotPosition);
     assertThat(processedPositions).containsExactly(lastSourceEvent, lastEvent);
   }
+
+  @Test
+  public void shouldReprocessEventsThatFillExactlyOneBatch() throws Exception {
+    shouldReprocessEventsInBatches(ReProcessingStateMachine.MAX_BATCH_SIZE);
+  }
+
+  @Test
+  public void shouldReprocessEventsThatExceedOneBatch() throws Exception {
+    shouldReprocessEventsInBatches(ReProcessingStateMachine.MAX_BATCH_SIZE + 1);
+  }
+
+  @Test
+  public void shouldRollbackAndSeekBackToLastCommittedEventOnFailure() throws Exception {
+    // given
+    final List<Long> writtenPositions = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      writtenPositions.add(streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1));
+    }
+    final long failingPosition = writtenPositions.get(2);
+    final long lastSourceEvent = writtenPositions.get(4);
+    streamProcessorRule.writeWorkflowInstanceEventWithSource(ELEMENT_ACTIVATED, 1, lastSourceEvent);
+
+    waitUntil(
+        () ->
+            streamProcessorRule
+                .events()
+                .onlyWorkflowInstanceRecords()
+                .withIntent(ELEMENT_ACTIVATED)
+                .exists());
+
+    // when
+    final List<Long> processedPositions = new ArrayList<>();
+    final Map<Long, List<Long>> generatedKeys = new HashMap<>();
+    final AtomicBoolean failed = new AtomicBoolean(false);
+    final AtomicLong keyOnProcessing = new AtomicLong();
+    final CountDownLatch processLatch = new CountDownLatch(1);
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors
+                .onEvent(
+                    ValueType.WORKFLOW_INSTANCE,
+                    ELEMENT_ACTIVATING,
+                    new TypedRecordProcessor<UnifiedRecordValue>() {
+                      @Override
+                      public void processRecord(
+                          long position,
+                          TypedRecord<UnifiedRecordValue> record,
+                          TypedResponseWriter responseWriter,
+                          TypedStreamWriter streamWriter,
+                          Consumer<SideEffectProducer> sideEffect) {
+                        processedPositions.add(position);
+                        generatedKeys
+                            .computeIfAbsent(position, p -> new ArrayList<>())
+                            .add(state.getKeyGenerator().nextKey());
+
+                        if (position == failingPosition && failed.compareAndSet(false, true)) {
+                          throw new RuntimeException("recoverable");
+                        }
+                      }
+                    })
+                .onEvent(
+                    ValueType.WORKFLOW_INSTANCE,
+                    ELEMENT_ACTIVATED,
+                    new TypedRecordProcessor<UnifiedRecordValue>() {
+                      @Override
+                      public void processRecord(
+                          long position,
+                          TypedRecord<UnifiedRecordValue> record,
+                          TypedResponseWriter responseWriter,
+                          TypedStreamWriter streamWriter,
+                          Consumer<SideEffectProducer> sideEffect) {
+                        keyOnProcessing.set(state.getKeyGenerator().nextKey());
+                        processLatch.countDown();
+                      }
+                    }));
+
+    // then
+    processLatch.await();
+
+    // the batch is retried from the last committed event
+    final List<Long> expectedPositions = new ArrayList<>(writtenPositions.subList(0, 3));
+    expectedPositions.addAll(writtenPositions);
+    assertThat(processedPositions).containsExactlyElementsOf(expectedPositions);
+
+    // the state changes of the failed attempt are rolled back
+    assertThat(generatedKeys.values())
+        .allSatisfy(keys -> assertThat(keys).containsOnly(keys.get(0)));
+    assertThat(keyOnProcessing.get()).isEqualTo(generatedKeys.get(lastSourceEvent).get(0) + 1);
+  }
+
+  private void shouldReprocessEventsInBatches(int eventCount) throws Exception {
+    // given
+    final List<Long> writtenPositions = new ArrayList<>();
+    for (int i = 0; i < eventCount; i++) {
+      writtenPositions.add(streamProcessorRule.writeWorkflowInstanceEvent(ELEMENT_ACTIVATING, 1));
+    }
+    final long lastSourceEvent = writtenPositions.get(eventCount - 1);
+    streamProcessorRule.writeWorkflowInstanceEventWithSource(ELEMENT_ACTIVATED, 1, lastSourceEvent);
+
+    waitUntil(
+        () ->
+            streamProcessorRule
+                .events()
+                .onlyWorkflowInstanceRecords()
+                .withIntent(ELEMENT_ACTIVATED)
+                .exists());
+
+    // when
+    final List<Long> reprocessedPositions = new ArrayList<>();
+    final List<Long> generatedKeys = new ArrayList<>();
+    final CountDownLatch processLatch = new CountDownLatch(1);
+    streamProcessorRule.startTypedStreamProcessor(
+        (processors, state) ->
+            processors
+                .onEvent(
+                    ValueType.WORKFLOW_INSTANCE,
+                    ELEMENT_ACTIVATING,
+                    new TypedRecordProcessor<UnifiedRecordValue>() {
+                      @Override
+                      public void processRecord(
+                          long position,
+                          TypedRecord<UnifiedRecordValue> record,
+                          TypedResponseWriter responseWriter,
+                          TypedStreamWriter streamWriter,
+                          Consumer<SideEffectProducer> sideEffect) {
+                        reprocessedPositions.add(position);
+                        generatedKeys.add(state.getKeyGenerator().nextKey());
+                      }
+                    })
+                .onEvent(
+                    ValueType.WORKFLOW_INSTANCE,
+                    ELEMENT_ACTIVATED,
+                    new TypedRecordProcessor<UnifiedRecordValue>() {
+                      @Override
+                      public void processRecord(
+                          long position,
+                          TypedRecord<UnifiedRecordValue> record,
+                          TypedResponseWriter responseWriter,
+                          TypedStreamWriter streamWriter,
+                          Consumer<SideEffectProducer> sideEffect) {
+                        generatedKeys.add(state.getKeyGenerator().nextKey());
+                        processLatch.countDown();
+                      }
+                    }));
+
+    // then
+    processLatch.await();
+
+    assertThat(reprocessedPositions).containsExactlyElementsOf(writtenPositions);
+
+    // the state changes of all batches are committed
+    final long firstKey = generatedKeys.get(0);
+    assertThat(generatedKeys)
+        .containsExactlyElementsOf(
+            LongStream.rangeClosed(firstKey, firstKey + eventCount)
+                .boxed()
+                .collect(Collectors.toList()));
+  }
 }
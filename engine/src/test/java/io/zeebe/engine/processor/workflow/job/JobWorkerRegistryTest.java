@@ -0,0 +1,102 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.job;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import org.agrona.DirectBuffer;
+import org.junit.Test;
+
+public class JobWorkerRegistryTest {
+
+  private static final DirectBuffer TYPE = wrapString("type");
+
+  private final JobWorkerRegistry registry = new JobWorkerRegistry();
+
+  @Test
+  public void shouldSelectWorkersInTurn() {
+    // given
+    final JobWorkerStream first = newStream(TYPE, 2);
+    final JobWorkerStream second = newStream(TYPE, 2);
+    registry.addStream(first);
+    registry.addStream(second);
+
+    // when
+    final JobWorkerStream firstSelected = registry.acquireStream(TYPE);
+    final JobWorkerStream secondSelected = registry.acquireStream(TYPE);
+
+    // then
+    assertThat(firstSelected).isNotSameAs(secondSelected);
+    assertThat(first.getCapacity()).isEqualTo(1);
+    assertThat(second.getCapacity()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldSkipWorkersWithoutCapacity() {
+    // given
+    final JobWorkerStream exhausted = newStream(TYPE, 0);
+    final JobWorkerStream available = newStream(TYPE, 2);
+    registry.addStream(exhausted);
+    registry.addStream(available);
+
+    // when - then
+    assertThat(registry.acquireStream(TYPE)).isSameAs(available);
+    assertThat(registry.acquireStream(TYPE)).isSameAs(available);
+    assertThat(registry.acquireStream(TYPE)).isNull();
+  }
+
+  @Test
+  public void shouldOnlySelectWorkersOfType() {
+    // given
+    registry.addStream(newStream(wrapString("other"), 1));
+
+    // when - then
+    assertThat(registry.acquireStream(TYPE)).isNull();
+  }
+
+  @Test
+  public void shouldNotSelectRemovedWorker() {
+    // given
+    final JobWorkerStream stream = newStream(TYPE, 1);
+    registry.addStream(stream);
+
+    // when
+    registry.removeStream(stream);
+
+    // then
+    assertThat(registry.acquireStream(TYPE)).isNull();
+    assertThat(stream.getCapacity()).isEqualTo(1);
+  }
+
+  private static JobWorkerStream newStream(DirectBuffer type, int capacity) {
+    final JobWorkerStream stream =
+        new JobWorkerStream(
+            type,
+            wrapString("worker"),
+            1_000L,
+            Collections.emptyList(),
+            Integer.MAX_VALUE,
+            (key, job) -> {});
+    if (capacity > 0) {
+      stream.addCapacity(capacity);
+    }
+    return stream;
+  }
+}
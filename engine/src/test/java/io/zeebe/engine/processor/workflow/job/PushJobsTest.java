@@ -0,0 +1,241 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.job;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import io.zeebe.engine.util.EngineRule;
+import io.zeebe.model.bpmn.Bpmn;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.record.Assertions;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.protocol.record.value.JobBatchRecordValue;
+import io.zeebe.protocol.record.value.JobRecordValue;
+import io.zeebe.test.util.Strings;
+import io.zeebe.test.util.record.RecordingExporter;
+import io.zeebe.test.util.record.RecordingExporterTestWatcher;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PushJobsTest {
+
+  private static final String PROCESS_ID = "process";
+  private static final long TIMEOUT = Duration.ofMinutes(5).toMillis();
+
+  @ClassRule public static final EngineRule ENGINE = EngineRule.singlePartition();
+
+  @Rule
+  public final RecordingExporterTestWatcher recordingExporterTestWatcher =
+      new RecordingExporterTestWatcher();
+
+  private final List<JobWorkerStream> streams = new ArrayList<>();
+  private final Map<String, List<JobRecord>> pushedJobs = new ConcurrentHashMap<>();
+
+  private String taskType;
+
+  @Before
+  public void setup() {
+    taskType = Strings.newRandomValidBpmnId();
+  }
+
+  @After
+  public void tearDown() {
+    streams.forEach(ENGINE.getJobWorkerRegistry()::removeStream);
+  }
+
+  @Test
+  public void shouldPushCreatedJobToWorker() {
+    // given
+    registerWorker("worker", 1);
+
+    // when
+    final long workflowInstanceKey = createJobWithVariables("{'foo':'bar'}");
+
+    // then
+    final Record<JobRecordValue> created =
+        RecordingExporter.jobRecords(JobIntent.CREATED).withType(taskType).getFirst();
+    final Record<JobRecordValue> activated =
+        RecordingExporter.jobRecords(JobIntent.ACTIVATED).withType(taskType).getFirst();
+    final Record<JobRecordValue> createCommand =
+        RecordingExporter.jobRecords(JobIntent.CREATE).withType(taskType).getFirst();
+
+    assertThat(activated.getKey()).isEqualTo(created.getKey());
+    assertThat(created.getSourceRecordPosition()).isEqualTo(createCommand.getPosition());
+    assertThat(activated.getSourceRecordPosition()).isEqualTo(createCommand.getPosition());
+    assertThat(activated.getPosition()).isGreaterThan(created.getPosition());
+    Assertions.assertThat(activated.getValue())
+        .hasWorker("worker")
+        .hasWorkflowInstanceKey(workflowInstanceKey)
+        .hasDeadline(createCommand.getTimestamp() + TIMEOUT);
+    assertThat(activated.getValue().getVariables()).containsExactly(entry("foo", "bar"));
+
+    waitUntil(() -> pushedJobs.containsKey("worker"));
+    final List<JobRecord> jobs = pushedJobs.get("worker");
+    assertThat(jobs).hasSize(1);
+    assertThat(jobs.get(0).getWorkflowInstanceKey()).isEqualTo(workflowInstanceKey);
+    assertThat(jobs.get(0).getVariables()).containsExactly(entry("foo", "bar"));
+  }
+
+  @Test
+  public void shouldNotActivatePushedJobAgain() {
+    // given
+    registerWorker("worker", 1);
+    createJobWithVariables("{}");
+    waitUntil(() -> pushedJobs.containsKey("worker"));
+
+    // when
+    final Record<JobBatchRecordValue> batch = ENGINE.jobs().withType(taskType).activate();
+
+    // then
+    assertThat(batch.getValue().getJobs()).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepJobActivatableIfNoWorkerHasCapacity() {
+    // given
+    registerWorker("worker", 0);
+    final long workflowInstanceKey = createJobWithVariables("{}");
+
+    // when
+    final Record<JobBatchRecordValue> batch = ENGINE.jobs().withType(taskType).activate();
+
+    // then
+    assertThat(batch.getValue().getJobs())
+        .extracting(JobRecordValue::getWorkflowInstanceKey)
+        .containsExactly(workflowInstanceKey);
+    assertThat(pushedJobs).isEmpty();
+  }
+
+  @Test
+  public void shouldKeepJobActivatableIfNoWorkerIsRegistered() {
+    // given
+    final long workflowInstanceKey = createJobWithVariables("{}");
+
+    // when
+    final Record<JobBatchRecordValue> batch = ENGINE.jobs().withType(taskType).activate();
+
+    // then
+    assertThat(batch.getValue().getJobs())
+        .extracting(JobRecordValue::getWorkflowInstanceKey)
+        .containsExactly(workflowInstanceKey);
+  }
+
+  @Test
+  public void shouldKeepJobActivatableIfItIsTooLargeToPush() {
+    // given
+    final JobWorkerStream stream = registerWorker("worker", 1, 1);
+    final long workflowInstanceKey = createJobWithVariables("{'foo':'bar'}");
+
+    // when
+    final Record<JobBatchRecordValue> batch = ENGINE.jobs().withType(taskType).activate();
+
+    // then
+    assertThat(batch.getValue().getJobs())
+        .extracting(JobRecordValue::getWorkflowInstanceKey)
+        .containsExactly(workflowInstanceKey);
+    assertThat(pushedJobs).isEmpty();
+    assertThat(stream.getCapacity()).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldSpreadJobsOverWorkers() {
+    // given
+    registerWorker("a", 2);
+    registerWorker("b", 2);
+
+    // when
+    for (int i = 0; i < 4; i++) {
+      createJobWithVariables("{}");
+    }
+
+    // then
+    waitUntil(() -> pushedJobs.values().stream().mapToInt(List::size).sum() == 4);
+    assertThat(pushedJobs.get("a")).hasSize(2);
+    assertThat(pushedJobs.get("b")).hasSize(2);
+    assertThat(
+            RecordingExporter.jobRecords(JobIntent.ACTIVATED)
+                .withType(taskType)
+                .limit(4)
+                .map(r -> r.getValue().getWorker())
+                .collect(Collectors.toList()))
+        .containsOnly("a", "b");
+  }
+
+  private void registerWorker(String name, int capacity) {
+    registerWorker(name, capacity, Integer.MAX_VALUE);
+  }
+
+  private JobWorkerStream registerWorker(String name, int capacity, int maxJobLength) {
+    final JobWorkerStream stream =
+        new JobWorkerStream(
+            wrapString(taskType),
+            wrapString(name),
+            TIMEOUT,
+            Collections.emptyList(),
+            maxJobLength,
+            (key, job) -> {
+              final UnsafeBuffer buffer = new UnsafeBuffer(new byte[job.getLength()]);
+              job.write(buffer, 0);
+              final JobRecord copy = new JobRecord();
+              copy.wrap(buffer, 0, buffer.capacity());
+              pushedJobs.computeIfAbsent(name, n -> new CopyOnWriteArrayList<>()).add(copy);
+            });
+    if (capacity > 0) {
+      stream.addCapacity(capacity);
+    }
+
+    ENGINE.getJobWorkerRegistry().addStream(stream);
+    streams.add(stream);
+    return stream;
+  }
+
+  private long createJobWithVariables(String variables) {
+    ENGINE
+        .deployment()
+        .withXmlResource(
+            PROCESS_ID,
+            Bpmn.createExecutableProcess(PROCESS_ID)
+                .startEvent()
+                .serviceTask("task", b -> b.zeebeTaskType(taskType))
+                .endEvent()
+                .done())
+        .deploy();
+
+    return ENGINE
+        .workflowInstance()
+        .ofBpmnProcessId(PROCESS_ID)
+        .withVariables(variables)
+        .create();
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.engine.util.EngineRule;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.intent.MessageIntent;
+import io.zeebe.protocol.record.value.MessageBatchRecordValue;
+import io.zeebe.protocol.record.value.MessageRecordValue;
+import io.zeebe.test.util.record.RecordingExporter;
+import io.zeebe.test.util.record.RecordingExporterTestWatcher;
+import java.util.List;
+import java.util.stream.Collectors;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class PublishMessageBatchTest {
+
+  @ClassRule public static final EngineRule ENGINE_RULE = EngineRule.singlePartition();
+
+  @Rule
+  public final RecordingExporterTestWatcher recordingExporterTestWatcher =
+      new RecordingExporterTestWatcher();
+
+  @Test
+  public void shouldPublishMessagesOfBatch() {
+    // when
+    final Record<MessageBatchRecordValue> batchRecord =
+        ENGINE_RULE
+            .messageBatch()
+            .withMessage("order canceled", "order-1", "", 1_000L)
+            .withMessage("order shipped", "order-2", "", 0L)
+            .publish();
+
+    // then
+    final List<Record<MessageRecordValue>> publishedRecords =
+        RecordingExporter.messageRecords(MessageIntent.PUBLISHED).limit(2).asList();
+
+    assertThat(batchRecord.getValue().getMessageKeys())
+        .containsExactlyElementsOf(
+            publishedRecords.stream().map(Record::getKey).collect(Collectors.toList()));
+    assertThat(batchRecord.getValue().getRejectionTypes())
+        .containsExactly(RejectionType.NULL_VAL, RejectionType.NULL_VAL);
+    assertThat(publishedRecords)
+        .extracting(r -> r.getValue().getCorrelationKey())
+        .containsExactly("order-1", "order-2");
+
+    assertThat(
+            RecordingExporter.messageRecords(MessageIntent.DELETED)
+                .withCorrelationKey("order-2")
+                .getFirst()
+                .getKey())
+        .isEqualTo(publishedRecords.get(1).getKey());
+  }
+
+  @Test
+  public void shouldRejectMessagesWithSameIdOfBatch() {
+    // given
+    ENGINE_RULE
+        .message()
+        .withName("order canceled")
+        .withCorrelationKey("order-3")
+        .withId("msg-1")
+        .publish();
+
+    // when
+    final Record<MessageBatchRecordValue> batchRecord =
+        ENGINE_RULE
+            .messageBatch()
+            .withMessage("order canceled", "order-3", "msg-1", 1_000L)
+            .withMessage("order canceled", "order-3", "msg-2", 1_000L)
+            .withMessage("order canceled", "order-3", "msg-2", 1_000L)
+            .publish();
+
+    // then
+    final MessageBatchRecordValue results = batchRecord.getValue();
+    assertThat(results.getRejectionTypes())
+        .containsExactly(
+            RejectionType.ALREADY_EXISTS, RejectionType.NULL_VAL, RejectionType.ALREADY_EXISTS);
+    assertThat(results.getMessageKeys().get(0)).isEqualTo(-1L);
+    assertThat(results.getMessageKeys().get(1)).isGreaterThan(0L);
+    assertThat(results.getRejectionReasons().get(2))
+        .isEqualTo(
+            "Expected to publish a new message with id 'msg-2', but a message with that id was already published");
+  }
+}
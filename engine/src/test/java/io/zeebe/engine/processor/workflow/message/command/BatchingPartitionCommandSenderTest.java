@@ -0,0 +1,202 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.processor.workflow.message.command;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import io.zeebe.util.buffer.BufferWriter;
+import io.zeebe.util.sched.ActorControl;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Int2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+public class BatchingPartitionCommandSenderTest {
+
+  private final Int2ObjectHashMap<List<byte[]>> sentMessages = new Int2ObjectHashMap<>();
+  private final CloseMessageSubscriptionCommand command = new CloseMessageSubscriptionCommand();
+
+  @Mock private ActorControl actor;
+
+  private BatchingPartitionCommandSender sender;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+
+    sender = new BatchingPartitionCommandSender(this::recordSentMessage, actor);
+  }
+
+  @Test
+  public void shouldCoalesceCommandsPerPartition() {
+    // given
+    sendCommand(1, 10L);
+    sendCommand(1, 11L);
+    sendCommand(1, 12L);
+    sendCommand(2, 20L);
+
+    assertThat(sentMessages).isEmpty();
+
+    // when
+    runScheduledFlush();
+
+    // then
+    assertThat(sentMessages.get(1)).hasSize(1);
+    assertThat(readWorkflowInstanceKeys(sentMessages.get(1).get(0))).containsExactly(10L, 11L, 12L);
+
+    assertThat(sentMessages.get(2)).hasSize(1);
+    assertThat(readWorkflowInstanceKeys(sentMessages.get(2).get(0))).containsExactly(20L);
+  }
+
+  @Test
+  public void shouldSendSingleCommandWithoutBatch() {
+    // given
+    sendCommand(1, 10L);
+
+    // when
+    runScheduledFlush();
+
+    // then
+    final byte[] message = sentMessages.get(1).get(0);
+    assertThat(new SubscriptionCommandBatch().tryWrap(new UnsafeBuffer(message))).isFalse();
+    assertThat(command.tryWrap(new UnsafeBuffer(message))).isTrue();
+  }
+
+  @Test
+  public void shouldSendBatchIfFull() {
+    // when
+    for (int i = 0; i <= BatchingPartitionCommandSender.MAX_BATCH_COMMAND_COUNT; i++) {
+      sendCommand(1, i);
+    }
+
+    // then
+    assertThat(sentMessages.get(1)).hasSize(1);
+    assertThat(readWorkflowInstanceKeys(sentMessages.get(1).get(0)))
+        .hasSize(BatchingPartitionCommandSender.MAX_BATCH_COMMAND_COUNT);
+
+    // when
+    runScheduledFlush();
+
+    // then
+    assertThat(sentMessages.get(1)).hasSize(2);
+    assertThat(readWorkflowInstanceKeys(sentMessages.get(1).get(1)))
+        .containsExactly((long) BatchingPartitionCommandSender.MAX_BATCH_COMMAND_COUNT);
+  }
+
+  @Test
+  public void shouldSendPendingCommandsBeforeLargeCommand() {
+    // given
+    sendCommand(1, 10L);
+    sendCommand(1, 11L);
+    sendCommand(2, 20L);
+
+    // when
+    final char[] largeMessageName = new char[BatchingPartitionCommandSender.MAX_BATCH_LENGTH];
+    Arrays.fill(largeMessageName, 'a');
+    sendCommand(1, 12L, new String(largeMessageName));
+
+    // then
+    assertThat(sentMessages.get(1)).hasSize(2);
+    assertThat(readWorkflowInstanceKeys(sentMessages.get(1).get(0))).containsExactly(10L, 11L);
+    assertThat(readWorkflowInstanceKeys(sentMessages.get(1).get(1))).containsExactly(12L);
+    assertThat(sentMessages.get(2)).isNull();
+
+    // when
+    runScheduledFlush();
+
+    // then
+    assertThat(sentMessages.get(1)).hasSize(2);
+    assertThat(readWorkflowInstanceKeys(sentMessages.get(2).get(0))).containsExactly(20L);
+  }
+
+  @Test
+  public void shouldScheduleFlushOnce() {
+    // when
+    sendCommand(1, 10L);
+    sendCommand(2, 20L);
+    runScheduledFlush();
+    sendCommand(1, 11L);
+
+    // then
+    verify(actor, times(2)).runDelayed(eq(BatchingPartitionCommandSender.FLUSH_DELAY), any());
+  }
+
+  private void sendCommand(int partitionId, long workflowInstanceKey) {
+    sendCommand(partitionId, workflowInstanceKey, "message");
+  }
+
+  private void sendCommand(int partitionId, long workflowInstanceKey, String messageName) {
+    command.setSubscriptionPartitionId(partitionId);
+    command.setWorkflowInstanceKey(workflowInstanceKey);
+    command.setElementInstanceKey(workflowInstanceKey + 1);
+    command.setMessageName(wrapString(messageName));
+
+    sender.sendCommand(partitionId, command);
+  }
+
+  private void runScheduledFlush() {
+    final ArgumentCaptor<Runnable> flushCaptor = ArgumentCaptor.forClass(Runnable.class);
+    verify(actor, times(1)).runDelayed(any(), flushCaptor.capture());
+
+    flushCaptor.getValue().run();
+  }
+
+  private boolean recordSentMessage(int receiverPartitionId, BufferWriter message) {
+    final byte[] bytes = new byte[message.getLength()];
+    message.write(new UnsafeBuffer(bytes), 0);
+
+    sentMessages.computeIfAbsent(receiverPartitionId, p -> new ArrayList<>()).add(bytes);
+    return true;
+  }
+
+  private List<Long> readWorkflowInstanceKeys(byte[] message) {
+    final DirectBuffer buffer = new UnsafeBuffer(message);
+    final List<Long> workflowInstanceKeys = new ArrayList<>();
+
+    final SubscriptionCommandBatch batch = new SubscriptionCommandBatch();
+    if (batch.tryWrap(buffer)) {
+      batch.wrap(buffer);
+      batch.forEachCommand(
+          (commandBuffer, offset, length) -> {
+            final CloseMessageSubscriptionCommand receivedCommand =
+                new CloseMessageSubscriptionCommand();
+            receivedCommand.wrap(commandBuffer, offset, length);
+            workflowInstanceKeys.add(receivedCommand.getWorkflowInstanceKey());
+          });
+    } else {
+      final CloseMessageSubscriptionCommand receivedCommand =
+          new CloseMessageSubscriptionCommand();
+      receivedCommand.wrap(buffer);
+      workflowInstanceKeys.add(receivedCommand.getWorkflowInstanceKey());
+    }
+
+    return workflowInstanceKeys;
+  }
+}
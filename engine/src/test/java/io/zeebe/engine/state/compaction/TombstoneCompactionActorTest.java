@@ -0,0 +1,99 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.compaction;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.engine.state.ZbColumnFamilies;
+import io.zeebe.protocol.Protocol;
+import java.time.Duration;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+
+public class TombstoneCompactionActorTest {
+
+  private static final long MIN_DELETED_ENTRIES = 1_000;
+  private static final double DELETED_ENTRIES_RATIO = 0.5;
+
+  @Mock private ZeebeDb<ZbColumnFamilies> zeebeDb;
+
+  private TombstoneCompactionActor compactionActor;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+
+    compactionActor =
+        new TombstoneCompactionActor(
+            Protocol.DEPLOYMENT_PARTITION,
+            zeebeDb,
+            Duration.ofMinutes(1),
+            MIN_DELETED_ENTRIES,
+            DELETED_ENTRIES_RATIO);
+  }
+
+  @Test
+  public void shouldCompactColumnFamilyWithMostDeletedEntries() {
+    // given
+    givenColumnFamily(ZbColumnFamilies.JOB_DEADLINES, 5_000, 100);
+    givenColumnFamily(ZbColumnFamilies.TIMER_DUE_DATES, 2_000, 100);
+
+    // when
+    compactionActor.compactColumnFamilies();
+
+    // then
+    verify(zeebeDb).compact(ZbColumnFamilies.JOB_DEADLINES);
+    verify(zeebeDb, never()).compact(ZbColumnFamilies.TIMER_DUE_DATES);
+  }
+
+  @Test
+  public void shouldNotCompactWithLessThanMinDeletedEntries() {
+    // given
+    givenColumnFamily(ZbColumnFamilies.JOB_ACTIVATABLE, MIN_DELETED_ENTRIES - 1, 0);
+
+    // when
+    compactionActor.compactColumnFamilies();
+
+    // then
+    verify(zeebeDb, never()).compact(any());
+  }
+
+  @Test
+  public void shouldNotCompactIfDeletedEntriesAreBelowRatio() {
+    // given
+    givenColumnFamily(ZbColumnFamilies.ELEMENT_INSTANCE_KEY, 5_000, 10_000);
+
+    // when
+    compactionActor.compactColumnFamilies();
+
+    // then
+    verify(zeebeDb, never()).compact(any());
+  }
+
+  private void givenColumnFamily(
+      ZbColumnFamilies columnFamily, long deletedEntries, long estimatedEntries) {
+    when(zeebeDb.getDeletedEntryCount(columnFamily)).thenReturn(deletedEntries);
+    when(zeebeDb.getEstimatedEntryCount(columnFamily)).thenReturn(estimatedEntries);
+  }
+}
@@ -20,18 +20,31 @@ package io.zeebe.engine.state.deployment;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.DbContext;
+import io.zeebe.db.impl.DbBuffer;
+import io.zeebe.db.impl.DbCompositeKey;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.DbString;
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.processor.KeyGenerator;
 import io.zeebe.engine.processor.workflow.deployment.model.element.AbstractFlowElement;
 import io.zeebe.engine.processor.workflow.deployment.model.element.ExecutableWorkflow;
+import io.zeebe.engine.state.ZbColumnFamilies;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.util.ZeebeStateRule;
 import io.zeebe.model.bpmn.Bpmn;
 import io.zeebe.model.bpmn.BpmnModelInstance;
 import io.zeebe.protocol.Protocol;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
+import io.zeebe.protocol.impl.record.value.deployment.DeploymentResource;
+import io.zeebe.protocol.impl.record.value.deployment.Workflow;
 import io.zeebe.protocol.record.value.deployment.ResourceType;
 import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Rule;
@@ -434,6 +447,187 @@ public class WorkflowStateTest {
     Assertions.assertThat(latestWorkflow.getVersion()).isEqualTo(2);
   }
 
+  @Test
+  public void shouldEvictLeastRecentlyUsedWorkflow() {
+    // given
+    final WorkflowPersistenceCache cache =
+        new WorkflowPersistenceCache(
+            stateRule.getDb(), stateRule.getDb().createContext(), 1, Long.MAX_VALUE);
+    cache.putDeployment(1, creatingDeploymentRecord(zeebeState));
+    cache.putDeployment(2, creatingDeploymentRecord(zeebeState, "otherId"));
+
+    final DeployedWorkflow firstWorkflow = cache.getWorkflowByKey(FIRST_WORKFLOW_KEY);
+    final DeployedWorkflow secondWorkflow = cache.getWorkflowByKey(FIRST_WORKFLOW_KEY + 1);
+
+    // when
+    final DeployedWorkflow reloadedFirstWorkflow = cache.getWorkflowByKey(FIRST_WORKFLOW_KEY);
+    final DeployedWorkflow reloadedSecondWorkflow =
+        cache.getWorkflowByProcessIdAndVersion(wrapString("otherId"), 1);
+
+    // then
+    assertThat(reloadedFirstWorkflow).isNotSameAs(firstWorkflow);
+    assertThat(reloadedFirstWorkflow.getKey()).isEqualTo(FIRST_WORKFLOW_KEY);
+    assertThat(reloadedFirstWorkflow.getBpmnProcessId()).isEqualTo(wrapString("processId"));
+    assertThat(reloadedSecondWorkflow).isNotSameAs(secondWorkflow);
+    assertThat(reloadedSecondWorkflow.getBpmnProcessId()).isEqualTo(wrapString("otherId"));
+  }
+
+  @Test
+  public void shouldKeepRecentlyUsedWorkflowInCache() {
+    // given
+    final WorkflowPersistenceCache cache =
+        new WorkflowPersistenceCache(
+            stateRule.getDb(), stateRule.getDb().createContext(), 2, Long.MAX_VALUE);
+    cache.putDeployment(1, creatingDeploymentRecord(zeebeState));
+    cache.putDeployment(2, creatingDeploymentRecord(zeebeState, "otherId"));
+    cache.putDeployment(3, creatingDeploymentRecord(zeebeState, "thirdId"));
+
+    final DeployedWorkflow firstWorkflow = cache.getWorkflowByKey(FIRST_WORKFLOW_KEY);
+    cache.getWorkflowByKey(FIRST_WORKFLOW_KEY + 1);
+    cache.getWorkflowByKey(FIRST_WORKFLOW_KEY);
+
+    // when
+    cache.getWorkflowByKey(FIRST_WORKFLOW_KEY + 2);
+
+    // then
+    assertThat(cache.getWorkflowByKey(FIRST_WORKFLOW_KEY)).isSameAs(firstWorkflow);
+  }
+
+  @Test
+  public void shouldNotEvictCachedWorkflowsWhenListingWorkflows() {
+    // given
+    final WorkflowPersistenceCache cache =
+        new WorkflowPersistenceCache(
+            stateRule.getDb(), stateRule.getDb().createContext(), 1, Long.MAX_VALUE);
+    cache.putDeployment(1, creatingDeploymentRecord(zeebeState));
+    cache.putDeployment(2, creatingDeploymentRecord(zeebeState, "otherId"));
+    cache.putDeployment(3, creatingDeploymentRecord(zeebeState, "otherId"));
+
+    final DeployedWorkflow cachedWorkflow = cache.getWorkflowByKey(FIRST_WORKFLOW_KEY);
+
+    // when
+    final Collection<DeployedWorkflow> workflows = cache.getWorkflows();
+    final Collection<DeployedWorkflow> otherWorkflows =
+        cache.getWorkflowsByBpmnProcessId(wrapString("otherId"));
+
+    // then
+    assertThat(workflows).hasSize(3).contains(cachedWorkflow);
+    assertThat(otherWorkflows).hasSize(2);
+    assertThat(cache.getWorkflowByKey(FIRST_WORKFLOW_KEY)).isSameAs(cachedWorkflow);
+  }
+
+  @Test
+  public void shouldRevertLatestVersionOnRollback() throws Exception {
+    // given
+    final DbContext dbContext = stateRule.getDb().createContext();
+    final WorkflowPersistenceCache cache =
+        new WorkflowPersistenceCache(stateRule.getDb(), dbContext);
+    cache.putDeployment(1, creatingDeploymentRecord(zeebeState, "processId", 1));
+
+    final DeploymentRecord secondDeployment = creatingDeploymentRecord(zeebeState, "processId", 2);
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> cache.putDeployment(2, secondDeployment));
+
+    // when
+    transaction.rollback();
+
+    // then
+    final DeployedWorkflow latestWorkflow =
+        cache.getLatestWorkflowVersionByProcessId(wrapString("processId"));
+    assertThat(latestWorkflow.getVersion()).isEqualTo(1);
+    assertThat(cache.putDeployment(2, secondDeployment)).isTrue();
+  }
+
+  @Test
+  public void shouldStoreResourceOncePerContent() {
+    // given
+    final DeploymentRecord firstDeployment = creatingDeploymentRecord(zeebeState, "processId", 1);
+    final DeploymentRecord secondDeployment = creatingDeploymentRecord(zeebeState, "processId", 2);
+
+    // when
+    workflowState.putDeployment(1, firstDeployment);
+    workflowState.putDeployment(2, secondDeployment);
+
+    // then
+    final List<DirectBuffer> storedResources = new ArrayList<>();
+    stateRule
+        .getDb()
+        .createColumnFamily(
+            ZbColumnFamilies.WORKFLOW_CACHE_RESOURCES,
+            stateRule.getDb().createContext(),
+            new DbString(),
+            new DbBuffer())
+        .forEach(resource -> storedResources.add(BufferUtil.cloneBuffer(resource.getValue())));
+
+    assertThat(storedResources)
+        .containsExactly(firstDeployment.resources().iterator().next().getResourceBuffer());
+
+    final DeployedWorkflow firstWorkflow =
+        workflowState.getWorkflowByProcessIdAndVersion(wrapString("processId"), 1);
+    final DeployedWorkflow secondWorkflow =
+        workflowState.getWorkflowByProcessIdAndVersion(wrapString("processId"), 2);
+    assertThat(firstWorkflow.getResource()).isEqualTo(secondWorkflow.getResource());
+    assertThat(secondWorkflow.getWorkflow()).isNotNull();
+  }
+
+  @Test
+  public void shouldReadAndMigrateWorkflowWithInlineResource() {
+    // given
+    final DeploymentRecord deployment = creatingDeploymentRecord(zeebeState);
+    final DeploymentResource resource = deployment.resources().iterator().next();
+    final Workflow workflow = deployment.workflows().iterator().next();
+    putWorkflowWithInlineResource(resource, workflow);
+
+    // when
+    final DeployedWorkflow workflowBeforeMigration =
+        new WorkflowPersistenceCache(stateRule.getDb(), stateRule.getDb().createContext())
+            .getWorkflowByKey(workflow.getKey());
+    final int migratedWorkflows = workflowState.migrateInlineResources();
+
+    // then
+    assertThat(workflowBeforeMigration.getResource()).isEqualTo(resource.getResourceBuffer());
+    assertThat(workflowBeforeMigration.getWorkflow()).isNotNull();
+
+    assertThat(migratedWorkflows).isEqualTo(1);
+    assertThat(workflowState.migrateInlineResources()).isZero();
+
+    final DeployedWorkflow workflowAfterMigration =
+        new WorkflowPersistenceCache(stateRule.getDb(), stateRule.getDb().createContext())
+            .getWorkflowByProcessIdAndVersion(wrapString("processId"), workflow.getVersion());
+    assertThat(workflowAfterMigration.getKey()).isEqualTo(workflow.getKey());
+    assertThat(workflowAfterMigration.getResource()).isEqualTo(resource.getResourceBuffer());
+    assertThat(workflowAfterMigration.getWorkflow()).isNotNull();
+  }
+
+  private void putWorkflowWithInlineResource(DeploymentResource resource, Workflow workflow) {
+    // without a digest, the resource is written in place of it, as before
+    final PersistedWorkflow persistedWorkflow = new PersistedWorkflow();
+    persistedWorkflow.wrap(resource, workflow, workflow.getKey(), new UnsafeBuffer(0, 0));
+
+    final DbContext dbContext = stateRule.getDb().createContext();
+    final DbLong workflowKey = new DbLong();
+    workflowKey.wrapLong(workflow.getKey());
+    stateRule
+        .getDb()
+        .createColumnFamily(
+            ZbColumnFamilies.WORKFLOW_CACHE, dbContext, workflowKey, new PersistedWorkflow())
+        .put(workflowKey, persistedWorkflow);
+
+    final DbString processId = new DbString();
+    processId.wrapBuffer(workflow.getBpmnProcessIdBuffer());
+    final DbLong version = new DbLong();
+    version.wrapLong(workflow.getVersion());
+    final DbCompositeKey<DbString, DbLong> idAndVersion = new DbCompositeKey<>(processId, version);
+    stateRule
+        .getDb()
+        .createColumnFamily(
+            ZbColumnFamilies.WORKFLOW_CACHE_BY_ID_AND_VERSION,
+            dbContext,
+            idAndVersion,
+            new PersistedWorkflow())
+        .put(idAndVersion, persistedWorkflow);
+  }
+
   public static DeploymentRecord creatingDeploymentRecord(ZeebeState zeebeState) {
     return creatingDeploymentRecord(zeebeState, "processId");
   }
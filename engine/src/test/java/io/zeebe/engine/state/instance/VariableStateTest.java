@@ -23,6 +23,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.processor.TypedRecord;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.state.instance.VariablesState.VariableListener;
@@ -753,6 +755,49 @@ public class VariableStateTest {
     }
   }
 
+  @Test
+  public void shouldShareLargeValuesBetweenScopes() {
+    // given
+    declareScope(parent);
+    declareScope(parent, child);
+
+    final String largeText = String.join("", Collections.nCopies(2 * 1024, "a"));
+    final DirectBuffer largeValue = MsgPackUtil.asMsgPack("x", largeText);
+    setVariableLocal(parent, wrapString("a"), largeValue);
+    setVariableLocal(child, wrapString("b"), largeValue);
+
+    // when
+    elementInstanceState.removeInstance(child);
+    setVariableLocal(parent, wrapString("a"), largeValue);
+
+    // then
+    final DirectBuffer value = variablesState.getVariableLocal(parent, wrapString("a"));
+    assertThat(BufferUtil.equals(value, largeValue)).isTrue();
+    assertThat(listener.created).hasSize(2);
+    assertThat(listener.updated).isEmpty();
+  }
+
+  @Test
+  public void shouldForgetCreatedScopeOnRollback() throws Exception {
+    // given
+    final DbContext dbContext = stateRule.getDb().createContext();
+    final VariablesState state =
+        new VariablesState(
+            stateRule.getDb(), dbContext, stateRule.getZeebeState().getKeyGenerator());
+    state.createScope(parent, VariablesState.NO_PARENT);
+    state.setVariablesLocalFromDocument(parent, WORKFLOW_KEY, MsgPackUtil.asMsgPack("a", 1));
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> state.createScope(child, parent));
+
+    // when
+    transaction.rollback();
+
+    // then
+    MsgPackUtil.assertEquality(state.getVariablesAsDocument(child), "{}");
+    state.removeScope(parent);
+  }
+
   private void setVariablesFromDocument(long scope, DirectBuffer document) {
     variablesState.setVariablesFromDocument(scope, WORKFLOW_KEY, document);
   }
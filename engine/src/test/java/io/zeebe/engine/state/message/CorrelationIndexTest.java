@@ -0,0 +1,240 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.message;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDbTransaction;
+import io.zeebe.engine.metrics.MessageCorrelationMetrics;
+import io.zeebe.engine.state.message.CorrelationIndex.EntryVisitor;
+import io.zeebe.engine.util.ZeebeStateRule;
+import java.util.function.Consumer;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.LongArrayList;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class CorrelationIndexTest {
+
+  private static final DirectBuffer NAME = wrapString("name");
+  private static final DirectBuffer OTHER_NAME = wrapString("otherName");
+  private static final DirectBuffer CORRELATION_KEY = wrapString("correlationKey");
+  private static final DirectBuffer OTHER_CORRELATION_KEY = wrapString("otherCorrelationKey");
+
+  @Rule public ZeebeStateRule stateRule = new ZeebeStateRule();
+
+  private final MessageCorrelationMetrics metrics = new MessageCorrelationMetrics(1);
+  private DbContext dbContext;
+
+  @Before
+  public void setUp() {
+    dbContext = stateRule.getDb().createContext();
+  }
+
+  @Test
+  public void shouldReturnNoKeysIfAllEntriesAreIndexed() {
+    // given
+    final CorrelationIndex index = newIndex(100);
+
+    // when
+    final LongArrayList keys = index.lookup(NAME, CORRELATION_KEY);
+
+    // then
+    assertThat(keys).isEmpty();
+  }
+
+  @Test
+  public void shouldMissIfNotBuilt() {
+    // given
+    final CorrelationIndex index = new CorrelationIndex("test", dbContext, metrics, 100);
+    index.add(NAME, CORRELATION_KEY, 1L);
+
+    // when
+    final LongArrayList keys = index.lookup(NAME, CORRELATION_KEY);
+
+    // then
+    assertThat(keys).isNull();
+  }
+
+  @Test
+  public void shouldIndexStoredEntries() {
+    // given
+    final CorrelationIndex index =
+        newIndex(
+            100,
+            visitor -> {
+              visitor.visit(NAME, CORRELATION_KEY, 1L);
+              visitor.visit(NAME, CORRELATION_KEY, 2L);
+              visitor.visit(NAME, OTHER_CORRELATION_KEY, 3L);
+            });
+
+    // when
+    final LongArrayList keys = index.lookup(NAME, CORRELATION_KEY);
+
+    // then
+    assertThat(keys).containsExactly(1L, 2L);
+    assertThat(index.lookup(NAME, OTHER_CORRELATION_KEY)).containsExactly(3L);
+    assertThat(index.lookup(OTHER_NAME, CORRELATION_KEY)).isEmpty();
+    assertThat(index.getSize()).isEqualTo(5);
+  }
+
+  @Test
+  public void shouldReturnAddedKeysInOrder() {
+    // given
+    final CorrelationIndex index = newIndex(100);
+
+    // when
+    index.add(NAME, CORRELATION_KEY, 3L);
+    index.add(NAME, CORRELATION_KEY, 1L);
+    index.add(NAME, CORRELATION_KEY, 2L);
+    index.add(NAME, OTHER_CORRELATION_KEY, 4L);
+
+    // then
+    assertThat(index.lookup(NAME, CORRELATION_KEY)).containsExactly(1L, 2L, 3L);
+    assertThat(index.lookup(NAME, OTHER_CORRELATION_KEY)).containsExactly(4L);
+  }
+
+  @Test
+  public void shouldMissIfStoredEntriesExceedCapacity() {
+    // given
+    final CorrelationIndex index =
+        newIndex(
+            2,
+            visitor -> {
+              visitor.visit(OTHER_NAME, CORRELATION_KEY, 1L);
+              visitor.visit(OTHER_NAME, CORRELATION_KEY, 2L);
+            });
+    index.add(NAME, CORRELATION_KEY, 3L);
+
+    // when
+    final LongArrayList keys = index.lookup(NAME, CORRELATION_KEY);
+
+    // then
+    assertThat(keys).isNull();
+    assertThat(index.lookup(OTHER_NAME, CORRELATION_KEY)).isNull();
+  }
+
+  @Test
+  public void shouldHitAfterEntriesAreIndexed() {
+    // given
+    final CorrelationIndex index =
+        newIndex(
+            4,
+            visitor -> {
+              visitor.visit(NAME, CORRELATION_KEY, 1L);
+              visitor.visit(NAME, CORRELATION_KEY, 2L);
+              visitor.visit(NAME, OTHER_CORRELATION_KEY, 3L);
+            });
+    assertThat(index.lookup(NAME, OTHER_CORRELATION_KEY)).isNull();
+
+    final LongArrayList storedKeys = new LongArrayList();
+    storedKeys.addLong(3L);
+
+    // when
+    index.index(NAME, OTHER_CORRELATION_KEY, storedKeys);
+
+    // then
+    assertThat(index.lookup(NAME, OTHER_CORRELATION_KEY)).containsExactly(3L);
+    assertThat(index.lookup(NAME, CORRELATION_KEY)).isNull();
+  }
+
+  @Test
+  public void shouldRemoveKeys() {
+    // given
+    final CorrelationIndex index =
+        newIndex(100, visitor -> visitor.visit(NAME, OTHER_CORRELATION_KEY, 1L));
+    index.add(NAME, CORRELATION_KEY, 2L);
+    index.add(NAME, CORRELATION_KEY, 3L);
+
+    // when
+    index.remove(NAME, OTHER_CORRELATION_KEY, 1L);
+    index.remove(NAME, CORRELATION_KEY, 2L);
+
+    // then
+    assertThat(index.lookup(NAME, CORRELATION_KEY)).containsExactly(3L);
+    assertThat(index.lookup(NAME, OTHER_CORRELATION_KEY)).isEmpty();
+  }
+
+  @Test
+  public void shouldRemovePairWithoutKeys() {
+    // given
+    final CorrelationIndex index = newIndex(100);
+    index.add(NAME, CORRELATION_KEY, 1L);
+    index.add(NAME, OTHER_CORRELATION_KEY, 2L);
+
+    // when
+    index.remove(NAME, CORRELATION_KEY, 1L);
+    index.remove(NAME, OTHER_CORRELATION_KEY, 2L);
+
+    // then
+    assertThat(index.getSize()).isZero();
+    assertThat(index.lookup(NAME, CORRELATION_KEY)).isEmpty();
+  }
+
+  @Test
+  public void shouldEvictLeastRecentlyUsedPair() {
+    // given
+    final CorrelationIndex index = newIndex(4);
+    index.add(NAME, CORRELATION_KEY, 1L);
+    index.add(NAME, OTHER_CORRELATION_KEY, 2L);
+
+    // when
+    index.lookup(NAME, CORRELATION_KEY);
+    index.add(OTHER_NAME, CORRELATION_KEY, 3L);
+
+    // then
+    assertThat(index.lookup(NAME, OTHER_CORRELATION_KEY)).isNull();
+    assertThat(index.lookup(NAME, CORRELATION_KEY)).containsExactly(1L);
+    assertThat(index.lookup(OTHER_NAME, CORRELATION_KEY)).containsExactly(3L);
+  }
+
+  @Test
+  public void shouldRevertChangesOnRollback() throws Exception {
+    // given
+    final CorrelationIndex index = newIndex(100);
+    index.add(NAME, CORRELATION_KEY, 1L);
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(
+        () -> {
+          index.add(NAME, CORRELATION_KEY, 2L);
+          index.remove(NAME, CORRELATION_KEY, 1L);
+          index.add(NAME, OTHER_CORRELATION_KEY, 3L);
+        });
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(index.lookup(NAME, CORRELATION_KEY)).containsExactly(1L);
+    assertThat(index.lookup(NAME, OTHER_CORRELATION_KEY)).isEmpty();
+  }
+
+  private CorrelationIndex newIndex(int capacity) {
+    return newIndex(capacity, visitor -> {});
+  }
+
+  private CorrelationIndex newIndex(int capacity, Consumer<EntryVisitor> storedEntries) {
+    final CorrelationIndex index = new CorrelationIndex("test", dbContext, metrics, capacity);
+    index.build(storedEntries);
+    return index;
+  }
+}
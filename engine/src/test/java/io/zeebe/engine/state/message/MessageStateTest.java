@@ -20,6 +20,8 @@ package io.zeebe.engine.state.message;
 import static io.zeebe.util.buffer.BufferUtil.wrapString;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.DbContext;
+import io.zeebe.db.ZeebeDbTransaction;
 import io.zeebe.engine.state.ZeebeState;
 import io.zeebe.engine.util.ZeebeStateRule;
 import io.zeebe.util.sched.clock.ActorClock;
@@ -397,6 +399,100 @@ public class MessageStateTest {
     assertThat(messageState.existMessageCorrelation(messageKey, workflowInstanceKey)).isFalse();
   }
 
+  @Test
+  public void shouldVisitMessagesWhichWereStoredBefore() {
+    // given
+    messageState.put(createMessage(1L, "name", "correlationKey"));
+    messageState.put(createMessage(2L, "name", "otherCorrelationKey"));
+
+    final MessageState recoveredState =
+        new MessageState(stateRule.getDb(), stateRule.getDb().createContext(), 1);
+
+    // when
+    recoveredState.put(createMessage(3L, "name", "correlationKey"));
+
+    // then
+    final List<Long> keys = new ArrayList<>();
+    recoveredState.visitMessages(
+        wrapString("name"), wrapString("correlationKey"), m -> keys.add(m.getKey()));
+    assertThat(keys).containsExactly(1L, 3L);
+
+    keys.clear();
+    recoveredState.visitMessages(
+        wrapString("name"), wrapString("otherCorrelationKey"), m -> keys.add(m.getKey()));
+    assertThat(keys).containsExactly(2L);
+  }
+
+  @Test
+  public void shouldNotVisitMessagesAfterRollback() throws Exception {
+    // given
+    final DbContext dbContext = stateRule.getDb().createContext();
+    final MessageState state = new MessageState(stateRule.getDb(), dbContext, 1);
+    state.put(createMessage(1L, "name", "correlationKey"));
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(
+        () -> {
+          state.put(createMessage(2L, "name", "correlationKey"));
+          state.remove(1L);
+        });
+
+    // when
+    transaction.rollback();
+
+    // then
+    final List<Long> keys = new ArrayList<>();
+    state.visitMessages(
+        wrapString("name"), wrapString("correlationKey"), m -> keys.add(m.getKey()));
+    assertThat(keys).containsExactly(1L);
+  }
+
+  @Test
+  public void shouldVisitMessagesAfterRemoveOnRecoveredState() {
+    // given
+    messageState.put(createMessage(1L, "name", "correlationKey"));
+    messageState.put(createMessage(2L, "name", "otherCorrelationKey"));
+
+    final MessageState recoveredState =
+        new MessageState(stateRule.getDb(), stateRule.getDb().createContext(), 1);
+
+    // when
+    recoveredState.remove(2L);
+
+    // then
+    final List<Long> keys = new ArrayList<>();
+    recoveredState.visitMessages(
+        wrapString("name"), wrapString("correlationKey"), m -> keys.add(m.getKey()));
+    assertThat(keys).containsExactly(1L);
+  }
+
+  @Test
+  public void shouldVisitMessagesAfterRollbackOfRemoveOnRecoveredState() throws Exception {
+    // given
+    messageState.put(createMessage(1L, "name", "correlationKey"));
+    messageState.put(createMessage(2L, "name", "otherCorrelationKey"));
+
+    final DbContext dbContext = stateRule.getDb().createContext();
+    final MessageState recoveredState = new MessageState(stateRule.getDb(), dbContext, 1);
+
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> recoveredState.remove(1L));
+
+    // when
+    transaction.rollback();
+
+    // then
+    final List<Long> keys = new ArrayList<>();
+    recoveredState.visitMessages(
+        wrapString("name"), wrapString("correlationKey"), m -> keys.add(m.getKey()));
+    assertThat(keys).containsExactly(1L);
+
+    keys.clear();
+    recoveredState.visitMessages(
+        wrapString("name"), wrapString("otherCorrelationKey"), m -> keys.add(m.getKey()));
+    assertThat(keys).containsExactly(2L);
+  }
+
   private Message createMessage(long key, String name, String correlationKey) {
     return new Message(
         key,
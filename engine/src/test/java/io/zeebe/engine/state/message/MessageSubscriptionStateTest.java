@@ -339,6 +339,30 @@ public class MessageSubscriptionStateTest {
     assertThat(keys).hasSize(1).contains(1L);
   }
 
+  @Test
+  public void shouldVisitSubscriptionsAfterRemoveOnRecoveredState() {
+    // given
+    state.put(subscription("messageName", "correlationKey", 1L));
+    state.put(subscription("messageName", "otherCorrelationKey", 2L));
+
+    final MessageSubscriptionState recoveredState =
+        new MessageSubscriptionState(stateRule.getDb(), stateRule.getDb().createContext(), 1);
+
+    // when
+    recoveredState.remove(2L, wrapString("messageName"));
+
+    // then
+    final List<Long> keys = new ArrayList<>();
+    recoveredState.visitSubscriptions(
+        wrapString("messageName"),
+        wrapString("correlationKey"),
+        s -> keys.add(s.getElementInstanceKey()));
+
+    assertThat(keys).containsExactly(1L);
+    assertThat(recoveredState.existSubscriptionForElementInstance(2L, wrapString("messageName")))
+        .isFalse();
+  }
+
   private MessageSubscription subscriptionWithElementInstanceKey(long elementInstanceKey) {
     return subscription("messageName", "correlationKey", elementInstanceKey);
   }
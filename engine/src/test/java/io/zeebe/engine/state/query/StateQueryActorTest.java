@@ -0,0 +1,183 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.state.query;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.engine.state.ZeebeState;
+import io.zeebe.engine.state.instance.ElementInstance;
+import io.zeebe.engine.util.ZeebeStateRule;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.intent.WorkflowInstanceIntent;
+import io.zeebe.util.sched.testing.ActorSchedulerRule;
+import java.util.stream.Collectors;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+public class StateQueryActorTest {
+
+  @Rule public ZeebeStateRule stateRule = new ZeebeStateRule();
+  @Rule public ActorSchedulerRule actorSchedulerRule = new ActorSchedulerRule();
+
+  private ZeebeState zeebeState;
+  private StateQueryActor stateQueryActor;
+
+  @Before
+  public void setUp() {
+    zeebeState = stateRule.getZeebeState();
+    stateQueryActor = new StateQueryActor(Protocol.DEPLOYMENT_PARTITION, stateRule.getDb());
+    actorSchedulerRule.submitActor(stateQueryActor).join();
+  }
+
+  @After
+  public void tearDown() {
+    stateQueryActor.closeAsync().join();
+  }
+
+  @Test
+  public void shouldPageActivatableJobsOfType() {
+    // given
+    createJob(1, "foo");
+    createJob(2, "bar");
+    createJob(3, "foo");
+    createJob(4, "foo");
+
+    // when
+    final QueryPage<JobRecord> firstPage =
+        stateQueryActor.queryActivatableJobs(wrapString("foo"), QueryPage.FIRST_PAGE, 2).join();
+    final QueryPage<JobRecord> secondPage =
+        stateQueryActor
+            .queryActivatableJobs(wrapString("foo"), firstPage.getNextPageKey(), 2)
+            .join();
+
+    // then
+    assertThat(firstPage.getItems()).hasSize(2).allMatch(job -> job.getType().equals("foo"));
+    assertThat(firstPage.getNextPageKey()).isEqualTo(3);
+    assertThat(secondPage.getItems()).hasSize(1);
+    assertThat(secondPage.hasNextPage()).isFalse();
+  }
+
+  @Test
+  public void shouldReadLatestStateOnEachQuery() {
+    // given
+    createJob(1, "foo");
+    stateQueryActor.queryActivatableJobs(wrapString("foo"), QueryPage.FIRST_PAGE, 10).join();
+
+    // when
+    createJob(2, "foo");
+    final QueryPage<JobRecord> page =
+        stateQueryActor.queryActivatableJobs(wrapString("foo"), QueryPage.FIRST_PAGE, 10).join();
+
+    // then
+    assertThat(page.getItems()).hasSize(2);
+  }
+
+  @Test
+  public void shouldQueryIncidentsOfWorkflowInstance() {
+    // given
+    final ElementInstance workflowInstance = createElementInstance(null, 1);
+    createElementInstance(createElementInstance(workflowInstance, 10), 11);
+    createElementInstance(createElementInstance(null, 2), 20);
+    final ElementInstance jobInstance = createElementInstance(workflowInstance, 12);
+    jobInstance.setJobKey(100);
+    zeebeState.getWorkflowState().getElementInstanceState().updateInstance(jobInstance);
+
+    createIncident(31, 11, 1, -1);
+    createIncident(30, 20, 2, -1);
+    createIncident(32, 12, 1, 100);
+
+    // when
+    final QueryPage<IncidentRecord> page =
+        stateQueryActor.queryIncidents(1, QueryPage.FIRST_PAGE, 10).join();
+
+    // then
+    assertThat(
+            page.getItems().stream()
+                .map(IncidentRecord::getElementInstanceKey)
+                .collect(Collectors.toList()))
+        .containsExactly(11L, 12L);
+    assertThat(page.hasNextPage()).isFalse();
+  }
+
+  @Test
+  public void shouldPageIncidentsOfWorkflowInstance() {
+    // given
+    final ElementInstance workflowInstance = createElementInstance(null, 1);
+    createElementInstance(workflowInstance, 10);
+    createElementInstance(workflowInstance, 11);
+    createElementInstance(workflowInstance, 12);
+
+    createIncident(32, 10, 1, -1);
+    createIncident(31, 11, 1, -1);
+    createIncident(30, 12, 1, -1);
+
+    // when
+    final QueryPage<IncidentRecord> firstPage =
+        stateQueryActor.queryIncidents(1, QueryPage.FIRST_PAGE, 2).join();
+    final QueryPage<IncidentRecord> secondPage =
+        stateQueryActor.queryIncidents(1, firstPage.getNextPageKey(), 2).join();
+
+    // then
+    assertThat(firstPage.getItems()).hasSize(2);
+    assertThat(firstPage.getNextPageKey()).isEqualTo(31);
+    assertThat(secondPage.getItems())
+        .extracting(IncidentRecord::getElementInstanceKey)
+        .containsExactly(10L);
+    assertThat(secondPage.hasNextPage()).isFalse();
+  }
+
+  private void createJob(long key, String type) {
+    final JobRecord jobRecord = new JobRecord();
+    jobRecord.setRetries(2);
+    jobRecord.setDeadline(256L);
+    jobRecord.setType(type);
+
+    zeebeState.getJobState().create(key, jobRecord);
+  }
+
+  private ElementInstance createElementInstance(ElementInstance parent, long key) {
+    final WorkflowInstanceRecord record = new WorkflowInstanceRecord();
+    record.setBpmnProcessId(wrapString("process"));
+    final long workflowInstanceKey =
+        parent == null ? key : parent.getValue().getWorkflowInstanceKey();
+    record.setWorkflowInstanceKey(workflowInstanceKey);
+
+    return zeebeState
+        .getWorkflowState()
+        .getElementInstanceState()
+        .newInstance(parent, key, record, WorkflowInstanceIntent.ELEMENT_ACTIVATED);
+  }
+
+  private void createIncident(
+      long key, long elementInstanceKey, long workflowInstanceKey, long jobKey) {
+    final IncidentRecord incidentRecord = new IncidentRecord();
+    incidentRecord.setElementInstanceKey(elementInstanceKey);
+    incidentRecord.setWorkflowInstanceKey(workflowInstanceKey);
+    incidentRecord.setJobKey(jobKey);
+    incidentRecord.setBpmnProcessId(wrapString("process"));
+    incidentRecord.setElementId(wrapString("task"));
+
+    zeebeState.getIncidentState().createIncident(key, incidentRecord);
+  }
+}
@@ -27,6 +27,7 @@ import io.zeebe.engine.processor.StreamProcessorLifecycleAware;
 import io.zeebe.engine.processor.workflow.EngineProcessors;
 import io.zeebe.engine.processor.workflow.deployment.distribute.DeploymentDistributor;
 import io.zeebe.engine.processor.workflow.deployment.distribute.PendingDeploymentDistribution;
+import io.zeebe.engine.processor.workflow.job.JobWorkerRegistry;
 import io.zeebe.engine.processor.workflow.message.command.PartitionCommandSender;
 import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandMessageHandler;
 import io.zeebe.engine.processor.workflow.message.command.SubscriptionCommandSender;
@@ -35,6 +36,7 @@ import io.zeebe.engine.util.client.DeploymentClient;
 import io.zeebe.engine.util.client.IncidentClient;
 import io.zeebe.engine.util.client.JobActivationClient;
 import io.zeebe.engine.util.client.JobClient;
+import io.zeebe.engine.util.client.PublishMessageBatchClient;
 import io.zeebe.engine.util.client.PublishMessageClient;
 import io.zeebe.engine.util.client.VariableClient;
 import io.zeebe.engine.util.client.WorkflowInstanceClient;
@@ -82,6 +84,8 @@ public final class EngineRule extends ExternalResource {
 
   protected final StreamProcessorRule environmentRule;
 
+  private final JobWorkerRegistry jobWorkerRegistry = new JobWorkerRegistry();
+
   private final int partitionCount;
   private final boolean explicitStart;
 
@@ -148,7 +152,8 @@ public final class EngineRule extends ExternalResource {
                           new SubscriptionCommandSender(
                               currentPartitionId, new PartitionCommandSenderImpl()),
                           new DeploymentDistributionImpl(),
-                          (key, partition) -> {})
+                          (key, partition) -> {},
+                          jobWorkerRegistry)
                       .withListener(new ProcessingExporterTransistor()));
         });
   }
@@ -197,6 +202,10 @@ public final class EngineRule extends ExternalResource {
     return environmentRule.getClock();
   }
 
+  public JobWorkerRegistry getJobWorkerRegistry() {
+    return jobWorkerRegistry;
+  }
+
   public DeploymentClient deployment() {
     return new DeploymentClient(environmentRule, this::forEachPartition);
   }
@@ -209,6 +218,10 @@ public final class EngineRule extends ExternalResource {
     return new PublishMessageClient(environmentRule, partitionCount);
   }
 
+  public PublishMessageBatchClient messageBatch() {
+    return new PublishMessageBatchClient(environmentRule);
+  }
+
   public VariableClient variables() {
     return new VariableClient(environmentRule);
   }
@@ -62,6 +62,10 @@ public class ZeebeStateRule extends ExternalResource {
     return zeebeState;
   }
 
+  public ZeebeDb<ZbColumnFamilies> getDb() {
+    return db;
+  }
+
   public KeyGenerator getKeyGenerator() {
     return zeebeState.getKeyGenerator();
   }
@@ -0,0 +1,68 @@
+/*
+ * Zeebe Workflow Engine
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package io.zeebe.engine.util.client;
+
+import io.zeebe.engine.util.StreamProcessorRule;
+import io.zeebe.msgpack.value.DocumentValue;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.message.MessageBatchRecord;
+import io.zeebe.protocol.record.Record;
+import io.zeebe.protocol.record.intent.MessageBatchIntent;
+import io.zeebe.protocol.record.value.MessageBatchRecordValue;
+import io.zeebe.test.util.record.RecordingExporter;
+
+public class PublishMessageBatchClient {
+
+  private final MessageBatchRecord batchRecord = new MessageBatchRecord();
+  private final StreamProcessorRule environmentRule;
+
+  private int partitionId = Protocol.START_PARTITION_ID;
+
+  public PublishMessageBatchClient(StreamProcessorRule environmentRule) {
+    this.environmentRule = environmentRule;
+  }
+
+  public PublishMessageBatchClient withMessage(
+      String name, String correlationKey, String messageId, long timeToLive) {
+    batchRecord
+        .messages()
+        .add()
+        .setName(name)
+        .setCorrelationKey(correlationKey)
+        .setMessageId(messageId)
+        .setTimeToLive(timeToLive)
+        .setVariables(DocumentValue.EMPTY_DOCUMENT);
+    return this;
+  }
+
+  public PublishMessageBatchClient onPartition(int partitionId) {
+    this.partitionId = partitionId;
+    return this;
+  }
+
+  public Record<MessageBatchRecordValue> publish() {
+    final long position =
+        environmentRule.writeCommandOnPartition(
+            partitionId, MessageBatchIntent.PUBLISH, batchRecord);
+
+    return RecordingExporter.messageBatchRecords(MessageBatchIntent.PUBLISHED)
+        .withPartitionId(partitionId)
+        .withSourceRecordPosition(position)
+        .getFirst();
+  }
+}
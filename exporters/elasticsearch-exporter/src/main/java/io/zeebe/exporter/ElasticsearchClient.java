@@ -42,6 +42,7 @@ import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestClient;
 import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.io.stream.BytesStreamOutput;
 import org.elasticsearch.common.xcontent.XContentHelper;
 import org.elasticsearch.common.xcontent.XContentType;
 import org.slf4j.Logger;
@@ -77,9 +78,17 @@ public class ElasticsearchClient {
       metrics = new ElasticsearchMetrics(record.getPartitionId());
     }
 
+    // serialize the record directly into the bytes of the request, without an intermediate string
+    final BytesStreamOutput source = new BytesStreamOutput();
+    try {
+      record.writeJson(source);
+    } catch (IOException e) {
+      throw new ElasticsearchExporterException("Failed to serialize record " + idFor(record), e);
+    }
+
     final IndexRequest request =
         new IndexRequest(indexFor(record), typeFor(record), idFor(record))
-            .source(record.toJson(), XContentType.JSON);
+            .source(source.bytes(), XContentType.JSON);
     bulk(request);
   }
 
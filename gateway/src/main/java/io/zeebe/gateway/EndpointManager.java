@@ -17,6 +17,7 @@ package io.zeebe.gateway;
 
 import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import io.zeebe.gateway.ResponseMapper.BrokerResponseMapper;
 import io.zeebe.gateway.cmd.BrokerErrorException;
@@ -31,9 +32,12 @@ import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerError;
 import io.zeebe.gateway.impl.broker.response.BrokerRejection;
 import io.zeebe.gateway.impl.job.ActivateJobsHandler;
+import io.zeebe.gateway.impl.job.StreamActivatedJobsHandler;
+import io.zeebe.gateway.impl.message.PublishMessagesHandler;
 import io.zeebe.gateway.protocol.GatewayGrpc;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ActivateJobsResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivatedJob;
 import io.zeebe.gateway.protocol.GatewayOuterClass.BrokerInfo;
 import io.zeebe.gateway.protocol.GatewayOuterClass.BrokerInfo.Builder;
 import io.zeebe.gateway.protocol.GatewayOuterClass.CancelWorkflowInstanceRequest;
@@ -50,10 +54,13 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.Partition;
 import io.zeebe.gateway.protocol.GatewayOuterClass.Partition.PartitionBrokerRole;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.TopologyRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.TopologyResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesRequest;
@@ -69,11 +76,15 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
   private final BrokerClient brokerClient;
   private final BrokerTopologyManager topologyManager;
   private final ActivateJobsHandler activateJobsHandler;
+  private final StreamActivatedJobsHandler streamActivatedJobsHandler;
+  private final PublishMessagesHandler publishMessagesHandler;
 
   public EndpointManager(final BrokerClient brokerClient) {
     this.brokerClient = brokerClient;
     this.topologyManager = brokerClient.getTopologyManager();
     this.activateJobsHandler = new ActivateJobsHandler(brokerClient);
+    this.streamActivatedJobsHandler = new StreamActivatedJobsHandler(brokerClient);
+    this.publishMessagesHandler = new PublishMessagesHandler(brokerClient);
   }
 
   @Override
@@ -170,6 +181,26 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
         responseObserver);
   }
 
+  @Override
+  public void publishMessages(
+      PublishMessagesRequest request, StreamObserver<PublishMessagesResponse> responseObserver) {
+    final BrokerClusterState topology = topologyManager.getTopology();
+    if (topology == null) {
+      responseObserver.onError(
+          Status.UNAVAILABLE.augmentDescription("No brokers available").asRuntimeException());
+      return;
+    }
+
+    publishMessagesHandler.publishMessages(
+        topology.getPartitionsCount(),
+        request,
+        response -> {
+          responseObserver.onNext(response);
+          responseObserver.onCompleted();
+        },
+        error -> responseObserver.onError(convertThrowable(error)));
+  }
+
   @Override
   public void updateJobRetries(
       UpdateJobRetriesRequest request, StreamObserver<UpdateJobRetriesResponse> responseObserver) {
@@ -238,6 +269,15 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
     activateJobsHandler.activateJobs(topology.getPartitionsCount(), request, responseObserver);
   }
 
+  @Override
+  public void streamActivatedJobs(
+      StreamActivatedJobsRequest request, StreamObserver<ActivatedJob> responseObserver) {
+    streamActivatedJobsHandler.streamActivatedJobs(
+        request,
+        (ServerCallStreamObserver<ActivatedJob>) responseObserver,
+        error -> responseObserver.onError(convertThrowable(error)));
+  }
+
   @Override
   public void resolveIncident(
       ResolveIncidentRequest request, StreamObserver<ResolveIncidentResponse> responseObserver) {
@@ -306,6 +346,8 @@ public class EndpointManager extends GatewayGrpc.GatewayImplBase {
     switch (error.getCode()) {
       case WORKFLOW_NOT_FOUND:
         return Status.NOT_FOUND.augmentDescription(error.getMessage());
+      case RESOURCE_EXHAUSTED:
+        return Status.RESOURCE_EXHAUSTED.augmentDescription(error.getMessage());
       default:
         return Status.INTERNAL.augmentDescription(
             String.format(
@@ -22,6 +22,7 @@ import io.zeebe.gateway.impl.broker.request.BrokerCreateWorkflowInstanceRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerDeployWorkflowRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerFailJobRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerPublishMessageRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerResolveIncidentRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerSetVariablesRequest;
 import io.zeebe.gateway.impl.broker.request.BrokerUpdateJobRetriesRequest;
@@ -34,10 +35,14 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesRequest;
 import io.zeebe.gateway.protocol.GatewayOuterClass.WorkflowRequestObject;
 import io.zeebe.msgpack.value.DocumentValue;
 import io.zeebe.protocol.impl.encoding.MsgPackConverter;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.List;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 
@@ -68,6 +73,23 @@ public class RequestMapper {
     return brokerRequest;
   }
 
+  public static BrokerPublishMessagesRequest toPublishMessagesRequest(
+      int partitionId, List<PublishMessageRequest> grpcRequests) {
+    final BrokerPublishMessagesRequest brokerRequest =
+        new BrokerPublishMessagesRequest(partitionId);
+
+    for (PublishMessageRequest grpcRequest : grpcRequests) {
+      brokerRequest.addMessage(
+          grpcRequest.getName(),
+          grpcRequest.getCorrelationKey(),
+          grpcRequest.getMessageId(),
+          grpcRequest.getTimeToLive(),
+          ensureJsonSet(grpcRequest.getVariables()));
+    }
+
+    return brokerRequest;
+  }
+
   public static BrokerUpdateJobRetriesRequest toUpdateJobRetriesRequest(
       UpdateJobRetriesRequest grpcRequest) {
     return new BrokerUpdateJobRetriesRequest(grpcRequest.getJobKey(), grpcRequest.getRetries());
@@ -125,6 +147,24 @@ public class RequestMapper {
         .setVariables(grpcRequest.getFetchVariableList());
   }
 
+  /**
+   * Maps the request to the job batch record which registers the job stream on the brokers. The
+   * capacity of the stream is given as the max jobs to activate.
+   */
+  public static JobBatchRecord toJobStreamRecord(StreamActivatedJobsRequest grpcRequest) {
+    final JobBatchRecord record =
+        new JobBatchRecord()
+            .setType(grpcRequest.getType())
+            .setWorker(grpcRequest.getWorker())
+            .setTimeout(grpcRequest.getTimeout())
+            .setMaxJobsToActivate(grpcRequest.getCapacity());
+    grpcRequest.getFetchVariableList().stream()
+        .map(BufferUtil::wrapString)
+        .forEach(variable -> record.variables().add().wrap(variable));
+
+    return record;
+  }
+
   public static BrokerResolveIncidentRequest toResolveIncidentRequest(
       ResolveIncidentRequest grpcRequest) {
     return new BrokerResolveIncidentRequest(grpcRequest.getIncidentKey());
@@ -26,19 +26,26 @@ import io.zeebe.gateway.protocol.GatewayOuterClass.CreateWorkflowInstanceRespons
 import io.zeebe.gateway.protocol.GatewayOuterClass.DeployWorkflowResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.FailJobResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResponse;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResult;
 import io.zeebe.gateway.protocol.GatewayOuterClass.ResolveIncidentResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.SetVariablesResponse;
 import io.zeebe.gateway.protocol.GatewayOuterClass.UpdateJobRetriesResponse;
+import io.zeebe.msgpack.value.EnumValue;
 import io.zeebe.msgpack.value.LongValue;
+import io.zeebe.msgpack.value.StringValue;
 import io.zeebe.protocol.impl.encoding.MsgPackConverter;
 import io.zeebe.protocol.impl.record.value.deployment.DeploymentRecord;
 import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
 import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.impl.record.value.message.MessageBatchRecord;
 import io.zeebe.protocol.impl.record.value.variable.VariableDocumentRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceCreationRecord;
 import io.zeebe.protocol.impl.record.value.workflowinstance.WorkflowInstanceRecord;
+import io.zeebe.protocol.record.RejectionType;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import org.agrona.DirectBuffer;
 
 public class ResponseMapper {
@@ -66,6 +73,33 @@ public class ResponseMapper {
     return PublishMessageResponse.getDefaultInstance();
   }
 
+  public static List<PublishMessageResult> toPublishMessageResults(
+      long key, MessageBatchRecord brokerResponse) {
+    final List<PublishMessageResult> results = new ArrayList<>();
+
+    final Iterator<LongValue> messageKeys = brokerResponse.messageKeys().iterator();
+    final Iterator<EnumValue<RejectionType>> rejectionTypes =
+        brokerResponse.rejectionTypes().iterator();
+    final Iterator<StringValue> rejectionReasons = brokerResponse.rejectionReasons().iterator();
+
+    while (messageKeys.hasNext() && rejectionTypes.hasNext() && rejectionReasons.hasNext()) {
+      final long messageKey = messageKeys.next().getValue();
+      final RejectionType rejectionType = rejectionTypes.next().getValue();
+      final DirectBuffer rejectionReason = rejectionReasons.next().getValue();
+
+      final PublishMessageResult.Builder result = PublishMessageResult.newBuilder();
+      result.setKey(messageKey);
+      if (rejectionType != RejectionType.NULL_VAL) {
+        result
+            .setRejectionType(rejectionType.name())
+            .setRejectionReason(bufferAsString(rejectionReason));
+      }
+      results.add(result.build());
+    }
+
+    return results;
+  }
+
   public static UpdateJobRetriesResponse toUpdateJobRetriesResponse(
       long key, JobRecord brokerResponse) {
     return UpdateJobRetriesResponse.getDefaultInstance();
@@ -109,29 +143,30 @@ public class ResponseMapper {
     while (jobKeys.hasNext() && jobs.hasNext()) {
       final LongValue jobKey = jobKeys.next();
       final JobRecord job = jobs.next();
-      final ActivatedJob activatedJob =
-          ActivatedJob.newBuilder()
-              .setKey(jobKey.getValue())
-              .setType(bufferAsString(job.getTypeBuffer()))
-              .setBpmnProcessId(job.getBpmnProcessId())
-              .setElementId(job.getElementId())
-              .setWorkflowInstanceKey(job.getWorkflowInstanceKey())
-              .setWorkflowDefinitionVersion(job.getWorkflowDefinitionVersion())
-              .setWorkflowKey(job.getWorkflowKey())
-              .setElementInstanceKey(job.getElementInstanceKey())
-              .setCustomHeaders(bufferAsJson(job.getCustomHeadersBuffer()))
-              .setWorker(bufferAsString(job.getWorkerBuffer()))
-              .setRetries(job.getRetries())
-              .setDeadline(job.getDeadline())
-              .setVariables(bufferAsJson(job.getVariablesBuffer()))
-              .build();
-
-      responseBuilder.addJobs(activatedJob);
+      responseBuilder.addJobs(toActivatedJob(jobKey.getValue(), job));
     }
 
     return responseBuilder.build();
   }
 
+  public static ActivatedJob toActivatedJob(long key, JobRecord job) {
+    return ActivatedJob.newBuilder()
+        .setKey(key)
+        .setType(bufferAsString(job.getTypeBuffer()))
+        .setBpmnProcessId(job.getBpmnProcessId())
+        .setElementId(job.getElementId())
+        .setWorkflowInstanceKey(job.getWorkflowInstanceKey())
+        .setWorkflowDefinitionVersion(job.getWorkflowDefinitionVersion())
+        .setWorkflowKey(job.getWorkflowKey())
+        .setElementInstanceKey(job.getElementInstanceKey())
+        .setCustomHeaders(bufferAsJson(job.getCustomHeadersBuffer()))
+        .setWorker(bufferAsString(job.getWorkerBuffer()))
+        .setRetries(job.getRetries())
+        .setDeadline(job.getDeadline())
+        .setVariables(bufferAsJson(job.getVariablesBuffer()))
+        .build();
+  }
+
   public static ResolveIncidentResponse toResolveIncidentResponse(
       long key, IncidentRecord incident) {
     return ResolveIncidentResponse.getDefaultInstance();
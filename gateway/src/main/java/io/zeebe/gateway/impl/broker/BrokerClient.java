@@ -18,6 +18,7 @@ package io.zeebe.gateway.impl.broker;
 import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
 import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.util.function.Consumer;
 
@@ -32,5 +33,14 @@ public interface BrokerClient extends AutoCloseable {
       BrokerResponseConsumer<T> responseConsumer,
       Consumer<Throwable> throwableConsumer);
 
+  /**
+   * Opens a job stream on all brokers, which push the jobs of the given type to the consumer as
+   * they are created.
+   *
+   * @param request the type, worker, timeout and variables of the jobs to push, and the initial
+   *     capacity of the stream on each broker as the max jobs to activate
+   */
+  BrokerJobStream openJobStream(JobBatchRecord request, BrokerJobStream.JobConsumer consumer);
+
   BrokerTopologyManager getTopologyManager();
 }
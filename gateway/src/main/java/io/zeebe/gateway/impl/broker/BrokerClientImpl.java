@@ -27,6 +27,7 @@ import io.zeebe.gateway.impl.broker.request.BrokerRequest;
 import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.gateway.impl.configuration.ClusterCfg;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
 import io.zeebe.transport.ClientTransport;
 import io.zeebe.transport.ClientTransportBuilder;
 import io.zeebe.transport.RemoteAddress;
@@ -52,6 +53,7 @@ public class BrokerClientImpl implements BrokerClient {
   protected final BrokerTopologyManagerImpl topologyManager;
   private final Dispatcher dataFrameReceiveBuffer;
   private final BrokerRequestManager requestManager;
+  private final BrokerJobStreamManager jobStreamManager;
   protected boolean isClosed;
 
   public BrokerClientImpl(final GatewayCfg configuration, final AtomixCluster atomixCluster) {
@@ -79,6 +81,10 @@ public class BrokerClientImpl implements BrokerClient {
       final AtomixCluster atomixCluster,
       final ActorScheduler actorScheduler,
       final boolean ownsActorScheduler) {
+    final ClusterCfg clusterCfg = configuration.getCluster();
+    // validated before the scheduler is started, so that it doesn't leak on an invalid value
+    final int requestBatchSize = getRequestBatchSize(clusterCfg);
+
     this.actorScheduler = actorScheduler;
     this.ownsActorScheduler = ownsActorScheduler;
 
@@ -86,8 +92,6 @@ public class BrokerClientImpl implements BrokerClient {
       actorScheduler.start();
     }
 
-    final ClusterCfg clusterCfg = configuration.getCluster();
-
     final ByteValue transportBufferSize = clusterCfg.getTransportBuffer();
 
     dataFrameReceiveBuffer =
@@ -105,6 +109,10 @@ public class BrokerClientImpl implements BrokerClient {
             .messageMemoryPool(
                 new UnboundedMemoryPool()) // Client is not sending any heavy messages
             .requestMemoryPool(new NonBlockingMemoryPool(transportBufferSize))
+            .sendBatchSize(requestBatchSize)
+            .sendBatchWindow(clusterCfg.getRequestBatchWindow())
+            .senderCount(configuration.getThreads().getTransportShards())
+            .receiverCount(configuration.getThreads().getTransportShards())
             .scheduler(actorScheduler);
 
     transport = transportBuilder.build();
@@ -125,6 +133,21 @@ public class BrokerClientImpl implements BrokerClient {
             new RoundRobinDispatchStrategy(topologyManager),
             clusterCfg.getRequestTimeout());
     actorScheduler.submitActor(requestManager);
+
+    jobStreamManager = new BrokerJobStreamManager(transport, topologyManager);
+    actorScheduler.submitActor(jobStreamManager);
+  }
+
+  private static int getRequestBatchSize(final ClusterCfg clusterCfg) {
+    final ByteValue requestBatchSize = clusterCfg.getRequestBatchSize();
+    final long bytes = requestBatchSize.toBytes();
+    if (bytes <= 0 || bytes > Integer.MAX_VALUE) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected requestBatchSize to be greater than 0 and at most %d bytes, but was '%s'",
+              Integer.MAX_VALUE, requestBatchSize));
+    }
+    return (int) bytes;
   }
 
   private void registerEndpoint(final int nodeId, final SocketAddress socketAddress) {
@@ -149,6 +172,8 @@ public class BrokerClientImpl implements BrokerClient {
 
     LOG.debug("Closing gateway broker client ...");
 
+    doAndLogException(() -> jobStreamManager.close().join());
+    LOG.debug("job stream manager closed");
     doAndLogException(() -> topologyManager.close().join());
     LOG.debug("topology manager closed");
     doAndLogException(transport::close);
@@ -191,6 +216,12 @@ public class BrokerClientImpl implements BrokerClient {
     requestManager.sendRequest(request, responseConsumer, throwableConsumer);
   }
 
+  @Override
+  public BrokerJobStream openJobStream(
+      JobBatchRecord request, BrokerJobStream.JobConsumer consumer) {
+    return jobStreamManager.openJobStream(request, consumer);
+  }
+
   @Override
   public BrokerTopologyManager getTopologyManager() {
     return topologyManager;
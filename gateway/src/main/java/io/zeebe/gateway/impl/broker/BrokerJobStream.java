@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.broker;
+
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+
+/**
+ * A job stream which the gateway has opened on all brokers, see {@link
+ * BrokerClient#openJobStream}. Each broker pushes jobs to the stream as long as it has capacity
+ * left on this broker; each pushed job takes one unit of the capacity.
+ */
+public interface BrokerJobStream {
+
+  /** Allows the given broker to push the given number of additional jobs to the stream. */
+  void addCapacity(int nodeId, int capacity);
+
+  /** Removes the stream from all brokers. Jobs which are pushed in the meantime are dropped. */
+  void close();
+
+  @FunctionalInterface
+  interface JobConsumer {
+
+    /**
+     * Is called on the actor of the broker client for every pushed job. The job record is reused
+     * afterwards and has to be copied to keep it.
+     *
+     * @param nodeId the id of the broker which pushed the job
+     * @param key the key of the activated job
+     * @param job the activated job, including its variables
+     */
+    void onJob(int nodeId, long key, JobRecord job);
+  }
+}
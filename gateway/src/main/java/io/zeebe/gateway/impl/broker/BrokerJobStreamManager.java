@@ -0,0 +1,243 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.broker;
+
+import io.zeebe.gateway.Loggers;
+import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
+import io.zeebe.gateway.impl.broker.cluster.BrokerTopologyManager;
+import io.zeebe.protocol.impl.encoding.AddJobStreamCapacityRequest;
+import io.zeebe.protocol.impl.encoding.AddJobStreamRequest;
+import io.zeebe.protocol.impl.encoding.PushedJob;
+import io.zeebe.protocol.impl.encoding.RemoveJobStreamRequest;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.record.MessageHeaderDecoder;
+import io.zeebe.protocol.record.PushedJobDecoder;
+import io.zeebe.transport.ClientMessageHandler;
+import io.zeebe.transport.ClientOutput;
+import io.zeebe.transport.ClientTransport;
+import io.zeebe.transport.RemoteAddress;
+import io.zeebe.transport.TransportListener;
+import io.zeebe.util.sched.Actor;
+import io.zeebe.util.sched.future.ActorFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+import org.agrona.DirectBuffer;
+import org.agrona.collections.Long2ObjectHashMap;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.slf4j.Logger;
+
+/**
+ * Opens the job streams of the gateway on the brokers, and hands the jobs which the brokers push
+ * to the consumers of the streams. The streams are opened on all brokers of the topology, and
+ * again on a broker whenever the connection to it is established, since the broker removes the
+ * streams of a closed connection.
+ *
+ * <p>The streams are only accessed on the actor.
+ */
+public class BrokerJobStreamManager extends Actor
+    implements TransportListener, ClientMessageHandler {
+  private static final Logger LOG = Loggers.GATEWAY_LOGGER;
+
+  private final ClientTransport transport;
+  private final ClientOutput output;
+  private final BrokerTopologyManager topologyManager;
+
+  private final AtomicLong nextStreamId = new AtomicLong();
+  private final Long2ObjectHashMap<JobStream> streams = new Long2ObjectHashMap<>();
+
+  private final AddJobStreamRequest addStreamRequest = new AddJobStreamRequest();
+  private final RemoveJobStreamRequest removeStreamRequest = new RemoveJobStreamRequest();
+  private final AddJobStreamCapacityRequest addCapacityRequest =
+      new AddJobStreamCapacityRequest();
+
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+  private final PushedJob pushedJob = new PushedJob();
+  private final JobRecord job = new JobRecord();
+
+  public BrokerJobStreamManager(
+      final ClientTransport transport, final BrokerTopologyManager topologyManager) {
+    this.transport = transport;
+    this.output = transport.getOutput();
+    this.topologyManager = topologyManager;
+  }
+
+  @Override
+  public String getName() {
+    return "gateway-job-streams";
+  }
+
+  @Override
+  protected void onActorStarting() {
+    actor.runOnCompletionBlockingCurrentPhase(
+        transport.openSubscription(getName(), this),
+        (subscription, error) -> {
+          if (error == null) {
+            actor.consume(subscription, subscription::poll);
+          } else {
+            LOG.error("Failed to open the subscription for pushed jobs", error);
+          }
+        });
+    actor.runOnCompletionBlockingCurrentPhase(
+        transport.registerChannelListener(this),
+        (nothing, error) -> {
+          if (error != null) {
+            LOG.error("Failed to register the listener to reopen job streams", error);
+          }
+        });
+  }
+
+  @Override
+  protected void onActorClosing() {
+    transport.removeChannelListener(this);
+  }
+
+  public ActorFuture<Void> close() {
+    return actor.close();
+  }
+
+  /**
+   * Opens the stream on all brokers.
+   *
+   * @param request the type, worker, timeout and variables of the jobs to push, and the initial
+   *     capacity of the stream on each broker as the max jobs to activate
+   */
+  public BrokerJobStream openJobStream(
+      final JobBatchRecord request, final BrokerJobStream.JobConsumer consumer) {
+    final UnsafeBuffer value = new UnsafeBuffer(new byte[request.getLength()]);
+    request.write(value, 0);
+
+    final JobStream stream = new JobStream(nextStreamId.getAndIncrement(), value, consumer);
+    actor.run(
+        () -> {
+          streams.put(stream.id, stream);
+          forEachBroker(nodeId -> addStream(nodeId, stream));
+        });
+
+    return stream;
+  }
+
+  private void forEachBroker(final IntConsumer action) {
+    final BrokerClusterState topology = topologyManager.getTopology();
+    if (topology != null) {
+      topology.getBrokers().forEach(action::accept);
+    }
+  }
+
+  private void addStream(final int nodeId, final JobStream stream) {
+    addStreamRequest.setStreamId(stream.id).setValue(stream.value, 0, stream.value.capacity());
+    if (!output.sendMessage(nodeId, addStreamRequest)) {
+      // the stream is opened when the connection to the broker is established
+      LOG.debug("Failed to open job stream {} on broker {}", stream.id, nodeId);
+    }
+  }
+
+  private void removeStream(final long streamId) {
+    if (streams.remove(streamId) != null) {
+      removeStreamRequest.setStreamId(streamId);
+      forEachBroker(nodeId -> output.sendMessage(nodeId, removeStreamRequest));
+    }
+  }
+
+  private void addCapacity(final int nodeId, final long streamId, final int capacity) {
+    if (streams.containsKey(streamId)) {
+      addCapacityRequest.setStreamId(streamId).setCapacity(capacity);
+      if (!output.sendMessage(nodeId, addCapacityRequest)) {
+        LOG.warn("Failed to add capacity to job stream {} on broker {}", streamId, nodeId);
+      }
+    }
+  }
+
+  @Override
+  public void onConnectionEstablished(final RemoteAddress remoteAddress) {
+    actor.run(
+        () -> {
+          final int nodeId = getNodeId(remoteAddress);
+          if (nodeId != ClientTransport.UNKNOWN_NODE_ID) {
+            streams.values().forEach(stream -> addStream(nodeId, stream));
+          }
+        });
+  }
+
+  @Override
+  public void onConnectionClosed(final RemoteAddress remoteAddress) {
+    // the broker removes the streams of the connection
+  }
+
+  @Override
+  public boolean onMessage(
+      final ClientOutput output,
+      final RemoteAddress remoteAddress,
+      final DirectBuffer buffer,
+      final int offset,
+      final int length) {
+    headerDecoder.wrap(buffer, offset);
+    if (headerDecoder.templateId() != PushedJobDecoder.TEMPLATE_ID) {
+      return true;
+    }
+
+    pushedJob.wrap(buffer, offset, length);
+    final JobStream stream = streams.get(pushedJob.getStreamId());
+    if (stream == null) {
+      // the stream is closed already, the job can be activated again after its timeout
+      LOG.debug(
+          "Drop job {} pushed to closed job stream {}",
+          pushedJob.getKey(),
+          pushedJob.getStreamId());
+      return true;
+    }
+
+    final DirectBuffer value = pushedJob.getValue();
+    job.wrap(value, 0, value.capacity());
+    stream.consumer.onJob(getNodeId(remoteAddress), pushedJob.getKey(), job);
+    return true;
+  }
+
+  private int getNodeId(final RemoteAddress remoteAddress) {
+    final BrokerClusterState topology = topologyManager.getTopology();
+    if (topology != null) {
+      for (final Integer nodeId : topology.getBrokers()) {
+        final RemoteAddress endpoint = transport.getEndpoint(nodeId);
+        if (endpoint != null && endpoint.getStreamId() == remoteAddress.getStreamId()) {
+          return nodeId;
+        }
+      }
+    }
+    return ClientTransport.UNKNOWN_NODE_ID;
+  }
+
+  private final class JobStream implements BrokerJobStream {
+    private final long id;
+    private final DirectBuffer value;
+    private final JobConsumer consumer;
+
+    private JobStream(final long id, final DirectBuffer value, final JobConsumer consumer) {
+      this.id = id;
+      this.value = value;
+      this.consumer = consumer;
+    }
+
+    @Override
+    public void addCapacity(final int nodeId, final int capacity) {
+      actor.run(() -> BrokerJobStreamManager.this.addCapacity(nodeId, id, capacity));
+    }
+
+    @Override
+    public void close() {
+      actor.run(() -> removeStream(id));
+    }
+  }
+}
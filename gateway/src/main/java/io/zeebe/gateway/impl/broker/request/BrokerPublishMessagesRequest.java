@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.broker.request;
+
+import io.zeebe.protocol.impl.record.value.message.MessageBatchRecord;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.MessageBatchIntent;
+import org.agrona.DirectBuffer;
+
+public class BrokerPublishMessagesRequest extends BrokerExecuteCommand<MessageBatchRecord> {
+
+  private final MessageBatchRecord requestDto = new MessageBatchRecord();
+
+  public BrokerPublishMessagesRequest(int partitionId) {
+    super(ValueType.MESSAGE_BATCH, MessageBatchIntent.PUBLISH);
+    setPartitionId(partitionId);
+  }
+
+  public BrokerPublishMessagesRequest addMessage(
+      String messageName,
+      String correlationKey,
+      String messageId,
+      long timeToLive,
+      DirectBuffer variables) {
+    final MessageRecord message = requestDto.messages().add();
+    message
+        .setName(messageName)
+        .setCorrelationKey(correlationKey)
+        .setMessageId(messageId)
+        .setTimeToLive(timeToLive)
+        .setVariables(variables);
+
+    return this;
+  }
+
+  @Override
+  public MessageBatchRecord getRequestWriter() {
+    return requestDto;
+  }
+
+  @Override
+  protected MessageBatchRecord toResponseDto(DirectBuffer buffer) {
+    final MessageBatchRecord responseDto = new MessageBatchRecord();
+    responseDto.wrap(buffer);
+    return responseDto;
+  }
+}
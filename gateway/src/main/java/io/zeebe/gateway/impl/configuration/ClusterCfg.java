@@ -21,6 +21,8 @@ import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_CLUSTER_PORT;
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_CONTACT_POINT_HOST;
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_CONTACT_POINT_PORT;
+import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_REQUEST_BATCH_SIZE;
+import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_REQUEST_BATCH_WINDOW;
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_REQUEST_TIMEOUT;
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_TRANSPORT_BUFFER_SIZE;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_CLUSTER_HOST;
@@ -28,6 +30,8 @@ import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEW
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_CLUSTER_NAME;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_CLUSTER_PORT;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_CONTACT_POINT;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_BATCH_SIZE;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_BATCH_WINDOW;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_TIMEOUT;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_TRANSPORT_BUFFER;
 
@@ -41,6 +45,8 @@ public class ClusterCfg {
   private String contactPoint = DEFAULT_CONTACT_POINT_HOST + ":" + DEFAULT_CONTACT_POINT_PORT;
   private String transportBuffer = DEFAULT_TRANSPORT_BUFFER_SIZE;
   private String requestTimeout = DEFAULT_REQUEST_TIMEOUT;
+  private String requestBatchSize = DEFAULT_REQUEST_BATCH_SIZE;
+  private String requestBatchWindow = DEFAULT_REQUEST_BATCH_WINDOW;
   private String clusterName = DEFAULT_CLUSTER_NAME;
   private String memberId = DEFAULT_CLUSTER_MEMBER_ID;
   private String host = DEFAULT_CLUSTER_HOST;
@@ -53,6 +59,8 @@ public class ClusterCfg {
         .ifPresent(this::setContactPoint);
     environment.get(ENV_GATEWAY_TRANSPORT_BUFFER).ifPresent(this::setTransportBuffer);
     environment.get(ENV_GATEWAY_REQUEST_TIMEOUT).ifPresent(this::setRequestTimeout);
+    environment.get(ENV_GATEWAY_REQUEST_BATCH_SIZE).ifPresent(this::setRequestBatchSize);
+    environment.get(ENV_GATEWAY_REQUEST_BATCH_WINDOW).ifPresent(this::setRequestBatchWindow);
     environment.get(ENV_GATEWAY_CLUSTER_NAME).ifPresent(this::setClusterName);
     environment.get(ENV_GATEWAY_CLUSTER_MEMBER_ID).ifPresent(this::setMemberId);
     environment.get(ENV_GATEWAY_CLUSTER_HOST).ifPresent(this::setHost);
@@ -113,6 +121,24 @@ public class ClusterCfg {
     return this;
   }
 
+  public ByteValue getRequestBatchSize() {
+    return new ByteValue(requestBatchSize);
+  }
+
+  public ClusterCfg setRequestBatchSize(String requestBatchSize) {
+    this.requestBatchSize = requestBatchSize;
+    return this;
+  }
+
+  public Duration getRequestBatchWindow() {
+    return DurationUtil.parse(requestBatchWindow);
+  }
+
+  public ClusterCfg setRequestBatchWindow(String requestBatchWindow) {
+    this.requestBatchWindow = requestBatchWindow;
+    return this;
+  }
+
   public String getClusterName() {
     return clusterName;
   }
@@ -134,12 +160,20 @@ public class ClusterCfg {
     return Objects.equals(contactPoint, that.contactPoint)
         && Objects.equals(transportBuffer, that.transportBuffer)
         && Objects.equals(requestTimeout, that.requestTimeout)
+        && Objects.equals(requestBatchSize, that.requestBatchSize)
+        && Objects.equals(requestBatchWindow, that.requestBatchWindow)
         && Objects.equals(clusterName, that.clusterName);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(contactPoint, transportBuffer, requestTimeout, clusterName);
+    return Objects.hash(
+        contactPoint,
+        transportBuffer,
+        requestTimeout,
+        requestBatchSize,
+        requestBatchWindow,
+        clusterName);
   }
 
   @Override
@@ -154,6 +188,12 @@ public class ClusterCfg {
         + ", requestTimeout='"
         + requestTimeout
         + '\''
+        + ", requestBatchSize='"
+        + requestBatchSize
+        + '\''
+        + ", requestBatchWindow='"
+        + requestBatchWindow
+        + '\''
         + ", clusterName='"
         + clusterName
         + '\''
@@ -23,7 +23,10 @@ public class ConfigurationDefaults {
   public static final String DEFAULT_TRANSPORT_BUFFER_SIZE = "128M";
   public static final int DEFAULT_CONTACT_POINT_PORT = 26502;
   public static final int DEFAULT_MANAGEMENT_THREADS = 1;
+  public static final int DEFAULT_TRANSPORT_SHARDS = 1;
   public static final String DEFAULT_REQUEST_TIMEOUT = "15s";
+  public static final String DEFAULT_REQUEST_BATCH_SIZE = "128K";
+  public static final String DEFAULT_REQUEST_BATCH_WINDOW = "0ms";
   public static final String DEFAULT_CLUSTER_NAME = "zeebe-cluster";
   public static final String DEFAULT_CLUSTER_MEMBER_ID = "gateway";
   public static final String DEFAULT_CLUSTER_HOST = "0.0.0.0";
@@ -16,7 +16,9 @@
 package io.zeebe.gateway.impl.configuration;
 
 import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_MANAGEMENT_THREADS;
+import static io.zeebe.gateway.impl.configuration.ConfigurationDefaults.DEFAULT_TRANSPORT_SHARDS;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_MANAGEMENT_THREADS;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_TRANSPORT_SHARDS;
 
 import io.zeebe.util.Environment;
 import java.util.Objects;
@@ -24,9 +26,11 @@ import java.util.Objects;
 public class ThreadsCfg {
 
   private int managementThreads = DEFAULT_MANAGEMENT_THREADS;
+  private int transportShards = DEFAULT_TRANSPORT_SHARDS;
 
   public void init(Environment environment) {
     environment.getInt(ENV_GATEWAY_MANAGEMENT_THREADS).ifPresent(this::setManagementThreads);
+    environment.getInt(ENV_GATEWAY_TRANSPORT_SHARDS).ifPresent(this::setTransportShards);
   }
 
   public int getManagementThreads() {
@@ -38,6 +42,15 @@ public class ThreadsCfg {
     return this;
   }
 
+  public int getTransportShards() {
+    return transportShards;
+  }
+
+  public ThreadsCfg setTransportShards(int transportShards) {
+    this.transportShards = transportShards;
+    return this;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) {
@@ -47,16 +60,22 @@ public class ThreadsCfg {
       return false;
     }
     final ThreadsCfg that = (ThreadsCfg) o;
-    return managementThreads == that.managementThreads;
+    return managementThreads == that.managementThreads
+        && transportShards == that.transportShards;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(managementThreads);
+    return Objects.hash(managementThreads, transportShards);
   }
 
   @Override
   public String toString() {
-    return "ThreadsCfg{" + "managementThreads=" + managementThreads + '}';
+    return "ThreadsCfg{"
+        + "managementThreads="
+        + managementThreads
+        + ", transportShards="
+        + transportShards
+        + '}';
   }
 }
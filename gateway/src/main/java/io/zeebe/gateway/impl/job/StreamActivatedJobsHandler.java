@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.job;
+
+import io.grpc.Status;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.zeebe.gateway.RequestMapper;
+import io.zeebe.gateway.ResponseMapper;
+import io.zeebe.gateway.cmd.GrpcStatusExceptionImpl;
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.impl.broker.BrokerJobStream;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivatedJob;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import java.util.function.Consumer;
+import org.agrona.collections.Int2IntHashMap;
+
+/**
+ * Streams the jobs which the brokers push to a job stream of the gateway. The capacity of a
+ * streamed job is given back to its broker as soon as the job can be sent to the client; while the
+ * client doesn't take more jobs, the capacity is held back, so the brokers stop pushing.
+ */
+public class StreamActivatedJobsHandler {
+
+  private final BrokerClient brokerClient;
+
+  public StreamActivatedJobsHandler(BrokerClient brokerClient) {
+    this.brokerClient = brokerClient;
+  }
+
+  public void streamActivatedJobs(
+      StreamActivatedJobsRequest request,
+      ServerCallStreamObserver<ActivatedJob> responseObserver,
+      Consumer<Throwable> errorConsumer) {
+    final String error = validate(request);
+    if (error != null) {
+      errorConsumer.accept(new GrpcStatusExceptionImpl(error, Status.INVALID_ARGUMENT));
+      return;
+    }
+
+    final ClientStream clientStream = new ClientStream(responseObserver);
+    clientStream.brokerStream =
+        brokerClient.openJobStream(RequestMapper.toJobStreamRecord(request), clientStream::onJob);
+
+    responseObserver.setOnReadyHandler(clientStream::onReady);
+    responseObserver.setOnCancelHandler(clientStream.brokerStream::close);
+  }
+
+  private static String validate(StreamActivatedJobsRequest request) {
+    if (request.getType().trim().isEmpty()) {
+      return "Expected to stream jobs of a type, but the type is blank";
+    } else if (request.getWorker().trim().isEmpty()) {
+      return "Expected to stream jobs to a worker, but the worker is blank";
+    } else if (request.getTimeout() < 1) {
+      return String.format(
+          "Expected to stream jobs with a timeout of at least 1 ms, but was %d ms",
+          request.getTimeout());
+    } else if (request.getCapacity() < 1) {
+      return String.format(
+          "Expected to stream jobs with a capacity of at least 1, but was %d",
+          request.getCapacity());
+    }
+    return null;
+  }
+
+  private static final class ClientStream {
+    private final ServerCallStreamObserver<ActivatedJob> responseObserver;
+
+    // the capacity which is held back per broker, until the client is ready again
+    private final Int2IntHashMap pendingCapacity = new Int2IntHashMap(0);
+
+    private volatile BrokerJobStream brokerStream;
+
+    private ClientStream(ServerCallStreamObserver<ActivatedJob> responseObserver) {
+      this.responseObserver = responseObserver;
+    }
+
+    private void onJob(int nodeId, long key, JobRecord job) {
+      if (responseObserver.isCancelled()) {
+        return;
+      }
+
+      responseObserver.onNext(ResponseMapper.toActivatedJob(key, job));
+
+      synchronized (pendingCapacity) {
+        if (responseObserver.isReady()) {
+          brokerStream.addCapacity(nodeId, 1);
+        } else {
+          pendingCapacity.put(nodeId, pendingCapacity.get(nodeId) + 1);
+        }
+      }
+    }
+
+    private void onReady() {
+      synchronized (pendingCapacity) {
+        pendingCapacity.forEach(brokerStream::addCapacity);
+        pendingCapacity.clear();
+      }
+    }
+  }
+}
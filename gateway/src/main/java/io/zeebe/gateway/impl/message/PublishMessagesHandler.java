@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.impl.message;
+
+import static io.zeebe.protocol.Protocol.START_PARTITION_ID;
+
+import io.grpc.Status;
+import io.zeebe.gateway.RequestMapper;
+import io.zeebe.gateway.ResponseMapper;
+import io.zeebe.gateway.cmd.GrpcStatusExceptionImpl;
+import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesResponse;
+import io.zeebe.msgpack.MsgpackPropertyException;
+import io.zeebe.protocol.impl.SubscriptionUtil;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Publishes the messages of a request with one command per partition. The messages are grouped by
+ * the partition of their correlation key; the results are collected in the order of the request.
+ */
+public class PublishMessagesHandler {
+
+  private final BrokerClient brokerClient;
+
+  public PublishMessagesHandler(BrokerClient brokerClient) {
+    this.brokerClient = brokerClient;
+  }
+
+  public void publishMessages(
+      int partitionsCount,
+      PublishMessagesRequest request,
+      Consumer<PublishMessagesResponse> responseConsumer,
+      Consumer<Throwable> errorConsumer) {
+    final List<PublishMessageRequest> messages = request.getMessagesList();
+    if (messages.isEmpty()) {
+      errorConsumer.accept(
+          new GrpcStatusExceptionImpl(
+              "Expected to publish at least one message, but none was given",
+              Status.INVALID_ARGUMENT));
+      return;
+    }
+
+    final List<List<Integer>> messagesByPartition = groupByPartition(messages, partitionsCount);
+
+    final List<BrokerPublishMessagesRequest> brokerRequests = new ArrayList<>();
+    final List<List<Integer>> brokerRequestMessages = new ArrayList<>();
+    try {
+      for (int i = 0; i < partitionsCount; i++) {
+        final List<Integer> messageIndices = messagesByPartition.get(i);
+        if (!messageIndices.isEmpty()) {
+          final List<PublishMessageRequest> partitionMessages =
+              new ArrayList<>(messageIndices.size());
+          messageIndices.forEach(index -> partitionMessages.add(messages.get(index)));
+
+          brokerRequests.add(
+              RequestMapper.toPublishMessagesRequest(START_PARTITION_ID + i, partitionMessages));
+          brokerRequestMessages.add(messageIndices);
+        }
+      }
+    } catch (MsgpackPropertyException e) {
+      errorConsumer.accept(new GrpcStatusExceptionImpl(e.getMessage(), Status.INVALID_ARGUMENT, e));
+      return;
+    } catch (Exception e) {
+      errorConsumer.accept(e);
+      return;
+    }
+
+    final PublishMessageResult[] results = new PublishMessageResult[messages.size()];
+    final AtomicInteger pendingRequests = new AtomicInteger(brokerRequests.size());
+    final AtomicBoolean failed = new AtomicBoolean();
+
+    for (int i = 0; i < brokerRequests.size(); i++) {
+      final List<Integer> messageIndices = brokerRequestMessages.get(i);
+
+      brokerClient.sendRequest(
+          brokerRequests.get(i),
+          (key, response) -> {
+            final List<PublishMessageResult> partitionResults =
+                ResponseMapper.toPublishMessageResults(key, response);
+            for (int m = 0; m < partitionResults.size(); m++) {
+              results[messageIndices.get(m)] = partitionResults.get(m);
+            }
+
+            if (pendingRequests.decrementAndGet() == 0 && !failed.get()) {
+              responseConsumer.accept(
+                  PublishMessagesResponse.newBuilder()
+                      .addAllResults(Arrays.asList(results))
+                      .build());
+            }
+          },
+          error -> {
+            if (failed.compareAndSet(false, true)) {
+              errorConsumer.accept(error);
+            }
+          });
+    }
+  }
+
+  private static List<List<Integer>> groupByPartition(
+      List<PublishMessageRequest> messages, int partitionsCount) {
+    final List<List<Integer>> messagesByPartition = new ArrayList<>(partitionsCount);
+    for (int i = 0; i < partitionsCount; i++) {
+      messagesByPartition.add(new ArrayList<>());
+    }
+
+    for (int i = 0; i < messages.size(); i++) {
+      final int partitionId =
+          SubscriptionUtil.getSubscriptionPartitionId(
+              BufferUtil.wrapString(messages.get(i).getCorrelationKey()), partitionsCount);
+      messagesByPartition.get(partitionId - START_PARTITION_ID).add(i);
+    }
+
+    return messagesByPartition;
+  }
+}
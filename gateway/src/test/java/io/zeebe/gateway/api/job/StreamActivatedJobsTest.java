@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.job;
+
+import static io.zeebe.test.util.TestUtil.waitUntil;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.api.util.StubbedGateway.StubbedJobStream;
+import io.zeebe.gateway.protocol.GatewayOuterClass.ActivatedJob;
+import io.zeebe.gateway.protocol.GatewayOuterClass.StreamActivatedJobsRequest;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.test.util.JsonUtil;
+import io.zeebe.util.buffer.BufferUtil;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+
+public class StreamActivatedJobsTest extends GatewayTest {
+
+  private static final String TYPE = "testJob";
+  private static final String WORKER = "testWorker";
+  private static final Duration TIMEOUT = Duration.ofMinutes(12);
+
+  @Test
+  public void shouldOpenJobStream() {
+    // given
+    final List<String> fetchVariables = Arrays.asList("foo", "bar");
+    final StreamActivatedJobsRequest request =
+        newRequest(3).toBuilder().addAllFetchVariable(fetchVariables).build();
+
+    // when
+    client.streamActivatedJobs(request);
+
+    // then
+    final JobBatchRecord brokerRequest = awaitJobStream().getRequest();
+    assertThat(brokerRequest.getTypeBuffer()).isEqualTo(wrapString(TYPE));
+    assertThat(brokerRequest.getWorkerBuffer()).isEqualTo(wrapString(WORKER));
+    assertThat(brokerRequest.getTimeout()).isEqualTo(TIMEOUT.toMillis());
+    assertThat(brokerRequest.getMaxJobsToActivate()).isEqualTo(3);
+    assertThat(brokerRequest.variables())
+        .extracting(v -> BufferUtil.bufferAsString(v.getValue()))
+        .containsExactlyElementsOf(fetchVariables);
+  }
+
+  @Test
+  public void shouldStreamPushedJobs() {
+    // given
+    final Iterator<ActivatedJob> jobs = client.streamActivatedJobs(newRequest(3));
+    final StubbedJobStream stream = awaitJobStream();
+
+    // when
+    stream.push(1, 12L, newJob());
+
+    // then
+    final ActivatedJob job = jobs.next();
+    assertThat(job.getKey()).isEqualTo(12L);
+    assertThat(job.getType()).isEqualTo(TYPE);
+    assertThat(job.getWorker()).isEqualTo(WORKER);
+    assertThat(job.getRetries()).isEqualTo(ActivateJobsStub.RETRIES);
+    assertThat(job.getDeadline()).isEqualTo(ActivateJobsStub.DEADLINE);
+    assertThat(job.getWorkflowInstanceKey()).isEqualTo(ActivateJobsStub.WORKFLOW_INSTANCE_KEY);
+    assertThat(job.getElementId()).isEqualTo(ActivateJobsStub.ELEMENT_ID);
+    JsonUtil.assertEquality(job.getVariables(), ActivateJobsStub.VARIABLES);
+  }
+
+  @Test
+  public void shouldGiveBackCapacityOfStreamedJob() {
+    // given
+    final Iterator<ActivatedJob> jobs = client.streamActivatedJobs(newRequest(3));
+    final StubbedJobStream stream = awaitJobStream();
+
+    // when
+    stream.push(1, 12L, newJob());
+    jobs.next();
+
+    // then
+    waitUntil(() -> stream.getAddedCapacity(1) == 1);
+    assertThat(stream.getAddedCapacity(0)).isZero();
+  }
+
+  @Test
+  public void shouldRejectBlankType() {
+    // given
+    final StreamActivatedJobsRequest request = newRequest(3).toBuilder().setType(" ").build();
+
+    // when - then
+    assertInvalidArgument(request, "the type is blank");
+  }
+
+  @Test
+  public void shouldRejectBlankWorker() {
+    // given
+    final StreamActivatedJobsRequest request = newRequest(3).toBuilder().setWorker("").build();
+
+    // when - then
+    assertInvalidArgument(request, "the worker is blank");
+  }
+
+  @Test
+  public void shouldRejectNonPositiveTimeout() {
+    // given
+    final StreamActivatedJobsRequest request = newRequest(3).toBuilder().setTimeout(0).build();
+
+    // when - then
+    assertInvalidArgument(request, "timeout of at least 1 ms");
+  }
+
+  @Test
+  public void shouldRejectNonPositiveCapacity() {
+    // given
+    final StreamActivatedJobsRequest request = newRequest(0);
+
+    // when - then
+    assertInvalidArgument(request, "capacity of at least 1");
+  }
+
+  private void assertInvalidArgument(StreamActivatedJobsRequest request, String message) {
+    assertThatThrownBy(() -> client.streamActivatedJobs(request).hasNext())
+        .isInstanceOf(StatusRuntimeException.class)
+        .hasMessageContaining(message)
+        .satisfies(
+            e ->
+                assertThat(((StatusRuntimeException) e).getStatus().getCode())
+                    .isEqualTo(Status.Code.INVALID_ARGUMENT));
+    assertThat(gateway.getJobStreams()).isEmpty();
+  }
+
+  private StubbedJobStream awaitJobStream() {
+    waitUntil(() -> !gateway.getJobStreams().isEmpty());
+    assertThat(gateway.getJobStreams()).hasSize(1);
+    return gateway.getJobStreams().get(0);
+  }
+
+  private static StreamActivatedJobsRequest newRequest(int capacity) {
+    return StreamActivatedJobsRequest.newBuilder()
+        .setType(TYPE)
+        .setWorker(WORKER)
+        .setTimeout(TIMEOUT.toMillis())
+        .setCapacity(capacity)
+        .build();
+  }
+
+  private static JobRecord newJob() {
+    return new JobRecord()
+        .setType(TYPE)
+        .setWorker(WORKER)
+        .setRetries(ActivateJobsStub.RETRIES)
+        .setDeadline(ActivateJobsStub.DEADLINE)
+        .setCustomHeaders(ActivateJobsStub.CUSTOM_HEADERS_MSGPACK)
+        .setVariables(ActivateJobsStub.VARIABLES_MSGPACK)
+        .setWorkflowInstanceKey(ActivateJobsStub.WORKFLOW_INSTANCE_KEY)
+        .setElementId(ActivateJobsStub.ELEMENT_ID);
+  }
+}
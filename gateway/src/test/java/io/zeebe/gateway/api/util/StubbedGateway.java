@@ -27,6 +27,7 @@ import io.zeebe.gateway.cmd.BrokerRejectionException;
 import io.zeebe.gateway.cmd.BrokerResponseException;
 import io.zeebe.gateway.cmd.IllegalBrokerResponseException;
 import io.zeebe.gateway.impl.broker.BrokerClient;
+import io.zeebe.gateway.impl.broker.BrokerJobStream;
 import io.zeebe.gateway.impl.broker.BrokerResponseConsumer;
 import io.zeebe.gateway.impl.broker.cluster.BrokerClusterState;
 import io.zeebe.gateway.impl.broker.cluster.BrokerClusterStateImpl;
@@ -36,11 +37,15 @@ import io.zeebe.gateway.impl.broker.response.BrokerResponse;
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
 import io.zeebe.gateway.protocol.GatewayGrpc;
 import io.zeebe.gateway.protocol.GatewayGrpc.GatewayBlockingStub;
+import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
+import io.zeebe.protocol.impl.record.value.job.JobRecord;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Consumer;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
@@ -50,6 +55,7 @@ public class StubbedGateway extends Gateway {
 
   private Map<Class<?>, RequestHandler> requestHandlers = new HashMap<>();
   private List<BrokerRequest> brokerRequests = new ArrayList<>();
+  private List<StubbedJobStream> jobStreams = new CopyOnWriteArrayList<>();
 
   public StubbedGateway() {
     super(new GatewayCfg(), cfg -> null, cfg -> InProcessServerBuilder.forName(SERVER_NAME));
@@ -72,11 +78,19 @@ public class StubbedGateway extends Gateway {
     return new StubbedBrokerClient();
   }
 
+  public List<BrokerRequest> getBrokerRequests() {
+    return brokerRequests;
+  }
+
   public <T extends BrokerRequest<?>> T getSingleBrokerRequest() {
     assertThat(brokerRequests).hasSize(1);
     return (T) brokerRequests.get(0);
   }
 
+  public List<StubbedJobStream> getJobStreams() {
+    return jobStreams;
+  }
+
   @FunctionalInterface
   interface RequestHandler<RequestT extends BrokerRequest<?>, ResponseT extends BrokerResponse<?>> {
     ResponseT handle(RequestT request) throws Exception;
@@ -124,12 +138,59 @@ public class StubbedGateway extends Gateway {
       }
     }
 
+    @Override
+    public BrokerJobStream openJobStream(
+        JobBatchRecord request, BrokerJobStream.JobConsumer consumer) {
+      final StubbedJobStream stream = new StubbedJobStream(request, consumer);
+      jobStreams.add(stream);
+      return stream;
+    }
+
     @Override
     public BrokerTopologyManager getTopologyManager() {
       return topologyManager;
     }
   }
 
+  public static class StubbedJobStream implements BrokerJobStream {
+
+    private final JobBatchRecord request;
+    private final JobConsumer consumer;
+    private final Map<Integer, Integer> addedCapacity = new ConcurrentHashMap<>();
+    private volatile boolean isClosed;
+
+    StubbedJobStream(JobBatchRecord request, JobConsumer consumer) {
+      this.request = request;
+      this.consumer = consumer;
+    }
+
+    public void push(int nodeId, long key, JobRecord job) {
+      consumer.onJob(nodeId, key, job);
+    }
+
+    public JobBatchRecord getRequest() {
+      return request;
+    }
+
+    public int getAddedCapacity(int nodeId) {
+      return addedCapacity.getOrDefault(nodeId, 0);
+    }
+
+    public boolean isClosed() {
+      return isClosed;
+    }
+
+    @Override
+    public void addCapacity(int nodeId, int capacity) {
+      addedCapacity.merge(nodeId, capacity, Integer::sum);
+    }
+
+    @Override
+    public void close() {
+      isClosed = true;
+    }
+  }
+
   private class StubbedTopologyManager implements BrokerTopologyManager {
 
     private final BrokerClusterStateImpl clusterState;
@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+
+import io.zeebe.gateway.api.util.StubbedGateway;
+import io.zeebe.gateway.api.util.StubbedGateway.RequestStub;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
+import io.zeebe.gateway.impl.broker.response.BrokerResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.record.value.message.MessageBatchRecord;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.record.RejectionType;
+
+public class PublishMessagesStub
+    implements RequestStub<BrokerPublishMessagesRequest, BrokerResponse<MessageBatchRecord>> {
+
+  public static final String DUPLICATE_MESSAGE_ID = "duplicate";
+  public static final String REJECTION_REASON = "already published";
+
+  @Override
+  public void registerWith(StubbedGateway gateway) {
+    gateway.registerHandler(BrokerPublishMessagesRequest.class, this);
+  }
+
+  @Override
+  public BrokerResponse<MessageBatchRecord> handle(BrokerPublishMessagesRequest request)
+      throws Exception {
+    final int partitionId = request.getPartitionId();
+
+    final MessageBatchRecord response = new MessageBatchRecord();
+    long key = 0;
+    for (MessageRecord message : request.getRequestWriter().messages()) {
+      if (DUPLICATE_MESSAGE_ID.equals(bufferAsString(message.getMessageIdBuffer()))) {
+        response.addRejected(RejectionType.ALREADY_EXISTS, REJECTION_REASON);
+      } else {
+        response.addPublished(Protocol.encodePartitionId(partitionId, key++));
+      }
+    }
+
+    return new BrokerResponse<>(
+        response, partitionId, Protocol.encodePartitionId(partitionId, key));
+  }
+}
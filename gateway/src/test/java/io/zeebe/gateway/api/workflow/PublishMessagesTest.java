@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.gateway.api.workflow;
+
+import static io.zeebe.util.buffer.BufferUtil.bufferAsString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.gateway.api.util.GatewayTest;
+import io.zeebe.gateway.impl.broker.request.BrokerPublishMessagesRequest;
+import io.zeebe.gateway.impl.broker.request.BrokerRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessageResult;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesRequest;
+import io.zeebe.gateway.protocol.GatewayOuterClass.PublishMessagesResponse;
+import io.zeebe.protocol.Protocol;
+import io.zeebe.protocol.impl.SubscriptionUtil;
+import io.zeebe.protocol.impl.record.value.message.MessageRecord;
+import io.zeebe.protocol.record.ValueType;
+import io.zeebe.protocol.record.intent.MessageBatchIntent;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class PublishMessagesTest extends GatewayTest {
+
+  @Test
+  public void shouldGroupMessagesByPartition() {
+    // given
+    final PublishMessagesStub stub = new PublishMessagesStub();
+    stub.registerWith(gateway);
+
+    final PublishMessagesRequest.Builder request = PublishMessagesRequest.newBuilder();
+    for (int i = 0; i < 20; i++) {
+      request.addMessages(
+          PublishMessageRequest.newBuilder()
+              .setName("message")
+              .setCorrelationKey("key-" + i)
+              .setTimeToLive(123));
+    }
+
+    // when
+    final PublishMessagesResponse response = client.publishMessages(request.build());
+
+    // then
+    assertThat(response.getResultsCount()).isEqualTo(20);
+
+    final List<BrokerRequest> brokerRequests = gateway.getBrokerRequests();
+    assertThat(brokerRequests)
+        .extracting(BrokerRequest::getPartitionId)
+        .doesNotHaveDuplicates();
+
+    final List<String> publishedCorrelationKeys = new ArrayList<>();
+    for (BrokerRequest<?> brokerRequest : brokerRequests) {
+      final BrokerPublishMessagesRequest publishRequest =
+          (BrokerPublishMessagesRequest) brokerRequest;
+      assertThat(publishRequest.getValueType()).isEqualTo(ValueType.MESSAGE_BATCH);
+      assertThat(publishRequest.getIntent()).isEqualTo(MessageBatchIntent.PUBLISH);
+
+      for (MessageRecord message : publishRequest.getRequestWriter().messages()) {
+        assertThat(
+                SubscriptionUtil.getSubscriptionPartitionId(
+                    message.getCorrelationKeyBuffer(), 8))
+            .isEqualTo(publishRequest.getPartitionId());
+        publishedCorrelationKeys.add(bufferAsString(message.getCorrelationKeyBuffer()));
+      }
+    }
+    assertThat(publishedCorrelationKeys).hasSize(20);
+
+    for (int i = 0; i < 20; i++) {
+      final int partitionId =
+          SubscriptionUtil.getSubscriptionPartitionId(BufferUtil.wrapString("key-" + i), 8);
+      assertThat(Protocol.decodePartitionId(response.getResults(i).getKey()))
+          .isEqualTo(partitionId);
+    }
+  }
+
+  @Test
+  public void shouldMapResultsInOrderOfMessages() {
+    // given
+    final PublishMessagesStub stub = new PublishMessagesStub();
+    stub.registerWith(gateway);
+
+    final PublishMessagesRequest request =
+        PublishMessagesRequest.newBuilder()
+            .addMessages(
+                PublishMessageRequest.newBuilder()
+                    .setName("message")
+                    .setCorrelationKey("key")
+                    .setMessageId(PublishMessagesStub.DUPLICATE_MESSAGE_ID))
+            .addMessages(
+                PublishMessageRequest.newBuilder()
+                    .setName("message")
+                    .setCorrelationKey("key")
+                    .setMessageId("unique"))
+            .build();
+
+    // when
+    final PublishMessagesResponse response = client.publishMessages(request);
+
+    // then
+    final PublishMessageResult rejected = response.getResults(0);
+    assertThat(rejected.getKey()).isEqualTo(-1L);
+    assertThat(rejected.getRejectionType()).isEqualTo("ALREADY_EXISTS");
+    assertThat(rejected.getRejectionReason()).isEqualTo(PublishMessagesStub.REJECTION_REASON);
+
+    final PublishMessageResult published = response.getResults(1);
+    assertThat(published.getKey()).isGreaterThan(0L);
+    assertThat(published.getRejectionType()).isEmpty();
+  }
+}
@@ -26,8 +26,11 @@ import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEW
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_MONITORING_HOST;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_MONITORING_PORT;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_PORT;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_BATCH_SIZE;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_BATCH_WINDOW;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_REQUEST_TIMEOUT;
 import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_TRANSPORT_BUFFER;
+import static io.zeebe.gateway.impl.configuration.EnvironmentConstants.ENV_GATEWAY_TRANSPORT_SHARDS;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.gateway.impl.configuration.GatewayCfg;
@@ -56,11 +59,13 @@ public class GatewayCfgTest {
         .setContactPoint("foobar:1234")
         .setTransportBuffer("4K")
         .setRequestTimeout("123h")
+        .setRequestBatchSize("64K")
+        .setRequestBatchWindow("2ms")
         .setClusterName("testCluster")
         .setMemberId("testMember")
         .setHost("1.2.3.4")
         .setPort(12321);
-    CUSTOM_CFG.getThreads().setManagementThreads(100);
+    CUSTOM_CFG.getThreads().setManagementThreads(100).setTransportShards(4);
   }
 
   private final Map<String, String> environment = new HashMap<>();
@@ -100,7 +105,10 @@ public class GatewayCfgTest {
     setEnv(ENV_GATEWAY_CONTACT_POINT, "broker:432");
     setEnv(ENV_GATEWAY_TRANSPORT_BUFFER, "12G");
     setEnv(ENV_GATEWAY_MANAGEMENT_THREADS, "32");
+    setEnv(ENV_GATEWAY_TRANSPORT_SHARDS, "8");
     setEnv(ENV_GATEWAY_REQUEST_TIMEOUT, "43m");
+    setEnv(ENV_GATEWAY_REQUEST_BATCH_SIZE, "1M");
+    setEnv(ENV_GATEWAY_REQUEST_BATCH_WINDOW, "5ms");
     setEnv(ENV_GATEWAY_CLUSTER_NAME, "envCluster");
     setEnv(ENV_GATEWAY_CLUSTER_MEMBER_ID, "envMember");
     setEnv(ENV_GATEWAY_CLUSTER_HOST, "envHost");
@@ -116,11 +124,13 @@ public class GatewayCfgTest {
         .setContactPoint("broker:432")
         .setTransportBuffer("12G")
         .setRequestTimeout("43m")
+        .setRequestBatchSize("1M")
+        .setRequestBatchWindow("5ms")
         .setClusterName("envCluster")
         .setMemberId("envMember")
         .setHost("envHost")
         .setPort(12345);
-    expected.getThreads().setManagementThreads(32);
+    expected.getThreads().setManagementThreads(32).setTransportShards(8);
     expected.getMonitoring().setEnabled(true).setHost("monitorHost").setPort(231);
 
     // when
@@ -127,6 +127,19 @@ public class MsgPackConverterTest {
     assertThat(json).isEqualTo("[1,2]");
   }
 
+  @Test
+  public void shouldConvertNonStringKeysFromMsgPackToJsonString() {
+    // when
+    final String json =
+        MsgPackConverter.convertToJson(
+            MsgPackUtil.encodeMsgPack(
+                    b -> b.packMapHeader(2).packInt(1).packString("a").packBoolean(true).packInt(2))
+                .byteArray());
+
+    // then
+    assertThat(json).isEqualTo("{\"1\":\"a\",\"true\":2}");
+  }
+
   @Test
   public void shouldConvertNullFromMsgPackToJsonString() {
     // when
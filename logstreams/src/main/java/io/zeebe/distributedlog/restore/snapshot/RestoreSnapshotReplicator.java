@@ -27,6 +27,8 @@ import org.slf4j.Logger;
 
 public class RestoreSnapshotReplicator {
 
+  private static final int MAX_CHUNK_REQUEST_RETRIES = 3;
+
   private final RestoreClient client;
   private final SnapshotRestoreContext restoreContext;
   private SnapshotConsumer snapshotConsumer;
@@ -68,14 +70,18 @@ public class RestoreSnapshotReplicator {
     if (restoreContext.getStateStorage().existSnapshot(snapshotId)) {
       result.complete(restoreContext.getSnapshotPositionSupplier().get());
     } else {
-      restoreInternal(server, snapshotId, 0, result);
+      restoreInternal(server, snapshotId, 0, 0, result);
     }
 
     return result;
   }
 
   private void restoreInternal(
-      MemberId server, long snapshotId, int chunkIdx, CompletableFuture<Tuple<Long, Long>> future) {
+      MemberId server,
+      long snapshotId,
+      int chunkIdx,
+      int retries,
+      CompletableFuture<Tuple<Long, Long>> future) {
     final DefaultSnapshotRestoreRequest request =
         new DefaultSnapshotRestoreRequest(snapshotId, chunkIdx);
     client
@@ -83,7 +89,17 @@ public class RestoreSnapshotReplicator {
         .whenCompleteAsync(
             (r, e) -> {
               if (e != null) {
-                failReplication(snapshotId, future, e);
+                if (retries < MAX_CHUNK_REQUEST_RETRIES) {
+                  // the chunks received so far are kept, only the failed chunk is requested again
+                  logger.debug(
+                      "Failed to request snapshot chunk {} of snapshot {}, retry.",
+                      chunkIdx,
+                      snapshotId,
+                      e);
+                  restoreInternal(server, snapshotId, chunkIdx, retries + 1, future);
+                } else {
+                  failReplication(snapshotId, future, e);
+                }
                 return;
               } else if (!r.isSuccess()) {
                 failReplication(
@@ -106,7 +122,7 @@ public class RestoreSnapshotReplicator {
               }
 
               if (chunkIdx + 1 < numChunks) {
-                restoreInternal(server, snapshotId, chunkIdx + 1, future);
+                restoreInternal(server, snapshotId, chunkIdx + 1, 0, future);
                 return;
               }
 
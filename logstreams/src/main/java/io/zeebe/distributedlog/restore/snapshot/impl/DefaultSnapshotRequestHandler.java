@@ -20,10 +20,11 @@ import io.zeebe.distributedlog.restore.snapshot.SnapshotRestoreRequest;
 import io.zeebe.distributedlog.restore.snapshot.SnapshotRestoreResponse;
 import io.zeebe.logstreams.spi.SnapshotController;
 import io.zeebe.logstreams.state.SnapshotChunk;
+import io.zeebe.logstreams.state.SnapshotChunkDescriptor;
 import io.zeebe.logstreams.state.SnapshotChunkUtil;
 import java.io.File;
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.List;
 import org.slf4j.Logger;
 
 public class DefaultSnapshotRequestHandler implements SnapshotRequestHandler {
@@ -41,31 +42,25 @@ public class DefaultSnapshotRequestHandler implements SnapshotRequestHandler {
 
     logger.debug("Received on demand snapshot request {}", request);
     if (snapshotDirectory.exists()) {
-      final File[] files = snapshotDirectory.listFiles();
-      if (files != null && files.length > 0) {
-        Arrays.sort(files);
-
-        if (request.getChunkIdx() < files.length) {
-          final File chunkFile = files[request.getChunkIdx()];
+      final List<SnapshotChunkDescriptor> chunks = SnapshotChunkUtil.listChunks(snapshotDirectory);
+      if (!chunks.isEmpty()) {
+        if (request.getChunkIdx() < chunks.size()) {
+          final SnapshotChunkDescriptor chunk = chunks.get(request.getChunkIdx());
           try {
             final SnapshotChunk snapshotChunk =
-                SnapshotChunkUtil.createSnapshotChunkFromFile(
-                    chunkFile, request.getSnapshotId(), files.length);
+                SnapshotChunkUtil.readSnapshotChunk(chunk, request.getSnapshotId(), chunks.size());
             response = new SuccessSnapshotRestoreResponse(snapshotChunk);
           } catch (IOException e) {
             logger.warn(
-                "Unexpected error when reading snapshot chunk file {} ({}) at index {}.",
-                chunkFile.toString(),
+                "Unexpected error when reading snapshot chunk {} ({}) at index {}.",
+                chunk,
                 request.getSnapshotId(),
                 request.getChunkIdx(),
                 e);
           }
         }
       } else {
-        logger.debug(
-            "No snapshot files available ({}) but directory {} is present",
-            files,
-            snapshotDirectory);
+        logger.debug("No snapshot files available but directory {} is present", snapshotDirectory);
       }
     }
 
@@ -158,30 +158,29 @@ public class LogStreamBatchWriterImpl implements LogStreamBatchWriter, LogEntryB
       return;
     }
 
-    // copy event to buffer
-    final int metadataLength = metadataWriter.getLength();
-    final int valueLength = valueWriter.getLength();
-
+    // copy event to buffer, the lengths are filled in after writing metadata and value in a
+    // single pass each
     eventBuffer.putLong(eventBufferOffset, key, Protocol.ENDIANNESS);
     eventBufferOffset += SIZE_OF_LONG;
 
     eventBuffer.putInt(eventBufferOffset, sourceIndex, Protocol.ENDIANNESS);
     eventBufferOffset += SIZE_OF_INT;
 
-    eventBuffer.putInt(eventBufferOffset, metadataLength, Protocol.ENDIANNESS);
+    final int metadataLengthOffset = eventBufferOffset;
     eventBufferOffset += SIZE_OF_INT;
 
-    eventBuffer.putInt(eventBufferOffset, valueLength, Protocol.ENDIANNESS);
+    final int valueLengthOffset = eventBufferOffset;
     eventBufferOffset += SIZE_OF_INT;
 
-    if (metadataLength > 0) {
-      metadataWriter.write(eventBuffer, eventBufferOffset);
-      eventBufferOffset += metadataLength;
-    }
+    final int metadataLength = metadataWriter.writeExpandable(eventBuffer, eventBufferOffset);
+    eventBufferOffset += metadataLength;
 
-    valueWriter.write(eventBuffer, eventBufferOffset);
+    final int valueLength = valueWriter.writeExpandable(eventBuffer, eventBufferOffset);
     eventBufferOffset += valueLength;
 
+    eventBuffer.putInt(metadataLengthOffset, metadataLength, Protocol.ENDIANNESS);
+    eventBuffer.putInt(valueLengthOffset, valueLength, Protocol.ENDIANNESS);
+
     eventLength += metadataLength + valueLength;
     eventCount += 1;
   }
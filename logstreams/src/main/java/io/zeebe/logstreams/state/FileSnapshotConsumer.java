@@ -15,20 +15,27 @@
  */
 package io.zeebe.logstreams.state;
 
-import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
 
 import io.zeebe.util.FileUtil;
 import java.io.File;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
-import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import org.slf4j.Logger;
 
 public class FileSnapshotConsumer implements SnapshotConsumer {
 
   private final StateStorage stateStorage;
   private final Logger logger;
+  private final Map<Long, Set<String>> receivedChunks = new HashMap<>();
 
   public FileSnapshotConsumer(StateStorage stateStorage, Logger logger) {
     this.stateStorage = stateStorage;
@@ -42,11 +49,14 @@ public class FileSnapshotConsumer implements SnapshotConsumer {
 
   @Override
   public boolean completeSnapshot(long snapshotId) {
-    return moveValidSnapshot(stateStorage, snapshotId);
+    receivedChunks.remove(snapshotId);
+    return restoreReusedFiles(stateStorage, snapshotId)
+        && moveValidSnapshot(stateStorage, snapshotId);
   }
 
   @Override
   public void invalidateSnapshot(long snapshotId) {
+    receivedChunks.remove(snapshotId);
     final File tmpSnapshotDirectory =
         stateStorage.getTmpSnapshotDirectoryFor(Long.toString(snapshotId));
     try {
@@ -89,19 +99,32 @@ public class FileSnapshotConsumer implements SnapshotConsumer {
     }
 
     final File snapshotFile = new File(tmpSnapshotDirectory, chunkName);
-    if (snapshotFile.exists()) {
-      logger.debug("Received a snapshot chunk which already exist '{}'.", snapshotFile);
+    final long fileOffset = snapshotChunk.getFileOffset();
+    final Set<String> chunks =
+        receivedChunks.computeIfAbsent(snapshotPosition, k -> new HashSet<>());
+    if (!chunks.add(chunkName + "@" + fileOffset)) {
+      logger.debug(
+          "Received a snapshot chunk which already exist '{}' at offset {}.",
+          snapshotFile,
+          fileOffset);
       return false;
     }
 
-    logger.debug("Consume snapshot chunk {}", chunkName);
+    logger.debug("Consume snapshot chunk {} at offset {}", chunkName, fileOffset);
     return writeReceivedSnapshotChunk(snapshotChunk, snapshotFile);
   }
 
+  /**
+   * Writes the content of the chunk at its offset into the snapshot file, such that chunks of the
+   * same file can be received in any order and a partially received file is not kept in memory.
+   */
   private boolean writeReceivedSnapshotChunk(SnapshotChunk snapshotChunk, File snapshotFile) {
-    try {
-      Files.write(
-          snapshotFile.toPath(), snapshotChunk.getContent(), CREATE_NEW, StandardOpenOption.WRITE);
+    try (FileChannel channel = FileChannel.open(snapshotFile.toPath(), CREATE, WRITE)) {
+      final ByteBuffer content = ByteBuffer.wrap(snapshotChunk.getContent());
+      long position = snapshotChunk.getFileOffset();
+      while (content.hasRemaining()) {
+        position += channel.write(content, position);
+      }
       logger.trace("Wrote replicated snapshot chunk to file {}", snapshotFile.toPath());
       return true;
     } catch (IOException ioe) {
@@ -111,6 +134,58 @@ public class FileSnapshotConsumer implements SnapshotConsumer {
     }
   }
 
+  /**
+   * Restores the files which are listed in the replicated manifest, but were not replicated because
+   * they are part of the base snapshot. These files are hard linked from the base snapshot, or
+   * copied if linking is not possible.
+   */
+  private boolean restoreReusedFiles(StateStorage storage, long snapshotId) {
+    final File tmpSnapshotDirectory = storage.getTmpSnapshotDirectoryFor(Long.toString(snapshotId));
+    final File manifestFile = new File(tmpSnapshotDirectory, SnapshotManifest.MANIFEST_FILE_NAME);
+    if (!manifestFile.exists()) {
+      return true;
+    }
+
+    try {
+      final SnapshotManifest manifest = SnapshotManifest.read(manifestFile);
+      final File baseSnapshotDirectory =
+          storage.getSnapshotDirectoryFor(manifest.getBaseSnapshotPosition());
+
+      for (Map.Entry<String, Long> file : manifest.getFileSizes().entrySet()) {
+        final File snapshotFile = new File(tmpSnapshotDirectory, file.getKey());
+        if (!snapshotFile.exists()) {
+          final File baseSnapshotFile = new File(baseSnapshotDirectory, file.getKey());
+          if (!baseSnapshotFile.exists() || baseSnapshotFile.length() != file.getValue()) {
+            logger.warn(
+                "Expected to reuse file {} of base snapshot {} for snapshot {}, but no such file exists.",
+                file.getKey(),
+                manifest.getBaseSnapshotPosition(),
+                snapshotId);
+            return false;
+          }
+
+          linkOrCopy(baseSnapshotFile, snapshotFile);
+        }
+      }
+
+      Files.delete(manifestFile.toPath());
+      return true;
+    } catch (IOException ioe) {
+      logger.error(
+          "Unexpected error occurred when restoring reused files of snapshot {}", snapshotId, ioe);
+      return false;
+    }
+  }
+
+  private void linkOrCopy(File source, File target) throws IOException {
+    try {
+      Files.createLink(target.toPath(), source.toPath());
+    } catch (UnsupportedOperationException | IOException e) {
+      logger.debug("Could not link {} to {}, copy it instead.", source, target, e);
+      Files.copy(source.toPath(), target.toPath());
+    }
+  }
+
   private boolean moveValidSnapshot(StateStorage storage, long snapshotId) {
     final File validSnapshotDirectory = storage.getSnapshotDirectoryFor(snapshotId);
     final File tmpSnapshotDirectory = storage.getTmpSnapshotDirectoryFor(Long.toString(snapshotId));
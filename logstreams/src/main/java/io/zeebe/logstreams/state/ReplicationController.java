@@ -53,18 +53,31 @@ public final class ReplicationController {
     this.snapshotConsumer = new FileSnapshotConsumer(storage, LOG);
   }
 
-  public void replicate(long snapshotPosition, int totalCount, File snapshotChunkFile) {
+  public void replicate(long snapshotPosition, int totalCount, SnapshotChunkDescriptor chunk) {
     try {
       final SnapshotChunk chunkToReplicate =
-          SnapshotChunkUtil.createSnapshotChunkFromFile(
-              snapshotChunkFile, snapshotPosition, totalCount);
+          SnapshotChunkUtil.readSnapshotChunk(chunk, snapshotPosition, totalCount);
       replication.replicate(chunkToReplicate);
     } catch (IOException ioe) {
-      LOG.error(
-          "Unexpected error on reading snapshot chunk from file '{}'.", snapshotChunkFile, ioe);
+      LOG.error("Unexpected error on reading snapshot chunk {}.", chunk, ioe);
     }
   }
 
+  public void replicateManifest(long snapshotPosition, int totalCount, SnapshotManifest manifest) {
+    final SnapshotChunk manifestChunk =
+        SnapshotChunkUtil.createSnapshotChunk(
+            SnapshotManifest.MANIFEST_FILE_NAME, manifest.toBytes(), snapshotPosition, totalCount);
+    replication.replicate(manifestChunk);
+  }
+
+  /**
+   * Registers a listener, which is called when a receiver could not complete a replicated snapshot
+   * and requests the next snapshot to be replicated completely.
+   */
+  public void onFullReplicationRequest(Runnable listener) {
+    replication.onFullReplicationRequest(listener);
+  }
+
   /** Registering for consuming snapshot chunks. */
   public void consumeReplicatedSnapshots() {
     replication.consume(this::consumeSnapshotChunk);
@@ -143,6 +156,11 @@ public final class ReplicationController {
 
     } else {
       markSnapshotAsInvalid(snapshotChunk);
+
+      LOG.debug(
+          "Request a full replication, because snapshot {} could not be completed.",
+          snapshotChunk.getSnapshotPosition());
+      replication.requestFullReplication();
       return false;
     }
   }
@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.state;
+
+import java.io.File;
+
+/** Describes a fixed-size range of a snapshot file, which is replicated as one snapshot chunk. */
+public final class SnapshotChunkDescriptor {
+
+  private final File file;
+  private final long offset;
+  private final int length;
+
+  public SnapshotChunkDescriptor(File file, long offset, int length) {
+    this.file = file;
+    this.offset = offset;
+    this.length = length;
+  }
+
+  public File getFile() {
+    return file;
+  }
+
+  public long getOffset() {
+    return offset;
+  }
+
+  public int getLength() {
+    return length;
+  }
+
+  @Override
+  public String toString() {
+    return "SnapshotChunkDescriptor{"
+        + "file="
+        + file
+        + ", offset="
+        + offset
+        + ", length="
+        + length
+        + '}';
+  }
+}
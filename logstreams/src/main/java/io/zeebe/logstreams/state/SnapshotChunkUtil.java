@@ -17,38 +17,148 @@ package io.zeebe.logstreams.state;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.zip.CRC32;
 
 public class SnapshotChunkUtil {
 
+  /** The maximum size of the content of a single snapshot chunk. */
+  public static final int DEFAULT_CHUNK_SIZE = 512 * 1024;
+
+  private static final int MAX_POOLED_BUFFERS = 4;
+  private static final ArrayBlockingQueue<ByteBuffer> BUFFER_POOL =
+      new ArrayBlockingQueue<>(MAX_POOLED_BUFFERS);
+
   public static long createChecksum(byte[] content) {
     final CRC32 crc32 = new CRC32();
     crc32.update(content);
     return crc32.getValue();
   }
 
-  public static SnapshotChunk createSnapshotChunkFromFile(
-      File snapshotChunkFile, long snapshotPosition, int totalCount) throws IOException {
-    final byte[] content;
-    content = Files.readAllBytes(snapshotChunkFile.toPath());
+  public static SnapshotChunk createSnapshotChunk(
+      String chunkName, byte[] content, long snapshotPosition, int totalCount) {
     final long checksum = createChecksum(content);
-    return new SnapshotChunkImpl(
-        snapshotPosition, totalCount, snapshotChunkFile.getName(), checksum, content);
+    return new SnapshotChunkImpl(snapshotPosition, totalCount, chunkName, 0, checksum, content);
+  }
+
+  /**
+   * Splits the files of the given snapshot directory into chunks of at most {@link
+   * #DEFAULT_CHUNK_SIZE} bytes. The chunks are ordered by file name and offset, every file has at
+   * least one chunk.
+   */
+  public static List<SnapshotChunkDescriptor> listChunks(File snapshotDirectory) {
+    return listChunks(snapshotDirectory, DEFAULT_CHUNK_SIZE);
+  }
+
+  public static List<SnapshotChunkDescriptor> listChunks(File snapshotDirectory, int chunkSize) {
+    final File[] files = snapshotDirectory.listFiles();
+    if (files == null) {
+      return new ArrayList<>();
+    }
+
+    Arrays.sort(files);
+    return listChunks(Arrays.asList(files), chunkSize);
+  }
+
+  public static List<SnapshotChunkDescriptor> listChunks(List<File> files, int chunkSize) {
+    final List<SnapshotChunkDescriptor> chunks = new ArrayList<>();
+    for (File file : files) {
+      final long fileSize = file.length();
+      long offset = 0;
+      do {
+        final int length = (int) Math.min(chunkSize, fileSize - offset);
+        chunks.add(new SnapshotChunkDescriptor(file, offset, length));
+        offset += length;
+      } while (offset < fileSize);
+    }
+    return chunks;
+  }
+
+  /**
+   * Reads the described range of the snapshot file through a pooled direct buffer. The checksum is
+   * calculated while reading, so the content is only copied once into the resulting chunk.
+   */
+  public static SnapshotChunk readSnapshotChunk(
+      SnapshotChunkDescriptor descriptor, long snapshotPosition, int totalCount)
+      throws IOException {
+    final File file = descriptor.getFile();
+    final int length = descriptor.getLength();
+    final ByteBuffer buffer = acquireBuffer(length);
+
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long position = descriptor.getOffset();
+      while (buffer.hasRemaining()) {
+        final int read = channel.read(buffer, position);
+        if (read < 0) {
+          throw new IOException(
+              String.format(
+                  "Expected to read %d bytes at offset %d of snapshot file %s, but reached end of file.",
+                  length, descriptor.getOffset(), file));
+        }
+        position += read;
+      }
+      buffer.flip();
+
+      final CRC32 crc32 = new CRC32();
+      crc32.update(buffer);
+      buffer.rewind();
+
+      final byte[] content = new byte[length];
+      buffer.get(content);
+
+      return new SnapshotChunkImpl(
+          snapshotPosition,
+          totalCount,
+          file.getName(),
+          descriptor.getOffset(),
+          crc32.getValue(),
+          content);
+    } finally {
+      releaseBuffer(buffer);
+    }
+  }
+
+  private static ByteBuffer acquireBuffer(int length) {
+    ByteBuffer buffer = BUFFER_POOL.poll();
+    if (buffer == null || buffer.capacity() < length) {
+      buffer = ByteBuffer.allocateDirect(Math.max(length, DEFAULT_CHUNK_SIZE));
+    }
+
+    buffer.clear().limit(length);
+    return buffer;
+  }
+
+  private static void releaseBuffer(ByteBuffer buffer) {
+    if (buffer.capacity() == DEFAULT_CHUNK_SIZE) {
+      BUFFER_POOL.offer(buffer);
+    }
   }
 
   private static final class SnapshotChunkImpl implements SnapshotChunk {
     private final long snapshotPosition;
     private final int totalCount;
     private final String chunkName;
+    private final long fileOffset;
     private final byte[] content;
     private final long checksum;
 
     SnapshotChunkImpl(
-        long snapshotPosition, int totalCount, String chunkName, long checksum, byte[] content) {
+        long snapshotPosition,
+        int totalCount,
+        String chunkName,
+        long fileOffset,
+        long checksum,
+        byte[] content) {
       this.snapshotPosition = snapshotPosition;
       this.totalCount = totalCount;
       this.chunkName = chunkName;
+      this.fileOffset = fileOffset;
       this.checksum = checksum;
       this.content = content;
     }
@@ -63,6 +173,11 @@ public class SnapshotChunkUtil {
       return chunkName;
     }
 
+    @Override
+    public long getFileOffset() {
+      return fileOffset;
+    }
+
     @Override
     public int getTotalCount() {
       return totalCount;
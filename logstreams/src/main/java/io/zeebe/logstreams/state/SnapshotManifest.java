@@ -0,0 +1,121 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.state;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Describes the complete set of files of a snapshot, with their sizes. It is replicated together
+ * with a snapshot, such that only files which were not part of the previous snapshot need to be
+ * transferred; the receiver restores the remaining files from its own previous snapshots.
+ *
+ * <p>The receiver only reuses files of the base snapshot, which the sender compared the snapshot
+ * with. The manifest is serialized as a line with the base snapshot position, followed by one
+ * {@code <file name> <size>} line per file.
+ */
+public final class SnapshotManifest {
+
+  public static final String MANIFEST_FILE_NAME = "zeebe-snapshot.manifest";
+  public static final long NO_BASE_SNAPSHOT = -1L;
+
+  private static final String SST_FILE_EXTENSION = ".sst";
+  private static final String SEPARATOR = " ";
+
+  private final long baseSnapshotPosition;
+  private final Map<String, Long> fileSizes;
+
+  private SnapshotManifest(long baseSnapshotPosition, Map<String, Long> fileSizes) {
+    this.baseSnapshotPosition = baseSnapshotPosition;
+    this.fileSizes = fileSizes;
+  }
+
+  public static SnapshotManifest of(File snapshotDirectory) {
+    return of(snapshotDirectory, NO_BASE_SNAPSHOT);
+  }
+
+  public static SnapshotManifest of(File snapshotDirectory, long baseSnapshotPosition) {
+    final Map<String, Long> fileSizes = new TreeMap<>();
+    final File[] files = snapshotDirectory.listFiles();
+    if (files != null) {
+      for (File file : files) {
+        if (!file.getName().equals(MANIFEST_FILE_NAME)) {
+          fileSizes.put(file.getName(), file.length());
+        }
+      }
+    }
+    return new SnapshotManifest(baseSnapshotPosition, fileSizes);
+  }
+
+  public static SnapshotManifest read(File manifestFile) throws IOException {
+    final List<String> lines = Files.readAllLines(manifestFile.toPath(), StandardCharsets.UTF_8);
+    final long baseSnapshotPosition = Long.parseLong(lines.get(0));
+
+    final Map<String, Long> fileSizes = new TreeMap<>();
+    for (String line : lines.subList(1, lines.size())) {
+      if (!line.isEmpty()) {
+        final int separatorIndex = line.lastIndexOf(SEPARATOR);
+        fileSizes.put(
+            line.substring(0, separatorIndex), Long.parseLong(line.substring(separatorIndex + 1)));
+      }
+    }
+    return new SnapshotManifest(baseSnapshotPosition, fileSizes);
+  }
+
+  public byte[] toBytes() {
+    final StringBuilder builder = new StringBuilder();
+    builder.append(baseSnapshotPosition).append('\n');
+    fileSizes.forEach(
+        (name, size) -> builder.append(name).append(SEPARATOR).append(size).append('\n'));
+    return builder.toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  public long getBaseSnapshotPosition() {
+    return baseSnapshotPosition;
+  }
+
+  public Map<String, Long> getFileSizes() {
+    return Collections.unmodifiableMap(fileSizes);
+  }
+
+  /**
+   * SST files are immutable and their names are never reused by RocksDB, so a file with the same
+   * name and size in another snapshot of the same database has the same content.
+   *
+   * @return true if the given file is an SST file which is also part of this manifest
+   */
+  public boolean containsSameSstFile(File file) {
+    final String name = file.getName();
+    final Long size = fileSizes.get(name);
+    return name.endsWith(SST_FILE_EXTENSION) && size != null && size == file.length();
+  }
+
+  @Override
+  public String toString() {
+    return "SnapshotManifest{"
+        + "baseSnapshotPosition="
+        + baseSnapshotPosition
+        + ", fileSizes="
+        + fileSizes
+        + '}';
+  }
+}
@@ -33,6 +33,20 @@ public interface SnapshotReplication {
    */
   void consume(Consumer<SnapshotChunk> consumer);
 
+  /**
+   * Requests the replicating side to replicate its next snapshot completely, e.g. because a
+   * receiver could not complete an incrementally replicated snapshot.
+   */
+  default void requestFullReplication() {}
+
+  /**
+   * Registers a listener, which should be called when a receiver requested a complete replication
+   * of the next snapshot.
+   *
+   * @param listener the listener which should be called
+   */
+  default void onFullReplicationRequest(Runnable listener) {}
+
   /** Closes the snapshot replication. */
   void close();
 }
@@ -29,8 +29,10 @@ import io.zeebe.util.FileUtil;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import org.slf4j.Logger;
 
@@ -47,6 +49,9 @@ public class StateSnapshotController implements SnapshotController, ValidSnapsho
   private final ReplicationController replicationController;
   private DeletionService deletionService = new NoopDeletionService();
   private final int maxSnapshotCount;
+  private final boolean incrementalReplication;
+  private final AtomicBoolean fullReplicationRequested = new AtomicBoolean();
+  private long lastReplicatedSnapshotPosition = -1;
   private volatile SnapshotRestoreInfo snapshotRestoreInfo = new NullSnapshotRestoreInfo();
 
   public StateSnapshotController(final ZeebeDbFactory rocksDbFactory, final StateStorage storage) {
@@ -63,11 +68,30 @@ public class StateSnapshotController implements SnapshotController, ValidSnapsho
       StateStorage storage,
       SnapshotReplication replication,
       int maxSnapshotCount) {
+    this(zeebeDbFactory, storage, replication, maxSnapshotCount, false);
+  }
+
+  /**
+   * @param incrementalReplication if true, only the files of a snapshot which are not part of the
+   *     previous snapshot are replicated, together with a {@link SnapshotManifest}; receivers which
+   *     do not have the previous snapshot request the next snapshot to be replicated completely
+   */
+  public StateSnapshotController(
+      ZeebeDbFactory zeebeDbFactory,
+      StateStorage storage,
+      SnapshotReplication replication,
+      int maxSnapshotCount,
+      boolean incrementalReplication) {
     this.storage = storage;
     this.zeebeDbFactory = zeebeDbFactory;
     this.maxSnapshotCount = maxSnapshotCount;
+    this.incrementalReplication = incrementalReplication;
     this.replicationController = new ReplicationController(replication, storage, this);
 
+    if (incrementalReplication) {
+      replicationController.onFullReplicationRequest(() -> fullReplicationRequested.set(true));
+    }
+
     initializeRestoreInfo();
   }
 
@@ -80,7 +104,8 @@ public class StateSnapshotController implements SnapshotController, ValidSnapsho
     final File snapshotDir = storage.getSnapshotDirectoryFor(lowerBoundSnapshotPosition);
     db.createSnapshot(snapshotDir);
     snapshotRestoreInfo =
-        new DefaultSnapshotRestoreInfo(lowerBoundSnapshotPosition, snapshotDir.listFiles().length);
+        new DefaultSnapshotRestoreInfo(
+            lowerBoundSnapshotPosition, SnapshotChunkUtil.listChunks(snapshotDir).size());
   }
 
   @Override
@@ -130,15 +155,100 @@ public class StateSnapshotController implements SnapshotController, ValidSnapsho
       LOG.debug("Start replicating latest snapshot {}", latestSnapshotDirectory.toPath());
       final long snapshotPosition = Long.parseLong(latestSnapshotDirectory.getName());
 
-      final File[] files = latestSnapshotDirectory.listFiles();
-      for (File snapshotChunkFile : files) {
-        executor.accept(
-            () -> {
-              LOG.debug("Replicate snapshot chunk {}", snapshotChunkFile.toPath());
-              replicationController.replicate(snapshotPosition, files.length, snapshotChunkFile);
-            });
+      final File baseSnapshotDirectory = getReplicationBase(snapshots);
+      if (baseSnapshotDirectory != null) {
+        replicateIncremental(
+            executor, snapshotPosition, latestSnapshotDirectory, baseSnapshotDirectory);
+      } else {
+        final List<SnapshotChunkDescriptor> chunks =
+            SnapshotChunkUtil.listChunks(latestSnapshotDirectory);
+        replicateChunks(executor, snapshotPosition, chunks.size(), chunks);
+      }
+
+      lastReplicatedSnapshotPosition = snapshotPosition;
+    }
+  }
+
+  /**
+   * Returns the snapshot on which the incremental replication of the latest snapshot is based, or
+   * null if the latest snapshot is replicated completely. The previous snapshot is only used as
+   * base if it was replicated by this controller, which is not the case after a leader change, and
+   * if no receiver requested a full replication because it is missing the base snapshot.
+   */
+  private File getReplicationBase(List<File> snapshots) {
+    if (!incrementalReplication) {
+      return null;
+    }
+
+    final boolean fullReplication = fullReplicationRequested.getAndSet(false);
+    if (fullReplication || snapshots.size() < 2) {
+      return null;
+    }
+
+    final File baseSnapshotDirectory = snapshots.get(1);
+    if (Long.parseLong(baseSnapshotDirectory.getName()) != lastReplicatedSnapshotPosition) {
+      LOG.debug(
+          "Replicate snapshot completely, because the previous snapshot {} was not replicated.",
+          baseSnapshotDirectory.getName());
+      return null;
+    }
+
+    return baseSnapshotDirectory;
+  }
+
+  private void replicateIncremental(
+      Consumer<Runnable> executor,
+      long snapshotPosition,
+      File snapshotDirectory,
+      File baseSnapshotDirectory) {
+    final long baseSnapshotPosition = Long.parseLong(baseSnapshotDirectory.getName());
+    final SnapshotManifest manifest = SnapshotManifest.of(snapshotDirectory, baseSnapshotPosition);
+    final List<File> changedFiles = getChangedFiles(snapshotDirectory, baseSnapshotDirectory);
+    final List<SnapshotChunkDescriptor> chunks =
+        SnapshotChunkUtil.listChunks(changedFiles, SnapshotChunkUtil.DEFAULT_CHUNK_SIZE);
+
+    // the manifest is replicated as an additional chunk
+    final int totalCount = chunks.size() + 1;
+    LOG.debug(
+        "Replicate {} of {} files of snapshot {}, the remaining files are part of snapshot {}.",
+        changedFiles.size(),
+        manifest.getFileSizes().size(),
+        snapshotPosition,
+        baseSnapshotPosition);
+
+    replicateChunks(executor, snapshotPosition, totalCount, chunks);
+    executor.accept(
+        () -> replicationController.replicateManifest(snapshotPosition, totalCount, manifest));
+  }
+
+  private void replicateChunks(
+      Consumer<Runnable> executor,
+      long snapshotPosition,
+      int totalCount,
+      List<SnapshotChunkDescriptor> chunks) {
+    for (SnapshotChunkDescriptor chunk : chunks) {
+      executor.accept(
+          () -> {
+            LOG.debug("Replicate snapshot chunk {}", chunk);
+            replicationController.replicate(snapshotPosition, totalCount, chunk);
+          });
+    }
+  }
+
+  /**
+   * Returns the files of the given snapshot, which are not part of the base snapshot. Receivers of
+   * the replicated snapshot take the remaining files from their copy of the base snapshot.
+   */
+  private List<File> getChangedFiles(File snapshotDirectory, File baseSnapshotDirectory) {
+    final File[] files = snapshotDirectory.listFiles();
+    final SnapshotManifest baseManifest = SnapshotManifest.of(baseSnapshotDirectory);
+    final List<File> changedFiles = new ArrayList<>();
+    for (File file : files) {
+      if (!baseManifest.containsSameSstFile(file)) {
+        changedFiles.add(file);
       }
     }
+    return changedFiles;
   }
 
   public void consumeReplicatedSnapshots() {
@@ -183,7 +293,8 @@ public class StateSnapshotController implements SnapshotController, ValidSnapsho
 
         snapshotRestoreInfo =
             new DefaultSnapshotRestoreInfo(
-                lowerBoundSnapshotPosition, snapshotDirectory.listFiles().length);
+                lowerBoundSnapshotPosition,
+                SnapshotChunkUtil.listChunks(snapshotDirectory).size());
       } catch (Exception e) {
         FileUtil.deleteFolder(runtimeDirectory.getAbsolutePath());
 
@@ -224,7 +335,8 @@ public class StateSnapshotController implements SnapshotController, ValidSnapsho
       final File latestSnapshot = getLastValidSnapshotDirectory();
       snapshotRestoreInfo =
           new DefaultSnapshotRestoreInfo(
-              Long.parseLong(latestSnapshot.getName()), latestSnapshot.listFiles().length);
+              Long.parseLong(latestSnapshot.getName()),
+              SnapshotChunkUtil.listChunks(latestSnapshot).size());
 
       ensureMaxSnapshotCount();
     } catch (IOException e) {
@@ -338,11 +450,11 @@ public class StateSnapshotController implements SnapshotController, ValidSnapsho
   private void initializeRestoreInfo() {
     final File lastSnapshot = getLastValidSnapshotDirectory();
     if (lastSnapshot != null) {
-      final int numFiles = lastSnapshot.listFiles().length;
+      final int numChunks = SnapshotChunkUtil.listChunks(lastSnapshot).size();
       final long lastSnapshotPosition = Long.parseLong(lastSnapshot.getName());
 
-      if (lastSnapshotPosition > -1L && numFiles > 0) {
-        snapshotRestoreInfo = new DefaultSnapshotRestoreInfo(lastSnapshotPosition, numFiles);
+      if (lastSnapshotPosition > -1L && numChunks > 0) {
+        snapshotRestoreInfo = new DefaultSnapshotRestoreInfo(lastSnapshotPosition, numChunks);
       }
     }
   }
@@ -177,6 +177,11 @@ public class RestoreSnapshotReplicatorTest {
       return name;
     }
 
+    @Override
+    public long getFileOffset() {
+      return 0;
+    }
+
     @Override
     public long getChecksum() {
       return checksum;
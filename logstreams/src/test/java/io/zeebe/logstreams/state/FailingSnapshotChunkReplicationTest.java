@@ -225,6 +225,11 @@ public class FailingSnapshotChunkReplicationTest {
       return snapshotChunk.getChunkName();
     }
 
+    @Override
+    public long getFileOffset() {
+      return snapshotChunk.getFileOffset();
+    }
+
     @Override
     public long getChecksum() {
       return 0;
@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
 import java.util.zip.CRC32;
 import org.junit.Before;
 import org.junit.Rule;
@@ -42,6 +43,8 @@ public class ReplicateSnapshotControllerTest {
 
   private static final int VALUE = 0xCAFE;
   private static final String KEY = "test";
+  private static final int OTHER_VALUE = 0xBEEF;
+  private static final String OTHER_KEY = "other";
 
   @Rule public TemporaryFolder tempFolderRule = new TemporaryFolder();
   @Rule public AutoCloseableRule autoCloseableRule = new AutoCloseableRule();
@@ -50,6 +53,7 @@ public class ReplicateSnapshotControllerTest {
   private StateSnapshotController receiverSnapshotController;
   private Replicator replicator;
   private StateStorage receiverStorage;
+  private RocksDBWrapper replicatorWrapper;
 
   @Before
   public void setup() throws IOException {
@@ -64,21 +68,26 @@ public class ReplicateSnapshotControllerTest {
     replicator = new Replicator();
     replicatorSnapshotController =
         new StateSnapshotController(
-            ZeebeRocksDbFactory.newFactory(DefaultColumnFamily.class), storage, replicator, 2);
+            ZeebeRocksDbFactory.newFactory(DefaultColumnFamily.class),
+            storage,
+            replicator,
+            2,
+            true);
 
     receiverSnapshotController =
         new StateSnapshotController(
             ZeebeRocksDbFactory.newFactory(DefaultColumnFamily.class),
             receiverStorage,
             replicator,
-            2);
+            2,
+            true);
 
     autoCloseableRule.manage(replicatorSnapshotController);
     autoCloseableRule.manage(receiverSnapshotController);
 
-    final RocksDBWrapper wrapper = new RocksDBWrapper();
-    wrapper.wrap(replicatorSnapshotController.openDb());
-    wrapper.putInt(KEY, VALUE);
+    replicatorWrapper = new RocksDBWrapper();
+    replicatorWrapper.wrap(replicatorSnapshotController.openDb());
+    replicatorWrapper.putInt(KEY, VALUE);
   }
 
   @Test
@@ -216,6 +225,89 @@ public class ReplicateSnapshotControllerTest {
     verify(mockDeletionService).delete(2);
   }
 
+  @Test
+  public void shouldNotReplicateFilesOfBaseSnapshotAgain() throws Exception {
+    // given
+    receiverSnapshotController.consumeReplicatedSnapshots();
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    final List<String> sstFilesOfBaseSnapshot =
+        replicator.replicatedChunks.stream()
+            .map(SnapshotChunk::getChunkName)
+            .filter(name -> name.endsWith(".sst"))
+            .collect(Collectors.toList());
+    replicator.replicatedChunks.clear();
+
+    // when
+    replicatorWrapper.putInt(OTHER_KEY, OTHER_VALUE);
+    replicatorSnapshotController.takeSnapshot(2);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    assertThat(sstFilesOfBaseSnapshot).isNotEmpty();
+    assertThat(replicator.replicatedChunks)
+        .extracting(SnapshotChunk::getChunkName)
+        .contains(SnapshotManifest.MANIFEST_FILE_NAME)
+        .doesNotContainAnyElementsOf(sstFilesOfBaseSnapshot);
+
+    final long recoveredSnapshot = receiverSnapshotController.recover();
+    assertThat(recoveredSnapshot).isEqualTo(2);
+
+    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    wrapper.wrap(receiverSnapshotController.openDb());
+    assertThat(wrapper.getInt(KEY)).isEqualTo(VALUE);
+    assertThat(wrapper.getInt(OTHER_KEY)).isEqualTo(OTHER_VALUE);
+  }
+
+  @Test
+  public void shouldReplicateFullSnapshotIfReceiverIsMissingBaseSnapshot() throws Exception {
+    // given
+    replicatorSnapshotController.takeSnapshot(1);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    receiverSnapshotController.consumeReplicatedSnapshots();
+    replicatorWrapper.putInt(OTHER_KEY, OTHER_VALUE);
+    replicatorSnapshotController.takeSnapshot(2);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // when
+    replicator.replicatedChunks.clear();
+    replicatorSnapshotController.takeSnapshot(3);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    assertThat(receiverStorage.existSnapshot(2)).isFalse();
+    assertThat(receiverStorage.existSnapshot(3)).isTrue();
+    assertThat(replicator.replicatedChunks)
+        .extracting(SnapshotChunk::getChunkName)
+        .doesNotContain(SnapshotManifest.MANIFEST_FILE_NAME);
+
+    final long recoveredSnapshot = receiverSnapshotController.recover();
+    assertThat(recoveredSnapshot).isEqualTo(3);
+
+    final RocksDBWrapper wrapper = new RocksDBWrapper();
+    wrapper.wrap(receiverSnapshotController.openDb());
+    assertThat(wrapper.getInt(KEY)).isEqualTo(VALUE);
+    assertThat(wrapper.getInt(OTHER_KEY)).isEqualTo(OTHER_VALUE);
+  }
+
+  @Test
+  public void shouldReplicateFullSnapshotIfBaseSnapshotWasNotReplicated() {
+    // given
+    replicatorSnapshotController.takeSnapshot(1);
+
+    // when
+    replicatorSnapshotController.takeSnapshot(2);
+    replicatorSnapshotController.replicateLatestSnapshot(Runnable::run);
+
+    // then
+    assertThat(replicator.replicatedChunks)
+        .extracting(SnapshotChunk::getChunkName)
+        .isNotEmpty()
+        .doesNotContain(SnapshotManifest.MANIFEST_FILE_NAME);
+  }
+
   private void replicateXSnapshots(final int snapshotAmount) {
     for (int i = 1; i <= snapshotAmount; ++i) {
       replicatorSnapshotController.takeSnapshot(i);
@@ -227,6 +319,7 @@ public class ReplicateSnapshotControllerTest {
 
     final List<SnapshotChunk> replicatedChunks = new ArrayList<>();
     private Consumer<SnapshotChunk> chunkConsumer;
+    private final List<Runnable> fullReplicationRequestListeners = new ArrayList<>();
 
     @Override
     public void replicate(SnapshotChunk snapshot) {
@@ -241,6 +334,16 @@ public class ReplicateSnapshotControllerTest {
       chunkConsumer = consumer;
     }
 
+    @Override
+    public void requestFullReplication() {
+      fullReplicationRequestListeners.forEach(Runnable::run);
+    }
+
+    @Override
+    public void onFullReplicationRequest(Runnable listener) {
+      fullReplicationRequestListeners.add(listener);
+    }
+
     @Override
     public void close() {}
   }
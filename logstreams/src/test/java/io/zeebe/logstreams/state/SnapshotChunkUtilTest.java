@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.logstreams.state;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+
+import io.zeebe.logstreams.impl.Loggers;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SnapshotChunkUtilTest {
+
+  private static final int CHUNK_SIZE = 16;
+
+  @Rule public TemporaryFolder tempFolderRule = new TemporaryFolder();
+
+  private File snapshotDirectory;
+  private StateStorage receiverStorage;
+
+  @Before
+  public void setup() throws IOException {
+    snapshotDirectory = tempFolderRule.newFolder("snapshot");
+    receiverStorage =
+        new StateStorage(
+            tempFolderRule.newFolder("runtime-receiver"),
+            tempFolderRule.newFolder("snapshots-receiver"));
+  }
+
+  @Test
+  public void shouldSplitFilesIntoChunks() throws IOException {
+    // given
+    final File largeFile = writeFile("large", CHUNK_SIZE * 2 + 5);
+    final File smallFile = writeFile("small", CHUNK_SIZE - 1);
+    final File emptyFile = writeFile("empty", 0);
+
+    // when
+    final List<SnapshotChunkDescriptor> chunks =
+        SnapshotChunkUtil.listChunks(snapshotDirectory, CHUNK_SIZE);
+
+    // then
+    assertThat(chunks)
+        .extracting(
+            SnapshotChunkDescriptor::getFile,
+            SnapshotChunkDescriptor::getOffset,
+            SnapshotChunkDescriptor::getLength)
+        .containsExactly(
+            tuple(emptyFile, 0L, 0),
+            tuple(largeFile, 0L, CHUNK_SIZE),
+            tuple(largeFile, (long) CHUNK_SIZE, CHUNK_SIZE),
+            tuple(largeFile, (long) CHUNK_SIZE * 2, 5),
+            tuple(smallFile, 0L, CHUNK_SIZE - 1));
+  }
+
+  @Test
+  public void shouldWriteChunksReceivedInAnyOrder() throws IOException {
+    // given
+    final File largeFile = writeFile("large", CHUNK_SIZE * 3 + 7);
+    final List<SnapshotChunkDescriptor> descriptors =
+        SnapshotChunkUtil.listChunks(snapshotDirectory, CHUNK_SIZE);
+
+    final List<SnapshotChunk> chunks = new ArrayList<>();
+    for (SnapshotChunkDescriptor descriptor : descriptors) {
+      chunks.add(SnapshotChunkUtil.readSnapshotChunk(descriptor, 1, descriptors.size()));
+    }
+    Collections.reverse(chunks);
+
+    final FileSnapshotConsumer consumer =
+        new FileSnapshotConsumer(receiverStorage, Loggers.SNAPSHOT_LOGGER);
+
+    // when
+    for (SnapshotChunk chunk : chunks) {
+      assertThat(consumer.consumeSnapshotChunk(chunk)).isTrue();
+    }
+    final boolean completed = consumer.completeSnapshot(1);
+
+    // then
+    assertThat(completed).isTrue();
+    final File receivedFile = new File(receiverStorage.getSnapshotDirectoryFor(1), "large");
+    assertThat(Files.readAllBytes(receivedFile.toPath()))
+        .isEqualTo(Files.readAllBytes(largeFile.toPath()));
+  }
+
+  @Test
+  public void shouldRejectDuplicatedChunk() throws IOException {
+    // given
+    writeFile("large", CHUNK_SIZE * 2);
+    final List<SnapshotChunkDescriptor> descriptors =
+        SnapshotChunkUtil.listChunks(snapshotDirectory, CHUNK_SIZE);
+    final SnapshotChunk chunk =
+        SnapshotChunkUtil.readSnapshotChunk(descriptors.get(1), 1, descriptors.size());
+
+    final FileSnapshotConsumer consumer =
+        new FileSnapshotConsumer(receiverStorage, Loggers.SNAPSHOT_LOGGER);
+    consumer.consumeSnapshotChunk(chunk);
+
+    // when
+    final boolean consumed = consumer.consumeSnapshotChunk(chunk);
+
+    // then
+    assertThat(consumed).isFalse();
+  }
+
+  private File writeFile(String name, int size) throws IOException {
+    final byte[] content = new byte[size];
+    new Random().nextBytes(content);
+
+    final File file = new File(snapshotDirectory, name);
+    Files.write(file.toPath(), content);
+    return file;
+  }
+}
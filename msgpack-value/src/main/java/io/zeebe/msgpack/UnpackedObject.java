@@ -47,6 +47,26 @@ public class UnpackedObject extends ObjectValue implements Recyclable, BufferRea
     }
   }
 
+  /**
+   * Checks that the given buffer contains a valid encoding of this object, without reading it into
+   * this object.
+   *
+   * @see ObjectValue#validate(MsgPackReader)
+   */
+  public void validate(DirectBuffer buff, int offset, int length) {
+    reader.wrap(buff, offset, length);
+    try {
+      validate(reader);
+    } catch (final Exception e) {
+      throw new RuntimeException(
+          "Could not deserialize object. Deserialization stuck at offset "
+              + reader.getOffset()
+              + " of length "
+              + length,
+          e);
+    }
+  }
+
   @Override
   public int getLength() {
     return getEncodedLength();
@@ -57,4 +77,12 @@ public class UnpackedObject extends ObjectValue implements Recyclable, BufferRea
     writer.wrap(buffer, offset);
     write(writer);
   }
+
+  /** Writes the object in one traversal, the length is taken from the written bytes. */
+  @Override
+  public int writeExpandable(MutableDirectBuffer buffer, int offset) {
+    writer.wrap(buffer, offset);
+    write(writer);
+    return writer.getOffset() - offset;
+  }
 }
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.json;
+
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Writes JSON into a {@link MutableDirectBuffer}. The buffer must be large enough to hold the
+ * output, which is the case for an {@link org.agrona.ExpandableArrayBuffer} that is reused between
+ * writes.
+ */
+public class DirectBufferJsonWriter extends JsonWriter {
+
+  private MutableDirectBuffer buffer;
+  private int startOffset;
+  private int offset;
+
+  public DirectBufferJsonWriter wrap(MutableDirectBuffer buffer, int offset) {
+    reset();
+    this.buffer = buffer;
+    this.startOffset = offset;
+    this.offset = offset;
+    return this;
+  }
+
+  public MutableDirectBuffer getBuffer() {
+    return buffer;
+  }
+
+  public int getOffset() {
+    return offset;
+  }
+
+  /** @return the number of bytes written since the buffer was wrapped */
+  public int getLength() {
+    return offset - startOffset;
+  }
+
+  @Override
+  protected void writeByte(byte value) {
+    buffer.putByte(offset, value);
+    offset++;
+  }
+
+  @Override
+  protected void writeBytes(byte[] src, int srcOffset, int length) {
+    buffer.putBytes(offset, src, srcOffset, length);
+    offset += length;
+  }
+
+  @Override
+  protected void writeBytes(DirectBuffer src, int srcOffset, int length) {
+    buffer.putBytes(offset, src, srcOffset, length);
+    offset += length;
+  }
+}
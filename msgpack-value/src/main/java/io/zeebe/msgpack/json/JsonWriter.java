@@ -0,0 +1,388 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack.json;
+
+import io.zeebe.msgpack.spec.MsgPackCodes;
+import io.zeebe.msgpack.spec.MsgPackReader;
+import io.zeebe.msgpack.spec.MsgPackToken;
+import java.util.Arrays;
+import org.agrona.DirectBuffer;
+
+/**
+ * Writes JSON as UTF-8 bytes to a sink which is provided by the implementation. Strings and
+ * binaries are copied from the given buffers and escaped on the fly, the writer keeps track of the
+ * separators between fields and elements.
+ *
+ * <p>Integers are written without intermediate objects. Floating point numbers use the shortest
+ * representation of {@link Float#toString(float)} and {@link Double#toString(double)}, non-finite
+ * values are written as strings.
+ */
+public abstract class JsonWriter {
+
+  private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes();
+  private static final byte[] BASE64_DIGITS =
+      "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789+/".getBytes();
+  private static final byte[] NULL = "null".getBytes();
+  private static final byte[] TRUE = "true".getBytes();
+  private static final byte[] FALSE = "false".getBytes();
+  private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+  private static final int INITIAL_DEPTH = 16;
+
+  private final MsgPackReader msgPackReader = new MsgPackReader();
+  private final byte[] scratch = new byte[20];
+
+  private boolean[] hasElements = new boolean[INITIAL_DEPTH];
+  private int depth;
+  private boolean expectsFieldValue;
+
+  protected abstract void writeByte(byte value);
+
+  protected abstract void writeBytes(byte[] src, int offset, int length);
+
+  protected abstract void writeBytes(DirectBuffer src, int offset, int length);
+
+  /** Clears the nesting state, e.g. to reuse the writer after a failed write. */
+  public void reset() {
+    depth = 0;
+    expectsFieldValue = false;
+    Arrays.fill(hasElements, false);
+  }
+
+  public JsonWriter writeStartObject() {
+    beforeValue();
+    writeByte((byte) '{');
+    push();
+    return this;
+  }
+
+  public JsonWriter writeEndObject() {
+    pop();
+    writeByte((byte) '}');
+    return this;
+  }
+
+  public JsonWriter writeStartArray() {
+    beforeValue();
+    writeByte((byte) '[');
+    push();
+    return this;
+  }
+
+  public JsonWriter writeEndArray() {
+    pop();
+    writeByte((byte) ']');
+    return this;
+  }
+
+  /** Writes the name of the next field; the name is expected to be UTF-8 encoded. */
+  public JsonWriter writeFieldName(DirectBuffer utf8, int offset, int length) {
+    beforeValue();
+    writeQuoted(utf8, offset, length);
+    writeByte((byte) ':');
+    expectsFieldValue = true;
+    return this;
+  }
+
+  /** Writes a string value; the value is expected to be UTF-8 encoded. */
+  public JsonWriter writeString(DirectBuffer utf8, int offset, int length) {
+    beforeValue();
+    writeQuoted(utf8, offset, length);
+    return this;
+  }
+
+  public JsonWriter writeLong(long value) {
+    beforeValue();
+
+    if (value == Long.MIN_VALUE) {
+      writeBytes(MIN_LONG, 0, MIN_LONG.length);
+      return this;
+    }
+
+    long remaining = value < 0 ? -value : value;
+    int index = scratch.length;
+    do {
+      scratch[--index] = (byte) ('0' + (remaining % 10));
+      remaining /= 10;
+    } while (remaining > 0);
+
+    if (value < 0) {
+      scratch[--index] = '-';
+    }
+
+    writeBytes(scratch, index, scratch.length - index);
+    return this;
+  }
+
+  public JsonWriter writeFloat(float value) {
+    writeAscii(Float.toString(value), !Float.isFinite(value));
+    return this;
+  }
+
+  public JsonWriter writeDouble(double value) {
+    writeAscii(Double.toString(value), !Double.isFinite(value));
+    return this;
+  }
+
+  public JsonWriter writeBoolean(boolean value) {
+    beforeValue();
+    final byte[] literal = value ? TRUE : FALSE;
+    writeBytes(literal, 0, literal.length);
+    return this;
+  }
+
+  public JsonWriter writeNull() {
+    beforeValue();
+    writeBytes(NULL, 0, NULL.length);
+    return this;
+  }
+
+  /** Writes the given bytes as a base64 encoded string. */
+  public JsonWriter writeBinary(DirectBuffer src, int offset, int length) {
+    beforeValue();
+    writeByte((byte) '"');
+
+    final int limit = offset + length;
+    int index = offset;
+    while (index + 3 <= limit) {
+      final int bits =
+          (src.getByte(index) & 0xff) << 16
+              | (src.getByte(index + 1) & 0xff) << 8
+              | (src.getByte(index + 2) & 0xff);
+      writeByte(BASE64_DIGITS[(bits >>> 18) & 0x3f]);
+      writeByte(BASE64_DIGITS[(bits >>> 12) & 0x3f]);
+      writeByte(BASE64_DIGITS[(bits >>> 6) & 0x3f]);
+      writeByte(BASE64_DIGITS[bits & 0x3f]);
+      index += 3;
+    }
+
+    final int remaining = limit - index;
+    if (remaining > 0) {
+      final int bits =
+          (src.getByte(index) & 0xff) << 16
+              | (remaining == 2 ? (src.getByte(index + 1) & 0xff) << 8 : 0);
+      writeByte(BASE64_DIGITS[(bits >>> 18) & 0x3f]);
+      writeByte(BASE64_DIGITS[(bits >>> 12) & 0x3f]);
+      writeByte(remaining == 2 ? BASE64_DIGITS[(bits >>> 6) & 0x3f] : (byte) '=');
+      writeByte((byte) '=');
+    }
+
+    writeByte((byte) '"');
+    return this;
+  }
+
+  /**
+   * Writes a single MessagePack encoded value, e.g. a document, as JSON without decoding it into
+   * objects first. Map keys which are not strings are written as their string representation.
+   */
+  public JsonWriter writeMsgPack(DirectBuffer msgPack, int offset, int length) {
+    msgPackReader.wrap(msgPack, offset, length);
+    writeMsgPackValue();
+
+    if (msgPackReader.hasNext()) {
+      throw new IllegalArgumentException(
+          "Expected a single MessagePack value, but found more content after it");
+    }
+    return this;
+  }
+
+  private void writeMsgPackValue() {
+    final byte header = msgPackReader.getBuffer().getByte(msgPackReader.getOffset());
+    final MsgPackToken token = msgPackReader.readToken();
+
+    switch (token.getType()) {
+      case MAP:
+        final int fieldCount = token.getSize();
+        writeStartObject();
+        for (int i = 0; i < fieldCount; i++) {
+          writeMsgPackKey(msgPackReader.readToken());
+          writeMsgPackValue();
+        }
+        writeEndObject();
+        break;
+      case ARRAY:
+        final int elementCount = token.getSize();
+        writeStartArray();
+        for (int i = 0; i < elementCount; i++) {
+          writeMsgPackValue();
+        }
+        writeEndArray();
+        break;
+      case STRING:
+        final DirectBuffer stringBuffer = token.getValueBuffer();
+        writeString(stringBuffer, 0, stringBuffer.capacity());
+        break;
+      case BINARY:
+        final DirectBuffer binaryBuffer = token.getValueBuffer();
+        writeBinary(binaryBuffer, 0, binaryBuffer.capacity());
+        break;
+      case INTEGER:
+        writeLong(token.getIntegerValue());
+        break;
+      case FLOAT:
+        if (header == MsgPackCodes.FLOAT32) {
+          writeFloat((float) token.getFloatValue());
+        } else {
+          writeDouble(token.getFloatValue());
+        }
+        break;
+      case BOOLEAN:
+        writeBoolean(token.getBooleanValue());
+        break;
+      case NIL:
+        writeNull();
+        break;
+      default:
+        throw new IllegalArgumentException(
+            String.format("Cannot write '%s' as JSON", token.getType().name()));
+    }
+  }
+
+  /**
+   * Writes the key of a MessagePack map as field name. JSON only allows string keys, so other
+   * scalar keys are written as string, like the Jackson MessagePack parser reads them.
+   */
+  private void writeMsgPackKey(MsgPackToken key) {
+    switch (key.getType()) {
+      case STRING:
+        final DirectBuffer keyBuffer = key.getValueBuffer();
+        writeFieldName(keyBuffer, 0, keyBuffer.capacity());
+        return;
+      case BINARY:
+        final DirectBuffer binaryBuffer = key.getValueBuffer();
+        writeBinary(binaryBuffer, 0, binaryBuffer.capacity());
+        break;
+      case INTEGER:
+        writeAscii(Long.toString(key.getIntegerValue()), true);
+        break;
+      case FLOAT:
+        writeAscii(Double.toString(key.getFloatValue()), true);
+        break;
+      case BOOLEAN:
+        writeAscii(Boolean.toString(key.getBooleanValue()), true);
+        break;
+      case NIL:
+        writeAscii("null", true);
+        break;
+      default:
+        throw new IllegalArgumentException(
+            String.format(
+                "Expected document keys to be scalar values, but found '%s'",
+                key.getType().name()));
+    }
+
+    writeByte((byte) ':');
+    expectsFieldValue = true;
+  }
+
+  private void writeAscii(String value, boolean quoted) {
+    beforeValue();
+    final int length = value.length();
+    if (quoted) {
+      writeByte((byte) '"');
+    }
+    for (int i = 0; i < length; i++) {
+      writeByte((byte) value.charAt(i));
+    }
+    if (quoted) {
+      writeByte((byte) '"');
+    }
+  }
+
+  private void writeQuoted(DirectBuffer utf8, int offset, int length) {
+    writeByte((byte) '"');
+
+    final int limit = offset + length;
+    int unescapedStart = offset;
+    for (int index = offset; index < limit; index++) {
+      final int b = utf8.getByte(index) & 0xff;
+      if (b >= 0x20 && b != '"' && b != '\\') {
+        // multi-byte UTF-8 sequences never contain bytes below 0x80 and are copied as they are
+        continue;
+      }
+
+      if (index > unescapedStart) {
+        writeBytes(utf8, unescapedStart, index - unescapedStart);
+      }
+      writeEscaped(b);
+      unescapedStart = index + 1;
+    }
+
+    if (limit > unescapedStart) {
+      writeBytes(utf8, unescapedStart, limit - unescapedStart);
+    }
+
+    writeByte((byte) '"');
+  }
+
+  private void writeEscaped(int b) {
+    writeByte((byte) '\\');
+    switch (b) {
+      case '"':
+      case '\\':
+        writeByte((byte) b);
+        break;
+      case '\n':
+        writeByte((byte) 'n');
+        break;
+      case '\r':
+        writeByte((byte) 'r');
+        break;
+      case '\t':
+        writeByte((byte) 't');
+        break;
+      case '\b':
+        writeByte((byte) 'b');
+        break;
+      case '\f':
+        writeByte((byte) 'f');
+        break;
+      default:
+        writeByte((byte) 'u');
+        writeByte((byte) '0');
+        writeByte((byte) '0');
+        writeByte(HEX_DIGITS[b >>> 4]);
+        writeByte(HEX_DIGITS[b & 0xf]);
+    }
+  }
+
+  private void beforeValue() {
+    if (expectsFieldValue) {
+      expectsFieldValue = false;
+    } else if (depth > 0) {
+      if (hasElements[depth]) {
+        writeByte((byte) ',');
+      } else {
+        hasElements[depth] = true;
+      }
+    }
+  }
+
+  private void push() {
+    depth++;
+    if (depth == hasElements.length) {
+      hasElements = Arrays.copyOf(hasElements, hasElements.length * 2);
+    }
+    hasElements[depth] = false;
+  }
+
+  private void pop() {
+    if (depth == 0) {
+      throw new IllegalStateException("Expected to close an object or array, but none is open");
+    }
+    depth--;
+  }
+}
@@ -60,6 +60,10 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     return isSet || defaultValue != null;
   }
 
+  public boolean hasDefaultValue() {
+    return defaultValue != null;
+  }
+
   public StringValue getKey() {
     return key;
   }
@@ -84,6 +88,10 @@ public abstract class BaseProperty<T extends BaseValue> implements Recyclable {
     set();
   }
 
+  public void validate(MsgPackReader reader) {
+    value.validate(reader);
+  }
+
   public void write(MsgPackWriter writer) {
     T valueToWrite = value;
     if (!isSet) {
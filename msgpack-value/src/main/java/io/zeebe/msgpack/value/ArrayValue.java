@@ -84,6 +84,15 @@ public class ArrayValue<T extends BaseValue> extends BaseValue implements Iterat
     bufferLength = writer.getOffset();
   }
 
+  @Override
+  public void validate(final MsgPackReader reader) {
+    // validating doesn't change the inner value, so it doesn't interfere with pending modifications
+    final int size = reader.readArrayHeader();
+    for (int i = 0; i < size; i++) {
+      innerValue.validate(reader);
+    }
+  }
+
   @Override
   public void write(final MsgPackWriter writer) {
     flushAndResetInnerValue();
@@ -26,6 +26,12 @@ public abstract class BaseValue implements Recyclable {
 
   public abstract void read(MsgPackReader reader);
 
+  /**
+   * Reads over the value and checks that it could be read by {@link #read(MsgPackReader)}, without
+   * changing this value or materializing the content.
+   */
+  public abstract void validate(MsgPackReader reader);
+
   public abstract int getEncodedLength();
 
   @Override
@@ -87,6 +87,11 @@ public class BinaryValue extends BaseValue {
     this.wrap(buffer, offset, stringLength);
   }
 
+  @Override
+  public void validate(MsgPackReader reader) {
+    reader.skipBytes(reader.readBinaryLength());
+  }
+
   @Override
   public int getEncodedLength() {
     return MsgPackWriter.getEncodedBinaryValueLength(length);
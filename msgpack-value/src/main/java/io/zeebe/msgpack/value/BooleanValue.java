@@ -58,6 +58,11 @@ public class BooleanValue extends BaseValue {
     val = reader.readBoolean();
   }
 
+  @Override
+  public void validate(MsgPackReader reader) {
+    reader.readBoolean();
+  }
+
   @Override
   public int getEncodedLength() {
     return MsgPackWriter.getEncodedBooleanValueLength();
@@ -18,6 +18,7 @@ package io.zeebe.msgpack.value;
 import io.zeebe.msgpack.spec.MsgPackCodes;
 import io.zeebe.msgpack.spec.MsgPackFormat;
 import io.zeebe.msgpack.spec.MsgPackHelper;
+import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackType;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -33,15 +34,35 @@ public class DocumentValue extends BinaryValue {
 
   @Override
   public void wrap(DirectBuffer buff, int offset, int length) {
-    final boolean documentIsNil =
-        length == 0 || (length == 1 && buff.getByte(offset) == MsgPackCodes.NIL);
-
-    if (documentIsNil) {
+    if (isNil(buff, offset, length)) {
       buff = EMPTY_DOCUMENT;
       offset = 0;
       length = EMPTY_DOCUMENT.capacity();
     }
 
+    ensureRootLevelObject(buff, offset);
+
+    super.wrap(buff, offset, length);
+  }
+
+  @Override
+  public void validate(MsgPackReader reader) {
+    final DirectBuffer buffer = reader.getBuffer();
+    final int length = reader.readBinaryLength();
+    final int offset = reader.getOffset();
+
+    if (!isNil(buffer, offset, length)) {
+      ensureRootLevelObject(buffer, offset);
+    }
+
+    reader.skipBytes(length);
+  }
+
+  private static boolean isNil(DirectBuffer buff, int offset, int length) {
+    return length == 0 || (length == 1 && buff.getByte(offset) == MsgPackCodes.NIL);
+  }
+
+  private static void ensureRootLevelObject(DirectBuffer buff, int offset) {
     final byte firstByte = buff.getByte(offset);
     final MsgPackFormat format = MsgPackFormat.valueOf(firstByte);
     final boolean isValid = format.getType() == MsgPackType.MAP;
@@ -52,7 +73,5 @@ public class DocumentValue extends BinaryValue {
               "Expected document to be a root level object, but was '%s'",
               format.getType().name()));
     }
-
-    super.wrap(buff, offset, length);
   }
 }
@@ -68,14 +68,22 @@ public class EnumValue<E extends Enum<E>> extends BaseValue {
 
   @Override
   public void read(MsgPackReader reader) {
+    value = enumConstants[readOrdinal(reader)];
+  }
+
+  @Override
+  public void validate(MsgPackReader reader) {
+    readOrdinal(reader);
+  }
+
+  private int readOrdinal(MsgPackReader reader) {
     decodedValue.read(reader);
 
     for (int i = 0; i < binaryEnumValues.length; i++) {
       final StringValue val = binaryEnumValues[i];
 
       if (val.equals(decodedValue)) {
-        value = enumConstants[i];
-        return;
+        return i;
       }
     }
 
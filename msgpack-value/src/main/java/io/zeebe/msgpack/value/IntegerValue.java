@@ -55,6 +55,15 @@ public class IntegerValue extends BaseValue {
 
   @Override
   public void read(MsgPackReader reader) {
+    value = readIntegerValue(reader);
+  }
+
+  @Override
+  public void validate(MsgPackReader reader) {
+    readIntegerValue(reader);
+  }
+
+  private static int readIntegerValue(MsgPackReader reader) {
     final long longValue = reader.readInteger();
 
     if (longValue < Integer.MIN_VALUE || longValue > Integer.MAX_VALUE) {
@@ -62,7 +71,7 @@ public class IntegerValue extends BaseValue {
           String.format("Value doesn't fit into an integer: %s.", longValue));
     }
 
-    value = (int) longValue;
+    return (int) longValue;
   }
 
   @Override
@@ -58,6 +58,11 @@ public class LongValue extends BaseValue {
     value = reader.readInteger();
   }
 
+  @Override
+  public void validate(MsgPackReader reader) {
+    reader.readInteger();
+  }
+
   @Override
   public int getEncodedLength() {
     return MsgPackWriter.getEncodedLongValueLength(value);
@@ -20,18 +20,31 @@ import io.zeebe.msgpack.property.UndeclaredProperty;
 import io.zeebe.msgpack.spec.MsgPackReader;
 import io.zeebe.msgpack.spec.MsgPackWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
+import org.agrona.BitUtil;
+import org.agrona.DirectBuffer;
 
 public class ObjectValue extends BaseValue {
+  private static final int NO_PROPERTY = 0;
+
   private final List<BaseProperty<? extends BaseValue>> declaredProperties = new ArrayList<>();
   private final List<UndeclaredProperty> undeclaredProperties = new ArrayList<>();
   private final List<UndeclaredProperty> recycledProperties = new ArrayList<>();
 
   private final StringValue decodedKey = new StringValue();
 
+  // marks the declared properties which were found while validating an encoded object
+  private boolean[] validatedProperties = new boolean[0];
+
+  // open addressing hash index of the declared keys, contains the property position + 1
+  private int[] declaredKeyIndex;
+  private int declaredKeyIndexMask;
+
   public ObjectValue declareProperty(BaseProperty<? extends BaseValue> prop) {
     declaredProperties.add(prop);
+    declaredKeyIndex = null;
     return this;
   }
 
@@ -97,17 +110,7 @@ public class ObjectValue extends BaseValue {
     for (int i = 0; i < mapSize; ++i) {
       decodedKey.read(reader);
 
-      BaseProperty<? extends BaseValue> prop = null;
-
-      for (int k = 0; k < declaredProperties.size(); ++k) {
-        final BaseProperty<?> declaredProperty = declaredProperties.get(k);
-        final StringValue declaredKey = declaredProperty.getKey();
-
-        if (declaredKey.equals(decodedKey)) {
-          prop = declaredProperty;
-          break;
-        }
-      }
+      BaseProperty<? extends BaseValue> prop = findDeclaredProperty(decodedKey);
 
       if (prop == null) {
         prop = newUndeclaredProperty(decodedKey);
@@ -130,6 +133,102 @@ public class ObjectValue extends BaseValue {
     }
   }
 
+  /**
+   * Checks the structure of an encoded object in a single pass: the values of the declared
+   * properties must have the declared types and all properties without a default value must be
+   * present. Undeclared properties are skipped. In contrast to {@link #read(MsgPackReader)}, the
+   * properties of this object are not changed.
+   */
+  @Override
+  public void validate(MsgPackReader reader) {
+    final int propertyCount = declaredProperties.size();
+    if (validatedProperties.length < propertyCount) {
+      validatedProperties = new boolean[propertyCount];
+    } else {
+      Arrays.fill(validatedProperties, false);
+    }
+
+    final int mapSize = reader.readMapHeader();
+
+    for (int i = 0; i < mapSize; ++i) {
+      decodedKey.read(reader);
+
+      final int index = findDeclaredPropertyIndex(decodedKey);
+      if (index < 0) {
+        reader.skipValue();
+        continue;
+      }
+
+      final BaseProperty<? extends BaseValue> prop = declaredProperties.get(index);
+      try {
+        prop.validate(reader);
+      } catch (Exception e) {
+        throw new RuntimeException(String.format("Could not read property '%s'", prop.getKey()), e);
+      }
+      validatedProperties[index] = true;
+    }
+
+    for (int p = 0; p < propertyCount; p++) {
+      final BaseProperty<?> prop = declaredProperties.get(p);
+      if (!validatedProperties[p] && !prop.hasDefaultValue()) {
+        throw new RuntimeException(
+            String.format("Property '%s' has no valid value", prop.getKey()));
+      }
+    }
+  }
+
+  private BaseProperty<? extends BaseValue> findDeclaredProperty(StringValue key) {
+    final int index = findDeclaredPropertyIndex(key);
+    return index >= 0 ? declaredProperties.get(index) : null;
+  }
+
+  private int findDeclaredPropertyIndex(StringValue key) {
+    if (declaredKeyIndex == null) {
+      indexDeclaredKeys();
+    }
+
+    int slot = hashKey(key) & declaredKeyIndexMask;
+    int entry;
+    while ((entry = declaredKeyIndex[slot]) != NO_PROPERTY) {
+      if (declaredProperties.get(entry - 1).getKey().equals(key)) {
+        return entry - 1;
+      }
+      slot = (slot + 1) & declaredKeyIndexMask;
+    }
+
+    return -1;
+  }
+
+  private void indexDeclaredKeys() {
+    final int size = declaredProperties.size();
+    // keep the load factor at most 0.5, so that probing ends quickly on unknown keys
+    final int capacity = BitUtil.findNextPositivePowerOfTwo(Math.max(2, size * 2));
+    final int[] index = new int[capacity];
+    final int mask = capacity - 1;
+
+    for (int i = 0; i < size; i++) {
+      int slot = hashKey(declaredProperties.get(i).getKey()) & mask;
+      while (index[slot] != NO_PROPERTY) {
+        slot = (slot + 1) & mask;
+      }
+      index[slot] = i + 1;
+    }
+
+    declaredKeyIndex = index;
+    declaredKeyIndexMask = mask;
+  }
+
+  private static int hashKey(StringValue key) {
+    final DirectBuffer bytes = key.getValue();
+    final int length = key.getLength();
+
+    int hash = length;
+    for (int i = 0; i < length; i++) {
+      hash = 31 * hash + bytes.getByte(i);
+    }
+    return hash ^ (hash >>> 16);
+  }
+
   /**
    * Caution: In case not all properties are writeable (i.e. value not set and no default), this
    * method may write some of the values and only then throw an exception. The same exception is
@@ -56,6 +56,11 @@ public class PackedValue extends BaseValue {
     wrap(buffer, offset, lenght);
   }
 
+  @Override
+  public void validate(MsgPackReader reader) {
+    reader.skipValue();
+  }
+
   @Override
   public void write(MsgPackWriter writer) {
     writer.writeRaw(buffer);
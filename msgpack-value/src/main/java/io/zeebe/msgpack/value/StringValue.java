@@ -109,6 +109,11 @@ public class StringValue extends BaseValue {
     this.wrap(buffer, offset, stringLength);
   }
 
+  @Override
+  public void validate(MsgPackReader reader) {
+    reader.skipBytes(reader.readStringLength());
+  }
+
   @Override
   public void write(MsgPackWriter writer) {
     writer.writeString(bytes);
@@ -0,0 +1,143 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack;
+
+import static io.zeebe.msgpack.MsgPackUtil.encodeMsgPack;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.msgpack.POJO.POJOEnum;
+import io.zeebe.msgpack.json.DirectBufferJsonWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class JsonWriterTest {
+
+  private final ExpandableArrayBuffer jsonBuffer = new ExpandableArrayBuffer(8);
+  private final DirectBufferJsonWriter writer = new DirectBufferJsonWriter().wrap(jsonBuffer, 0);
+
+  @Test
+  public void shouldWriteObjectAsJson() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setEnum(POJOEnum.BAR);
+    pojo.setLong(456L);
+    pojo.setInt(123);
+    pojo.setString(wrapString("bar"));
+    pojo.setPacked(
+        encodeMsgPack(
+            w ->
+                w.writeMapHeader(1)
+                    .writeString(wrapString("a"))
+                    .writeArrayHeader(5)
+                    .writeInteger(1)
+                    .writeString(wrapString("b"))
+                    .writeBoolean(true)
+                    .writeNil()
+                    .writeFloat(1.5)));
+    pojo.setBinary(wrapString("foo"));
+    pojo.nestedObject().setLong(24L);
+
+    final UnsafeBuffer msgPack = new UnsafeBuffer(new byte[pojo.getLength()]);
+    pojo.write(msgPack, 0);
+
+    // when
+    writer.writeMsgPack(msgPack, 0, msgPack.capacity());
+
+    // then
+    assertThat(writtenJson())
+        .isEqualTo(
+            "{\"enumProp\":\"BAR\",\"longProp\":456,\"intProp\":123,\"stringProp\":\"bar\","
+                + "\"packedProp\":{\"a\":[1,\"b\",true,null,1.5]},\"binaryProp\":\"Zm9v\","
+                + "\"objectProp\":{\"foo\":24}}");
+  }
+
+  @Test
+  public void shouldEscapeStrings() {
+    // given
+    final DirectBuffer value = wrapString("a\"b\\c\nd\u0001eü");
+
+    // when
+    writer.writeString(value, 0, value.capacity());
+
+    // then
+    assertThat(writtenJson()).isEqualTo("\"a\\\"b\\\\c\\nd\\u0001eü\"");
+  }
+
+  @Test
+  public void shouldWriteNumbers() {
+    // when
+    writer
+        .writeStartArray()
+        .writeLong(0)
+        .writeLong(-42)
+        .writeLong(Long.MIN_VALUE)
+        .writeLong(Long.MAX_VALUE)
+        .writeFloat(0.25f)
+        .writeDouble(Double.NaN)
+        .writeEndArray();
+
+    // then
+    assertThat(writtenJson())
+        .isEqualTo("[0,-42,-9223372036854775808,9223372036854775807,0.25,\"NaN\"]");
+  }
+
+  @Test
+  public void shouldWriteBinaryAsBase64() {
+    // given
+    final DirectBuffer one = wrapString("f");
+    final DirectBuffer two = wrapString("fo");
+
+    // when
+    writer
+        .writeStartArray()
+        .writeBinary(one, 0, one.capacity())
+        .writeBinary(two, 0, two.capacity())
+        .writeEndArray();
+
+    // then
+    assertThat(writtenJson()).isEqualTo("[\"Zg==\",\"Zm8=\"]");
+  }
+
+  @Test
+  public void shouldWriteNonStringKeysAsStrings() {
+    // given
+    final DirectBuffer document =
+        encodeMsgPack(
+            w ->
+                w.writeMapHeader(4)
+                    .writeInteger(-1)
+                    .writeString(wrapString("a"))
+                    .writeBoolean(false)
+                    .writeInteger(2)
+                    .writeNil()
+                    .writeInteger(3)
+                    .writeFloat(1.5)
+                    .writeMapHeader(0));
+
+    // when
+    writer.writeMsgPack(document, 0, document.capacity());
+
+    // then
+    assertThat(writtenJson()).isEqualTo("{\"-1\":\"a\",\"false\":2,\"null\":3,\"1.5\":{}}");
+  }
+
+  private String writtenJson() {
+    return jsonBuffer.getStringWithoutLengthUtf8(0, writer.getLength());
+  }
+}
@@ -23,8 +23,10 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.assertj.core.api.Assertions.entry;
 
 import io.zeebe.msgpack.POJO.POJOEnum;
+import io.zeebe.msgpack.property.LongProperty;
 import java.util.Map;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
 import org.agrona.MutableDirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
 import org.junit.Rule;
@@ -106,6 +108,31 @@ public class ObjectMappingTest {
     assertThat(objectProp).containsExactly(entry("foo", 24L));
   }
 
+  @Test
+  public void shouldSerializePOJOIntoExpandableBuffer() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setEnum(POJOEnum.BAR);
+    pojo.setLong(456456L);
+    pojo.setInt(123);
+    pojo.setString(BUF1);
+    pojo.setBinary(BUF2);
+    pojo.setPacked(MSGPACK_BUF1);
+    pojo.nestedObject().setLong(24L);
+
+    final UnsafeBuffer expectedBuffer = new UnsafeBuffer(new byte[pojo.getLength()]);
+    pojo.write(expectedBuffer, 0);
+
+    // when
+    final ExpandableArrayBuffer resultBuffer = new ExpandableArrayBuffer(1);
+    final int writtenLength = pojo.writeExpandable(resultBuffer, 4);
+
+    // then
+    assertThat(writtenLength).isEqualTo(expectedBuffer.capacity());
+    assertThatBuffer(new UnsafeBuffer(resultBuffer, 4, writtenLength))
+        .hasBytes(expectedBuffer.byteArray());
+  }
+
   @Test
   public void shouldDeserializePOJO() {
     // given
@@ -394,4 +421,52 @@ public class ObjectMappingTest {
     assertThatBuffer(pojo.getString()).hasBytes(BUF1);
     assertThat(pojo.nestedObject().getLong()).isEqualTo(24L);
   }
+
+  @Test
+  public void shouldDeserializeObjectWithManyDeclaredProperties() {
+    // given
+    final int propertyCount = 40;
+    final UnpackedObject object = new UnpackedObject();
+    final LongProperty[] properties = new LongProperty[propertyCount];
+    for (int i = 0; i < propertyCount; i++) {
+      properties[i] = new LongProperty("prop" + i);
+      object.declareProperty(properties[i]);
+    }
+
+    final DirectBuffer msgPack =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(propertyCount);
+              for (int i = propertyCount - 1; i >= 0; i--) {
+                w.writeString(wrapString("prop" + i));
+                w.writeInteger(i);
+              }
+            });
+
+    // when
+    object.wrap(msgPack);
+
+    // then
+    for (int i = 0; i < propertyCount; i++) {
+      assertThat(properties[i].getValue()).isEqualTo(i);
+    }
+  }
+
+  @Test
+  public void shouldDeserializePropertyDeclaredAfterFirstRead() {
+    // given
+    final UnpackedObject object = new UnpackedObject();
+    final LongProperty fooProperty = new LongProperty("foo", 0L);
+    object.declareProperty(fooProperty);
+    object.wrap(MSGPACK_BUF1);
+
+    final LongProperty barProperty = new LongProperty("bar");
+    object.declareProperty(barProperty);
+
+    // when
+    object.wrap(MSGPACK_BUF2);
+
+    // then
+    assertThat(barProperty.getValue()).isEqualTo(24L);
+  }
 }
@@ -54,6 +54,33 @@ public class ObjectMappingUndeclaredPropertiesTest {
     assertThat(pojo.getLongProp()).isEqualTo(123L);
   }
 
+  @Test
+  public void shouldNotMatchSimilarKeysAsDeclaredProperty() {
+    // given
+    final MinimalPOJO pojo = new MinimalPOJO();
+    final DirectBuffer msgPack =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(3);
+              w.writeString(wrapString("longPro"));
+              w.writeInteger(1L);
+              w.writeString(wrapString("longProq"));
+              w.writeInteger(2L);
+              w.writeString(wrapString("longProp"));
+              w.writeInteger(3L);
+            });
+
+    // when
+    pojo.wrap(msgPack);
+
+    // then
+    assertThat(pojo.getLongProp()).isEqualTo(3L);
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[pojo.getLength()]);
+    pojo.write(buffer, 0);
+    assertThat(asMap(buffer, 0, buffer.capacity()))
+        .containsOnly(entry("longPro", 1L), entry("longProq", 2L), entry("longProp", 3L));
+  }
+
   @Test
   public void shouldIncludeUndeclaredPropertiesInLengthEstimation() {
     // given
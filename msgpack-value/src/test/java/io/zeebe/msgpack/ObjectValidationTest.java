@@ -0,0 +1,221 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.msgpack;
+
+import static io.zeebe.msgpack.MsgPackUtil.encodeMsgPack;
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import io.zeebe.msgpack.POJO.POJOEnum;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.junit.Test;
+
+public class ObjectValidationTest {
+
+  private static final DirectBuffer BUF1 = wrapString("foo");
+  private static final MutableDirectBuffer NESTED_OBJECT =
+      encodeMsgPack(
+          (w) -> {
+            w.writeMapHeader(1);
+            w.writeString(BUF1);
+            w.writeInteger(123123L);
+          });
+
+  @Test
+  public void shouldValidatePOJO() {
+    // given
+    final POJO pojo = new POJO();
+    final DirectBuffer buffer = encodePOJO(wrapString(POJOEnum.BAR.toString()), 123L);
+
+    // when
+    final Throwable error = catchThrowable(() -> pojo.validate(buffer, 0, buffer.capacity()));
+
+    // then
+    assertThat(error).isNull();
+  }
+
+  @Test
+  public void shouldNotChangePOJOOnValidation() {
+    // given
+    final POJO pojo = new POJO();
+    pojo.setLong(1L);
+    pojo.setEnum(POJOEnum.FOO);
+
+    final DirectBuffer buffer = encodePOJO(wrapString(POJOEnum.BAR.toString()), 123L);
+
+    // when
+    pojo.validate(buffer, 0, buffer.capacity());
+
+    // then
+    assertThat(pojo.getLong()).isEqualTo(1L);
+    assertThat(pojo.getEnum()).isEqualTo(POJOEnum.FOO);
+  }
+
+  @Test
+  public void shouldSkipUndeclaredProperties() {
+    // given
+    final MinimalPOJO pojo = new MinimalPOJO();
+
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(2);
+
+              w.writeString(wrapString("undeclared"));
+              w.writeRaw(NESTED_OBJECT);
+
+              w.writeString(wrapString("longProp"));
+              w.writeInteger(1L);
+            });
+
+    // when
+    final Throwable error = catchThrowable(() -> pojo.validate(buffer, 0, buffer.capacity()));
+
+    // then
+    assertThat(error).isNull();
+  }
+
+  @Test
+  public void shouldFailValidationWithWrongValueType() {
+    // given
+    final POJO pojo = new POJO();
+
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(1);
+
+              w.writeString(wrapString("stringProp"));
+              w.writeFloat(123123.123123d);
+            });
+
+    // when
+    final Throwable error = catchThrowable(() -> pojo.validate(buffer, 0, buffer.capacity()));
+
+    // then
+    assertThat(error)
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("Could not deserialize object. Deserialization stuck at offset 13");
+  }
+
+  @Test
+  public void shouldFailValidationWithMissingRequiredValues() {
+    // given
+    final POJO pojo = new POJO();
+
+    final DirectBuffer buffer = encodeMsgPack((w) -> w.writeMapHeader(0));
+
+    // when
+    final Throwable error = catchThrowable(() -> pojo.validate(buffer, 0, buffer.capacity()));
+
+    // then
+    assertThat(error)
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("Could not deserialize object")
+        .hasCause(new RuntimeException("Property 'enumProp' has no valid value"));
+  }
+
+  @Test
+  public void shouldFailValidationWithIllegalEnumValue() {
+    // given
+    final POJO pojo = new POJO();
+    final DirectBuffer buffer = encodePOJO(wrapString("BAZ"), 123L);
+
+    // when
+    final Throwable error = catchThrowable(() -> pojo.validate(buffer, 0, buffer.capacity()));
+
+    // then
+    assertThat(error)
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("Could not deserialize object");
+  }
+
+  @Test
+  public void shouldFailValidationWithOversizedIntegerValue() {
+    // given
+    final POJO pojo = new POJO();
+    final DirectBuffer buffer =
+        encodePOJO(wrapString(POJOEnum.BAR.toString()), Integer.MAX_VALUE + 1L);
+
+    // when
+    final Throwable error = catchThrowable(() -> pojo.validate(buffer, 0, buffer.capacity()));
+
+    // then
+    assertThat(error)
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("Could not deserialize object");
+  }
+
+  @Test
+  public void shouldValidateArrayElements() {
+    // given
+    final POJOArray pojo = new POJOArray();
+
+    final DirectBuffer buffer =
+        encodeMsgPack(
+            (w) -> {
+              w.writeMapHeader(1);
+
+              w.writeString(wrapString("simpleArray"));
+              w.writeArrayHeader(2);
+
+              w.writeMapHeader(1);
+              w.writeString(wrapString("longProp"));
+              w.writeInteger(1L);
+
+              w.writeMapHeader(0);
+            });
+
+    // when
+    final Throwable error = catchThrowable(() -> pojo.validate(buffer, 0, buffer.capacity()));
+
+    // then
+    assertThat(error)
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("Could not deserialize object")
+        .hasStackTraceContaining("Property 'longProp' has no valid value");
+  }
+
+  private static DirectBuffer encodePOJO(DirectBuffer enumValue, long intValue) {
+    return encodeMsgPack(
+        (w) -> {
+          w.writeMapHeader(7);
+
+          w.writeString(wrapString("enumProp"));
+          w.writeString(enumValue);
+
+          w.writeString(wrapString("binaryProp"));
+          w.writeBinary(BUF1);
+
+          w.writeString(wrapString("stringProp"));
+          w.writeString(BUF1);
+
+          w.writeString(wrapString("packedProp"));
+          w.writeRaw(NESTED_OBJECT);
+
+          w.writeString(wrapString("longProp"));
+          w.writeInteger(88888L);
+
+          w.writeString(wrapString("intProp"));
+          w.writeInteger(intValue);
+
+          w.writeString(wrapString("objectProp"));
+          w.writeRaw(NESTED_OBJECT);
+        });
+  }
+}
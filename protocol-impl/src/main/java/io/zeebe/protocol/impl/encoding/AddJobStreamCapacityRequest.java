@@ -0,0 +1,107 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import static io.zeebe.protocol.record.AddJobStreamCapacityRequestEncoder.capacityNullValue;
+import static io.zeebe.protocol.record.AddJobStreamCapacityRequestEncoder.streamIdNullValue;
+
+import io.zeebe.protocol.record.AddJobStreamCapacityRequestDecoder;
+import io.zeebe.protocol.record.AddJobStreamCapacityRequestEncoder;
+import io.zeebe.protocol.record.MessageHeaderDecoder;
+import io.zeebe.protocol.record.MessageHeaderEncoder;
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+
+/**
+ * Allows a broker to push more jobs to a job stream of a gateway, see {@link
+ * AddJobStreamRequest}. Each pushed job takes one unit of the capacity of the stream.
+ */
+public class AddJobStreamCapacityRequest implements BufferReader, BufferWriter {
+
+  private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+
+  private final AddJobStreamCapacityRequestEncoder bodyEncoder =
+      new AddJobStreamCapacityRequestEncoder();
+  private final AddJobStreamCapacityRequestDecoder bodyDecoder =
+      new AddJobStreamCapacityRequestDecoder();
+
+  private long streamId;
+  private int capacity;
+
+  public AddJobStreamCapacityRequest() {
+    reset();
+  }
+
+  public AddJobStreamCapacityRequest reset() {
+    streamId = streamIdNullValue();
+    capacity = capacityNullValue();
+    return this;
+  }
+
+  public long getStreamId() {
+    return streamId;
+  }
+
+  public AddJobStreamCapacityRequest setStreamId(long streamId) {
+    this.streamId = streamId;
+    return this;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public AddJobStreamCapacityRequest setCapacity(int capacity) {
+    this.capacity = capacity;
+    return this;
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    reset();
+
+    headerDecoder.wrap(buffer, offset);
+
+    offset += headerDecoder.encodedLength();
+
+    bodyDecoder.wrap(buffer, offset, headerDecoder.blockLength(), headerDecoder.version());
+
+    streamId = bodyDecoder.streamId();
+    capacity = bodyDecoder.capacity();
+  }
+
+  @Override
+  public int getLength() {
+    return MessageHeaderEncoder.ENCODED_LENGTH + AddJobStreamCapacityRequestEncoder.BLOCK_LENGTH;
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    headerEncoder
+        .wrap(buffer, offset)
+        .blockLength(bodyEncoder.sbeBlockLength())
+        .templateId(bodyEncoder.sbeTemplateId())
+        .schemaId(bodyEncoder.sbeSchemaId())
+        .version(bodyEncoder.sbeSchemaVersion());
+
+    offset += headerEncoder.encodedLength();
+
+    bodyEncoder.wrap(buffer, offset).streamId(streamId).capacity(capacity);
+  }
+}
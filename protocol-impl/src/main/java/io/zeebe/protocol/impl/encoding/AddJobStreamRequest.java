@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import static io.zeebe.protocol.record.AddJobStreamRequestEncoder.streamIdNullValue;
+
+import io.zeebe.protocol.record.AddJobStreamRequestDecoder;
+import io.zeebe.protocol.record.AddJobStreamRequestEncoder;
+import io.zeebe.protocol.record.MessageHeaderDecoder;
+import io.zeebe.protocol.record.MessageHeaderEncoder;
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * Registers a job stream of a gateway on a broker. The value is a job batch record with the type,
+ * worker, timeout and variables of the jobs to push, and the initial capacity of the stream as its
+ * max jobs to activate.
+ */
+public class AddJobStreamRequest implements BufferReader, BufferWriter {
+
+  private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+
+  private final AddJobStreamRequestEncoder bodyEncoder = new AddJobStreamRequestEncoder();
+  private final AddJobStreamRequestDecoder bodyDecoder = new AddJobStreamRequestDecoder();
+
+  private long streamId;
+  private final DirectBuffer value = new UnsafeBuffer(0, 0);
+
+  public AddJobStreamRequest() {
+    reset();
+  }
+
+  public AddJobStreamRequest reset() {
+    streamId = streamIdNullValue();
+    value.wrap(0, 0);
+
+    return this;
+  }
+
+  public long getStreamId() {
+    return streamId;
+  }
+
+  public AddJobStreamRequest setStreamId(long streamId) {
+    this.streamId = streamId;
+    return this;
+  }
+
+  public DirectBuffer getValue() {
+    return value;
+  }
+
+  public AddJobStreamRequest setValue(DirectBuffer buffer, int offset, int length) {
+    this.value.wrap(buffer, offset, length);
+    return this;
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    reset();
+
+    final int frameEnd = offset + length;
+
+    headerDecoder.wrap(buffer, offset);
+
+    offset += headerDecoder.encodedLength();
+
+    bodyDecoder.wrap(buffer, offset, headerDecoder.blockLength(), headerDecoder.version());
+
+    streamId = bodyDecoder.streamId();
+
+    offset += bodyDecoder.sbeBlockLength();
+
+    final int valueLength = bodyDecoder.valueLength();
+    offset += AddJobStreamRequestDecoder.valueHeaderLength();
+
+    value.wrap(buffer, offset, valueLength);
+    offset += valueLength;
+
+    bodyDecoder.limit(offset);
+
+    assert bodyDecoder.limit() == frameEnd
+        : "Decoder read only to position "
+            + bodyDecoder.limit()
+            + " but expected "
+            + frameEnd
+            + " as final position";
+  }
+
+  @Override
+  public int getLength() {
+    return MessageHeaderEncoder.ENCODED_LENGTH
+        + AddJobStreamRequestEncoder.BLOCK_LENGTH
+        + AddJobStreamRequestEncoder.valueHeaderLength()
+        + value.capacity();
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    headerEncoder
+        .wrap(buffer, offset)
+        .blockLength(bodyEncoder.sbeBlockLength())
+        .templateId(bodyEncoder.sbeTemplateId())
+        .schemaId(bodyEncoder.sbeSchemaId())
+        .version(bodyEncoder.sbeSchemaVersion());
+
+    offset += headerEncoder.encodedLength();
+
+    bodyEncoder.wrap(buffer, offset).streamId(streamId).putValue(value, 0, value.capacity());
+  }
+}
@@ -22,6 +22,8 @@ import com.fasterxml.jackson.core.JsonParser.Feature;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.MappingJsonFactory;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import io.zeebe.msgpack.json.DirectBufferJsonWriter;
 import io.zeebe.protocol.record.JsonSerializable;
 import io.zeebe.util.buffer.BufferUtil;
 import java.io.*;
@@ -30,6 +32,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import org.agrona.DirectBuffer;
+import org.agrona.ExpandableArrayBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
 import org.msgpack.jackson.dataformat.MessagePackFactory;
 
 public final class MsgPackConverter {
@@ -63,6 +67,15 @@ public final class MsgPackConverter {
   private static final ObjectMapper MESSSAGE_PACK_OBJECT_MAPPER =
       new ObjectMapper(MESSAGE_PACK_FACTORY);
 
+  private static final ObjectWriter JSON_STREAM_WRITER =
+      JSON_OBJECT_MAPPER.writer().without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+  // the converter is called from many threads, each of them reuses its own buffer and writer
+  private static final ThreadLocal<JsonConversion> JSON_CONVERSION =
+      ThreadLocal.withInitial(JsonConversion::new);
+  private static final int INITIAL_JSON_BUFFER_CAPACITY = 1024;
+  private static final int MAX_RETAINED_JSON_BUFFER_CAPACITY = 64 * 1024;
+
   ////////////////////////////////////////////////////////////////////////////////////////////////
   ///////////////////////////////////// JSON to MSGPACK //////////////////////////////////////////
   ////////////////////////////////////////////////////////////////////////////////////////////////
@@ -88,11 +101,28 @@ public final class MsgPackConverter {
   ////////////////////////////////////////////////////////////////////////////////////////////////
 
   public static String convertToJson(DirectBuffer buffer) {
-    return convertToJson(BufferUtil.bufferAsArray(buffer));
+    final JsonConversion conversion = JSON_CONVERSION.get();
+    final DirectBufferJsonWriter jsonWriter = conversion.writer.wrap(conversion.buffer, 0);
+
+    try {
+      jsonWriter.writeMsgPack(buffer, 0, buffer.capacity());
+    } catch (Exception e) {
+      throw new RuntimeException("Failed to convert MessagePack to JSON", e);
+    }
+
+    final String json =
+        new String(conversion.buffer.byteArray(), 0, jsonWriter.getLength(), JSON_CHARSET);
+
+    if (conversion.buffer.capacity() > MAX_RETAINED_JSON_BUFFER_CAPACITY) {
+      // don't keep the memory of a single large document per thread
+      JSON_CONVERSION.remove();
+    }
+
+    return json;
   }
 
   public static String convertToJson(byte[] msgPack) {
-    return convertToJson(new ByteArrayInputStream(msgPack));
+    return convertToJson(new UnsafeBuffer(msgPack));
   }
 
   public static String convertToJson(InputStream msgPackInputStream) {
@@ -180,4 +210,16 @@ public final class MsgPackConverter {
       throw new RuntimeException(e);
     }
   }
+
+  /** Writes the JSON of the object to the stream, which is not closed afterwards. */
+  public static void writeJsonSerializableObject(
+      JsonSerializable recordValue, OutputStream outputStream) throws IOException {
+    JSON_STREAM_WRITER.writeValue(outputStream, recordValue);
+  }
+
+  private static final class JsonConversion {
+    private final ExpandableArrayBuffer buffer =
+        new ExpandableArrayBuffer(INITIAL_JSON_BUFFER_CAPACITY);
+    private final DirectBufferJsonWriter writer = new DirectBufferJsonWriter();
+  }
 }
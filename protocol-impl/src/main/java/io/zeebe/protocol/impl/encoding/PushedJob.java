@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl.encoding;
+
+import static io.zeebe.protocol.record.PushedJobEncoder.keyNullValue;
+import static io.zeebe.protocol.record.PushedJobEncoder.streamIdNullValue;
+
+import io.zeebe.protocol.record.MessageHeaderDecoder;
+import io.zeebe.protocol.record.MessageHeaderEncoder;
+import io.zeebe.protocol.record.PushedJobDecoder;
+import io.zeebe.protocol.record.PushedJobEncoder;
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.MutableDirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+
+/**
+ * A job which was activated by a broker for a job stream of a gateway, see {@link
+ * AddJobStreamRequest}. The value is the activated job record, including its variables.
+ */
+public class PushedJob implements BufferReader, BufferWriter {
+
+  /** The length of the value is encoded in two bytes, so larger jobs can't be pushed. */
+  public static final int MAX_VALUE_LENGTH = 65534;
+
+  private final MessageHeaderEncoder headerEncoder = new MessageHeaderEncoder();
+  private final MessageHeaderDecoder headerDecoder = new MessageHeaderDecoder();
+
+  private final PushedJobEncoder bodyEncoder = new PushedJobEncoder();
+  private final PushedJobDecoder bodyDecoder = new PushedJobDecoder();
+
+  private long streamId;
+  private long key;
+  private final DirectBuffer value = new UnsafeBuffer(0, 0);
+
+  public PushedJob() {
+    reset();
+  }
+
+  public PushedJob reset() {
+    streamId = streamIdNullValue();
+    key = keyNullValue();
+    value.wrap(0, 0);
+
+    return this;
+  }
+
+  public long getStreamId() {
+    return streamId;
+  }
+
+  public PushedJob setStreamId(long streamId) {
+    this.streamId = streamId;
+    return this;
+  }
+
+  public long getKey() {
+    return key;
+  }
+
+  public PushedJob setKey(long key) {
+    this.key = key;
+    return this;
+  }
+
+  public DirectBuffer getValue() {
+    return value;
+  }
+
+  public PushedJob setValue(DirectBuffer buffer, int offset, int length) {
+    this.value.wrap(buffer, offset, length);
+    return this;
+  }
+
+  @Override
+  public void wrap(DirectBuffer buffer, int offset, int length) {
+    reset();
+
+    final int frameEnd = offset + length;
+
+    headerDecoder.wrap(buffer, offset);
+
+    offset += headerDecoder.encodedLength();
+
+    bodyDecoder.wrap(buffer, offset, headerDecoder.blockLength(), headerDecoder.version());
+
+    streamId = bodyDecoder.streamId();
+    key = bodyDecoder.key();
+
+    offset += bodyDecoder.sbeBlockLength();
+
+    final int valueLength = bodyDecoder.valueLength();
+    offset += PushedJobDecoder.valueHeaderLength();
+
+    value.wrap(buffer, offset, valueLength);
+    offset += valueLength;
+
+    bodyDecoder.limit(offset);
+
+    assert bodyDecoder.limit() == frameEnd
+        : "Decoder read only to position "
+            + bodyDecoder.limit()
+            + " but expected "
+            + frameEnd
+            + " as final position";
+  }
+
+  @Override
+  public int getLength() {
+    return MessageHeaderEncoder.ENCODED_LENGTH
+        + PushedJobEncoder.BLOCK_LENGTH
+        + PushedJobEncoder.valueHeaderLength()
+        + value.capacity();
+  }
+
+  @Override
+  public void write(MutableDirectBuffer buffer, int offset) {
+    headerEncoder
+        .wrap(buffer, offset)
+        .blockLength(bodyEncoder.sbeBlockLength())
+        .templateId(bodyEncoder.sbeTemplateId())
+        .schemaId(bodyEncoder.sbeSchemaId())
+        .version(bodyEncoder.sbeSchemaVersion());
+
+    offset += headerEncoder.encodedLength();
+
+    bodyEncoder
+        .wrap(buffer, offset)
+        .streamId(streamId)
+        .key(key)
+        .putValue(value, 0, value.capacity());
+  }
+}
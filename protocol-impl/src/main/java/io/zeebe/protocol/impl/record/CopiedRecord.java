@@ -21,6 +21,8 @@ import io.zeebe.protocol.record.RecordType;
 import io.zeebe.protocol.record.RejectionType;
 import io.zeebe.protocol.record.ValueType;
 import io.zeebe.protocol.record.intent.Intent;
+import java.io.IOException;
+import java.io.OutputStream;
 
 public class CopiedRecord<T extends UnifiedRecordValue> implements Record<T> {
 
@@ -120,6 +122,11 @@ public class CopiedRecord<T extends UnifiedRecordValue> implements Record<T> {
     return MsgPackConverter.convertJsonSerializableObjectToJson(this);
   }
 
+  @Override
+  public void writeJson(OutputStream outputStream) throws IOException {
+    MsgPackConverter.writeJsonSerializableObject(this, outputStream);
+  }
+
   @Override
   public String toString() {
     return toJson();
@@ -0,0 +1,123 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl.record.value.message;
+
+import io.zeebe.msgpack.property.ArrayProperty;
+import io.zeebe.msgpack.value.EnumValue;
+import io.zeebe.msgpack.value.LongValue;
+import io.zeebe.msgpack.value.StringValue;
+import io.zeebe.msgpack.value.ValueArray;
+import io.zeebe.protocol.impl.record.UnifiedRecordValue;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.value.MessageBatchRecordValue;
+import io.zeebe.protocol.record.value.MessageRecordValue;
+import io.zeebe.util.buffer.BufferUtil;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+import org.agrona.concurrent.UnsafeBuffer;
+
+public class MessageBatchRecord extends UnifiedRecordValue implements MessageBatchRecordValue {
+
+  private final ArrayProperty<MessageRecord> messagesProp =
+      new ArrayProperty<>("messages", new MessageRecord());
+  private final ArrayProperty<LongValue> messageKeysProp =
+      new ArrayProperty<>("messageKeys", new LongValue());
+  private final ArrayProperty<EnumValue<RejectionType>> rejectionTypesProp =
+      new ArrayProperty<>(
+          "rejectionTypes", new EnumValue<>(RejectionType.class, RejectionType.NULL_VAL));
+  private final ArrayProperty<StringValue> rejectionReasonsProp =
+      new ArrayProperty<>("rejectionReasons", new StringValue());
+
+  public MessageBatchRecord() {
+    this.declareProperty(messagesProp)
+        .declareProperty(messageKeysProp)
+        .declareProperty(rejectionTypesProp)
+        .declareProperty(rejectionReasonsProp);
+  }
+
+  public ValueArray<MessageRecord> messages() {
+    return messagesProp;
+  }
+
+  public ValueArray<LongValue> messageKeys() {
+    return messageKeysProp;
+  }
+
+  public ValueArray<EnumValue<RejectionType>> rejectionTypes() {
+    return rejectionTypesProp;
+  }
+
+  public ValueArray<StringValue> rejectionReasons() {
+    return rejectionReasonsProp;
+  }
+
+  /** Adds the result of a published message; the results are in the order of the messages. */
+  public MessageBatchRecord addPublished(long messageKey) {
+    return addResult(messageKey, RejectionType.NULL_VAL, "");
+  }
+
+  /** Adds the result of a rejected message; the results are in the order of the messages. */
+  public MessageBatchRecord addRejected(RejectionType rejectionType, String rejectionReason) {
+    return addResult(-1L, rejectionType, rejectionReason);
+  }
+
+  private MessageBatchRecord addResult(
+      long messageKey, RejectionType rejectionType, String rejectionReason) {
+    messageKeysProp.add().setValue(messageKey);
+    rejectionTypesProp.add().setValue(rejectionType);
+    rejectionReasonsProp.add().wrap(BufferUtil.wrapString(rejectionReason));
+    return this;
+  }
+
+  @Override
+  public List<MessageRecordValue> getMessages() {
+    return StreamSupport.stream(messagesProp.spliterator(), false)
+        .map(
+            messageRecord -> {
+              final byte[] bytes = new byte[messageRecord.getLength()];
+              final UnsafeBuffer copyRecord = new UnsafeBuffer(bytes);
+              final MessageRecord copiedRecord = new MessageRecord();
+
+              messageRecord.write(copyRecord, 0);
+              copiedRecord.wrap(copyRecord);
+
+              return copiedRecord;
+            })
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Long> getMessageKeys() {
+    return StreamSupport.stream(messageKeysProp.spliterator(), false)
+        .map(LongValue::getValue)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<RejectionType> getRejectionTypes() {
+    return StreamSupport.stream(rejectionTypesProp.spliterator(), false)
+        .map(EnumValue::getValue)
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<String> getRejectionReasons() {
+    return StreamSupport.stream(rejectionReasonsProp.spliterator(), false)
+        .map(reason -> BufferUtil.bufferAsString(reason.getValue()))
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.impl;
+
+import static io.zeebe.util.buffer.BufferUtil.wrapString;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.protocol.impl.encoding.AddJobStreamCapacityRequest;
+import io.zeebe.protocol.impl.encoding.AddJobStreamRequest;
+import io.zeebe.protocol.impl.encoding.PushedJob;
+import io.zeebe.protocol.impl.encoding.RemoveJobStreamRequest;
+import io.zeebe.util.buffer.BufferReader;
+import io.zeebe.util.buffer.BufferWriter;
+import org.agrona.DirectBuffer;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.Test;
+
+public class JobStreamMessagesTest {
+
+  private static final DirectBuffer VALUE = wrapString("value");
+
+  @Test
+  public void shouldEncodeDecodeAddJobStreamRequest() {
+    // given
+    final AddJobStreamRequest request =
+        new AddJobStreamRequest().setStreamId(12L).setValue(VALUE, 0, VALUE.capacity());
+
+    // when
+    final AddJobStreamRequest decoded = encodeDecode(request, new AddJobStreamRequest());
+
+    // then
+    assertThat(decoded.getStreamId()).isEqualTo(12L);
+    assertThat(decoded.getValue()).isEqualTo(VALUE);
+  }
+
+  @Test
+  public void shouldEncodeDecodeRemoveJobStreamRequest() {
+    // given
+    final RemoveJobStreamRequest request = new RemoveJobStreamRequest().setStreamId(12L);
+
+    // when
+    final RemoveJobStreamRequest decoded = encodeDecode(request, new RemoveJobStreamRequest());
+
+    // then
+    assertThat(decoded.getStreamId()).isEqualTo(12L);
+  }
+
+  @Test
+  public void shouldEncodeDecodeAddJobStreamCapacityRequest() {
+    // given
+    final AddJobStreamCapacityRequest request =
+        new AddJobStreamCapacityRequest().setStreamId(12L).setCapacity(3);
+
+    // when
+    final AddJobStreamCapacityRequest decoded =
+        encodeDecode(request, new AddJobStreamCapacityRequest());
+
+    // then
+    assertThat(decoded.getStreamId()).isEqualTo(12L);
+    assertThat(decoded.getCapacity()).isEqualTo(3);
+  }
+
+  @Test
+  public void shouldEncodeDecodePushedJob() {
+    // given
+    final PushedJob pushedJob =
+        new PushedJob().setStreamId(12L).setKey(34L).setValue(VALUE, 0, VALUE.capacity());
+
+    // when
+    final PushedJob decoded = encodeDecode(pushedJob, new PushedJob());
+
+    // then
+    assertThat(decoded.getStreamId()).isEqualTo(12L);
+    assertThat(decoded.getKey()).isEqualTo(34L);
+    assertThat(decoded.getValue()).isEqualTo(VALUE);
+  }
+
+  private static <T extends BufferReader> T encodeDecode(BufferWriter writer, T reader) {
+    final UnsafeBuffer buffer = new UnsafeBuffer(new byte[writer.getLength()]);
+    writer.write(buffer, 0);
+
+    reader.wrap(buffer, 0, buffer.capacity());
+    return reader;
+  }
+}
@@ -27,6 +27,7 @@ import io.zeebe.protocol.impl.record.value.error.ErrorRecord;
 import io.zeebe.protocol.impl.record.value.incident.IncidentRecord;
 import io.zeebe.protocol.impl.record.value.job.JobBatchRecord;
 import io.zeebe.protocol.impl.record.value.job.JobRecord;
+import io.zeebe.protocol.impl.record.value.message.MessageBatchRecord;
 import io.zeebe.protocol.impl.record.value.message.MessageRecord;
 import io.zeebe.protocol.impl.record.value.message.MessageStartEventSubscriptionRecord;
 import io.zeebe.protocol.impl.record.value.message.MessageSubscriptionRecord;
@@ -46,8 +47,11 @@ import io.zeebe.protocol.record.value.ErrorType;
 import io.zeebe.protocol.record.value.VariableDocumentUpdateSemantic;
 import io.zeebe.protocol.record.value.deployment.ResourceType;
 import io.zeebe.test.util.JsonUtil;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Map;
 import java.util.function.Supplier;
@@ -401,6 +405,30 @@ public class JsonSerializableToJsonTest {
         "{'timeToLive':12,'correlationKey':'test-key','variables':{},'messageId':'','name':'test-message'}"
       },
 
+      /////////////////////////////////////////////////////////////////////////////////////////////
+      ///////////////////////////////// MessageBatchRecord ////////////////////////////////////////
+      /////////////////////////////////////////////////////////////////////////////////////////////
+      {
+        "MessageBatchRecord",
+        (Supplier<UnifiedRecordValue>)
+            () -> {
+              final MessageBatchRecord record = new MessageBatchRecord();
+              record
+                  .messages()
+                  .add()
+                  .setCorrelationKey(wrapString("test-key"))
+                  .setName(wrapString("test-message"))
+                  .setVariables(VARIABLES_MSGPACK)
+                  .setTimeToLive(12)
+                  .setMessageId(wrapString("test-id"));
+
+              return record
+                  .addPublished(3L)
+                  .addRejected(RejectionType.ALREADY_EXISTS, "already published");
+            },
+        "{'messages':[{'timeToLive':12,'correlationKey':'test-key','variables':{'foo':'bar'},'messageId':'test-id','name':'test-message'}],'messageKeys':[3,-1],'rejectionTypes':['NULL_VAL','ALREADY_EXISTS'],'rejectionReasons':['','already published']}"
+      },
+
       /////////////////////////////////////////////////////////////////////////////////////////////
       ///////////////////////////////// MessageStartEventSubscriptionRecord ///////////////////////
       /////////////////////////////////////////////////////////////////////////////////////////////
@@ -684,4 +712,17 @@ public class JsonSerializableToJsonTest {
     // then
     JsonUtil.assertEquality(json, expectedJson);
   }
+
+  @Test
+  public void shouldWriteJsonSerializableToStream() throws IOException {
+    // given
+    final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+    // when
+    actualRecordSupplier.get().writeJson(outputStream);
+
+    // then
+    final String json = new String(outputStream.toByteArray(), StandardCharsets.UTF_8);
+    JsonUtil.assertEquality(json, expectedJson);
+  }
 }
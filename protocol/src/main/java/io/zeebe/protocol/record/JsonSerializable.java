@@ -15,8 +15,20 @@
  */
 package io.zeebe.protocol.record;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
 public interface JsonSerializable {
 
   /** @return a JSON marshaled representation */
   String toJson();
+
+  /**
+   * Writes the JSON marshaled representation as UTF-8 to the given stream, which is not closed.
+   * Implementations should override it to write without building the intermediate string.
+   */
+  default void writeJson(OutputStream outputStream) throws IOException {
+    outputStream.write(toJson().getBytes(StandardCharsets.UTF_8));
+  }
 }
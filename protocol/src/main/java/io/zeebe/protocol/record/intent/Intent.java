@@ -35,7 +35,8 @@ public interface Intent {
           VariableIntent.class,
           VariableDocumentIntent.class,
           WorkflowInstanceCreationIntent.class,
-          ErrorIntent.class);
+          ErrorIntent.class,
+          MessageBatchIntent.class);
 
   Intent UNKNOWN =
       new Intent() {
@@ -88,6 +89,8 @@ public interface Intent {
         return WorkflowInstanceCreationIntent.from(intent);
       case ERROR:
         return ErrorIntent.from(intent);
+      case MESSAGE_BATCH:
+        return MessageBatchIntent.from(intent);
       case NULL_VAL:
       case SBE_UNKNOWN:
         return Intent.UNKNOWN;
@@ -131,6 +134,8 @@ public interface Intent {
         return WorkflowInstanceCreationIntent.valueOf(intent);
       case ERROR:
         return ErrorIntent.valueOf(intent);
+      case MESSAGE_BATCH:
+        return MessageBatchIntent.valueOf(intent);
       case NULL_VAL:
       case SBE_UNKNOWN:
         return Intent.UNKNOWN;
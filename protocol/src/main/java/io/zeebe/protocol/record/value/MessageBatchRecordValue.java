@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.protocol.record.value;
+
+import io.zeebe.protocol.record.RecordValue;
+import io.zeebe.protocol.record.RejectionType;
+import io.zeebe.protocol.record.intent.MessageBatchIntent;
+import java.util.List;
+
+/**
+ * Represents a batch of messages which are published on the same partition.
+ *
+ * <p>See {@link MessageBatchIntent} for intents.
+ */
+public interface MessageBatchRecordValue extends RecordValue {
+  /** @return the messages of the batch */
+  List<MessageRecordValue> getMessages();
+
+  /**
+   * @return the keys of the published messages, in the order of the messages; -1 if the message
+   *     was rejected
+   */
+  List<Long> getMessageKeys();
+
+  /**
+   * @return the rejection types of the messages, in the order of the messages; {@link
+   *     RejectionType#NULL_VAL} if the message was published
+   */
+  List<RejectionType> getRejectionTypes();
+
+  /**
+   * @return the rejection reasons of the messages, in the order of the messages; empty if the
+   *     message was published
+   */
+  List<String> getRejectionReasons();
+}
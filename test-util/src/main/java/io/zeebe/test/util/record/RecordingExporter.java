@@ -23,6 +23,7 @@ import io.zeebe.protocol.record.intent.DeploymentIntent;
 import io.zeebe.protocol.record.intent.IncidentIntent;
 import io.zeebe.protocol.record.intent.JobBatchIntent;
 import io.zeebe.protocol.record.intent.JobIntent;
+import io.zeebe.protocol.record.intent.MessageBatchIntent;
 import io.zeebe.protocol.record.intent.MessageIntent;
 import io.zeebe.protocol.record.intent.MessageStartEventSubscriptionIntent;
 import io.zeebe.protocol.record.intent.MessageSubscriptionIntent;
@@ -35,6 +36,7 @@ import io.zeebe.protocol.record.value.DeploymentRecordValue;
 import io.zeebe.protocol.record.value.IncidentRecordValue;
 import io.zeebe.protocol.record.value.JobBatchRecordValue;
 import io.zeebe.protocol.record.value.JobRecordValue;
+import io.zeebe.protocol.record.value.MessageBatchRecordValue;
 import io.zeebe.protocol.record.value.MessageRecordValue;
 import io.zeebe.protocol.record.value.MessageStartEventSubscriptionRecordValue;
 import io.zeebe.protocol.record.value.MessageSubscriptionRecordValue;
@@ -181,6 +183,15 @@ public class RecordingExporter implements Exporter {
     return messageRecords().withIntent(intent);
   }
 
+  public static MessageBatchRecordStream messageBatchRecords() {
+    return new MessageBatchRecordStream(
+        records(ValueType.MESSAGE_BATCH, MessageBatchRecordValue.class));
+  }
+
+  public static MessageBatchRecordStream messageBatchRecords(final MessageBatchIntent intent) {
+    return messageBatchRecords().withIntent(intent);
+  }
+
   public static WorkflowInstanceRecordStream workflowInstanceRecords() {
     return new WorkflowInstanceRecordStream(
         records(ValueType.WORKFLOW_INSTANCE, WorkflowInstanceRecordValue.class));
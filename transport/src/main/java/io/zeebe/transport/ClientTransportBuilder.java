@@ -30,6 +30,7 @@ import io.zeebe.transport.impl.actor.Receiver;
 import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
 import io.zeebe.transport.impl.memory.TransportMemoryPool;
 import io.zeebe.transport.impl.sender.Sender;
+import io.zeebe.transport.impl.sender.TransportHeaderWriter;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
 import java.time.Duration;
@@ -42,6 +43,9 @@ public class ClientTransportBuilder {
   protected static final Duration DEFAULT_CHANNEL_KEEP_ALIVE_PERIOD = Duration.ofSeconds(5);
 
   protected static final long DEFAULT_CHANNEL_CONNECT_TIMEOUT = 500;
+
+  private static final String TRANSPORT_NAME = "client";
+
   private final String name;
 
   private int messageMaxLength = 1024 * 512;
@@ -60,6 +64,12 @@ public class ClientTransportBuilder {
   protected Duration defaultRequestRetryTimeout = Duration.ofSeconds(15);
   protected Duration defaultMessageRetryTimeout = Duration.ofSeconds(1);
 
+  private int sendBatchSize = Sender.DEFAULT_BATCH_SIZE;
+  private Duration sendBatchWindow = Duration.ZERO;
+
+  private int senderCount = 1;
+  private int receiverCount = 1;
+
   public ClientTransportBuilder(final String name) {
     this.name = name;
   }
@@ -126,13 +136,81 @@ public class ClientTransportBuilder {
     return this;
   }
 
+  /**
+   * The number of bytes of concurrent requests and messages to the same remote which are coalesced
+   * into one write to the channel.
+   */
+  public ClientTransportBuilder sendBatchSize(int sendBatchSize) {
+    if (sendBatchSize <= 0) {
+      throw new IllegalArgumentException("Send batch size must be greater than zero");
+    }
+    this.sendBatchSize = sendBatchSize;
+    return this;
+  }
+
+  /**
+   * The maximum time a batch which is not full is held back before it is written to the channel.
+   * Defaults to zero, i.e. batches are written as soon as possible.
+   */
+  public ClientTransportBuilder sendBatchWindow(Duration sendBatchWindow) {
+    if (sendBatchWindow.isNegative()) {
+      throw new IllegalArgumentException("Send batch window must not be negative");
+    }
+    this.sendBatchWindow = sendBatchWindow;
+    return this;
+  }
+
+  /**
+   * The number of sender actors. Channels are assigned to the senders by their stream id, the
+   * memory pools are partitioned between the senders.
+   */
+  public ClientTransportBuilder senderCount(int senderCount) {
+    if (senderCount < 1) {
+      throw new IllegalArgumentException("Sender count must be at least 1");
+    }
+    this.senderCount = senderCount;
+    return this;
+  }
+
+  /**
+   * The number of receiver actors, each polling its own set of channels. Channels are assigned to
+   * the receivers by their stream id. If more than one receiver is used, then the registered {@link
+   * ClientInputListener}s must be thread-safe.
+   */
+  public ClientTransportBuilder receiverCount(int receiverCount) {
+    if (receiverCount < 1) {
+      throw new IllegalArgumentException("Receiver count must be at least 1");
+    }
+    this.receiverCount = receiverCount;
+    return this;
+  }
+
   public ClientTransport build() {
     validate();
 
     final ClientActorContext actorContext = new ClientActorContext();
 
-    final Sender sender =
-        new Sender(actorContext, messageMemoryPool, requestMemoryPool, keepAlivePeriod);
+    final int largestAllocation = TransportHeaderWriter.getFramedRequestLength(messageMaxLength);
+    final List<TransportMemoryPool> messageMemoryPools =
+        messageMemoryPool.partition(senderCount, largestAllocation);
+    final List<TransportMemoryPool> requestMemoryPools =
+        requestMemoryPool.partition(senderCount, largestAllocation);
+
+    for (int i = 0; i < senderCount; i++) {
+      new Sender(
+          actorContext,
+          name,
+          messageMemoryPools.get(i),
+          requestMemoryPools.get(i),
+          keepAlivePeriod,
+          sendBatchSize,
+          sendBatchWindow);
+    }
+
+    final List<FragmentHandler> receiveHandlers = new ArrayList<>(receiverCount);
+    for (int i = 0; i < receiverCount; i++) {
+      receiveHandlers.add(new ClientReceiveHandler(actorContext, receiveBuffer, listeners));
+    }
 
     final RemoteAddressListImpl remoteAddressList = new RemoteAddressListImpl();
     final EndpointRegistry endpointRegistry = new EndpointRegistryImpl(name, remoteAddressList);
@@ -141,7 +219,7 @@ public class ClientTransportBuilder {
         buildTransportContext(
             remoteAddressList,
             endpointRegistry,
-            new ClientReceiveHandler(sender, receiveBuffer, listeners),
+            receiveHandlers,
             receiveBuffer);
 
     return build(actorContext, transportContext);
@@ -150,15 +228,15 @@ public class ClientTransportBuilder {
   protected TransportContext buildTransportContext(
       RemoteAddressListImpl addressList,
       EndpointRegistry endpointRegistry,
-      FragmentHandler receiveHandler,
+      List<FragmentHandler> receiveHandlers,
       Dispatcher receiveBuffer) {
     final TransportContext context = new TransportContext();
-    context.setName("client");
+    context.setName(TRANSPORT_NAME);
     context.setReceiveBuffer(receiveBuffer);
     context.setMessageMaxLength(messageMaxLength);
     context.setRemoteAddressList(addressList);
     context.setEndpointRegistry(endpointRegistry);
-    context.setReceiveHandler(receiveHandler);
+    context.setReceiveHandlers(receiveHandlers);
     context.setChannelKeepAlivePeriod(keepAlivePeriod);
 
     if (channelFactory != null) {
@@ -172,21 +250,22 @@ public class ClientTransportBuilder {
 
   protected ClientTransport build(ClientActorContext actorContext, TransportContext context) {
     final ClientConductor conductor = new ClientConductor(actorContext, context);
-    final Receiver receiver = new Receiver(actorContext, context);
-    final Sender sender = actorContext.getSender();
+    for (int i = 0; i < receiverCount; i++) {
+      new Receiver(actorContext, context);
+    }
 
     final ClientOutput output =
         new ClientOutputImpl(
             context.getEndpointRegistry(),
-            sender,
+            actorContext,
             defaultRequestRetryTimeout,
             defaultMessageRetryTimeout);
 
     context.setClientOutput(output);
 
     scheduler.submitActor(conductor);
-    scheduler.submitActor(receiver);
-    scheduler.submitActor(sender);
+    actorContext.getReceivers().forEach(scheduler::submitActor);
+    actorContext.getSenders().forEach(scheduler::submitActor);
 
     return new ClientTransport(actorContext, context);
   }
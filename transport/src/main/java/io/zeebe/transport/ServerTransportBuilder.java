@@ -30,10 +30,14 @@ import io.zeebe.transport.impl.actor.ServerConductor;
 import io.zeebe.transport.impl.memory.NonBlockingMemoryPool;
 import io.zeebe.transport.impl.memory.TransportMemoryPool;
 import io.zeebe.transport.impl.sender.Sender;
+import io.zeebe.transport.impl.sender.TransportHeaderWriter;
 import io.zeebe.util.ByteValue;
 import io.zeebe.util.sched.ActorScheduler;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 public class ServerTransportBuilder {
   public static final int DEFAULT_MAX_MESSAGE_LENGTH = 1024 * 512;
@@ -43,13 +47,16 @@ public class ServerTransportBuilder {
   private ServerOutput output;
   private ActorScheduler scheduler;
   private InetSocketAddress bindAddress;
-  protected FragmentHandler receiveHandler;
+  protected List<FragmentHandler> receiveHandlers;
   protected RemoteAddressListImpl remoteAddressList;
   protected ServerControlMessageListener controlMessageListener;
 
   private TransportMemoryPool messageMemoryPool =
       new NonBlockingMemoryPool(ByteValue.ofMegabytes(4));
 
+  private int senderCount = 1;
+  private int receiverCount = 1;
+
   public ServerTransportBuilder name(String name) {
     this.name = name;
     return this;
@@ -75,8 +82,39 @@ public class ServerTransportBuilder {
     return this;
   }
 
-  protected ServerTransportBuilder receiveHandler(FragmentHandler receiveHandler) {
-    this.receiveHandler = receiveHandler;
+  /**
+   * The number of sender actors. Channels are assigned to the senders by their stream id, the
+   * message memory pool is partitioned between the senders.
+   */
+  public ServerTransportBuilder senderCount(int senderCount) {
+    if (senderCount < 1) {
+      throw new IllegalArgumentException("Sender count must be at least 1");
+    }
+    this.senderCount = senderCount;
+    return this;
+  }
+
+  /**
+   * The number of receiver actors, each polling its own set of channels. Channels are assigned to
+   * the receivers by their stream id. If more than one receiver is used, then the message and
+   * request handlers passed to {@link #build(ServerMessageHandler, ServerRequestHandler)} are
+   * invoked concurrently and must be thread-safe.
+   */
+  public ServerTransportBuilder receiverCount(int receiverCount) {
+    if (receiverCount < 1) {
+      throw new IllegalArgumentException("Receiver count must be at least 1");
+    }
+    this.receiverCount = receiverCount;
+    return this;
+  }
+
+  /** Creates one receive handler for each receiver. */
+  protected ServerTransportBuilder receiveHandlers(
+      Supplier<FragmentHandler> receiveHandlerFactory) {
+    this.receiveHandlers = new ArrayList<>(receiverCount);
+    for (int i = 0; i < receiverCount; i++) {
+      receiveHandlers.add(receiveHandlerFactory.get());
+    }
     return this;
   }
 
@@ -88,17 +126,36 @@ public class ServerTransportBuilder {
 
   public ServerTransport build(
       ServerMessageHandler messageHandler, ServerRequestHandler requestHandler) {
+    return buildTransport(
+        () ->
+            new ServerReceiveHandler(
+                output, remoteAddressList, messageHandler, requestHandler, controlMessageListener));
+  }
+
+  /**
+   * Creates one handler for each receiver, so that the handlers don't have to be thread-safe if
+   * more than one receiver is used.
+   */
+  public <T extends ServerMessageHandler & ServerRequestHandler> ServerTransport build(
+      Supplier<T> handlerFactory) {
+    return buildTransport(
+        () -> {
+          final T handler = handlerFactory.get();
+          return new ServerReceiveHandler(
+              output, remoteAddressList, handler, handler, controlMessageListener);
+        });
+  }
+
+  private ServerTransport buildTransport(Supplier<FragmentHandler> receiveHandlerFactory) {
     remoteAddressList = new RemoteAddressListImpl();
 
     final ServerActorContext actorContext = new ServerActorContext();
 
-    final Sender sender = new Sender(actorContext, messageMemoryPool, null, null);
+    buildSenders(actorContext);
 
-    output = new ServerOutputImpl(sender);
+    output = new ServerOutputImpl(actorContext);
 
-    receiveHandler(
-        new ServerReceiveHandler(
-            output, remoteAddressList, messageHandler, requestHandler, controlMessageListener));
+    receiveHandlers(receiveHandlerFactory);
 
     validate();
 
@@ -111,15 +168,15 @@ public class ServerTransportBuilder {
 
   public BufferingServerTransport buildBuffering(Dispatcher receiveBuffer) {
     remoteAddressList = new RemoteAddressListImpl();
-    receiveHandler(new ReceiveBufferHandler(receiveBuffer));
+    receiveHandlers(() -> new ReceiveBufferHandler(receiveBuffer));
 
     validate();
 
     final ServerActorContext actorContext = new ServerActorContext();
 
-    final Sender sender = new Sender(actorContext, messageMemoryPool, null, null);
+    buildSenders(actorContext);
 
-    output = new ServerOutputImpl(sender);
+    output = new ServerOutputImpl(actorContext);
 
     final TransportContext context = buildTransportContext();
 
@@ -140,26 +197,37 @@ public class ServerTransportBuilder {
     context.setServerOutput(output);
     context.setMessageMaxLength(messageMaxLength);
     context.setRemoteAddressList(remoteAddressList);
-    context.setReceiveHandler(receiveHandler);
+    context.setReceiveHandlers(receiveHandlers);
     context.setServerSocketBinding(serverSocketBinding);
     context.setChannelFactory(new DefaultChannelFactory());
 
     return context;
   }
 
+  protected void buildSenders(ServerActorContext actorContext) {
+    final int largestAllocation = TransportHeaderWriter.getFramedRequestLength(messageMaxLength);
+    final List<TransportMemoryPool> messageMemoryPools =
+        messageMemoryPool.partition(senderCount, largestAllocation);
+
+    for (int i = 0; i < senderCount; i++) {
+      new Sender(actorContext, name, messageMemoryPools.get(i), null, null);
+    }
+  }
+
   protected void buildActors(TransportContext context, ServerActorContext actorContext) {
     final ServerConductor conductor = new ServerConductor(actorContext, context);
-    final Sender sender = actorContext.getSender();
-    final Receiver receiver = new Receiver(actorContext, context);
+    for (int i = 0; i < receiverCount; i++) {
+      new Receiver(actorContext, context);
+    }
 
     scheduler.submitActor(conductor);
-    scheduler.submitActor(sender);
-    scheduler.submitActor(receiver);
+    actorContext.getSenders().forEach(scheduler::submitActor);
+    actorContext.getReceivers().forEach(scheduler::submitActor);
   }
 
   protected void validate() {
     Objects.requireNonNull(scheduler, "Scheduler must be provided");
     Objects.requireNonNull(bindAddress, "Bind Address must be provided");
-    Objects.requireNonNull(receiveHandler, "Receive Handler must be defined");
+    Objects.requireNonNull(receiveHandlers, "Receive Handler must be defined");
   }
 }
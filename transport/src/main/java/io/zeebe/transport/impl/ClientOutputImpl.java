@@ -19,6 +19,7 @@ import io.zeebe.transport.ClientOutput;
 import io.zeebe.transport.ClientResponse;
 import io.zeebe.transport.EndpointRegistry;
 import io.zeebe.transport.RemoteAddress;
+import io.zeebe.transport.impl.actor.ActorContext;
 import io.zeebe.transport.impl.sender.OutgoingMessage;
 import io.zeebe.transport.impl.sender.OutgoingRequest;
 import io.zeebe.transport.impl.sender.Sender;
@@ -35,17 +36,17 @@ import org.agrona.concurrent.UnsafeBuffer;
 
 public class ClientOutputImpl implements ClientOutput {
   protected final EndpointRegistry endpointRegistry;
-  protected final Sender requestManager;
+  protected final ActorContext actorContext;
   protected final Duration defaultRequestRetryTimeout;
   protected final long defaultMessageRetryTimeoutInMillis;
 
   public ClientOutputImpl(
       EndpointRegistry endpointRegistry,
-      Sender requestManager,
+      ActorContext actorContext,
       Duration defaultRequestRetryTimeout,
       Duration defaultMessageRetryTimeout) {
     this.endpointRegistry = endpointRegistry;
-    this.requestManager = requestManager;
+    this.actorContext = actorContext;
     this.defaultRequestRetryTimeout = defaultRequestRetryTimeout;
     this.defaultMessageRetryTimeoutInMillis = defaultMessageRetryTimeout.toMillis();
   }
@@ -63,7 +64,8 @@ public class ClientOutputImpl implements ClientOutput {
   private boolean sendTransportMessage(int remoteStreamId, BufferWriter writer) {
     final int framedMessageLength =
         TransportHeaderWriter.getFramedMessageLength(writer.getLength());
-    final ByteBuffer allocatedBuffer = requestManager.allocateMessageBuffer(framedMessageLength);
+    final Sender sender = actorContext.getSender(remoteStreamId);
+    final ByteBuffer allocatedBuffer = sender.allocateMessageBuffer(framedMessageLength);
 
     if (allocatedBuffer != null) {
       try {
@@ -75,11 +77,11 @@ public class ClientOutputImpl implements ClientOutput {
         final OutgoingMessage outgoingMessage =
             new OutgoingMessage(remoteStreamId, bufferView, deadline);
 
-        requestManager.submitMessage(outgoingMessage);
+        sender.submitMessage(outgoingMessage);
 
         return true;
       } catch (RuntimeException e) {
-        requestManager.reclaimMessageBuffer(allocatedBuffer);
+        sender.reclaimMessageBuffer(allocatedBuffer);
         throw e;
       }
     } else {
@@ -107,7 +109,8 @@ public class ClientOutputImpl implements ClientOutput {
     final int messageLength = writer.getLength();
     final int framedLength = TransportHeaderWriter.getFramedRequestLength(messageLength);
 
-    final ByteBuffer allocatedBuffer = requestManager.allocateRequestBuffer(framedLength);
+    final Sender sender = selectRequestSender(nodeIdSupplier);
+    final ByteBuffer allocatedBuffer = sender.allocateRequestBuffer(framedLength);
 
     if (allocatedBuffer != null) {
       try {
@@ -117,17 +120,32 @@ public class ClientOutputImpl implements ClientOutput {
                 () -> endpointRegistry.getEndpoint(nodeIdSupplier.get()),
                 responseInspector,
                 bufferView,
+                sender.getRequestMemoryPool(),
                 timeout);
 
         request.getHeaderWriter().wrapRequest(bufferView, writer);
 
-        return requestManager.submitRequest(request);
+        return sender.submitRequest(request);
       } catch (RuntimeException e) {
-        requestManager.reclaimRequestBuffer(allocatedBuffer);
+        sender.reclaimRequestBuffer(allocatedBuffer);
         throw e;
       }
     } else {
       return null;
     }
   }
+
+  /**
+   * Selects the sender which writes to the channel of the current remote. If the remote changes
+   * until the request is sent, then the sender hands the request over to the right one.
+   */
+  private Sender selectRequestSender(Supplier<Integer> nodeIdSupplier) {
+    final RemoteAddress remoteAddress = endpointRegistry.getEndpoint(nodeIdSupplier.get());
+
+    if (remoteAddress != null) {
+      return actorContext.getSender(remoteAddress.getStreamId());
+    } else {
+      return actorContext.getSenders().get(0);
+    }
+  }
 }
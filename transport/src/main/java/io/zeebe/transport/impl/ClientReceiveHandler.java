@@ -18,7 +18,7 @@ package io.zeebe.transport.impl;
 import io.zeebe.dispatcher.Dispatcher;
 import io.zeebe.dispatcher.FragmentHandler;
 import io.zeebe.transport.ClientInputListener;
-import io.zeebe.transport.impl.sender.Sender;
+import io.zeebe.transport.impl.actor.ActorContext;
 import java.util.List;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
@@ -29,13 +29,13 @@ public class ClientReceiveHandler implements FragmentHandler {
   private final RequestResponseHeaderDescriptor requestResponseHeaderDescriptor =
       new RequestResponseHeaderDescriptor();
 
-  protected final Sender requestPool;
+  protected final ActorContext actorContext;
   protected final Dispatcher receiveBuffer;
   protected final List<ClientInputListener> listeners;
 
   public ClientReceiveHandler(
-      Sender requestPool, Dispatcher receiveBuffer, List<ClientInputListener> listeners) {
-    this.requestPool = requestPool;
+      ActorContext actorContext, Dispatcher receiveBuffer, List<ClientInputListener> listeners) {
+    this.actorContext = actorContext;
     this.receiveBuffer = receiveBuffer;
     this.listeners = listeners;
   }
@@ -61,7 +61,10 @@ public class ClientReceiveHandler implements FragmentHandler {
         buffer.getBytes(readOffset, responseBuffer, 0, length);
 
         invokeResponseListeners(streamId, requestId, buffer, readOffset, length);
-        requestPool.submitResponse(new IncomingResponse(requestId, responseBuffer));
+        // the response is handled by the sender which wrote the request to this channel
+        actorContext
+            .getSender(streamId)
+            .submitResponse(new IncomingResponse(requestId, responseBuffer));
 
         return CONSUME_FRAGMENT_RESULT;
 
@@ -17,6 +17,7 @@ package io.zeebe.transport.impl;
 
 import io.zeebe.transport.ServerOutput;
 import io.zeebe.transport.ServerResponse;
+import io.zeebe.transport.impl.actor.ActorContext;
 import io.zeebe.transport.impl.sender.OutgoingMessage;
 import io.zeebe.transport.impl.sender.Sender;
 import io.zeebe.transport.impl.sender.TransportHeaderWriter;
@@ -27,10 +28,10 @@ import org.agrona.concurrent.UnsafeBuffer;
 public class ServerOutputImpl implements ServerOutput {
   private static final long NO_RETRIES = 0;
 
-  private final Sender sender;
+  private final ActorContext actorContext;
 
-  public ServerOutputImpl(Sender sender) {
-    this.sender = sender;
+  public ServerOutputImpl(ActorContext actorContext) {
+    this.actorContext = actorContext;
   }
 
   @Override
@@ -38,6 +39,7 @@ public class ServerOutputImpl implements ServerOutput {
     final int framedMessageLength =
         TransportHeaderWriter.getFramedMessageLength(writer.getLength());
 
+    final Sender sender = actorContext.getSender(remoteStreamId);
     final ByteBuffer allocatedBuffer = sender.allocateMessageBuffer(framedMessageLength);
 
     if (allocatedBuffer != null) {
@@ -66,11 +68,12 @@ public class ServerOutputImpl implements ServerOutput {
     final BufferWriter writer = response.getWriter();
     final int framedLength = TransportHeaderWriter.getFramedRequestLength(writer.getLength());
 
+    final int remoteStreamId = response.getRemoteStreamId();
+    final Sender sender = actorContext.getSender(remoteStreamId);
     final ByteBuffer allocatedBuffer = sender.allocateMessageBuffer(framedLength);
 
     if (allocatedBuffer != null) {
       try {
-        final int remoteStreamId = response.getRemoteStreamId();
         final long requestId = response.getRequestId();
 
         final UnsafeBuffer bufferView = new UnsafeBuffer(allocatedBuffer);
@@ -174,6 +174,23 @@ public class TransportChannel {
     return bytesWritten;
   }
 
+  /**
+   * Writes the remaining bytes of the given buffers to the channel with a single gathering write.
+   *
+   * @return the number of bytes written, or -1 if the channel failed and is closed
+   */
+  public long write(ByteBuffer[] buffers, int offset, int length) {
+    long bytesWritten = -1;
+
+    try {
+      bytesWritten = media.write(buffers, offset, length);
+    } catch (IOException e) {
+      doClose();
+    }
+
+    return bytesWritten;
+  }
+
   public int getStreamId() {
     return remoteAddress.getStreamId();
   }
@@ -21,6 +21,7 @@ import io.zeebe.transport.ClientOutput;
 import io.zeebe.transport.EndpointRegistry;
 import io.zeebe.transport.ServerOutput;
 import java.time.Duration;
+import java.util.List;
 
 public class TransportContext {
   private String name;
@@ -36,7 +37,7 @@ public class TransportContext {
   private RemoteAddressListImpl remoteAddressList;
   private EndpointRegistry endpointRegistry;
 
-  private FragmentHandler receiveHandler;
+  private List<FragmentHandler> receiveHandlers;
 
   private ServerSocketBinding serverSocketBinding;
 
@@ -90,12 +91,25 @@ public class TransportContext {
     this.endpointRegistry = endpointRegistry;
   }
 
-  public void setReceiveHandler(FragmentHandler receiveHandler) {
-    this.receiveHandler = receiveHandler;
+  /**
+   * Sets one receive handler per receiver. A receive handler is only invoked by the receiver of the
+   * same shard so that it does not have to be thread-safe.
+   */
+  public void setReceiveHandlers(List<FragmentHandler> receiveHandlers) {
+    this.receiveHandlers = receiveHandlers;
   }
 
-  public FragmentHandler getReceiveHandler() {
-    return receiveHandler;
+  /** @return the receive handler for the channel with the given stream id */
+  public FragmentHandler getReceiveHandler(int streamId) {
+    return receiveHandlers.get(shardOf(streamId, receiveHandlers.size()));
+  }
+
+  /**
+   * Assigns a channel to one of the given number of senders or receivers by its stream id. Stream
+   * ids are assigned sequentially, so that channels are spread evenly across shards.
+   */
+  public static int shardOf(int streamId, int shardCount) {
+    return (streamId & Integer.MAX_VALUE) % shardCount;
   }
 
   public ServerSocketBinding getServerSocketBinding() {
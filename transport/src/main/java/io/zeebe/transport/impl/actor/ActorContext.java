@@ -16,20 +16,30 @@
 package io.zeebe.transport.impl.actor;
 
 import io.zeebe.transport.TransportListener;
+import io.zeebe.transport.impl.TransportContext;
 import io.zeebe.transport.impl.sender.Sender;
 import io.zeebe.util.sched.future.ActorFuture;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * Holds the actors of a transport. A transport can have multiple senders and receivers. Each
+ * channel is assigned to exactly one sender and one receiver by its stream id, see {@link
+ * TransportContext#shardOf(int, int)}.
+ */
 public abstract class ActorContext {
   private Conductor conductor;
-  private Sender sender;
-  private Receiver receiver;
+  private final List<Sender> senders = new ArrayList<>();
+  private final List<Receiver> receivers = new ArrayList<>();
 
   public void setConductor(Conductor clientConductor) {
     this.conductor = clientConductor;
   }
 
-  public void setReceiver(Receiver receiver) {
-    this.receiver = receiver;
+  /** @return the shard index of the added receiver */
+  public int addReceiver(Receiver receiver) {
+    receivers.add(receiver);
+    return receivers.size() - 1;
   }
 
   public void removeListener(TransportListener listener) {
@@ -52,8 +62,12 @@ public abstract class ActorContext {
     return conductor.interruptAllChannels();
   }
 
-  public ActorFuture<Void> closeReceiver() {
-    return receiver.close();
+  public List<ActorFuture<Void>> closeReceivers() {
+    final List<ActorFuture<Void>> closeFutures = new ArrayList<>(receivers.size());
+    for (int i = 0; i < receivers.size(); i++) {
+      closeFutures.add(receivers.get(i).close());
+    }
+    return closeFutures;
   }
 
   public Conductor getConductor() {
@@ -68,19 +82,35 @@ public abstract class ActorContext {
     return (ServerConductor) conductor;
   }
 
-  public Receiver getReceiver() {
-    return receiver;
+  public List<Receiver> getReceivers() {
+    return receivers;
+  }
+
+  /** @return the receiver which reads from the channel with the given stream id */
+  public Receiver getReceiver(int streamId) {
+    return receivers.get(TransportContext.shardOf(streamId, receivers.size()));
+  }
+
+  public List<Sender> getSenders() {
+    return senders;
   }
 
-  public Sender getSender() {
-    return sender;
+  /** @return the sender which writes to the channel with the given stream id */
+  public Sender getSender(int streamId) {
+    return senders.get(TransportContext.shardOf(streamId, senders.size()));
   }
 
-  public void setSender(Sender sender) {
-    this.sender = sender;
+  /** @return the shard index of the added sender */
+  public int addSender(Sender sender) {
+    senders.add(sender);
+    return senders.size() - 1;
   }
 
-  public ActorFuture<Void> closeSender() {
-    return sender.close();
+  public List<ActorFuture<Void>> closeSenders() {
+    final List<ActorFuture<Void>> closeFutures = new ArrayList<>(senders.size());
+    for (int i = 0; i < senders.size(); i++) {
+      closeFutures.add(senders.get(i).close());
+    }
+    return closeFutures;
   }
 }
@@ -56,7 +56,7 @@ public class ClientConductor extends Conductor {
             this,
             address,
             transportContext.getMessageMaxLength(),
-            transportContext.getReceiveHandler());
+            transportContext.getReceiveHandler(address.getStreamId()));
 
     if (channel.beginConnect(connectAttempt)) {
       // backoff connecton attempts
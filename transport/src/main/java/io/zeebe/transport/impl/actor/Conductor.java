@@ -82,8 +82,9 @@ public abstract class Conductor extends Actor implements ChannelLifecycleListene
   public void onChannelConnected(TransportChannel ch) {
     channels.put(ch.getRemoteAddress().getStreamId(), ch);
 
-    final ActorFuture<Void> f1 = actorContext.getReceiver().registerChannel(ch);
-    final ActorFuture<Void> f2 = actorContext.getSender().onChannelConnected(ch);
+    final int streamId = ch.getStreamId();
+    final ActorFuture<Void> f1 = actorContext.getReceiver(streamId).registerChannel(ch);
+    final ActorFuture<Void> f2 = actorContext.getSender(streamId).onChannelConnected(ch);
 
     actor.runOnCompletion(
         Arrays.asList(f1, f2),
@@ -113,8 +114,9 @@ public abstract class Conductor extends Actor implements ChannelLifecycleListene
           if (channels.remove(ch.getRemoteAddress().getStreamId()) != null) {
             if (wasConnected) {
               failRequestsOnChannel(ch, "Socket channel has been disconnected");
-              final ActorFuture<Void> f1 = actorContext.getReceiver().removeChannel(ch);
-              final ActorFuture<Void> f2 = actorContext.getSender().onChannelClosed(ch);
+              final int streamId = ch.getStreamId();
+              final ActorFuture<Void> f1 = actorContext.getReceiver(streamId).removeChannel(ch);
+              final ActorFuture<Void> f2 = actorContext.getSender(streamId).onChannelClosed(ch);
 
               // wait for deregistration in order to not mix up the order of listener callbacks
               actor.runOnCompletion(
@@ -135,7 +137,9 @@ public abstract class Conductor extends Actor implements ChannelLifecycleListene
   }
 
   protected void failRequestsOnChannel(TransportChannel ch, String reason) {
-    actorContext.getSender().failPendingRequestsToRemote(ch.getRemoteAddress(), reason);
+    actorContext
+        .getSender(ch.getStreamId())
+        .failPendingRequestsToRemote(ch.getRemoteAddress(), reason);
   }
 
   @Override
@@ -144,11 +148,12 @@ public abstract class Conductor extends Actor implements ChannelLifecycleListene
 
     new ArrayList<>(channels.values()).forEach(TransportChannel::close);
 
-    final ActorFuture<Void> senderClose = actorContext.closeSender();
-    final ActorFuture<Void> receiverClose = actorContext.closeReceiver();
+    final List<ActorFuture<Void>> closeFutures = new ArrayList<>();
+    closeFutures.addAll(actorContext.closeSenders());
+    closeFutures.addAll(actorContext.closeReceivers());
 
     actor.runOnCompletion(
-        Arrays.asList(senderClose, receiverClose),
+        closeFutures,
         (t) -> {
           onSenderAndReceiverClosed();
         });
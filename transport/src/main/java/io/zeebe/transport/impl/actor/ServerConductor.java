@@ -89,7 +89,7 @@ public class ServerConductor extends Conductor {
             this,
             remoteAddress,
             transportContext.getMessageMaxLength(),
-            transportContext.getReceiveHandler(),
+            transportContext.getReceiveHandler(remoteAddress.getStreamId()),
             serverChannel);
 
     onChannelConnected(ch);
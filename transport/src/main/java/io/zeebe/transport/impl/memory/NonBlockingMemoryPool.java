@@ -18,6 +18,9 @@ package io.zeebe.transport.impl.memory;
 import io.zeebe.transport.Loggers;
 import io.zeebe.util.ByteValue;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 
@@ -32,9 +35,11 @@ import org.slf4j.Logger;
 public class NonBlockingMemoryPool implements TransportMemoryPool {
   private static final Logger LOG = Loggers.TRANSPORT_MEMORY_LOGGER;
 
+  private final int capacity;
   private final AtomicInteger remaining;
 
   public NonBlockingMemoryPool(int capacity) {
+    this.capacity = capacity;
     this.remaining = new AtomicInteger(capacity);
   }
 
@@ -71,4 +76,35 @@ public class NonBlockingMemoryPool implements TransportMemoryPool {
     LOG.trace("Reclaiming {} bytes", bytesReclaimed);
     remaining.addAndGet(bytesReclaimed);
   }
+
+  /**
+   * Splits the capacity of this pool evenly, so that the senders of a transport don't contend on
+   * the same counter. Each partition keeps at least the capacity to serve the largest allocation,
+   * even if the partitions then exceed the capacity of this pool in total.
+   */
+  @Override
+  public List<TransportMemoryPool> partition(int partitionCount, int largestAllocation) {
+    if (partitionCount == 1) {
+      return Collections.singletonList(this);
+    }
+
+    // an allocation must leave some capacity, see allocate(int)
+    final int minPartitionCapacity = largestAllocation + 1;
+    int partitionCapacity = capacity / partitionCount;
+    if (partitionCapacity < minPartitionCapacity) {
+      LOG.warn(
+          "Expected to split {} bytes into {} partitions which can allocate {} bytes each, but it is too small. Use {} bytes per partition instead.",
+          capacity,
+          partitionCount,
+          largestAllocation,
+          minPartitionCapacity);
+      partitionCapacity = minPartitionCapacity;
+    }
+
+    final List<TransportMemoryPool> partitions = new ArrayList<>(partitionCount);
+    for (int i = 0; i < partitionCount; i++) {
+      partitions.add(new NonBlockingMemoryPool(partitionCapacity));
+    }
+    return partitions;
+  }
 }
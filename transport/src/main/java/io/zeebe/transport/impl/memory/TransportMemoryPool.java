@@ -16,9 +16,22 @@
 package io.zeebe.transport.impl.memory;
 
 import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.List;
 
 public interface TransportMemoryPool {
   ByteBuffer allocate(int requestedCapacity);
 
   void reclaim(ByteBuffer buffer);
+
+  /**
+   * Splits this pool into the given number of pools, one for each sender of a transport. By
+   * default, all senders share this pool.
+   *
+   * @param largestAllocation the largest capacity which is requested from the pools, e.g. a
+   *     framed message of the maximum message length; each pool must be able to serve it
+   */
+  default List<TransportMemoryPool> partition(int partitionCount, int largestAllocation) {
+    return Collections.nCopies(partitionCount, this);
+  }
 }
@@ -21,11 +21,12 @@ import io.zeebe.transport.RemoteAddress;
 import io.zeebe.transport.RequestTimeoutException;
 import io.zeebe.transport.impl.ClientResponseImpl;
 import io.zeebe.transport.impl.IncomingResponse;
+import io.zeebe.transport.impl.memory.TransportMemoryPool;
 import io.zeebe.util.sched.future.ActorFuture;
 import io.zeebe.util.sched.future.CompletableActorFuture;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.Deque;
-import java.util.LinkedList;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import org.agrona.DirectBuffer;
@@ -46,12 +47,16 @@ public class OutgoingRequest {
 
   private final Duration timeout;
 
-  private final Deque<RemoteAddress> remotesTried = new LinkedList<>();
+  private final Deque<RemoteAddress> remotesTried = new ArrayDeque<>();
 
   private final MutableDirectBuffer requestBuffer;
 
+  private final TransportMemoryPool memoryPool;
+
   private long timerId = -1;
 
+  private long deadline = -1;
+
   private long lastRequestId = -1;
 
   private boolean isTimedout;
@@ -60,10 +65,12 @@ public class OutgoingRequest {
       Supplier<RemoteAddress> remoteAddressSupplier,
       Predicate<DirectBuffer> retryPredicate,
       UnsafeBuffer requestBuffer,
+      TransportMemoryPool memoryPool,
       Duration timeout) {
     this.remoteAddressSupplier = remoteAddressSupplier;
     this.retryPredicate = retryPredicate;
     this.requestBuffer = requestBuffer;
+    this.memoryPool = memoryPool;
     this.timeout = timeout;
   }
 
@@ -116,6 +123,19 @@ public class OutgoingRequest {
     return timeout;
   }
 
+  /** @return the pool from which the request buffer was allocated */
+  public TransportMemoryPool getMemoryPool() {
+    return memoryPool;
+  }
+
+  public long getDeadline() {
+    return deadline;
+  }
+
+  public void setDeadline(long deadline) {
+    this.deadline = deadline;
+  }
+
   public void markRemoteAddress(RemoteAddress remoteAddress) {
     if (!remoteAddress.equals(remotesTried.peekFirst())) {
       remotesTried.push(remoteAddress);
@@ -31,10 +31,10 @@ import io.zeebe.util.sched.clock.ActorClock;
 import io.zeebe.util.sched.future.ActorFuture;
 import java.nio.ByteBuffer;
 import java.time.Duration;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import org.agrona.DeadlineTimerWheel;
@@ -49,7 +49,10 @@ import org.slf4j.Logger;
 public class Sender extends Actor implements TimerHandler {
   private static final int MAX_REQUEST_CONSUME_BATCH_SIZE = 100;
 
-  private static final int DEFAULT_BATCH_SIZE = (int) ByteValue.ofKilobytes(128).toBytes();
+  /** the maximum number of batches which are gathered into one write call on a channel */
+  private static final int MAX_GATHERED_BATCHES = 16;
+
+  public static final int DEFAULT_BATCH_SIZE = (int) ByteValue.ofKilobytes(128).toBytes();
 
   private static final Logger LOG = Loggers.TRANSPORT_LOGGER;
 
@@ -69,27 +72,72 @@ public class Sender extends Actor implements TimerHandler {
   private final Int2ObjectHashMap<ChannelWriteQueue> channelMap = new Int2ObjectHashMap<>();
   private final List<ChannelWriteQueue> channelList = new ArrayList<>();
 
-  private final Deque<Batch> recycledBuffers = new LinkedList<>();
+  private final Deque<Batch> recycledBuffers = new ArrayDeque<>();
 
   private DeadlineTimerWheel requestTimeouts;
 
   private final Runnable sendNext = this::sendNext;
+  private final Runnable flushDelayedBatches = this::flushDelayedBatches;
+  private boolean isDelayedFlushScheduled;
 
   protected final Duration keepAlivePeriod;
 
+  /** the capacity of a newly allocated batch, i.e. how many bytes are coalesced into one write */
+  private final int batchSize;
+
+  /**
+   * how long a non-full batch is held back before it is written to the channel, zero means that
+   * batches are written as soon as possible
+   */
+  private final Duration batchWindow;
+
   private final TransportMemoryPool messageMemoryPool;
   private final TransportMemoryPool requestMemoryPool;
 
+  private final ActorContext actorContext;
+  private final String name;
+  private final SenderMetrics metrics;
+
   public Sender(
       ActorContext actorContext,
+      String transportName,
       TransportMemoryPool messageMemoryPool,
       TransportMemoryPool requestMemoryPool,
       Duration keepalivePeriod) {
+    this(
+        actorContext,
+        transportName,
+        messageMemoryPool,
+        requestMemoryPool,
+        keepalivePeriod,
+        DEFAULT_BATCH_SIZE,
+        Duration.ZERO);
+  }
+
+  public Sender(
+      ActorContext actorContext,
+      String transportName,
+      TransportMemoryPool messageMemoryPool,
+      TransportMemoryPool requestMemoryPool,
+      Duration keepalivePeriod,
+      int batchSize,
+      Duration batchWindow) {
     this.messageMemoryPool = messageMemoryPool;
     this.requestMemoryPool = requestMemoryPool;
     this.keepAlivePeriod = keepalivePeriod;
+    this.batchSize = batchSize;
+    this.batchWindow = batchWindow;
+
+    this.actorContext = actorContext;
+
+    final int shard = actorContext.addSender(this);
+    this.name = String.format("%s-sender-%d", transportName, shard);
+    this.metrics = new SenderMetrics(transportName, shard);
+  }
 
-    actorContext.setSender(this);
+  @Override
+  public String getName() {
+    return name;
   }
 
   @Override
@@ -108,6 +156,11 @@ public class Sender extends Actor implements TimerHandler {
     }
   }
 
+  @Override
+  protected void onActorClosed() {
+    metrics.close();
+  }
+
   private void processTimeouts() {
     final long now = ActorClock.currentTimeMillis();
 
@@ -164,7 +217,7 @@ public class Sender extends Actor implements TimerHandler {
         shouldRetry = !request.tryComplete(response);
       } catch (Exception e) {
         request.fail(e);
-        reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
+        reclaimRequestBuffer(request);
         return;
       }
 
@@ -172,23 +225,19 @@ public class Sender extends Actor implements TimerHandler {
         // retry after delay
         actor.runDelayed(Duration.ofMillis(1), () -> submittedRequests.offer(request));
       } else {
-        reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
-
-        final long timerId = request.getTimerId();
-
-        if (timerId != -1) {
-          requestTimeouts.cancelTimer(timerId);
-          requestsByTimeoutIds.remove(timerId);
-        }
+        reclaimRequestBuffer(request);
+        cancelTimeout(request);
       }
     }
   }
 
   private void onRequestSubmitted(final OutgoingRequest request) {
     if (!request.hasTimeoutScheduled()) {
-      final long timerId =
-          requestTimeouts.scheduleTimer(
-              ActorClock.currentTimeMillis() + request.getTimeout().toMillis());
+      if (request.getDeadline() < 0) {
+        request.setDeadline(ActorClock.currentTimeMillis() + request.getTimeout().toMillis());
+      }
+
+      final long timerId = requestTimeouts.scheduleTimer(request.getDeadline());
       request.setTimerId(timerId);
       requestsByTimeoutIds.put(timerId, request);
     }
@@ -197,10 +246,17 @@ public class Sender extends Actor implements TimerHandler {
       final RemoteAddress remoteAddress = request.getNextRemoteAddress();
 
       if (remoteAddress != null) {
-        final ChannelWriteQueue sendQueue = channelMap.get(remoteAddress.getStreamId());
+        final int streamId = remoteAddress.getStreamId();
+        final ChannelWriteQueue sendQueue = channelMap.get(streamId);
+        final Sender channelSender = actorContext.getSender(streamId);
+
         if (sendQueue != null) {
           request.markRemoteAddress(remoteAddress);
           sendQueue.offer(request);
+        } else if (channelSender != this) {
+          // the channel is written by another sender, e.g. because the remote changed on retry
+          cancelTimeout(request);
+          channelSender.submitRequest(request);
         } else {
           // channel not open, retry
           actor.runDelayed(Duration.ofMillis(10), () -> submittedRequests.offer(request));
@@ -212,6 +268,16 @@ public class Sender extends Actor implements TimerHandler {
     }
   }
 
+  private void cancelTimeout(final OutgoingRequest request) {
+    final long timerId = request.getTimerId();
+
+    if (timerId != -1) {
+      requestTimeouts.cancelTimer(timerId);
+      requestsByTimeoutIds.remove(timerId);
+      request.setTimerId(-1);
+    }
+  }
+
   private void onMessageSubmitted(final OutgoingMessage message) {
     final int remoteStreamId = message.getRemoteStreamId();
     final ChannelWriteQueue sendQueue = channelMap.get(remoteStreamId);
@@ -231,21 +297,38 @@ public class Sender extends Actor implements TimerHandler {
   }
 
   private void sendNext() {
+    final long now = ActorClock.currentTimeMillis();
+
     boolean hasPending = false;
+    boolean hasDelayed = false;
 
     for (int i = 0; i < channelList.size(); i++) {
       final ChannelWriteQueue channelSendQueue = channelList.get(i);
 
-      channelSendQueue.write();
+      channelSendQueue.write(now);
 
-      hasPending |= channelSendQueue.hasPending();
+      if (channelSendQueue.hasPending()) {
+        if (channelSendQueue.isWriteDue(now)) {
+          hasPending = true;
+        } else {
+          hasDelayed = true;
+        }
+      }
     }
 
     if (hasPending) {
       actor.submit(sendNext);
+    } else if (hasDelayed && !isDelayedFlushScheduled) {
+      isDelayedFlushScheduled = true;
+      actor.runDelayed(batchWindow, flushDelayedBatches);
     }
   }
 
+  private void flushDelayedBatches() {
+    isDelayedFlushScheduled = false;
+    sendNext();
+  }
+
   private void sendKeepalives() {
     for (ChannelWriteQueue channelWriteQueue : channelList) {
       if (!channelWriteQueue.hasPending()) {
@@ -259,34 +342,102 @@ public class Sender extends Actor implements TimerHandler {
   }
 
   public class ChannelWriteQueue {
-    private final Deque<Batch> pendingWrites = new LinkedList<>();
+    private final Deque<Batch> pendingWrites = new ArrayDeque<>();
 
-    private final TransportChannel channel;
+    // batches which are currently written to the channel by a gathering write
+    private final Batch[] currentWrites = new Batch[MAX_GATHERED_BATCHES];
+    private final ByteBuffer[] currentWriteBuffers = new ByteBuffer[MAX_GATHERED_BATCHES];
+    private int currentWriteOffset;
+    private int currentWriteCount;
 
-    private Batch currentWrite;
+    private final TransportChannel channel;
+    private int reportedQueueDepth;
 
     public ChannelWriteQueue(TransportChannel channel) {
       this.channel = channel;
     }
 
     public boolean hasPending() {
-      return currentWrite != null || !pendingWrites.isEmpty();
+      return currentWriteCount > 0 || !pendingWrites.isEmpty();
+    }
+
+    /**
+     * A batch is written if it is full (i.e. another batch is queued behind it), or if its first
+     * entry has waited for the configured batch window. Otherwise, it is held back so that
+     * concurrent requests to the same remote are coalesced into one write.
+     */
+    public boolean isWriteDue(long now) {
+      if (currentWriteCount > 0) {
+        return true;
+      }
+
+      final Batch nextBatch = pendingWrites.peekFirst();
+      return nextBatch != null
+          && (pendingWrites.size() > 1 || now - nextBatch.openedAt >= batchWindow.toMillis());
     }
 
-    public void write() {
-      if (hasPending()) {
-        if (currentWrite == null) {
-          currentWrite = pendingWrites.poll();
-          currentWrite.prepareWrite();
+    public void write(long now) {
+      if (hasPending() && isWriteDue(now)) {
+        if (currentWriteCount == 0) {
+          gatherPendingWrites();
+        }
+
+        final int batchCount = currentWriteCount - currentWriteOffset;
+        final long bytesWritten =
+            channel.write(currentWriteBuffers, currentWriteOffset, batchCount);
+
+        if (bytesWritten > 0) {
+          metrics.write(bytesWritten, batchCount);
         }
 
-        currentWrite.writeTo(channel);
+        while (currentWriteOffset < currentWriteCount
+            && !currentWrites[currentWriteOffset].hasRemaining()) {
+          currentWrites[currentWriteOffset].recycle();
+          currentWrites[currentWriteOffset] = null;
+          currentWriteBuffers[currentWriteOffset] = null;
+          currentWriteOffset++;
+        }
 
-        if (!currentWrite.hasRemaining()) {
-          currentWrite.recycle();
-          currentWrite = null;
+        if (currentWriteOffset == currentWriteCount) {
+          currentWriteOffset = 0;
+          currentWriteCount = 0;
         }
+
+        updateQueueDepth();
+      }
+    }
+
+    private void updateQueueDepth() {
+      final int queueDepth = pendingWrites.size() + currentWriteCount - currentWriteOffset;
+      metrics.queueDepthChanged(queueDepth - reportedQueueDepth);
+      reportedQueueDepth = queueDepth;
+    }
+
+    private void gatherPendingWrites() {
+      while (currentWriteCount < MAX_GATHERED_BATCHES && !pendingWrites.isEmpty()) {
+        final Batch batch = pendingWrites.poll();
+        batch.prepareWrite();
+
+        currentWrites[currentWriteCount] = batch;
+        currentWriteBuffers[currentWriteCount] = batch.batchBuffer;
+        currentWriteCount++;
+      }
+    }
+
+    public void close() {
+      // re-submit pending requests so that they can be retried, including the requests of the
+      // batches which are (partially) written already
+      for (int i = currentWriteOffset; i < currentWriteCount; i++) {
+        currentWrites[i].onChannelClosed();
+        currentWrites[i] = null;
+        currentWriteBuffers[i] = null;
       }
+      currentWriteOffset = 0;
+      currentWriteCount = 0;
+
+      pendingWrites.forEach(Batch::onChannelClosed);
+      pendingWrites.clear();
+      updateQueueDepth();
     }
 
     public void offer(OutgoingRequest request) {
@@ -307,8 +458,7 @@ public class Sender extends Actor implements TimerHandler {
         }
 
         // allocate new batch
-        final Batch batch =
-            new Batch(Math.max(DEFAULT_BATCH_SIZE, request.getRequestBuffer().capacity()));
+        final Batch batch = new Batch(Math.max(batchSize, request.getRequestBuffer().capacity()));
         batch.addToBatch(request, channel);
         pendingWrites.addLast(batch);
       }
@@ -335,7 +485,7 @@ public class Sender extends Actor implements TimerHandler {
 
         if (!hasRecycled) {
           // allocate new batch
-          batch = new Batch(Math.max(DEFAULT_BATCH_SIZE, message.getBuffer().capacity()));
+          batch = new Batch(Math.max(batchSize, message.getBuffer().capacity()));
           batch.addToBatch(message);
         }
 
@@ -354,6 +504,7 @@ public class Sender extends Actor implements TimerHandler {
     final UnsafeBuffer view = new UnsafeBuffer();
     final ByteBuffer batchBuffer;
     int writeOffset = 0;
+    long openedAt = 0;
 
     Batch(int size) {
       batchBuffer = ByteBuffer.allocateDirect(size);
@@ -365,6 +516,8 @@ public class Sender extends Actor implements TimerHandler {
       final int requestLength = requestBuffer.capacity();
 
       if (writeOffset + requestLength <= batchBuffer.capacity()) {
+        onAddToBatch();
+
         final long requestId = ++nextRequestId;
 
         request.setLastRequestId(requestId);
@@ -388,6 +541,8 @@ public class Sender extends Actor implements TimerHandler {
       final int requiredLength = buffer.capacity();
 
       if (writeOffset + requiredLength <= batchBuffer.capacity()) {
+        onAddToBatch();
+
         buffer.getBytes(0, batchBuffer, writeOffset, requiredLength);
         writeOffset += requiredLength;
 
@@ -397,8 +552,10 @@ public class Sender extends Actor implements TimerHandler {
       }
     }
 
-    public boolean writeTo(TransportChannel channel) {
-      return channel.write(batchBuffer) > 0;
+    private void onAddToBatch() {
+      if (writeOffset == 0) {
+        openedAt = ActorClock.currentTimeMillis();
+      }
     }
 
     public void prepareWrite() {
@@ -468,8 +625,7 @@ public class Sender extends Actor implements TimerHandler {
           final ChannelWriteQueue sendQueue = channelMap.remove(channel.getStreamId());
           if (sendQueue != null) {
             channelList.remove(sendQueue);
-            // re-submit pending requests so that they can be retried
-            sendQueue.pendingWrites.forEach(Batch::onChannelClosed);
+            sendQueue.close();
           }
         });
   }
@@ -479,7 +635,7 @@ public class Sender extends Actor implements TimerHandler {
     final OutgoingRequest request = requestsByTimeoutIds.get(timerId);
 
     if (request != null) {
-      reclaimRequestBuffer(request.getRequestBuffer().byteBuffer());
+      reclaimRequestBuffer(request);
       request.timeout();
       inFlightRequests.remove(request.getLastRequestId());
     }
@@ -503,5 +659,14 @@ public class Sender extends Actor implements TimerHandler {
     requestMemoryPool.reclaim(allocatedBuffer);
   }
 
+  private void reclaimRequestBuffer(OutgoingRequest request) {
+    // the request may have been handed over from another sender, which allocated the buffer
+    request.getMemoryPool().reclaim(request.getRequestBuffer().byteBuffer());
+  }
+
+  public TransportMemoryPool getRequestMemoryPool() {
+    return requestMemoryPool;
+  }
+
   public void failPendingRequestsToRemote(RemoteAddressImpl remoteAddress, String reason) {}
 }
@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.sender;
+
+import io.prometheus.client.Gauge;
+import io.prometheus.client.Histogram;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The metrics of a sender, labelled by the name of its transport and its shard. The labels don't
+ * contain the remote addresses of the channels, so that the number of series is bounded by the
+ * number of senders.
+ *
+ * <p>Senders of transports with the same name share their series. A series is removed when the
+ * last sender which uses it is closed.
+ */
+public class SenderMetrics {
+
+  private static final Histogram BYTES_PER_WRITE =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("transport_bytes_per_write")
+          .help("Number of bytes written to a channel by a single (gathering) write call")
+          .exponentialBuckets(64, 4, 10)
+          .labelNames("transport", "sender")
+          .register();
+
+  private static final Histogram BATCHES_PER_WRITE =
+      Histogram.build()
+          .namespace("zeebe")
+          .name("transport_batches_per_write")
+          .help("Number of send batches gathered into a single write call")
+          .linearBuckets(1, 2, 8)
+          .labelNames("transport", "sender")
+          .register();
+
+  private static final Gauge SEND_QUEUE_DEPTH =
+      Gauge.build()
+          .namespace("zeebe")
+          .name("transport_send_queue_depth")
+          .help("Number of send batches which are queued or being written on the channels")
+          .labelNames("transport", "sender")
+          .register();
+
+  // the number of open senders per label values
+  private static final Map<List<String>, Integer> SERIES_USERS = new HashMap<>();
+
+  private final String[] labels;
+  private final Histogram.Child bytesPerWrite;
+  private final Histogram.Child batchesPerWrite;
+  private final Gauge.Child sendQueueDepth;
+  private boolean isClosed;
+
+  public SenderMetrics(String transportName, int shard) {
+    labels = new String[] {transportName, String.valueOf(shard)};
+
+    synchronized (SERIES_USERS) {
+      SERIES_USERS.merge(Arrays.asList(labels), 1, Integer::sum);
+    }
+
+    bytesPerWrite = BYTES_PER_WRITE.labels(labels);
+    batchesPerWrite = BATCHES_PER_WRITE.labels(labels);
+    sendQueueDepth = SEND_QUEUE_DEPTH.labels(labels);
+  }
+
+  public void write(long bytesWritten, int batchCount) {
+    bytesPerWrite.observe(bytesWritten);
+    batchesPerWrite.observe(batchCount);
+  }
+
+  /** @param delta the change of the number of queued batches of one of the channels */
+  public void queueDepthChanged(int delta) {
+    sendQueueDepth.inc(delta);
+  }
+
+  public void close() {
+    synchronized (SERIES_USERS) {
+      if (isClosed) {
+        return;
+      }
+      isClosed = true;
+
+      final Integer users =
+          SERIES_USERS.computeIfPresent(Arrays.asList(labels), (k, count) -> count - 1);
+
+      if (users != null && users == 0) {
+        SERIES_USERS.remove(Arrays.asList(labels));
+
+        BYTES_PER_WRITE.remove(labels);
+        BATCHES_PER_WRITE.remove(labels);
+        SEND_QUEUE_DEPTH.remove(labels);
+      }
+    }
+  }
+}
@@ -174,6 +174,41 @@ public class ClientTransportTest {
     assertThat(serverTransport.getClientChannels(SERVER_ADDRESS1)).hasSize(1);
   }
 
+  @Test
+  public void shouldHoldBackRequestsUntilSendBatchWindowElapsed() {
+    // given
+    final ClientTransport batchingTransport =
+        Transports.newClientTransport("batching")
+            .scheduler(actorSchedulerRule.get())
+            .sendBatchWindow(Duration.ofSeconds(1))
+            .build();
+    closeables.manage(batchingTransport);
+
+    final ControllableServerTransport serverTransport = buildControllableServerTransport();
+    serverTransport.listenOn(SERVER_ADDRESS1);
+
+    batchingTransport.registerEndpointAndAwaitChannel(NODE_ID1, SERVER_ADDRESS1);
+
+    final ClientOutput output = batchingTransport.getOutput();
+    output.sendRequest(NODE_ID1, WRITER1);
+    output.sendRequest(NODE_ID1, WRITER1);
+
+    final AtomicInteger messageCounter = serverTransport.acceptNextConnection(SERVER_ADDRESS1);
+    serverTransport.receive(SERVER_ADDRESS1);
+    assertThat(messageCounter.get()).isEqualTo(0);
+
+    // when
+    TestUtil.doRepeatedly(
+            () -> {
+              clock.addTime(Duration.ofMillis(500));
+              return serverTransport.receive(SERVER_ADDRESS1);
+            })
+        .until((r) -> messageCounter.get() == 2);
+
+    // then
+    assertThat(serverTransport.getClientChannels(SERVER_ADDRESS1)).hasSize(1);
+  }
+
   @Test
   public void shouldUseDifferentChannelsForDifferentEndpoints() {
     // given
@@ -857,6 +892,40 @@ public class ClientTransportTest {
     assertThatBuffer(response.getResponseBuffer()).hasBytes(BUF1);
   }
 
+  @Test
+  public void shouldSendRequestsWithMultipleSendersAndReceivers() {
+    // given
+    final ClientTransport shardedTransport =
+        Transports.newClientTransport("sharded")
+            .scheduler(actorSchedulerRule.get())
+            .senderCount(2)
+            .receiverCount(2)
+            .build();
+    closeables.manage(shardedTransport);
+
+    buildServerTransport(
+        b ->
+            b.bindAddress(SERVER_ADDRESS1.toInetSocketAddress())
+                .build(null, new EchoRequestResponseHandler()));
+    buildServerTransport(
+        b ->
+            b.bindAddress(SERVER_ADDRESS2.toInetSocketAddress())
+                .build(null, new EchoRequestResponseHandler()));
+
+    shardedTransport.registerEndpoint(NODE_ID1, SERVER_ADDRESS1);
+    shardedTransport.registerEndpoint(NODE_ID2, SERVER_ADDRESS2);
+
+    // when
+    final ActorFuture<ClientResponse> request1 =
+        shardedTransport.getOutput().sendRequest(NODE_ID1, WRITER1);
+    final ActorFuture<ClientResponse> request2 =
+        shardedTransport.getOutput().sendRequest(NODE_ID2, WRITER1);
+
+    // then
+    assertThatBuffer(request1.join().getResponseBuffer()).hasBytes(BUF1);
+    assertThatBuffer(request2.join().getResponseBuffer()).hasBytes(BUF1);
+  }
+
   @Test
   public void shouldSendRequestToNodeIdWithRetries() {
     // given
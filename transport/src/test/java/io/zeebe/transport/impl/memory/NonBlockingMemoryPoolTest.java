@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.memory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import org.junit.Test;
+
+public class NonBlockingMemoryPoolTest {
+
+  @Test
+  public void shouldSplitCapacityEvenly() {
+    // given
+    final NonBlockingMemoryPool pool = new NonBlockingMemoryPool(4096);
+
+    // when
+    final List<TransportMemoryPool> partitions = pool.partition(4, 512);
+
+    // then
+    assertThat(partitions).hasSize(4);
+    for (TransportMemoryPool partition : partitions) {
+      assertThat(partition.allocate(1023)).isNotNull();
+      assertThat(partition.allocate(1)).isNull();
+    }
+  }
+
+  @Test
+  public void shouldNotPartitionIntoSinglePool() {
+    // given
+    final NonBlockingMemoryPool pool = new NonBlockingMemoryPool(4096);
+
+    // when
+    final List<TransportMemoryPool> partitions = pool.partition(1, 512);
+
+    // then
+    assertThat(partitions).containsExactly(pool);
+  }
+
+  @Test
+  public void shouldKeepCapacityForLargestAllocationInEachPartition() {
+    // given
+    final NonBlockingMemoryPool pool = new NonBlockingMemoryPool(4096);
+
+    // when
+    final List<TransportMemoryPool> partitions = pool.partition(8, 1024);
+
+    // then
+    assertThat(partitions).hasSize(8);
+    for (TransportMemoryPool partition : partitions) {
+      assertThat(partition.allocate(1024)).isNotNull();
+    }
+  }
+}
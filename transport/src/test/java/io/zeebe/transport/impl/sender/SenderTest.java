@@ -0,0 +1,265 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.transport.impl.sender;
+
+import static io.zeebe.util.buffer.DirectBufferWriter.writerFor;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.initMocks;
+
+import io.prometheus.client.CollectorRegistry;
+import io.zeebe.transport.SocketAddress;
+import io.zeebe.transport.impl.RemoteAddressImpl;
+import io.zeebe.transport.impl.TransportChannel;
+import io.zeebe.transport.impl.actor.ClientActorContext;
+import io.zeebe.transport.impl.memory.TransportMemoryPool;
+import io.zeebe.transport.impl.sender.Sender.ChannelWriteQueue;
+import io.zeebe.util.sched.clock.ActorClock;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+
+public class SenderTest {
+
+  private static final int BATCH_SIZE = 64;
+  private static final SocketAddress REMOTE = new SocketAddress("localhost", 51015);
+  private static final String[] LABEL_NAMES = {"transport", "sender"};
+  private static final String[] LABEL_VALUES = {"test", "0"};
+
+  @Mock private TransportChannel channel;
+  @Mock private TransportMemoryPool memoryPool;
+
+  private final List<Integer> batchesPerWrite = new ArrayList<>();
+  private long bytesPerWrite = Long.MAX_VALUE;
+
+  private Sender sender;
+  private ChannelWriteQueue writeQueue;
+
+  @Before
+  public void setUp() {
+    initMocks(this);
+
+    when(channel.getRemoteAddress()).thenReturn(new RemoteAddressImpl(1, REMOTE));
+    when(channel.getStreamId()).thenReturn(1);
+    when(channel.write(any(ByteBuffer[].class), anyInt(), anyInt())).thenAnswer(this::write);
+
+    sender =
+        spy(
+            new Sender(
+                new ClientActorContext(),
+                "test",
+                memoryPool,
+                memoryPool,
+                null,
+                BATCH_SIZE,
+                Duration.ZERO));
+    writeQueue = sender.new ChannelWriteQueue(channel);
+  }
+
+  @After
+  public void tearDown() {
+    writeQueue.close();
+    sender.onActorClosed();
+  }
+
+  @Test
+  public void shouldNameSenderAfterTransportAndShard() {
+    assertThat(sender.getName()).isEqualTo("test-sender-0");
+  }
+
+  @Test
+  public void shouldGatherPendingBatchesIntoOneWrite() {
+    // given
+    writeQueue.offer(newMessage());
+    writeQueue.offer(newMessage());
+    writeQueue.offer(newMessage());
+
+    // when
+    writeQueue.write(ActorClock.currentTimeMillis());
+
+    // then
+    assertThat(batchesPerWrite).containsExactly(3);
+    assertThat(writeQueue.hasPending()).isFalse();
+  }
+
+  @Test
+  public void shouldContinuePartialWrite() {
+    // given
+    bytesPerWrite = BATCH_SIZE + BATCH_SIZE / 2;
+    writeQueue.offer(newMessage());
+    writeQueue.offer(newMessage());
+    writeQueue.offer(newMessage());
+
+    // when
+    writeQueue.write(ActorClock.currentTimeMillis());
+
+    // then
+    assertThat(writeQueue.hasPending()).isTrue();
+    assertThat(writeQueue.isWriteDue(ActorClock.currentTimeMillis())).isTrue();
+
+    // when
+    writeQueue.write(ActorClock.currentTimeMillis());
+
+    // then
+    assertThat(batchesPerWrite).containsExactly(3, 2);
+    assertThat(writeQueue.hasPending()).isFalse();
+  }
+
+  @Test
+  public void shouldNotGatherBatchesWhichAreQueuedDuringPartialWrite() {
+    // given
+    bytesPerWrite = BATCH_SIZE / 2;
+    writeQueue.offer(newMessage());
+    writeQueue.write(ActorClock.currentTimeMillis());
+
+    // when
+    writeQueue.offer(newMessage());
+    bytesPerWrite = Long.MAX_VALUE;
+    writeQueue.write(ActorClock.currentTimeMillis());
+    writeQueue.write(ActorClock.currentTimeMillis());
+
+    // then
+    assertThat(batchesPerWrite).containsExactly(1, 1, 1);
+    assertThat(writeQueue.hasPending()).isFalse();
+  }
+
+  @Test
+  public void shouldResubmitRequestsOfWrittenAndPendingBatchesOnClose() {
+    // given
+    bytesPerWrite = 8;
+    final OutgoingRequest writtenRequest = newRequest();
+    writeQueue.offer(writtenRequest);
+    writeQueue.write(ActorClock.currentTimeMillis());
+
+    final OutgoingRequest pendingRequest = newRequest();
+    writeQueue.offer(pendingRequest);
+
+    // when
+    writeQueue.close();
+
+    // then
+    verify(sender).submitRequest(writtenRequest);
+    verify(sender).submitRequest(pendingRequest);
+    assertThat(writeQueue.hasPending()).isFalse();
+  }
+
+  @Test
+  public void shouldReportWriteMetrics() {
+    // given
+    bytesPerWrite = BATCH_SIZE * 2;
+    writeQueue.offer(newMessage());
+    writeQueue.offer(newMessage());
+    writeQueue.offer(newMessage());
+
+    // when
+    writeQueue.write(ActorClock.currentTimeMillis());
+
+    // then
+    assertThat(sampleValue("zeebe_transport_bytes_per_write_sum")).isEqualTo(BATCH_SIZE * 2);
+    assertThat(sampleValue("zeebe_transport_batches_per_write_sum")).isEqualTo(3);
+    assertThat(sampleValue("zeebe_transport_send_queue_depth")).isEqualTo(1);
+  }
+
+  @Test
+  public void shouldResetQueueDepthOnChannelClose() {
+    // given
+    bytesPerWrite = BATCH_SIZE;
+    writeQueue.offer(newMessage());
+    writeQueue.offer(newMessage());
+    writeQueue.write(ActorClock.currentTimeMillis());
+
+    // when
+    writeQueue.close();
+
+    // then
+    assertThat(sampleValue("zeebe_transport_send_queue_depth")).isEqualTo(0);
+  }
+
+  @Test
+  public void shouldRemoveMetricsOnClose() {
+    // given
+    writeQueue.offer(newMessage());
+    writeQueue.write(ActorClock.currentTimeMillis());
+
+    // when
+    sender.onActorClosed();
+
+    // then
+    assertThat(sampleValue("zeebe_transport_bytes_per_write_sum")).isNull();
+    assertThat(sampleValue("zeebe_transport_batches_per_write_sum")).isNull();
+    assertThat(sampleValue("zeebe_transport_send_queue_depth")).isNull();
+  }
+
+  @Test
+  public void shouldKeepMetricsOfOtherSenderWithSameLabelsOnClose() {
+    // given
+    final Sender otherSender =
+        new Sender(new ClientActorContext(), "test", memoryPool, memoryPool, null);
+    writeQueue.offer(newMessage());
+    writeQueue.write(ActorClock.currentTimeMillis());
+
+    // when
+    otherSender.onActorClosed();
+
+    // then
+    assertThat(sampleValue("zeebe_transport_bytes_per_write_sum")).isEqualTo(BATCH_SIZE);
+  }
+
+  private long write(InvocationOnMock invocation) {
+    final ByteBuffer[] buffers = invocation.getArgument(0);
+    final int offset = invocation.getArgument(1);
+    final int length = invocation.getArgument(2);
+    batchesPerWrite.add(length);
+
+    long bytesWritten = 0;
+    for (int i = offset; i < offset + length && bytesWritten < bytesPerWrite; i++) {
+      final int bytes = (int) Math.min(buffers[i].remaining(), bytesPerWrite - bytesWritten);
+      buffers[i].position(buffers[i].position() + bytes);
+      bytesWritten += bytes;
+    }
+    return bytesWritten;
+  }
+
+  private static OutgoingMessage newMessage() {
+    return new OutgoingMessage(1, new UnsafeBuffer(new byte[BATCH_SIZE]), Long.MAX_VALUE);
+  }
+
+  private OutgoingRequest newRequest() {
+    final UnsafeBuffer payload = new UnsafeBuffer(new byte[8]);
+    final UnsafeBuffer requestBuffer =
+        new UnsafeBuffer(new byte[TransportHeaderWriter.getFramedRequestLength(BATCH_SIZE)]);
+
+    final OutgoingRequest request =
+        new OutgoingRequest(() -> null, b -> false, requestBuffer, memoryPool, Duration.ZERO);
+    request.getHeaderWriter().wrapRequest(requestBuffer, writerFor(payload));
+    return request;
+  }
+
+  private static Double sampleValue(String name) {
+    return CollectorRegistry.defaultRegistry.getSampleValue(name, LABEL_NAMES, LABEL_VALUES);
+  }
+}
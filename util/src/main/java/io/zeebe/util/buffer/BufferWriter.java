@@ -35,4 +35,21 @@ public interface BufferWriter {
    * @param offset the offset in the buffer that the writer begins writing at
    */
   void write(MutableDirectBuffer buffer, int offset);
+
+  /**
+   * Writes to a buffer which grows on demand, like an {@link org.agrona.ExpandableArrayBuffer}, so
+   * that the length is not required upfront. Writers which can only determine their length by
+   * traversing their content should override this method to write in a single pass.
+   *
+   * @param buffer the expandable buffer that this writer writes to
+   * @param offset the offset in the buffer that the writer begins writing at
+   * @return the number of written bytes
+   */
+  default int writeExpandable(MutableDirectBuffer buffer, int offset) {
+    final int length = getLength();
+    if (length > 0) {
+      write(buffer, offset);
+    }
+    return length;
+  }
 }
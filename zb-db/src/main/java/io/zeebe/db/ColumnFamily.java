@@ -142,6 +142,34 @@ public interface ColumnFamily<KeyType extends DbKey, ValueType extends DbValue>
    */
   void whileEqualPrefix(DbKey keyPrefix, KeyValuePairVisitor<KeyType, ValueType> visitor);
 
+  /**
+   * Visits the key-value pairs, which are stored in the column family, in key order, starting at
+   * the given key (inclusive). The visitor can indicate via the return value, whether the
+   * iteration should continue or not.
+   *
+   * <p>Similar to {@link #whileTrue(KeyValuePairVisitor)}, but seeks to the start key instead of
+   * iterating over the preceding keys, e.g. to continue a paged iteration.
+   *
+   * @param startAtKey the key to start the iteration at
+   * @param visitor the visitor which visits the key-value pairs
+   */
+  void whileTrue(KeyType startAtKey, KeyValuePairVisitor<KeyType, ValueType> visitor);
+
+  /**
+   * Visits the key-value pairs, which are stored in the column family and which have the same
+   * common prefix, starting at the given key (inclusive). The start key must begin with the
+   * prefix.
+   *
+   * <p>Similar to {@link #whileEqualPrefix(DbKey, KeyValuePairVisitor)}, but seeks to the start
+   * key instead of iterating over the preceding keys with the prefix.
+   *
+   * @param keyPrefix the prefix which should have the keys in common
+   * @param startAtKey the key to start the iteration at
+   * @param visitor the visitor which visits the key-value pairs
+   */
+  void whileEqualPrefix(
+      DbKey keyPrefix, KeyType startAtKey, KeyValuePairVisitor<KeyType, ValueType> visitor);
+
   /**
    * Deletes the key-value pair with the given key from the column family.
    *
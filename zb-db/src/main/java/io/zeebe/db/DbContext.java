@@ -110,4 +110,13 @@ public interface DbContext {
    * @return the transaction object
    */
   ZeebeDbTransaction getCurrentTransaction();
+
+  /**
+   * Registers an action, which is run if the current transaction is rolled back. It can be used to
+   * revert in-memory state, which mirrors changes of the transaction. If no transaction is in
+   * progress, the changes are already committed and the action is discarded.
+   *
+   * @param rollbackAction the action to run on rollback
+   */
+  void onRollback(Runnable rollbackAction);
 }
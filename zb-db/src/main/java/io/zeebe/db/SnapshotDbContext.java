@@ -0,0 +1,35 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db;
+
+/**
+ * A read-only {@link DbContext}, which sees the database as it was when the context was created or
+ * last {@link #refresh() refreshed}. Writes done afterwards, by any other context, are not visible
+ * until the next refresh. This makes it possible to run consistent, long running reads concurrently
+ * to the writer, without blocking it.
+ *
+ * <p>Any attempt to write via this context results in an {@link UnsupportedOperationException}.
+ *
+ * <p>The context pins a database snapshot and has to be closed to release it.
+ */
+public interface SnapshotDbContext extends DbContext, AutoCloseable {
+
+  /** Releases the current snapshot and pins a new one, which reflects the latest state. */
+  void refresh();
+
+  @Override
+  void close();
+}
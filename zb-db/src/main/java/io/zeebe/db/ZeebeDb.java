@@ -60,4 +60,49 @@ public interface ZeebeDb<ColumnFamilyType extends Enum<ColumnFamilyType>> extend
   void createSnapshot(File snapshotDir);
 
   DbContext createContext();
+
+  /**
+   * Creates a read-only context, which reads from a consistent point-in-time snapshot of the
+   * database. The returned context has to be closed, when it is no longer used.
+   *
+   * @return the created snapshot context
+   */
+  SnapshotDbContext createSnapshotContext();
+
+  /**
+   * Returns the number of entries which were deleted from the given column family since it was
+   * compacted the last time. Deleted entries leave tombstones behind, which have to be skipped by
+   * iterations until the column family is compacted. Only deletions of existing entries are
+   * counted, once their transaction is committed.
+   *
+   * <p>The number is kept in memory only and starts at zero when the database is opened, so it
+   * doesn't contain the tombstones which were left behind before a restart. Compactions which are
+   * triggered by this number may therefore happen later than expected after a restart.
+   *
+   * @param columnFamily the column family
+   * @return the estimated number of tombstones in the column family
+   */
+  long getDeletedEntryCount(ColumnFamilyType columnFamily);
+
+  /**
+   * @param columnFamily the column family
+   * @return the estimated number of live entries in the given column family
+   */
+  long getEstimatedEntryCount(ColumnFamilyType columnFamily);
+
+  /**
+   * Returns how often iterations had to seek again, because they skipped too many deleted or
+   * overwritten entries in a row. It is a measure of the tombstones which are hit by scans.
+   *
+   * @return the number of re-seeks in iterations since the database was opened
+   */
+  long getIterationReseekCount();
+
+  /**
+   * Compacts the whole given column family, which drops its tombstones. This call blocks until the
+   * compaction is done and can be called concurrently to reads and writes.
+   *
+   * @param columnFamily the column family to compact
+   */
+  void compact(ColumnFamilyType columnFamily);
 }
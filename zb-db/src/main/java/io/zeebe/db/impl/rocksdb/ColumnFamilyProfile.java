@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb;
+
+import io.zeebe.util.ByteValue;
+import java.util.List;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompactionPriority;
+import org.rocksdb.CompactionStyle;
+import org.rocksdb.CompressionType;
+
+/**
+ * Tuning profiles for column families, which are chosen by the access pattern of the stored
+ * entries. All profiles share the block cache of the database.
+ */
+public enum ColumnFamilyProfile {
+  /**
+   * Balanced options for column families without a dominating access pattern. Keeps the Snappy
+   * compression which RocksDB uses if nothing is configured.
+   */
+  DEFAULT(
+      ByteValue.ofMegabytes(64).toBytes(),
+      2,
+      CompactionStyle.LEVEL,
+      CompressionType.SNAPPY_COMPRESSION,
+      10,
+      false),
+
+  /**
+   * Entries which are deleted shortly after they are written, e.g. deadlines and due dates. Small
+   * memtables and universal compaction drop the deleted entries early, which keeps the scans over
+   * these column families short. The entries are small keys without values, so they are not
+   * compressed.
+   */
+  HIGH_CHURN(
+      ByteValue.ofMegabytes(16).toBytes(),
+      4,
+      CompactionStyle.UNIVERSAL,
+      CompressionType.NO_COMPRESSION,
+      10,
+      false),
+
+  /**
+   * Entries which are written once and read often, e.g. deployed workflows. Index and filter blocks
+   * are kept in the block cache.
+   */
+  READ_MOSTLY(
+      ByteValue.ofMegabytes(8).toBytes(),
+      2,
+      CompactionStyle.LEVEL,
+      CompressionType.SNAPPY_COMPRESSION,
+      10,
+      true),
+
+  /** Large values which compress well, e.g. workflow resources and variable documents. */
+  LARGE_VALUES(
+      ByteValue.ofMegabytes(64).toBytes(),
+      2,
+      CompactionStyle.LEVEL,
+      CompressionType.LZ4_COMPRESSION,
+      0,
+      false);
+
+  private static final int DEFAULT_BLOOM_FILTER_BITS_PER_KEY = 10;
+  private static final double MEMTABLE_PREFIX_BLOOM_SIZE_RATIO = 0.1;
+
+  private final long writeBufferSize;
+  private final int maxWriteBufferNumber;
+  private final CompactionStyle compactionStyle;
+  private final CompressionType compressionType;
+  private final int bloomFilterBitsPerKey;
+  private final boolean cacheIndexAndFilterBlocks;
+
+  ColumnFamilyProfile(
+      long writeBufferSize,
+      int maxWriteBufferNumber,
+      CompactionStyle compactionStyle,
+      CompressionType compressionType,
+      int bloomFilterBitsPerKey,
+      boolean cacheIndexAndFilterBlocks) {
+    this.writeBufferSize = writeBufferSize;
+    this.maxWriteBufferNumber = maxWriteBufferNumber;
+    this.compactionStyle = compactionStyle;
+    this.compressionType = compressionType;
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    this.cacheIndexAndFilterBlocks = cacheIndexAndFilterBlocks;
+  }
+
+  /**
+   * Creates the options of this profile. The created filter is added to the given closeables, the
+   * returned options have to be closed by the caller.
+   *
+   * @param prefixLength the length of the fixed key prefix of the column family, which is used to
+   *     build prefix bloom filters, or {@code 0} if the column family has no fixed prefix
+   */
+  ColumnFamilyOptions createColumnFamilyOptions(
+      final Cache blockCache, final int prefixLength, final List<AutoCloseable> closeables) {
+    final BlockBasedTableConfig tableConfig =
+        new BlockBasedTableConfig()
+            .setBlockCache(blockCache)
+            .setCacheIndexAndFilterBlocks(cacheIndexAndFilterBlocks)
+            .setPinL0FilterAndIndexBlocksInCache(cacheIndexAndFilterBlocks);
+
+    // prefix scans can only skip files and memtables with a filter on the prefix
+    final int filterBitsPerKey =
+        prefixLength > 0
+            ? Math.max(bloomFilterBitsPerKey, DEFAULT_BLOOM_FILTER_BITS_PER_KEY)
+            : bloomFilterBitsPerKey;
+
+    if (filterBitsPerKey > 0) {
+      final BloomFilter filter = new BloomFilter(filterBitsPerKey, false);
+      closeables.add(filter);
+      tableConfig.setFilterPolicy(filter);
+    }
+
+    final ColumnFamilyOptions options =
+        new ColumnFamilyOptions()
+            .setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst)
+            .setCompactionStyle(compactionStyle)
+            .setCompressionType(compressionType)
+            .setWriteBufferSize(writeBufferSize)
+            .setMaxWriteBufferNumber(maxWriteBufferNumber)
+            .setTableFormatConfig(tableConfig);
+
+    if (prefixLength > 0) {
+      options
+          .useFixedLengthPrefixExtractor(prefixLength)
+          .setMemtablePrefixBloomSizeRatio(MEMTABLE_PREFIX_BLOOM_SIZE_RATIO);
+    }
+
+    return options;
+  }
+
+  public long getWriteBufferSize() {
+    return writeBufferSize;
+  }
+
+  public int getMaxWriteBufferNumber() {
+    return maxWriteBufferNumber;
+  }
+
+  public CompactionStyle getCompactionStyle() {
+    return compactionStyle;
+  }
+
+  public CompressionType getCompressionType() {
+    return compressionType;
+  }
+
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public boolean isCacheIndexAndFilterBlocks() {
+    return cacheIndexAndFilterBlocks;
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb;
+
+import io.zeebe.util.ByteValue;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configures the databases which are created by {@link ZeebeRocksDbFactory}: the size of the block
+ * cache, which is shared by all column families of a database, and the {@link
+ * ColumnFamilyProfile} of each column family. Column families are referenced by their lower case
+ * name, column families without an assigned profile use the default profile.
+ *
+ * <p>Column families which are scanned by a fixed-length key prefix, e.g. a composite key which
+ * starts with a {@code long}, should declare the length of the prefix. Such column families get a
+ * prefix extractor and prefix bloom filters, and prefix scans with at least this length only visit
+ * the files and memtables which can contain the prefix.
+ */
+public final class RocksDbConfiguration {
+
+  public static final long DEFAULT_BLOCK_CACHE_SIZE = ByteValue.ofMegabytes(64).toBytes();
+
+  private final Map<String, ColumnFamilyProfile> columnFamilyProfiles = new HashMap<>();
+  private final Map<String, Integer> columnFamilyPrefixLengths = new HashMap<>();
+  private ColumnFamilyProfile defaultProfile = ColumnFamilyProfile.DEFAULT;
+  private long blockCacheSize = DEFAULT_BLOCK_CACHE_SIZE;
+
+  public long getBlockCacheSize() {
+    return blockCacheSize;
+  }
+
+  public RocksDbConfiguration setBlockCacheSize(final long blockCacheSize) {
+    this.blockCacheSize = blockCacheSize;
+    return this;
+  }
+
+  public ColumnFamilyProfile getDefaultProfile() {
+    return defaultProfile;
+  }
+
+  public RocksDbConfiguration setDefaultProfile(final ColumnFamilyProfile defaultProfile) {
+    this.defaultProfile = defaultProfile;
+    return this;
+  }
+
+  public RocksDbConfiguration setColumnFamilyProfile(
+      final Enum<?> columnFamily, final ColumnFamilyProfile profile) {
+    return setColumnFamilyProfile(columnFamily.name(), profile);
+  }
+
+  public RocksDbConfiguration setColumnFamilyProfile(
+      final String columnFamilyName, final ColumnFamilyProfile profile) {
+    columnFamilyProfiles.put(columnFamilyName.toLowerCase(), profile);
+    return this;
+  }
+
+  public ColumnFamilyProfile getColumnFamilyProfile(final String columnFamilyName) {
+    return columnFamilyProfiles.getOrDefault(columnFamilyName.toLowerCase(), defaultProfile);
+  }
+
+  public Map<String, ColumnFamilyProfile> getColumnFamilyProfiles() {
+    return columnFamilyProfiles;
+  }
+
+  public RocksDbConfiguration setColumnFamilyPrefixLength(
+      final Enum<?> columnFamily, final int prefixLength) {
+    return setColumnFamilyPrefixLength(columnFamily.name(), prefixLength);
+  }
+
+  public RocksDbConfiguration setColumnFamilyPrefixLength(
+      final String columnFamilyName, final int prefixLength) {
+    if (prefixLength <= 0) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Expected prefix length of column family '%s' to be positive, but was %d",
+              columnFamilyName, prefixLength));
+    }
+
+    columnFamilyPrefixLengths.put(columnFamilyName.toLowerCase(), prefixLength);
+    return this;
+  }
+
+  /** @return the declared prefix length of the column family, or {@code 0} if it has none */
+  public int getColumnFamilyPrefixLength(final String columnFamilyName) {
+    return columnFamilyPrefixLengths.getOrDefault(columnFamilyName.toLowerCase(), 0);
+  }
+
+  public Map<String, Integer> getColumnFamilyPrefixLengths() {
+    return columnFamilyPrefixLengths;
+  }
+
+  @Override
+  public String toString() {
+    return "RocksDbConfiguration{"
+        + "blockCacheSize="
+        + blockCacheSize
+        + ", defaultProfile="
+        + defaultProfile
+        + ", columnFamilyProfiles="
+        + columnFamilyProfiles
+        + ", columnFamilyPrefixLengths="
+        + columnFamilyPrefixLengths
+        + '}';
+  }
+}
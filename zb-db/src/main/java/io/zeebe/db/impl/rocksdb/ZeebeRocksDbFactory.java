@@ -20,14 +20,19 @@ import io.zeebe.db.impl.rocksdb.transaction.ZeebeTransactionDb;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
+import org.agrona.collections.Int2ObjectHashMap;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyOptions;
-import org.rocksdb.CompactionPriority;
 import org.rocksdb.DBOptions;
+import org.rocksdb.LRUCache;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.Statistics;
+import org.rocksdb.StatsLevel;
 
 public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamilyType>>
     implements ZeebeDbFactory<ColumnFamilyType> {
@@ -37,14 +42,23 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
   }
 
   private final Class<ColumnFamilyType> columnFamilyTypeClass;
+  private final RocksDbConfiguration configuration;
 
-  private ZeebeRocksDbFactory(Class<ColumnFamilyType> columnFamilyTypeClass) {
+  private ZeebeRocksDbFactory(
+      Class<ColumnFamilyType> columnFamilyTypeClass, RocksDbConfiguration configuration) {
     this.columnFamilyTypeClass = columnFamilyTypeClass;
+    this.configuration = configuration;
   }
 
   public static <ColumnFamilyType extends Enum<ColumnFamilyType>>
       ZeebeDbFactory<ColumnFamilyType> newFactory(Class<ColumnFamilyType> columnFamilyTypeClass) {
-    return new ZeebeRocksDbFactory(columnFamilyTypeClass);
+    return newFactory(columnFamilyTypeClass, new RocksDbConfiguration());
+  }
+
+  public static <ColumnFamilyType extends Enum<ColumnFamilyType>>
+      ZeebeDbFactory<ColumnFamilyType> newFactory(
+          Class<ColumnFamilyType> columnFamilyTypeClass, RocksDbConfiguration configuration) {
+    return new ZeebeRocksDbFactory<>(columnFamilyTypeClass, configuration);
   }
 
   @Override
@@ -63,18 +77,27 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
     try {
       final List<AutoCloseable> closeables = new ArrayList<>();
 
-      // column family options have to be closed as last
-      final ColumnFamilyOptions columnFamilyOptions = createColumnFamilyOptions();
-      closeables.add(columnFamilyOptions);
+      // the block cache and the column family options have to be closed as last
+      final LRUCache blockCache = new LRUCache(configuration.getBlockCacheSize());
+      closeables.add(blockCache);
+
+      final Map<ColumnFamilyProfile, Int2ObjectHashMap<ColumnFamilyOptions>> columnFamilyOptions =
+          new EnumMap<>(ColumnFamilyProfile.class);
 
       final List<ColumnFamilyDescriptor> columnFamilyDescriptors =
-          createFamilyDescriptors(columnFamilyNames, columnFamilyOptions);
+          createFamilyDescriptors(columnFamilyNames, blockCache, columnFamilyOptions, closeables);
+      // the statistics only contain counters, timers are too expensive on the hot path
+      final Statistics statistics = new Statistics();
+      statistics.setStatsLevel(StatsLevel.EXCEPT_DETAILED_TIMERS);
+      closeables.add(statistics);
+
       final DBOptions dbOptions =
           new DBOptions()
               .setCreateMissingColumnFamilies(true)
               .setErrorIfExists(false)
               .setCreateIfMissing(true)
-              .setParanoidChecks(true);
+              .setParanoidChecks(true)
+              .setStatistics(statistics);
       closeables.add(dbOptions);
 
       db =
@@ -83,7 +106,9 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
               dbDirectory.getAbsolutePath(),
               columnFamilyDescriptors,
               closeables,
-              columnFamilyTypeClass);
+              columnFamilyTypeClass,
+              columnFamily -> configuration.getColumnFamilyPrefixLength(columnFamily.name()),
+              statistics);
 
     } catch (final RocksDBException e) {
       throw new RuntimeException("Unexpected error occurred trying to open the database", e);
@@ -92,22 +117,36 @@ public final class ZeebeRocksDbFactory<ColumnFamilyType extends Enum<ColumnFamil
   }
 
   private List<ColumnFamilyDescriptor> createFamilyDescriptors(
-      List<byte[]> columnFamilyNames, ColumnFamilyOptions columnFamilyOptions) {
+      List<byte[]> columnFamilyNames,
+      LRUCache blockCache,
+      Map<ColumnFamilyProfile, Int2ObjectHashMap<ColumnFamilyOptions>> columnFamilyOptions,
+      List<AutoCloseable> closeables) {
     final List<ColumnFamilyDescriptor> columnFamilyDescriptors = new ArrayList<>();
 
     if (columnFamilyNames != null && columnFamilyNames.size() > 0) {
       for (byte[] name : columnFamilyNames) {
+        final String columnFamilyName = new String(name);
+        final ColumnFamilyProfile profile = configuration.getColumnFamilyProfile(columnFamilyName);
+        final int prefixLength = configuration.getColumnFamilyPrefixLength(columnFamilyName);
+
+        // column families with the same profile and prefix length share their options
+        final ColumnFamilyOptions options =
+            columnFamilyOptions
+                .computeIfAbsent(profile, p -> new Int2ObjectHashMap<>())
+                .computeIfAbsent(
+                    prefixLength,
+                    length -> {
+                      final ColumnFamilyOptions createdOptions =
+                          profile.createColumnFamilyOptions(blockCache, length, closeables);
+                      closeables.add(createdOptions);
+                      return createdOptions;
+                    });
+
         final ColumnFamilyDescriptor columnFamilyDescriptor =
-            new ColumnFamilyDescriptor(name, columnFamilyOptions);
+            new ColumnFamilyDescriptor(name, options);
         columnFamilyDescriptors.add(columnFamilyDescriptor);
       }
     }
     return columnFamilyDescriptors;
   }
-
-  private static ColumnFamilyOptions createColumnFamilyOptions() {
-    // Options which are used on all column families
-    return new ColumnFamilyOptions()
-        .setCompactionPriority(CompactionPriority.OldestSmallestSeqFirst);
-  }
 }
@@ -165,6 +165,13 @@ public class DefaultDbContext implements DbContext {
     return transaction;
   }
 
+  @Override
+  public void onRollback(Runnable rollbackAction) {
+    if (transaction.isInCurrentTransaction()) {
+      transaction.addRollbackAction(rollbackAction);
+    }
+  }
+
   private void runInNewTransaction(TransactionOperation operations) throws Exception {
     try {
       transaction.resetTransaction();
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import io.zeebe.db.SnapshotDbContext;
+import java.util.function.Consumer;
+import org.rocksdb.OptimisticTransactionDB;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.Snapshot;
+
+class DefaultSnapshotDbContext extends DefaultDbContext implements SnapshotDbContext {
+
+  private final OptimisticTransactionDB optimisticTransactionDB;
+  private final ZeebeTransaction transaction;
+  private final Consumer<DefaultSnapshotDbContext> onClose;
+
+  private final ReadOptions readOptions;
+  private final ReadOptions prefixReadOptions;
+
+  private Snapshot snapshot;
+  private boolean isClosed;
+
+  DefaultSnapshotDbContext(
+      OptimisticTransactionDB optimisticTransactionDB,
+      ZeebeTransaction transaction,
+      Consumer<DefaultSnapshotDbContext> onClose) {
+    super(transaction);
+    this.optimisticTransactionDB = optimisticTransactionDB;
+    this.transaction = transaction;
+    this.onClose = onClose;
+
+    readOptions = new ReadOptions().setTotalOrderSeek(true);
+    prefixReadOptions = new ReadOptions().setPrefixSameAsStart(true).setTotalOrderSeek(false);
+    pinSnapshot();
+  }
+
+  ReadOptions getReadOptions() {
+    return readOptions;
+  }
+
+  ReadOptions getPrefixReadOptions() {
+    return prefixReadOptions;
+  }
+
+  @Override
+  public void refresh() {
+    ensureNotClosed();
+    releaseSnapshot();
+    pinSnapshot();
+  }
+
+  @Override
+  public void close() {
+    if (!isClosed) {
+      isClosed = true;
+      releaseSnapshot();
+      prefixReadOptions.close();
+      readOptions.close();
+      transaction.close();
+      onClose.accept(this);
+    }
+  }
+
+  private void pinSnapshot() {
+    snapshot = optimisticTransactionDB.getSnapshot();
+    readOptions.setSnapshot(snapshot);
+    prefixReadOptions.setSnapshot(snapshot);
+  }
+
+  private void releaseSnapshot() {
+    readOptions.setSnapshot(null);
+    prefixReadOptions.setSnapshot(null);
+    optimisticTransactionDB.releaseSnapshot(snapshot);
+    snapshot = null;
+  }
+
+  private void ensureNotClosed() {
+    if (isClosed) {
+      throw new IllegalStateException("Expected snapshot context to be open, but it was closed.");
+    }
+  }
+}
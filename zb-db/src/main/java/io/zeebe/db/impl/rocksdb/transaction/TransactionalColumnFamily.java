@@ -132,6 +132,18 @@ class TransactionalColumnFamily<
     whileEqualPrefix(context, keyPrefix, visitor);
   }
 
+  @Override
+  public void whileTrue(KeyType startAtKey, KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    transactionDb.whileTrue(handle, context, startAtKey, keyInstance, valueInstance, visitor);
+  }
+
+  @Override
+  public void whileEqualPrefix(
+      DbKey keyPrefix, KeyType startAtKey, KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    transactionDb.whileEqualPrefix(
+        handle, context, keyPrefix, startAtKey, keyInstance, valueInstance, visitor);
+  }
+
   public void whileEqualPrefix(
       DbContext context, DbKey keyPrefix, KeyValuePairVisitor<KeyType, ValueType> visitor) {
     transactionDb.whileEqualPrefix(handle, context, keyPrefix, keyInstance, valueInstance, visitor);
@@ -20,6 +20,8 @@ import static io.zeebe.db.impl.rocksdb.transaction.RocksDbInternal.isRocksDbExce
 import io.zeebe.db.TransactionOperation;
 import io.zeebe.db.ZeebeDbException;
 import io.zeebe.db.ZeebeDbTransaction;
+import java.util.ArrayList;
+import java.util.List;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
@@ -31,6 +33,8 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
   private final Transaction transaction;
   private final long nativeHandle;
   private boolean inCurrentTransaction;
+  private final List<Runnable> rollbackActions = new ArrayList<>();
+  private final List<Runnable> commitActions = new ArrayList<>();
 
   public ZeebeTransaction(Transaction transaction) {
     this.transaction = transaction;
@@ -65,12 +69,23 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
   void resetTransaction() {
     inCurrentTransaction = true;
+    // the actions of a previous transaction are left if its commit failed without a rollback
+    rollbackActions.clear();
+    commitActions.clear();
   }
 
   boolean isInCurrentTransaction() {
     return inCurrentTransaction;
   }
 
+  void addRollbackAction(Runnable rollbackAction) {
+    rollbackActions.add(rollbackAction);
+  }
+
+  void addCommitAction(Runnable commitAction) {
+    commitActions.add(commitAction);
+  }
+
   @Override
   public void run(TransactionOperation operations) throws Exception {
     try {
@@ -87,6 +102,18 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
   void commitInternal() throws RocksDBException {
     inCurrentTransaction = false;
     transaction.commit();
+    rollbackActions.clear();
+    runCommitActions();
+  }
+
+  private void runCommitActions() {
+    try {
+      for (int i = 0; i < commitActions.size(); i++) {
+        commitActions.get(i).run();
+      }
+    } finally {
+      commitActions.clear();
+    }
   }
 
   @Override
@@ -104,7 +131,20 @@ public class ZeebeTransaction implements ZeebeDbTransaction, AutoCloseable {
 
   void rollbackInternal() throws RocksDBException {
     inCurrentTransaction = false;
+    commitActions.clear();
     transaction.rollback();
+    runRollbackActions();
+  }
+
+  private void runRollbackActions() {
+    try {
+      // revert in reverse order of the changes
+      for (int i = rollbackActions.size() - 1; i >= 0; i--) {
+        rollbackActions.get(i).run();
+      }
+    } finally {
+      rollbackActions.clear();
+    }
   }
 
   @Override
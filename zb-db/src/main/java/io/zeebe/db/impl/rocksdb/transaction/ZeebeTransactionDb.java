@@ -22,6 +22,7 @@ import io.zeebe.db.DbContext;
 import io.zeebe.db.DbKey;
 import io.zeebe.db.DbValue;
 import io.zeebe.db.KeyValuePairVisitor;
+import io.zeebe.db.SnapshotDbContext;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbException;
 import io.zeebe.db.impl.rocksdb.Loggers;
@@ -30,10 +31,15 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumMap;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
 import org.agrona.DirectBuffer;
+import org.agrona.collections.Long2LongHashMap;
 import org.agrona.collections.Long2ObjectHashMap;
 import org.rocksdb.Checkpoint;
 import org.rocksdb.ColumnFamilyDescriptor;
@@ -44,6 +50,8 @@ import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksIterator;
 import org.rocksdb.RocksObject;
+import org.rocksdb.Statistics;
+import org.rocksdb.TickerType;
 import org.rocksdb.Transaction;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
@@ -61,9 +69,12 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
           final String path,
           final List<ColumnFamilyDescriptor> columnFamilyDescriptors,
           final List<AutoCloseable> closables,
-          Class<ColumnFamilyNames> columnFamilyTypeClass)
+          Class<ColumnFamilyNames> columnFamilyTypeClass,
+          ToIntFunction<ColumnFamilyNames> prefixLengthSupplier,
+          Statistics statistics)
           throws RocksDBException {
     final EnumMap<ColumnFamilyNames, Long> columnFamilyMap = new EnumMap<>(columnFamilyTypeClass);
+    final Long2LongHashMap prefixLengthByHandle = new Long2LongHashMap(0);
 
     final List<ColumnFamilyHandle> handles = new ArrayList<>();
     final OptimisticTransactionDB optimisticTransactionDB =
@@ -77,10 +88,17 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
       closables.add(columnFamilyHandle);
       columnFamilyMap.put(enumConstants[i], getNativeHandle(columnFamilyHandle));
       handleToEnumMap.put(getNativeHandle(handles.get(i)), handles.get(i));
+      prefixLengthByHandle.put(
+          getNativeHandle(columnFamilyHandle), prefixLengthSupplier.applyAsInt(enumConstants[i]));
     }
 
     return new ZeebeTransactionDb<>(
-        optimisticTransactionDB, columnFamilyMap, handleToEnumMap, closables);
+        optimisticTransactionDB,
+        columnFamilyMap,
+        handleToEnumMap,
+        prefixLengthByHandle,
+        statistics,
+        closables);
   }
 
   private static long getNativeHandle(final RocksObject object) {
@@ -94,9 +112,15 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
 
   private final OptimisticTransactionDB optimisticTransactionDB;
   private final List<AutoCloseable> closables;
+  // the snapshot contexts which are not closed yet; they are created and closed by other threads
+  private final Set<DefaultSnapshotDbContext> snapshotContexts = ConcurrentHashMap.newKeySet();
 
   private final EnumMap<ColumnFamilyNames, Long> columnFamilyMap;
   private final Long2ObjectHashMap<ColumnFamilyHandle> handelToEnumMap;
+  private final Long2LongHashMap prefixLengthByHandle;
+  // counted in memory only, the tombstones which are left behind before a restart are not counted
+  private final Long2ObjectHashMap<AtomicLong> deletedEntriesByHandle = new Long2ObjectHashMap<>();
+  private final Statistics statistics;
 
   private final ReadOptions prefixReadOptions;
   private final ReadOptions defaultReadOptions;
@@ -106,15 +130,26 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
       OptimisticTransactionDB optimisticTransactionDB,
       EnumMap<ColumnFamilyNames, Long> columnFamilyMap,
       Long2ObjectHashMap<ColumnFamilyHandle> handelToEnumMap,
+      Long2LongHashMap prefixLengthByHandle,
+      Statistics statistics,
       List<AutoCloseable> closables) {
     this.optimisticTransactionDB = optimisticTransactionDB;
     this.columnFamilyMap = columnFamilyMap;
     this.handelToEnumMap = handelToEnumMap;
+    this.prefixLengthByHandle = prefixLengthByHandle;
+    this.statistics = statistics;
     this.closables = closables;
 
+    // the map is not modified afterwards, so the counters can be read from other threads
+    columnFamilyMap
+        .values()
+        .forEach(handle -> deletedEntriesByHandle.put(handle, new AtomicLong()));
+
     prefixReadOptions = new ReadOptions().setPrefixSameAsStart(true).setTotalOrderSeek(false);
     closables.add(prefixReadOptions);
-    defaultReadOptions = new ReadOptions();
+    // column families with a prefix extractor are iterated in total order unless a prefix scan
+    // matches the extracted prefix
+    defaultReadOptions = new ReadOptions().setTotalOrderSeek(true);
     closables.add(defaultReadOptions);
     defaultWriteOptions = new WriteOptions();
     closables.add(defaultWriteOptions);
@@ -135,6 +170,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
   }
 
   protected void put(long columnFamilyHandle, DbContext context, DbKey key, DbValue value) {
+    ensureWritable(context);
     ensureInOpenTransaction(
         context,
         transaction -> {
@@ -150,6 +186,35 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
         });
   }
 
+  private void ensureWritable(DbContext context) {
+    if (context instanceof SnapshotDbContext) {
+      throw new UnsupportedOperationException(
+          "Expected to write with a writable context, but the given context is a read-only snapshot context.");
+    }
+  }
+
+  private ReadOptions getReadOptions(DbContext context) {
+    if (context instanceof DefaultSnapshotDbContext) {
+      return ((DefaultSnapshotDbContext) context).getReadOptions();
+    }
+    return defaultReadOptions;
+  }
+
+  private ReadOptions getPrefixReadOptions(
+      long columnFamilyHandle, DbContext context, int prefixLength) {
+    // the iteration can only be restricted to the extracted prefix if the scanned prefix contains
+    // it, otherwise keys with the scanned prefix may have different extracted prefixes
+    final long extractedPrefixLength = prefixLengthByHandle.get(columnFamilyHandle);
+    if (extractedPrefixLength == 0 || prefixLength < extractedPrefixLength) {
+      return getReadOptions(context);
+    }
+
+    if (context instanceof DefaultSnapshotDbContext) {
+      return ((DefaultSnapshotDbContext) context).getPrefixReadOptions();
+    }
+    return prefixReadOptions;
+  }
+
   private void ensureInOpenTransaction(DbContext context, TransactionConsumer operation) {
     context.runInTransaction(
         () -> operation.run((ZeebeTransaction) context.getCurrentTransaction()));
@@ -172,7 +237,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
           final byte[] value =
               transaction.get(
                   columnFamilyHandle,
-                  getNativeHandle(defaultReadOptions),
+                  getNativeHandle(getReadOptions(context)),
                   context.getKeyBufferArray(),
                   keyLength);
           context.wrapValueView(value);
@@ -192,12 +257,27 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
   }
 
   protected void delete(long columnFamilyHandle, DbContext context, DbKey key) {
+    ensureWritable(context);
     context.writeKey(key);
 
     ensureInOpenTransaction(
         context,
-        transaction ->
-            transaction.delete(columnFamilyHandle, context.getKeyBufferArray(), key.getLength()));
+        transaction -> {
+          final byte[] keyBuffer = context.getKeyBufferArray();
+          final int keyLength = key.getLength();
+          // only the deletion of an existing entry leaves a tombstone behind
+          final boolean exists =
+              transaction.get(
+                      columnFamilyHandle, getNativeHandle(defaultReadOptions), keyBuffer, keyLength)
+                  != null;
+
+          transaction.delete(columnFamilyHandle, keyBuffer, keyLength);
+
+          if (exists) {
+            final AtomicLong deletedEntries = deletedEntriesByHandle.get(columnFamilyHandle);
+            transaction.addCommitAction(deletedEntries::incrementAndGet);
+          }
+        });
   }
 
   ////////////////////////////////////////////////////////////////////
@@ -247,7 +327,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
         context,
         transaction -> {
           try (RocksIterator iterator =
-              newIterator(columnFamilyHandle, context, defaultReadOptions)) {
+              newIterator(columnFamilyHandle, context, getReadOptions(context))) {
             for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
               context.wrapKeyView(iterator.key());
               context.wrapValueView(iterator.value());
@@ -267,7 +347,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
         context,
         transaction -> {
           try (RocksIterator iterator =
-              newIterator(columnFamilyHandle, context, defaultReadOptions)) {
+              newIterator(columnFamilyHandle, context, getReadOptions(context))) {
             boolean shouldVisitNext = true;
             for (iterator.seekToFirst(); iterator.isValid() && shouldVisitNext; iterator.next()) {
               shouldVisitNext = visit(context, keyInstance, valueInstance, visitor, iterator);
@@ -296,18 +376,76 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
   }
 
   /**
-   * NOTE: it doesn't seem possible in Java RocksDB to set a flexible prefix extractor on iterators
-   * at the moment, so using prefixes seem to be mostly related to skipping files that do not
-   * contain keys with the given prefix (which is useful anyway), but it will still iterate over all
-   * keys contained in those files, so we still need to make sure the key actually matches the
-   * prefix.
+   * NOTE: prefix extractors have a fixed length per column family, which is declared when the
+   * database is opened. If the given prefix is at least as long as the extracted prefix, the
+   * iteration uses {@code prefix_same_as_start} and skips the files and memtables whose prefix
+   * bloom filters don't contain the prefix. Otherwise, and for column families without a declared
+   * prefix, the keys are iterated in total order.
    *
-   * <p>While iterating over subsequent keys we have to validate it.
+   * <p>In both cases the iterator may return keys which don't match the given prefix, so while
+   * iterating over subsequent keys we have to validate it.
+   */
+  protected <KeyType extends DbKey, ValueType extends DbValue> void whileEqualPrefix(
+      long columnFamilyHandle,
+      DbContext context,
+      DbKey prefix,
+      KeyType keyInstance,
+      ValueType valueInstance,
+      KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    seekWhileEqualPrefix(
+        columnFamilyHandle,
+        context,
+        prefix,
+        prefix.getLength(),
+        keyInstance,
+        valueInstance,
+        visitor);
+  }
+
+  /**
+   * Like {@link #whileEqualPrefix(long, DbContext, DbKey, DbKey, DbValue, KeyValuePairVisitor)},
+   * but starts the iteration at the given key instead of the first key with the prefix. The start
+   * key must begin with the prefix, e.g. a composite key whose first part is the prefix.
    */
   protected <KeyType extends DbKey, ValueType extends DbValue> void whileEqualPrefix(
       long columnFamilyHandle,
       DbContext context,
       DbKey prefix,
+      DbKey startAtKey,
+      KeyType keyInstance,
+      ValueType valueInstance,
+      KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    seekWhileEqualPrefix(
+        columnFamilyHandle,
+        context,
+        startAtKey,
+        prefix.getLength(),
+        keyInstance,
+        valueInstance,
+        visitor);
+  }
+
+  /** Visits the key-value pairs in key order, starting at the given key (inclusive). */
+  public <KeyType extends DbKey, ValueType extends DbValue> void whileTrue(
+      long columnFamilyHandle,
+      DbContext context,
+      DbKey startAtKey,
+      KeyType keyInstance,
+      ValueType valueInstance,
+      KeyValuePairVisitor<KeyType, ValueType> visitor) {
+    seekWhileEqualPrefix(
+        columnFamilyHandle, context, startAtKey, 0, keyInstance, valueInstance, visitor);
+  }
+
+  /**
+   * Seeks to the given key and visits the following key-value pairs as long as they share the
+   * first {@code prefixLength} bytes with it.
+   */
+  private <KeyType extends DbKey, ValueType extends DbValue> void seekWhileEqualPrefix(
+      long columnFamilyHandle,
+      DbContext context,
+      DbKey seekKey,
+      int prefixLength,
       KeyType keyInstance,
       ValueType valueInstance,
       KeyValuePairVisitor<KeyType, ValueType> visitor) {
@@ -316,25 +454,26 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
             ensureInOpenTransaction(
                 context,
                 transaction -> {
-                  try (RocksIterator iterator =
-                      newIterator(columnFamilyHandle, context, prefixReadOptions)) {
-                    prefix.write(prefixKeyBuffer, 0);
-                    final int prefixLength = prefix.getLength();
+                  seekKey.write(prefixKeyBuffer, 0);
+                  final ReadOptions readOptions =
+                      getPrefixReadOptions(columnFamilyHandle, context, prefixLength);
 
+                  try (RocksIterator iterator =
+                      newIterator(columnFamilyHandle, context, readOptions)) {
                     boolean shouldVisitNext = true;
 
                     for (RocksDbInternal.seek(
                             iterator,
                             getNativeHandle(iterator),
                             prefixKeyBuffer.byteArray(),
-                            prefixLength);
+                            seekKey.getLength());
                         iterator.isValid() && shouldVisitNext;
                         iterator.next()) {
                       final byte[] keyBytes = iterator.key();
                       if (!startsWith(
                           prefixKeyBuffer.byteArray(),
                           0,
-                          prefix.getLength(),
+                          prefixLength,
                           keyBytes,
                           0,
                           keyBytes.length)) {
@@ -371,7 +510,7 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
         context,
         transaction -> {
           try (RocksIterator iterator =
-              newIterator(columnFamilyHandle, context, defaultReadOptions)) {
+              newIterator(columnFamilyHandle, context, getReadOptions(context))) {
             iterator.seekToFirst();
             final boolean hasEntry = iterator.isValid();
             isEmpty.set(!hasEntry);
@@ -391,6 +530,42 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     }
   }
 
+  @Override
+  public long getDeletedEntryCount(ColumnFamilyNames columnFamily) {
+    return deletedEntriesByHandle.get(getColumnFamilyHandle(columnFamily)).get();
+  }
+
+  @Override
+  public long getEstimatedEntryCount(ColumnFamilyNames columnFamily) {
+    final ColumnFamilyHandle handle = handelToEnumMap.get(getColumnFamilyHandle(columnFamily));
+    try {
+      return optimisticTransactionDB.getLongProperty(handle, "rocksdb.estimate-num-keys");
+    } catch (RocksDBException e) {
+      throw new ZeebeDbException(e);
+    }
+  }
+
+  @Override
+  public long getIterationReseekCount() {
+    return statistics.getTickerCount(TickerType.NUMBER_OF_RESEEKS_IN_ITERATION);
+  }
+
+  @Override
+  public void compact(ColumnFamilyNames columnFamily) {
+    final long columnFamilyHandle = getColumnFamilyHandle(columnFamily);
+    final AtomicLong deletedEntries = deletedEntriesByHandle.get(columnFamilyHandle);
+    // entries which are deleted while compacting are not necessarily dropped by the compaction
+    final long compactedEntries = deletedEntries.get();
+
+    try {
+      optimisticTransactionDB.compactRange(handelToEnumMap.get(columnFamilyHandle));
+    } catch (RocksDBException e) {
+      throw new ZeebeDbException(e);
+    }
+
+    deletedEntries.addAndGet(-compactedEntries);
+  }
+
   @Override
   public DbContext createContext() {
     final Transaction transaction = optimisticTransactionDB.beginTransaction(defaultWriteOptions);
@@ -399,6 +574,16 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     return new DefaultDbContext(zeebeTransaction);
   }
 
+  @Override
+  public SnapshotDbContext createSnapshotContext() {
+    final Transaction transaction = optimisticTransactionDB.beginTransaction(defaultWriteOptions);
+    final DefaultSnapshotDbContext snapshotContext =
+        new DefaultSnapshotDbContext(
+            optimisticTransactionDB, new ZeebeTransaction(transaction), snapshotContexts::remove);
+    snapshotContexts.add(snapshotContext);
+    return snapshotContext;
+  }
+
   @Override
   public void close() {
     // Correct order of closing
@@ -409,6 +594,8 @@ public class ZeebeTransactionDb<ColumnFamilyNames extends Enum<ColumnFamilyNames
     // 5. db options
     // 6. column family options
     // https://github.com/facebook/rocksdb/wiki/RocksJava-Basics#opening-a-database-with-column-families
+    new ArrayList<>(snapshotContexts).forEach(DefaultSnapshotDbContext::close);
+
     Collections.reverse(closables);
     closables.forEach(
         closable -> {
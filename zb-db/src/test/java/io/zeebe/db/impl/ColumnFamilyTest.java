@@ -298,6 +298,31 @@ public class ColumnFamilyTest {
     assertThat(values).containsExactly((long) Short.MAX_VALUE, 255L, 123L);
   }
 
+  @Test
+  public void shouldUseWhileTrueStartingAtKey() {
+    // given
+    putKeyValuePair(4567, 123);
+    putKeyValuePair(6734, 921);
+    putKeyValuePair(1213, 255);
+    putKeyValuePair(1, Short.MAX_VALUE);
+    putKeyValuePair(Short.MAX_VALUE, 1);
+
+    final DbLong startAtKey = new DbLong();
+    startAtKey.wrapLong(1213);
+
+    // when
+    final List<Long> keys = new ArrayList<>();
+    columnFamily.whileTrue(
+        startAtKey,
+        (key, value) -> {
+          keys.add(key.getValue());
+          return key.getValue() != 6734;
+        });
+
+    // then
+    assertThat(keys).containsExactly(1213L, 4567L, 6734L);
+  }
+
   @Test
   public void shouldDeleteWhileTrue() {
     // given
@@ -268,6 +268,38 @@ public class DbCompositeKeyColumnFamilyTest {
     assertThat(secondKeyParts).containsExactly(12L, 13L, 53L, 213L);
   }
 
+  @Test
+  public void shouldUseWhileEqualPrefixStartingAtKey() {
+    // given
+    putKeyValuePair("foo", 12, "baring");
+    putKeyValuePair("foobar", 53, "expected value");
+    putKeyValuePair("foo", 13, "different value");
+    putKeyValuePair("foo", 213, "oh wow");
+    putKeyValuePair("foo", 53, "expected value");
+    putKeyValuePair("hello", 34, "world");
+
+    final DbString startAtFirstKey = new DbString();
+    final DbLong startAtSecondKey = new DbLong();
+    final DbCompositeKey<DbString, DbLong> startAtKey =
+        new DbCompositeKey<>(startAtFirstKey, startAtSecondKey);
+    startAtFirstKey.wrapString("foo");
+    startAtSecondKey.wrapLong(14);
+
+    // when
+    firstKey.wrapString("foo");
+    final List<Long> secondKeyParts = new ArrayList<>();
+    columnFamily.whileEqualPrefix(
+        firstKey,
+        startAtKey,
+        (key, value) -> {
+          secondKeyParts.add(key.getSecond().getValue());
+          return true;
+        });
+
+    // then
+    assertThat(secondKeyParts).containsExactly(53L, 213L);
+  }
+
   @Test
   public void shouldUseGetWhileIterating() {
     // given
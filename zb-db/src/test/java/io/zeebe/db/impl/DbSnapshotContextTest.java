@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.DbContext;
+import io.zeebe.db.SnapshotDbContext;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.ZeebeDbFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DbSnapshotContextTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private final ZeebeDbFactory<DefaultColumnFamily> dbFactory =
+      DefaultZeebeDbFactory.getDefaultFactory(DefaultColumnFamily.class);
+
+  private ZeebeDb<DefaultColumnFamily> zeebeDb;
+  private ColumnFamily<DbLong, DbLong> columnFamily;
+  private DbLong key;
+  private DbLong value;
+
+  private SnapshotDbContext snapshotContext;
+  private ColumnFamily<DbLong, DbLong> snapshotColumnFamily;
+  private DbLong snapshotKey;
+
+  @Before
+  public void setup() throws Exception {
+    final File pathName = temporaryFolder.newFolder();
+    zeebeDb = dbFactory.createDb(pathName);
+
+    final DbContext dbContext = zeebeDb.createContext();
+    key = new DbLong();
+    value = new DbLong();
+    columnFamily = zeebeDb.createColumnFamily(DefaultColumnFamily.DEFAULT, dbContext, key, value);
+
+    snapshotContext = zeebeDb.createSnapshotContext();
+    snapshotKey = new DbLong();
+    snapshotColumnFamily =
+        zeebeDb.createColumnFamily(
+            DefaultColumnFamily.DEFAULT, snapshotContext, snapshotKey, new DbLong());
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    snapshotContext.close();
+    zeebeDb.close();
+  }
+
+  @Test
+  public void shouldNotSeeWritesAfterSnapshotWasTaken() {
+    // given
+    putValue(1, 10);
+
+    // when
+    snapshotContext.refresh();
+    putValue(1, 11);
+    putValue(2, 20);
+
+    // then
+    snapshotKey.wrapLong(1);
+    assertThat(snapshotColumnFamily.get(snapshotKey).getValue()).isEqualTo(10);
+    snapshotKey.wrapLong(2);
+    assertThat(snapshotColumnFamily.exists(snapshotKey)).isFalse();
+  }
+
+  @Test
+  public void shouldSeeLatestWritesAfterRefresh() {
+    // given
+    putValue(1, 10);
+
+    // when
+    putValue(2, 20);
+    snapshotContext.refresh();
+
+    // then
+    final List<Long> keys = new ArrayList<>();
+    snapshotColumnFamily.forEach((k, v) -> keys.add(k.getValue()));
+    assertThat(keys).containsExactly(1L, 2L);
+  }
+
+  @Test
+  public void shouldIterateOverSnapshot() {
+    // given
+    putValue(1, 10);
+    putValue(2, 20);
+    snapshotContext.refresh();
+
+    // when
+    final List<Long> values = new ArrayList<>();
+    snapshotColumnFamily.whileTrue(
+        (k, v) -> {
+          values.add(v.getValue());
+          putValue(k.getValue() + 10, v.getValue());
+          return true;
+        });
+
+    // then
+    assertThat(values).containsExactly(10L, 20L);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void shouldRejectWrites() {
+    // given
+    snapshotKey.wrapLong(1);
+
+    // when
+    snapshotColumnFamily.delete(snapshotKey);
+  }
+
+  private void putValue(long key, long value) {
+    this.key.wrapLong(key);
+    this.value.wrapLong(value);
+    columnFamily.put(this.key, this.value);
+  }
+}
@@ -23,7 +23,9 @@ import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.db.ZeebeDbTransaction;
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.Before;
@@ -247,6 +249,52 @@ public class DbTransactionTest {
     assertThat(threeColumnFamily.exists(threeKey)).isFalse();
   }
 
+  @Test
+  public void shouldRunRollbackActionsOnRollback() throws Exception {
+    // given
+    final List<Integer> revertedChanges = new ArrayList<>();
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(
+        () -> {
+          dbContext.onRollback(() -> revertedChanges.add(1));
+          dbContext.onRollback(() -> revertedChanges.add(2));
+        });
+
+    // when
+    transaction.rollback();
+
+    // then
+    assertThat(revertedChanges).containsExactly(2, 1);
+  }
+
+  @Test
+  public void shouldNotRunRollbackActionsAfterCommit() throws Exception {
+    // given
+    final List<Integer> revertedChanges = new ArrayList<>();
+    final ZeebeDbTransaction transaction = dbContext.getCurrentTransaction();
+    transaction.run(() -> dbContext.onRollback(() -> revertedChanges.add(1)));
+    transaction.commit();
+
+    // when
+    dbContext.getCurrentTransaction().rollback();
+
+    // then
+    assertThat(revertedChanges).isEmpty();
+  }
+
+  @Test
+  public void shouldDiscardRollbackActionOutsideOfTransaction() throws Exception {
+    // given
+    final List<Integer> revertedChanges = new ArrayList<>();
+    dbContext.onRollback(() -> revertedChanges.add(1));
+
+    // when
+    dbContext.getCurrentTransaction().rollback();
+
+    // then
+    assertThat(revertedChanges).isEmpty();
+  }
+
   @Test
   public void shouldGetValueInTransaction() {
     // given
@@ -17,13 +17,24 @@ package io.zeebe.db.impl.rocksdb;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import io.zeebe.db.ColumnFamily;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbFactory;
+import io.zeebe.db.impl.DbString;
 import io.zeebe.db.impl.DefaultColumnFamily;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.LRUCache;
+import org.rocksdb.RocksDB;
 
 public class ZeebeRocksDbFactoryTest {
 
@@ -66,4 +77,78 @@ public class ZeebeRocksDbFactoryTest {
     firstDb.close();
     secondDb.close();
   }
+
+  @Test
+  public void shouldCreateDbWithColumnFamilyProfile() throws Exception {
+    // given
+    final RocksDbConfiguration configuration =
+        new RocksDbConfiguration()
+            .setBlockCacheSize(1024 * 1024)
+            .setColumnFamilyProfile(DefaultColumnFamily.DEFAULT, ColumnFamilyProfile.LARGE_VALUES);
+    final ZeebeDbFactory<DefaultColumnFamily> dbFactory =
+        ZeebeRocksDbFactory.newFactory(DefaultColumnFamily.class, configuration);
+    final File pathName = temporaryFolder.newFolder();
+    final ZeebeDb<DefaultColumnFamily> db = dbFactory.createDb(pathName);
+
+    final DbString key = new DbString();
+    final DbString value = new DbString();
+    final ColumnFamily<DbString, DbString> columnFamily =
+        db.createColumnFamily(DefaultColumnFamily.DEFAULT, db.createContext(), key, value);
+
+    // when
+    key.wrapString("foo");
+    value.wrapString("bar");
+    columnFamily.put(key, value);
+
+    // then
+    assertThat(columnFamily.get(key).toString()).isEqualTo("bar");
+    db.close();
+  }
+
+  @Test
+  public void shouldUseDefaultProfileForUnassignedColumnFamilies() {
+    // given
+    final RocksDbConfiguration configuration =
+        new RocksDbConfiguration()
+            .setDefaultProfile(ColumnFamilyProfile.READ_MOSTLY)
+            .setColumnFamilyProfile("JOB_DEADLINES", ColumnFamilyProfile.HIGH_CHURN);
+
+    // when - then
+    assertThat(configuration.getColumnFamilyProfile("job_deadlines"))
+        .isEqualTo(ColumnFamilyProfile.HIGH_CHURN);
+    assertThat(configuration.getColumnFamilyProfile("default"))
+        .isEqualTo(ColumnFamilyProfile.READ_MOSTLY);
+  }
+
+  @Test
+  public void shouldOnlyDisableCompressionOfHighChurnProfile() throws Exception {
+    // given
+    RocksDB.loadLibrary();
+    final List<AutoCloseable> closeables = new ArrayList<>();
+    final Cache blockCache = new LRUCache(1024 * 1024);
+    closeables.add(blockCache);
+
+    try {
+      // when
+      final Map<ColumnFamilyProfile, CompressionType> compressionTypes =
+          new EnumMap<>(ColumnFamilyProfile.class);
+      for (ColumnFamilyProfile profile : ColumnFamilyProfile.values()) {
+        final ColumnFamilyOptions options =
+            profile.createColumnFamilyOptions(blockCache, 0, closeables);
+        closeables.add(options);
+        compressionTypes.put(profile, options.compressionType());
+      }
+
+      // then
+      assertThat(compressionTypes)
+          .containsEntry(ColumnFamilyProfile.DEFAULT, CompressionType.SNAPPY_COMPRESSION)
+          .containsEntry(ColumnFamilyProfile.READ_MOSTLY, CompressionType.SNAPPY_COMPRESSION)
+          .containsEntry(ColumnFamilyProfile.LARGE_VALUES, CompressionType.LZ4_COMPRESSION)
+          .containsEntry(ColumnFamilyProfile.HIGH_CHURN, CompressionType.NO_COMPRESSION);
+    } finally {
+      for (AutoCloseable closeable : closeables) {
+        closeable.close();
+      }
+    }
+  }
 }
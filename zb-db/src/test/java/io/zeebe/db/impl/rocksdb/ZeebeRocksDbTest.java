@@ -18,6 +18,7 @@ package io.zeebe.db.impl.rocksdb;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.DbContext;
 import io.zeebe.db.ZeebeDb;
 import io.zeebe.db.ZeebeDbFactory;
 import io.zeebe.db.impl.DbString;
@@ -121,4 +122,105 @@ public class ZeebeRocksDbTest {
     assertThat(dbString).isNotNull();
     assertThat(dbString.toString()).isEqualTo("bar");
   }
+
+  @Test
+  public void shouldCountDeletedEntriesUntilCompaction() throws Exception {
+    // given
+    final ZeebeDbFactory<DefaultColumnFamily> dbFactory =
+        ZeebeRocksDbFactory.newFactory(DefaultColumnFamily.class);
+    final ZeebeDb<DefaultColumnFamily> db = dbFactory.createDb(temporaryFolder.newFolder());
+
+    final DbString key = new DbString();
+    final DbString value = new DbString();
+    value.wrapString("bar");
+    final ColumnFamily<DbString, DbString> columnFamily =
+        db.createColumnFamily(DefaultColumnFamily.DEFAULT, db.createContext(), key, value);
+
+    for (int i = 0; i < 10; i++) {
+      key.wrapString("foo" + i);
+      columnFamily.put(key, value);
+    }
+
+    // when
+    for (int i = 0; i < 3; i++) {
+      key.wrapString("foo" + i);
+      columnFamily.delete(key);
+    }
+
+    // then
+    assertThat(db.getDeletedEntryCount(DefaultColumnFamily.DEFAULT)).isEqualTo(3);
+
+    db.compact(DefaultColumnFamily.DEFAULT);
+    assertThat(db.getDeletedEntryCount(DefaultColumnFamily.DEFAULT)).isEqualTo(0);
+    assertThat(db.getEstimatedEntryCount(DefaultColumnFamily.DEFAULT)).isEqualTo(7);
+    db.close();
+  }
+
+  @Test
+  public void shouldNotCountDeletionOfMissingEntries() throws Exception {
+    // given
+    final ZeebeDbFactory<DefaultColumnFamily> dbFactory =
+        ZeebeRocksDbFactory.newFactory(DefaultColumnFamily.class);
+    final ZeebeDb<DefaultColumnFamily> db = dbFactory.createDb(temporaryFolder.newFolder());
+
+    final DbString key = new DbString();
+    final DbString value = new DbString();
+    value.wrapString("bar");
+    final ColumnFamily<DbString, DbString> columnFamily =
+        db.createColumnFamily(DefaultColumnFamily.DEFAULT, db.createContext(), key, value);
+
+    key.wrapString("foo");
+    columnFamily.put(key, value);
+
+    // when
+    columnFamily.delete(key);
+    columnFamily.delete(key);
+
+    key.wrapString("baz");
+    columnFamily.delete(key);
+
+    // then
+    assertThat(db.getDeletedEntryCount(DefaultColumnFamily.DEFAULT)).isEqualTo(1);
+    db.close();
+  }
+
+  @Test
+  public void shouldNotCountDeletionsOfRolledBackTransaction() throws Exception {
+    // given
+    final ZeebeDbFactory<DefaultColumnFamily> dbFactory =
+        ZeebeRocksDbFactory.newFactory(DefaultColumnFamily.class);
+    final ZeebeDb<DefaultColumnFamily> db = dbFactory.createDb(temporaryFolder.newFolder());
+
+    final DbContext dbContext = db.createContext();
+    final DbString key = new DbString();
+    final DbString value = new DbString();
+    value.wrapString("bar");
+    final ColumnFamily<DbString, DbString> columnFamily =
+        db.createColumnFamily(DefaultColumnFamily.DEFAULT, dbContext, key, value);
+
+    key.wrapString("foo");
+    columnFamily.put(key, value);
+
+    // when
+    try {
+      dbContext.runInTransaction(
+          () -> {
+            columnFamily.delete(key);
+            throw new RuntimeException();
+          });
+    } catch (Exception e) {
+      // ignore
+    }
+
+    // then
+    assertThat(columnFamily.exists(key)).isTrue();
+    assertThat(db.getDeletedEntryCount(DefaultColumnFamily.DEFAULT)).isEqualTo(0);
+
+    // when
+    dbContext.runInTransaction(() -> columnFamily.delete(key));
+
+    // then
+    assertThat(db.getDeletedEntryCount(DefaultColumnFamily.DEFAULT)).isEqualTo(1);
+    db.close();
+  }
 }
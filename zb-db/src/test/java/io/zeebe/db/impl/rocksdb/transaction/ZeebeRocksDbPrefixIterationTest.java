@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2017 camunda services GmbH (info@camunda.com)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.zeebe.db.impl.rocksdb.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.zeebe.db.ColumnFamily;
+import io.zeebe.db.ZeebeDb;
+import io.zeebe.db.impl.DbCompositeKey;
+import io.zeebe.db.impl.DbLong;
+import io.zeebe.db.impl.DbNil;
+import io.zeebe.db.impl.DefaultColumnFamily;
+import io.zeebe.db.impl.rocksdb.RocksDbConfiguration;
+import io.zeebe.db.impl.rocksdb.ZeebeRocksDbFactory;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ZeebeRocksDbPrefixIterationTest {
+
+  @Rule public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private ZeebeDb<DefaultColumnFamily> zeebeDb;
+  private ColumnFamily<DbCompositeKey<DbLong, DbLong>, DbNil> columnFamily;
+  private DbLong firstKey;
+  private DbLong secondKey;
+  private DbCompositeKey<DbLong, DbLong> compositeKey;
+
+  @Before
+  public void setup() throws Exception {
+    final RocksDbConfiguration configuration =
+        new RocksDbConfiguration().setColumnFamilyPrefixLength(DefaultColumnFamily.DEFAULT, 8);
+    final File pathName = temporaryFolder.newFolder();
+    zeebeDb =
+        ZeebeRocksDbFactory.newFactory(DefaultColumnFamily.class, configuration)
+            .createDb(pathName);
+
+    firstKey = new DbLong();
+    secondKey = new DbLong();
+    compositeKey = new DbCompositeKey<>(firstKey, secondKey);
+    columnFamily =
+        zeebeDb.createColumnFamily(
+            DefaultColumnFamily.DEFAULT, zeebeDb.createContext(), compositeKey, DbNil.INSTANCE);
+
+    for (long prefix = 0; prefix < 3; prefix++) {
+      firstKey.wrapLong(prefix);
+      for (long suffix = 0; suffix < 5; suffix++) {
+        secondKey.wrapLong(suffix);
+        columnFamily.put(compositeKey, DbNil.INSTANCE);
+      }
+    }
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    zeebeDb.close();
+  }
+
+  @Test
+  public void shouldVisitKeysWithExtractedPrefix() {
+    // given
+    final List<Long> visitedSuffixes = new ArrayList<>();
+
+    // when
+    firstKey.wrapLong(1);
+    columnFamily.whileEqualPrefix(
+        firstKey,
+        (key, value) -> {
+          visitedSuffixes.add(key.getSecond().getValue());
+        });
+
+    // then
+    assertThat(visitedSuffixes).containsExactly(0L, 1L, 2L, 3L, 4L);
+  }
+
+  @Test
+  public void shouldVisitKeysWithPrefixLongerThanExtractedPrefix() {
+    // given
+    final List<Long> visitedKeys = new ArrayList<>();
+
+    // when
+    firstKey.wrapLong(2);
+    secondKey.wrapLong(3);
+    columnFamily.whileEqualPrefix(
+        compositeKey,
+        (key, value) -> {
+          visitedKeys.add(key.getFirst().getValue());
+        });
+
+    // then
+    assertThat(visitedKeys).containsExactly(2L);
+  }
+
+  @Test
+  public void shouldIterateOverAllPrefixesInTotalOrder() {
+    // given
+    final List<Long> visitedPrefixes = new ArrayList<>();
+
+    // when
+    columnFamily.forEach((key, value) -> visitedPrefixes.add(key.getFirst().getValue()));
+
+    // then
+    assertThat(visitedPrefixes).hasSize(15).isSorted().contains(0L, 1L, 2L);
+  }
+
+  @Test
+  public void shouldNotVisitKeysOfOtherPrefix() {
+    // given
+    final List<Long> visitedKeys = new ArrayList<>();
+
+    // when
+    firstKey.wrapLong(5);
+    columnFamily.whileEqualPrefix(
+        firstKey,
+        (key, value) -> {
+          visitedKeys.add(key.getFirst().getValue());
+        });
+
+    // then
+    assertThat(visitedKeys).isEmpty();
+  }
+
+  @Test
+  public void shouldIterateFromStartKeyOverFollowingPrefixes() {
+    // given
+    final List<Long> visitedPrefixes = new ArrayList<>();
+    final DbLong startFirstKey = new DbLong();
+    final DbLong startSecondKey = new DbLong();
+    startFirstKey.wrapLong(1);
+    startSecondKey.wrapLong(3);
+
+    // when
+    columnFamily.whileTrue(
+        new DbCompositeKey<>(startFirstKey, startSecondKey),
+        (key, value) -> {
+          visitedPrefixes.add(key.getFirst().getValue());
+          return true;
+        });
+
+    // then
+    assertThat(visitedPrefixes).containsExactly(1L, 1L, 2L, 2L, 2L, 2L, 2L);
+  }
+}
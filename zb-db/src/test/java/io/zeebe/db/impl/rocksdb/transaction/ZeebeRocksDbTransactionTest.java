@@ -15,6 +15,8 @@
  */
 package io.zeebe.db.impl.rocksdb.transaction;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -28,6 +30,8 @@ import io.zeebe.db.impl.DefaultColumnFamily;
 import io.zeebe.db.impl.DefaultZeebeDbFactory;
 import io.zeebe.util.exception.RecoverableException;
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -36,6 +40,7 @@ import org.rocksdb.RocksDBException;
 import org.rocksdb.Status;
 import org.rocksdb.Status.Code;
 import org.rocksdb.Status.SubCode;
+import org.rocksdb.Transaction;
 
 public class ZeebeRocksDbTransactionTest {
 
@@ -223,4 +228,26 @@ public class ZeebeRocksDbTransactionTest {
     // when
     currentTransaction.rollback();
   }
+
+  @Test
+  public void shouldNotRunRollbackActionsOfFailedCommitOnNextRollback() throws Exception {
+    // given
+    final Transaction rocksDbTransaction = mock(Transaction.class);
+    final Status status = new Status(Code.IOError, SubCode.None, "");
+    doThrow(new RocksDBException("expected", status)).when(rocksDbTransaction).commit();
+    final DbContext newContext = new DefaultDbContext(new ZeebeTransaction(rocksDbTransaction));
+    final List<Integer> revertedChanges = new ArrayList<>();
+
+    final ZeebeDbTransaction failedTransaction = newContext.getCurrentTransaction();
+    newContext.onRollback(() -> revertedChanges.add(1));
+    assertThatThrownBy(failedTransaction::commit).isInstanceOf(ZeebeDbException.class);
+
+    // when
+    final ZeebeDbTransaction nextTransaction = newContext.getCurrentTransaction();
+    newContext.onRollback(() -> revertedChanges.add(2));
+    nextTransaction.rollback();
+
+    // then
+    assertThat(revertedChanges).containsExactly(2);
+  }
 }